@@ -0,0 +1,126 @@
+package io.github.libedi.restrequest.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+
+import io.github.libedi.restrequest.RestRequest;
+import io.github.libedi.restrequest.benchmark.Fixtures.RequestBody;
+
+/**
+ * DefaultRestRequestBodySpec 벤치마크 : POST / PUT / PATCH 요청 생성
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BodySpecBenchmark {
+
+    /**
+     * MultipartFile 첨부파일 크기(byte)
+     */
+    @Param({ "1024", "1048576" })
+    public int fileSize;
+
+    private URI uri;
+    private RequestBody body;
+    private Path path;
+    private File file;
+    private MockMultipartFile multipartFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        uri = URI.create(Fixtures.URI);
+        body = Fixtures.requestBody();
+
+        final byte[] content = new byte[fileSize];
+        Arrays.fill(content, (byte) 'a');
+        path = Files.createTempFile("rest-request-benchmark", ".txt");
+        Files.write(path, content);
+        file = path.toFile();
+        multipartFile = new MockMultipartFile("file", "benchmark.txt", MediaType.TEXT_PLAIN_VALUE, content);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Benchmark
+    public RestRequest<String> body() {
+        return RestRequest.resp(String.class)
+                .uri(uri)
+                .post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .addParam("version", 2)
+                .body(body)
+                .build();
+    }
+
+    @Benchmark
+    public RestRequest<String> formData() {
+        return RestRequest.resp(String.class)
+                .uri(uri)
+                .post()
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .addParam("id", "resource-0001")
+                .addParam("name", "benchmark")
+                .addParam("values", "a", "b", "c")
+                .build();
+    }
+
+    @Benchmark
+    public RestRequest<String> multipartFormData() {
+        return RestRequest.resp(String.class)
+                .uri(uri)
+                .post()
+                .addParam("description", "benchmark")
+                .addFile("file1", file)
+                .addFile("file2", path)
+                .build();
+    }
+
+    @Benchmark
+    public RestRequest<String> multipartFile() {
+        return RestRequest.resp(String.class)
+                .uri(uri)
+                .post()
+                .addFile("file", multipartFile)
+                .build();
+    }
+
+    @Benchmark
+    public RestRequest<String> multipartMixed() {
+        return RestRequest.resp(String.class)
+                .uri(uri)
+                .post()
+                .body(body)
+                .addFile("file", path)
+                .build();
+    }
+
+}
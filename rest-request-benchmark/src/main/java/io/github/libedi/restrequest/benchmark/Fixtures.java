@@ -0,0 +1,72 @@
+package io.github.libedi.restrequest.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 벤치마크 공통 요청 데이터
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+final class Fixtures {
+
+    static final String URI = "http://localhost:8080/api/v1/resources";
+    static final String URI_TEMPLATE = "http://localhost:8080/api/v1/{tenant}/resources/{id}";
+
+    private Fixtures() {
+    }
+
+    static SearchParam searchParam() {
+        final SearchParam param = new SearchParam();
+        param.keyword = "rest request";
+        param.page = 3;
+        param.size = 50;
+        param.tags = Arrays.asList("spring", "java", "http");
+        param.fields = new String[] { "id", "name", "createdAt" };
+        return param;
+    }
+
+    static RequestBody requestBody() {
+        final RequestBody body = new RequestBody();
+        body.id = "resource-0001";
+        body.name = "benchmark";
+        body.values = Arrays.asList("a", "b", "c", "d", "e");
+        return body;
+    }
+
+    /**
+     * Query Parameter 바인딩 대상 DTO
+     */
+    static class BaseParam {
+        int page;
+        int size;
+    }
+
+    static class SearchParam extends BaseParam {
+        String keyword;
+        List<String> tags;
+        String[] fields;
+    }
+
+    /**
+     * Request Body DTO
+     */
+    public static class RequestBody {
+        private String id;
+        private String name;
+        private List<String> values;
+
+        public String getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public List<String> getValues() {
+            return values;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.libedi.restrequest.benchmark;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+
+import io.github.libedi.restrequest.RestRequest;
+import io.github.libedi.restrequest.benchmark.Fixtures.SearchParam;
+
+/**
+ * DefaultRestRequestFormSpec 벤치마크 : GET / DELETE 요청 생성
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormSpecBenchmark {
+
+    private URI uri;
+    private SearchParam searchParam;
+
+    @Setup
+    public void setUp() {
+        uri = URI.create(Fixtures.URI);
+        searchParam = Fixtures.searchParam();
+    }
+
+    @Benchmark
+    public RestRequest<String> build() {
+        return RestRequest.resp(String.class)
+                .uri(uri)
+                .get()
+                .addHeader("X-Request-Id", "0f8fad5b-d9cb-469f-a165-70867728950e")
+                .accept(MediaType.APPLICATION_JSON)
+                .bearerToken("token")
+                .addParam("keyword", "rest request")
+                .addParam("page", 3)
+                .addParam("size", 50)
+                .build();
+    }
+
+    @Benchmark
+    public RestRequest<String> buildWithoutParam() {
+        return RestRequest.resp(String.class)
+                .uri(uri)
+                .get()
+                .accept(MediaType.APPLICATION_JSON)
+                .build();
+    }
+
+    @Benchmark
+    public RestRequest<String> setParamsObject() {
+        return RestRequest.resp(String.class)
+                .uri(uri)
+                .get()
+                .accept(MediaType.APPLICATION_JSON)
+                .setParams(searchParam)
+                .build();
+    }
+
+}
@@ -0,0 +1,83 @@
+package io.github.libedi.restrequest.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.http.HttpMethod;
+
+import io.github.libedi.restrequest.RestRequest;
+import io.github.libedi.restrequest.RestRequestSpec.RestRequestMethodSpec;
+import io.github.libedi.restrequest.RestRequestTemplate;
+
+/**
+ * DefaultRestRequestUriSpec 벤치마크 : URI 생성 및 URI 변수 확장. RestRequestTemplate 바인딩과 비교한다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UriSpecBenchmark {
+
+    private final String tenant = "tenant-a";
+    private final long id = 1234L;
+    private final RestRequestTemplate<String> template = RestRequestTemplate.resp(String.class)
+            .uri(Fixtures.URI_TEMPLATE)
+            .method(HttpMethod.GET)
+            .build();
+
+    @Benchmark
+    public RestRequestMethodSpec<String> uri() {
+        return RestRequest.resp(String.class)
+                .uri(Fixtures.URI);
+    }
+
+    @Benchmark
+    public RestRequestMethodSpec<String> uriExpand() {
+        return RestRequest.resp(String.class)
+                .uri(Fixtures.URI_TEMPLATE, tenant, id);
+    }
+
+    @Benchmark
+    public RestRequest<String> uriExpandAndBuild() {
+        return RestRequest.resp(String.class)
+                .uri(Fixtures.URI_TEMPLATE, tenant, id)
+                .get()
+                .build();
+    }
+
+    @Benchmark
+    public RestRequest<String> uriExpandAndBuildWithParam() {
+        return RestRequest.resp(String.class)
+                .uri(Fixtures.URI_TEMPLATE, tenant, id)
+                .get()
+                .addParam("page", 1)
+                .build();
+    }
+
+    @Benchmark
+    public RestRequest<String> templateBind() {
+        return template.build(tenant, id);
+    }
+
+    @Benchmark
+    public RestRequest<String> templateBindWithParam() {
+        return template.bind(tenant, id)
+                .addParam("page", 1)
+                .build();
+    }
+
+}
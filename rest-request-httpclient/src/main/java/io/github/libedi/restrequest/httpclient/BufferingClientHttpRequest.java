@@ -0,0 +1,64 @@
+package io.github.libedi.restrequest.httpclient;
+
+import java.io.OutputStream;
+import java.net.URI;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.FastByteArrayOutputStream;
+
+/**
+ * RequestCallback이 기록한 요청 헤더와 Request Body를 보관하는 ClientHttpRequest
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+class BufferingClientHttpRequest implements ClientHttpRequest {
+
+    private final HttpMethod method;
+    private final URI uri;
+    private final HttpHeaders headers = new HttpHeaders();
+    private final FastByteArrayOutputStream body = new FastByteArrayOutputStream();
+
+    BufferingClientHttpRequest(final HttpMethod method, final URI uri) {
+        this.method = method;
+        this.uri = uri;
+    }
+
+    @Override
+    public String getMethodValue() {
+        return method.name();
+    }
+
+    @Override
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    @Override
+    public URI getURI() {
+        return uri;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public OutputStream getBody() {
+        return body;
+    }
+
+    byte[] getBodyBytes() {
+        return body.toByteArrayUnsafe();
+    }
+
+    @Override
+    public ClientHttpResponse execute() {
+        throw new UnsupportedOperationException("Request is executed by HttpClient.");
+    }
+
+}
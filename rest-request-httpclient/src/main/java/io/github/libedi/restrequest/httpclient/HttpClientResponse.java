@@ -0,0 +1,67 @@
+package io.github.libedi.restrequest.httpclient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.AbstractClientHttpResponse;
+
+/**
+ * HttpClient 응답을 ClientHttpResponse로 변환
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+class HttpClientResponse extends AbstractClientHttpResponse {
+
+    private final HttpResponse<?> response;
+    private final InputStream body;
+    private HttpHeaders headers;
+
+    /**
+     * @param response HttpClient 응답
+     * @param body     응답 body. 응답을 닫을 때 닫는다.
+     */
+    HttpClientResponse(final HttpResponse<?> response, final InputStream body) {
+        this.response = response;
+        this.body = body;
+    }
+
+    @Override
+    public int getRawStatusCode() {
+        return response.statusCode();
+    }
+
+    @Override
+    public String getStatusText() {
+        final HttpStatus status = HttpStatus.resolve(response.statusCode());
+        return status == null ? "" : status.getReasonPhrase();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        if (headers == null) {
+            final HttpHeaders httpHeaders = new HttpHeaders();
+            response.headers().map().forEach(httpHeaders::addAll);
+            headers = HttpHeaders.readOnlyHttpHeaders(httpHeaders);
+        }
+        return headers;
+    }
+
+    @Override
+    public InputStream getBody() {
+        return body;
+    }
+
+    @Override
+    public void close() {
+        try {
+            body.close();
+        } catch (final IOException e) {
+            // 응답 body를 닫는 중 발생한 오류는 무시한다.
+        }
+    }
+
+}
@@ -0,0 +1,274 @@
+package io.github.libedi.restrequest.httpclient;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import io.github.libedi.restrequest.FileTransfer;
+import io.github.libedi.restrequest.JsonElementStreams;
+import io.github.libedi.restrequest.MultipartBodyHttpMessageConverter;
+import io.github.libedi.restrequest.RestClientAdapter;
+import io.github.libedi.restrequest.RestRequest;
+
+/**
+ * RestRequest를 JDK {@link HttpClient}로 전송하는 Adapter
+ * <p>
+ * {@link #sendAsync(RestRequest)}는 {@link HttpClient#sendAsync(HttpRequest, HttpResponse.BodyHandler)}를 사용하므로, 응답을
+ * 기다리는 동안 스레드를 점유하지 않고 HTTP/2 멀티플렉싱을 사용할 수 있다. Request Body 변환, Accept 헤더 설정, 응답 변환 및 오류 처리는
+ * 주어진 RestTemplate의 HttpMessageConverter와 ResponseErrorHandler를 그대로 사용한다. RestTemplate의
+ * ClientHttpRequestFactory와 ClientHttpRequestInterceptor는 사용하지 않는다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+public class HttpClientRestClientAdapter implements RestClientAdapter {
+
+    /** HttpClient가 직접 관리하여 {@link HttpRequest.Builder#header(String, String)}로 설정할 수 없는 헤더 */
+    private static final Set<String> RESTRICTED_HEADERS;
+
+    static {
+        final Set<String> restrictedHeaders = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        restrictedHeaders.addAll(Arrays.asList("Connection", "Content-Length", "Date", "Expect", "From", "Host",
+                "Origin", "Referer", "Upgrade", "Via", "Warning"));
+        RESTRICTED_HEADERS = Collections.unmodifiableSet(restrictedHeaders);
+    }
+
+    private final HttpClient httpClient;
+    private final RestTemplate restTemplate;
+
+    /**
+     * HttpClientRestClientAdapter 생성. 내부적으로 {@link HttpClient#newHttpClient()}와 RestTemplate 기본 생성자의
+     * HttpMessageConverter를 사용한다.
+     */
+    public HttpClientRestClientAdapter() {
+        this(HttpClient.newHttpClient(), withMultipartBodyConverter(new RestTemplate()));
+    }
+
+    /**
+     * HttpClientRestClientAdapter 생성. 전달한 RestTemplate은 변경하지 않는다. multipart/mixed 요청의 Request Body 파트를 스트림에 직접
+     * 기록하려면 {@link MultipartBodyHttpMessageConverter#register(RestTemplate)}를 직접 호출한다.
+     * 
+     * @param httpClient   요청을 전송할 HttpClient
+     * @param restTemplate HttpMessageConverter와 ResponseErrorHandler를 제공할 RestTemplate
+     * @throws IllegalArgumentException httpClient 또는 restTemplate 파라미터가 null인 경우
+     */
+    public HttpClientRestClientAdapter(final HttpClient httpClient, final RestTemplate restTemplate) {
+        if (httpClient == null) {
+            throw new IllegalArgumentException("HttpClient must not be null.");
+        }
+        if (restTemplate == null) {
+            throw new IllegalArgumentException("RestTemplate must not be null.");
+        }
+        this.httpClient = httpClient;
+        this.restTemplate = restTemplate;
+    }
+
+    private static RestTemplate withMultipartBodyConverter(final RestTemplate restTemplate) {
+        MultipartBodyHttpMessageConverter.register(restTemplate);
+        return restTemplate;
+    }
+
+    @Override
+    public <T> ResponseEntity<T> send(final RestRequest<T> restRequest) {
+        return join(sendAsync(restRequest));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * 응답 body를 {@link BodyHandlers#ofInputStream()}으로 받아 읽으면서 요소를 하나씩 변환하므로, 응답 크기와 무관하게 메모리 사용량이 일정하다.
+     * 응답은 Stream을 닫을 때 닫힌다.
+     * 
+     * @throws ResourceAccessException I/O 오류가 발생한 경우
+     */
+    @Override
+    public <T> Stream<T> sendForStream(final RestRequest<T> restRequest) {
+        if (restRequest == null) {
+            throw new IllegalArgumentException("RestRequest must not be null.");
+        }
+        final Type elementType = getResponseType(restRequest);
+        final ClientHttpResponse response = open(restRequest, elementType);
+        try {
+            return JsonElementStreams.of(restTemplate, response, elementType);
+        } catch (final IOException e) {
+            response.close();
+            throw createResourceAccessException(restRequest, e);
+        } catch (final RuntimeException e) {
+            response.close();
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * 응답 body를 {@link BodyHandlers#ofInputStream()}으로 받아 파일에 직접 기록하므로, 응답 크기만큼의 heap 메모리를 사용하지 않는다. 요청
+     * header에 Accept를 설정하지 않으면 Accept header 없이 전송한다.
+     * 
+     * @throws ResourceAccessException I/O 오류가 발생한 경우
+     */
+    @Override
+    public ResponseEntity<Long> sendToFile(final RestRequest<?> restRequest, final Path path) {
+        if (restRequest == null) {
+            throw new IllegalArgumentException("RestRequest must not be null.");
+        }
+        Objects.requireNonNull(path, () -> "Path must not be null.");
+        try (ClientHttpResponse response = open(restRequest, null)) {
+            return new ResponseEntity<>(FileTransfer.transfer(response.getBody(), path), response.getHeaders(),
+                    response.getRawStatusCode());
+        } catch (final IOException e) {
+            throw createResourceAccessException(restRequest, e);
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<ResponseEntity<T>> sendAsync(final RestRequest<T> restRequest) {
+        return execute(restRequest, getResponseType(restRequest), BodyHandlers.ofByteArray())
+                .thenApply(response -> extractResponse(restRequest, response));
+    }
+
+    /**
+     * RestRequest의 요청 정보로 비동기 요청 전송. 응답 변환은 주어진 Executor에서 실행한다.
+     */
+    @Override
+    public <T> CompletableFuture<ResponseEntity<T>> sendAsync(final RestRequest<T> restRequest,
+            final Executor executor) {
+        Objects.requireNonNull(executor, () -> "Executor must not be null.");
+        return execute(restRequest, getResponseType(restRequest), BodyHandlers.ofByteArray())
+                .thenApplyAsync(response -> extractResponse(restRequest, response), executor);
+    }
+
+    /**
+     * 요청을 전송하고 오류 응답을 처리한 후, 응답 body를 읽지 않은 상태로 응답을 반환한다.
+     */
+    private ClientHttpResponse open(final RestRequest<?> restRequest, final Type responseType) {
+        final HttpResponse<InputStream> httpResponse = join(
+                execute(restRequest, responseType, BodyHandlers.ofInputStream()));
+        final ClientHttpResponse response = new HttpClientResponse(httpResponse, httpResponse.body());
+        try {
+            final ResponseErrorHandler errorHandler = restTemplate.getErrorHandler();
+            if (errorHandler.hasError(response)) {
+                errorHandler.handleError(restRequest.getUri(), restRequest.getMethod(), response);
+            }
+            return response;
+        } catch (final IOException e) {
+            response.close();
+            throw createResourceAccessException(restRequest, e);
+        } catch (final RuntimeException e) {
+            response.close();
+            throw e;
+        }
+    }
+
+    private static <R> R join(final CompletableFuture<R> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private <B> CompletableFuture<HttpResponse<B>> execute(final RestRequest<?> restRequest,
+            final Type responseType, final BodyHandler<B> bodyHandler) {
+        final HttpRequest httpRequest;
+        try {
+            httpRequest = createRequest(restRequest, responseType);
+        } catch (final IOException e) {
+            return CompletableFuture.failedFuture(createResourceAccessException(restRequest, e));
+        } catch (final RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return httpClient.sendAsync(httpRequest, bodyHandler)
+                .exceptionally(e -> {
+                    final Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof IOException) {
+                        throw createResourceAccessException(restRequest, (IOException) cause);
+                    }
+                    throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
+                });
+    }
+
+    private HttpRequest createRequest(final RestRequest<?> restRequest, final Type responseType)
+            throws IOException {
+        final BufferingClientHttpRequest request = new BufferingClientHttpRequest(restRequest.getMethod(),
+                restRequest.getUri());
+        restTemplate.httpEntityCallback(restRequest.getHttpEntity(), responseType).doWithRequest(request);
+
+        final byte[] body = request.getBodyBytes();
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(restRequest.getUri())
+                .method(restRequest.getMethod().name(),
+                        body.length == 0 ? BodyPublishers.noBody() : BodyPublishers.ofByteArray(body));
+        for (final Entry<String, List<String>> header : request.getHeaders().entrySet()) {
+            // HttpClient가 직접 관리하는 헤더(Content-Length, Host, Connection, Date, Referer 등)는 제외
+            if (RESTRICTED_HEADERS.contains(header.getKey())) {
+                continue;
+            }
+            for (final String value : header.getValue()) {
+                builder.header(header.getKey(), value);
+            }
+        }
+        return builder.build();
+    }
+
+    private <T> ResponseEntity<T> extractResponse(final RestRequest<T> restRequest,
+            final HttpResponse<byte[]> httpResponse) {
+        final byte[] body = httpResponse.body();
+        try (ClientHttpResponse response = new HttpClientResponse(httpResponse,
+                new ByteArrayInputStream(body == null ? new byte[0] : body))) {
+            final ResponseErrorHandler errorHandler = restTemplate.getErrorHandler();
+            if (errorHandler.hasError(response)) {
+                errorHandler.handleError(restRequest.getUri(), restRequest.getMethod(), response);
+            }
+            return restTemplate.<T>responseEntityExtractor(getResponseType(restRequest)).extractData(response);
+        } catch (final IOException e) {
+            throw createResourceAccessException(restRequest, e);
+        }
+    }
+
+    private static Type getResponseType(final RestRequest<?> restRequest) {
+        if (restRequest == null) {
+            throw new IllegalArgumentException("RestRequest must not be null.");
+        }
+        return restRequest.getTypeReference() == null ? restRequest.getResponseType()
+                : restRequest.getTypeReference().getType();
+    }
+
+    private static RestClientException createResourceAccessException(final RestRequest<?> restRequest,
+            final IOException e) {
+        return new ResourceAccessException("I/O error on " + restRequest.getMethod().name() + " request for \""
+                + restRequest.getUri() + "\": " + e.getMessage(), e);
+    }
+
+}
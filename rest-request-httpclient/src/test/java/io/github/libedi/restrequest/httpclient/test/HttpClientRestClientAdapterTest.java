@@ -0,0 +1,195 @@
+package io.github.libedi.restrequest.httpclient.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.github.libedi.restrequest.RestRequest;
+import io.github.libedi.restrequest.httpclient.HttpClientRestClientAdapter;
+
+public class HttpClientRestClientAdapterTest {
+
+    private HttpServer server;
+    private String baseUri;
+    private final HttpClientRestClientAdapter adapter = new HttpClientRestClientAdapter();
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/items", exchange -> {
+            if ("POST".equals(exchange.getRequestMethod())) {
+                final String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+                respond(exchange, 201, exchange.getRequestHeaders().getFirst("Content-Type"), body);
+            } else {
+                respond(exchange, 200, MediaType.APPLICATION_JSON_VALUE,
+                        "[{\"id\":\"1\",\"query\":\"" + exchange.getRequestURI().getRawQuery() + "\",\"header\":\""
+                                + exchange.getRequestHeaders().getFirst("X-Test-Header") + "\"}]");
+            }
+        });
+        server.createContext("/missing", exchange -> respond(exchange, 404, MediaType.TEXT_PLAIN_VALUE, "none"));
+        server.start();
+        baseUri = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    private static void respond(final HttpExchange exchange, final int status, final String contentType,
+            final String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @DisplayName("HttpClientRestClientAdapter 테스트: GET 요청 ParameterizedTypeReference 응답 변환")
+    @Test
+    public void sendAsyncTypeReference() throws Exception {
+        // given
+        final RestRequest<List<Map<String, String>>> restRequest = RestRequest
+                .resp(new ParameterizedTypeReference<List<Map<String, String>>>() {
+                })
+                .uri(baseUri + "/items")
+                .get()
+                .addHeader("X-Test-Header", "test")
+                .addParam("page", 1)
+                .build();
+
+        // when
+        final CompletableFuture<ResponseEntity<List<Map<String, String>>>> actual = adapter.sendAsync(restRequest);
+
+        // then
+        assertThat(actual.get()).satisfies(response -> {
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+            assertThat(response.getBody()).containsExactly(Map.of("id", "1", "query", "page=1", "header", "test"));
+        });
+    }
+
+    @DisplayName("HttpClientRestClientAdapter 테스트: POST 요청 Request Body 변환")
+    @Test
+    public void sendBody() {
+        // given
+        final RestRequest<String> restRequest = RestRequest.resp(String.class)
+                .uri(baseUri + "/items")
+                .post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("list", Arrays.asList("a", "b")))
+                .build();
+
+        // when
+        final ResponseEntity<String> actual = adapter.send(restRequest);
+
+        // then
+        assertThat(actual.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(actual.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(actual.getBody()).isEqualTo("{\"list\":[\"a\",\"b\"]}");
+    }
+
+    @DisplayName("HttpClientRestClientAdapter 테스트: 응답 Stream 변환 및 파일 저장")
+    @Test
+    public void sendForStreamAndFile(@TempDir final Path tempDir) throws Exception {
+        // given
+        final RestRequest<Map<String, String>> restRequest = RestRequest
+                .resp(new ParameterizedTypeReference<Map<String, String>>() {
+                })
+                .uri(baseUri + "/items")
+                .get()
+                .addHeader("X-Test-Header", "test")
+                .build();
+        final Path path = tempDir.resolve("items.json");
+        final RestRequest<String> notFound = RestRequest.resp(String.class).uri(baseUri + "/missing").get().build();
+
+        // when
+        final List<Map<String, String>> items;
+        try (Stream<Map<String, String>> stream = adapter.sendForStream(restRequest)) {
+            items = stream.collect(Collectors.toList());
+        }
+        final ResponseEntity<Long> saved = adapter.sendToFile(restRequest, path);
+
+        // then
+        assertThat(items).containsExactly(Map.of("id", "1", "query", "null", "header", "test"));
+        assertThat(saved.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(saved.getBody()).isEqualTo(Files.size(path));
+        assertThat(Files.readString(path)).isEqualTo("[{\"id\":\"1\",\"query\":\"null\",\"header\":\"test\"}]");
+        assertThatThrownBy(() -> adapter.sendForStream(notFound))
+                .isInstanceOf(HttpClientErrorException.NotFound.class);
+        assertThatThrownBy(() -> adapter.sendToFile(notFound, path))
+                .isInstanceOf(HttpClientErrorException.NotFound.class);
+        assertThat(Files.readString(path)).startsWith("[{");
+    }
+
+    @DisplayName("HttpClientRestClientAdapter 테스트: 오류 응답 및 연결 실패")
+    @Test
+    public void sendError() {
+        // given
+        final RestRequest<String> notFound = RestRequest.resp(String.class).uri(baseUri + "/missing").get().build();
+        final RestRequest<String> refused = RestRequest.resp(String.class).uri(baseUri + "/items").get().build();
+
+        // when & then
+        assertThatThrownBy(() -> adapter.send(notFound)).isInstanceOf(HttpClientErrorException.NotFound.class);
+        server.stop(0);
+        assertThatThrownBy(() -> adapter.send(refused)).isInstanceOf(ResourceAccessException.class);
+    }
+
+    @DisplayName("HttpClientRestClientAdapter 테스트: 제한 헤더 제외 및 잘못된 헤더 오류")
+    @Test
+    public void restrictedHeaders() {
+        // given
+        final RestRequest<String> restricted = RestRequest.resp(String.class)
+                .uri(baseUri + "/items")
+                .get()
+                .addHeader("Connection", "close")
+                .addHeader("Host", "example.com")
+                .addHeader("Date", "Tue, 15 Nov 1994 08:12:31 GMT")
+                .addHeader("Referer", "http://example.com")
+                .addHeader("Via", "1.1 proxy")
+                .addHeader("X-Test-Header", "test")
+                .build();
+        final RestRequest<String> invalid = RestRequest.resp(String.class)
+                .uri(baseUri + "/items")
+                .get()
+                .addHeader("Invalid Header", "test")
+                .build();
+
+        // when
+        final ResponseEntity<String> actual = adapter.send(restricted);
+
+        // then
+        assertThat(actual.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(actual.getBody()).contains("\"header\":\"test\"");
+        assertThatThrownBy(() -> adapter.send(invalid)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
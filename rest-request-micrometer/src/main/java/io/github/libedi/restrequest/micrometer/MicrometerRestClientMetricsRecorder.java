@@ -0,0 +1,178 @@
+package io.github.libedi.restrequest.micrometer;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.http.HttpMethod;
+
+import io.github.libedi.restrequest.MetricsRestClientAdapter;
+import io.github.libedi.restrequest.RestClientMetricsRecorder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 요청 지표를 Micrometer {@link MeterRegistry}에 기록하는 RestClientMetricsRecorder
+ * <p>
+ * {@link MetricsRestClientAdapter}와 함께 사용하며, 다음 Meter를 등록한다. 모든 Meter는 {@code method}, {@code uri} 태그를
+ * 갖는다.
+ * <ul>
+ * <li>{@code rest.client.requests} (Timer) : 응답시간. {@code status} 태그 추가</li>
+ * <li>{@code rest.client.requests.active} (Gauge) : 전송 중인 요청 개수</li>
+ * <li>{@code rest.client.errors} (Counter) : 예외 발생 횟수. {@code status}, {@code exception} 태그 추가</li>
+ * <li>{@code rest.client.request.size} / {@code rest.client.response.size} (DistributionSummary) : Body 크기</li>
+ * </ul>
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+public class MicrometerRestClientMetricsRecorder implements RestClientMetricsRecorder {
+
+    private static final double[] DEFAULT_PERCENTILES = { 0.5, 0.99, 0.999 };
+
+    private final MeterRegistry meterRegistry;
+    private final double[] percentiles;
+    private final ConcurrentMap<MeterKey, AtomicInteger> active = new ConcurrentHashMap<>();
+    private final ConcurrentMap<MeterKey, Meters> meters = new ConcurrentHashMap<>();
+
+    /**
+     * MicrometerRestClientMetricsRecorder 생성. 응답시간의 p50, p99, p999 백분위 값을 기록한다.
+     * 
+     * @param meterRegistry Meter를 등록할 MeterRegistry
+     * @throws IllegalArgumentException meterRegistry 파라미터가 null인 경우
+     */
+    public MicrometerRestClientMetricsRecorder(final MeterRegistry meterRegistry) {
+        this(meterRegistry, DEFAULT_PERCENTILES);
+    }
+
+    /**
+     * MicrometerRestClientMetricsRecorder 생성
+     * 
+     * @param meterRegistry Meter를 등록할 MeterRegistry
+     * @param percentiles   응답시간 백분위 (0.0 ~ 1.0)
+     * @throws IllegalArgumentException meterRegistry 파라미터가 null인 경우
+     */
+    public MicrometerRestClientMetricsRecorder(final MeterRegistry meterRegistry, final double... percentiles) {
+        if (meterRegistry == null) {
+            throw new IllegalArgumentException("MeterRegistry must not be null.");
+        }
+        this.meterRegistry = meterRegistry;
+        this.percentiles = percentiles == null ? new double[0] : percentiles.clone();
+    }
+
+    @Override
+    public void requestStarted(final HttpMethod method, final String uriTemplate) {
+        getActive(method, uriTemplate).incrementAndGet();
+    }
+
+    @Override
+    public void requestCompleted(final HttpMethod method, final String uriTemplate, final String statusClass,
+            final long durationNanos, final long requestBytes, final long responseBytes, final Throwable error) {
+        getActive(method, uriTemplate).decrementAndGet();
+        final MeterKey key = new MeterKey(method, uriTemplate, statusClass);
+        Meters meter = meters.get(key);
+        if (meter == null) {
+            meter = meters.computeIfAbsent(key, this::createMeters);
+        }
+        meter.timer.record(durationNanos, TimeUnit.NANOSECONDS);
+        if (requestBytes >= 0) {
+            meter.requestSize.record(requestBytes);
+        }
+        if (responseBytes >= 0) {
+            meter.responseSize.record(responseBytes);
+        }
+        if (error != null) {
+            Counter.builder("rest.client.errors")
+                    .tags(key.tags().and("status", statusClass, "exception", error.getClass().getSimpleName()))
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    private AtomicInteger getActive(final HttpMethod method, final String uriTemplate) {
+        final MeterKey key = new MeterKey(method, uriTemplate, null);
+        final AtomicInteger count = active.get(key);
+        if (count != null) {
+            return count;
+        }
+        return active.computeIfAbsent(key,
+                k -> meterRegistry.gauge("rest.client.requests.active", k.tags(), new AtomicInteger()));
+    }
+
+    private Meters createMeters(final MeterKey key) {
+        final Tags tags = key.tags();
+        return new Meters(
+                Timer.builder("rest.client.requests")
+                        .tags(tags.and("status", key.statusClass))
+                        .publishPercentiles(percentiles)
+                        .register(meterRegistry),
+                DistributionSummary.builder("rest.client.request.size")
+                        .baseUnit("bytes")
+                        .tags(tags)
+                        .register(meterRegistry),
+                DistributionSummary.builder("rest.client.response.size")
+                        .baseUnit("bytes")
+                        .tags(tags)
+                        .register(meterRegistry));
+    }
+
+    /**
+     * 요청별 Meter
+     */
+    private static final class Meters {
+        private final Timer timer;
+        private final DistributionSummary requestSize;
+        private final DistributionSummary responseSize;
+
+        Meters(final Timer timer, final DistributionSummary requestSize, final DistributionSummary responseSize) {
+            this.timer = timer;
+            this.requestSize = requestSize;
+            this.responseSize = responseSize;
+        }
+    }
+
+    /**
+     * Meter Key
+     */
+    private static final class MeterKey {
+        private final HttpMethod method;
+        private final String uriTemplate;
+        private final String statusClass;
+        private final int hash;
+
+        MeterKey(final HttpMethod method, final String uriTemplate, final String statusClass) {
+            this.method = method;
+            this.uriTemplate = uriTemplate;
+            this.statusClass = statusClass;
+            hash = Objects.hash(method, uriTemplate, statusClass);
+        }
+
+        Tags tags() {
+            return Tags.of("method", String.valueOf(method), "uri", String.valueOf(uriTemplate));
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof MeterKey)) {
+                return false;
+            }
+            final MeterKey other = (MeterKey) obj;
+            return method == other.method && Objects.equals(uriTemplate, other.uriTemplate)
+                    && Objects.equals(statusClass, other.statusClass);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+}
@@ -0,0 +1,59 @@
+package io.github.libedi.restrequest.micrometer.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpServerErrorException;
+
+import io.github.libedi.restrequest.MetricsRestClientAdapter;
+import io.github.libedi.restrequest.RestClientAdapter;
+import io.github.libedi.restrequest.RestRequest;
+import io.github.libedi.restrequest.micrometer.MicrometerRestClientMetricsRecorder;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class MicrometerRestClientMetricsRecorderTest {
+
+    @DisplayName("MicrometerRestClientMetricsRecorder 테스트: Timer, Gauge, Counter 등록")
+    @Test
+    public void record() {
+        // given
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final RestClientAdapter adapter = new MetricsRestClientAdapter(new RestClientAdapter() {
+            @SuppressWarnings("unchecked")
+            @Override
+            public <T> ResponseEntity<T> send(final RestRequest<T> restRequest) {
+                if (restRequest.getUri().getPath().endsWith("/2")) {
+                    throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+                }
+                return (ResponseEntity<T>) ResponseEntity.ok().contentLength(2).body("ok");
+            }
+        }, new MicrometerRestClientMetricsRecorder(meterRegistry));
+
+        // when
+        adapter.send(RestRequest.resp(String.class).uri("http://www.test.com/items/1").get().build());
+        assertThatThrownBy(() -> adapter.send(RestRequest.resp(String.class)
+                .uri("http://www.test.com/items/2").get().build()))
+                .isInstanceOf(HttpServerErrorException.class);
+
+        // then
+        final Timer success = meterRegistry.get("rest.client.requests")
+                .tags("method", "GET", "uri", "http://www.test.com/items/{id}", "status", "2xx")
+                .timer();
+        assertThat(success.count()).isEqualTo(1);
+        assertThat(success.totalTime(TimeUnit.NANOSECONDS)).isPositive();
+        assertThat(meterRegistry.get("rest.client.requests").tag("status", "5xx").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("rest.client.errors").tag("exception", "HttpServerErrorException")
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("rest.client.requests.active").gauge().value()).isZero();
+        assertThat(meterRegistry.get("rest.client.response.size").tag("uri", "http://www.test.com/items/{id}").summary().totalAmount())
+                .isEqualTo(2);
+    }
+
+}
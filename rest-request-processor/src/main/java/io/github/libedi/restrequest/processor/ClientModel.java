@@ -0,0 +1,241 @@
+package io.github.libedi.restrequest.processor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * 생성할 REST Client 구현 클래스 정보
+ *
+ * @author "Sangjun,Park"
+ *
+ */
+class ClientModel {
+
+    private final TypeElement type;
+    private final String packageName;
+    private final String simpleName;
+    private final String generatedAnnotation;
+    private final List<MethodModel> methods = new ArrayList<>();
+    private final Map<String, String> typeReferences = new LinkedHashMap<>();
+
+    ClientModel(final TypeElement type, final String packageName, final String simpleName,
+            final String generatedAnnotation) {
+        this.type = type;
+        this.packageName = packageName;
+        this.simpleName = simpleName;
+        this.generatedAnnotation = generatedAnnotation;
+    }
+
+    /**
+     * ParameterizedTypeReference 상수 등록
+     *
+     * @param responseType 응답 타입
+     * @return 상수명
+     */
+    String addTypeReference(final String responseType) {
+        return typeReferences.computeIfAbsent(responseType, key -> "RESPONSE_TYPE_" + typeReferences.size());
+    }
+
+    TypeElement getType() {
+        return type;
+    }
+
+    String getPackageName() {
+        return packageName;
+    }
+
+    String getSimpleName() {
+        return simpleName;
+    }
+
+    String getQualifiedName() {
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    String getGeneratedAnnotation() {
+        return generatedAnnotation;
+    }
+
+    List<MethodModel> getMethods() {
+        return methods;
+    }
+
+    Map<String, String> getTypeReferences() {
+        return typeReferences;
+    }
+
+    /**
+     * 요청 메소드 정보
+     */
+    static class MethodModel {
+
+        private final ExecutableElement element;
+        private final List<ParameterModel> parameters = new ArrayList<>();
+        private final List<String> uriVariables = new ArrayList<>();
+        private String httpMethod;
+        private boolean bodyAllowed;
+        private String path;
+        private String[] declaredHeaders;
+        private List<String[]> headers;
+        private ReturnKind returnKind;
+        private String responseType;
+        private String responseTypeExpression;
+
+        MethodModel(final ExecutableElement element) {
+            this.element = element;
+        }
+
+        void setRequestMapping(final String httpMethod, final boolean bodyAllowed, final String path,
+                final String[] headers) {
+            this.httpMethod = httpMethod;
+            this.bodyAllowed = bodyAllowed;
+            this.path = path;
+            this.declaredHeaders = headers;
+        }
+
+        ExecutableElement getElement() {
+            return element;
+        }
+
+        List<ParameterModel> getParameters() {
+            return parameters;
+        }
+
+        List<String> getUriVariables() {
+            return uriVariables;
+        }
+
+        String getHttpMethod() {
+            return httpMethod;
+        }
+
+        boolean isBodyAllowed() {
+            return bodyAllowed;
+        }
+
+        String getPath() {
+            return path;
+        }
+
+        void setPath(final String path) {
+            this.path = path;
+        }
+
+        String[] getDeclaredHeaders() {
+            return declaredHeaders;
+        }
+
+        List<String[]> getHeaders() {
+            return headers;
+        }
+
+        void setHeaders(final List<String[]> headers) {
+            this.headers = headers;
+        }
+
+        ReturnKind getReturnKind() {
+            return returnKind;
+        }
+
+        void setReturnKind(final ReturnKind returnKind) {
+            this.returnKind = returnKind;
+        }
+
+        String getResponseType() {
+            return responseType;
+        }
+
+        void setResponseType(final String responseType) {
+            this.responseType = responseType;
+        }
+
+        String getResponseTypeExpression() {
+            return responseTypeExpression;
+        }
+
+        void setResponseTypeExpression(final String responseTypeExpression) {
+            this.responseTypeExpression = responseTypeExpression;
+        }
+    }
+
+    /**
+     * 요청 메소드 파라미터 정보
+     */
+    static class ParameterModel {
+
+        private final ParameterKind kind;
+        private final String variable;
+        private final String name;
+        private final TypeMirror type;
+        private final List<PropertyModel> properties = new ArrayList<>();
+
+        ParameterModel(final ParameterKind kind, final String variable, final String name, final TypeMirror type) {
+            this.kind = kind;
+            this.variable = variable;
+            this.name = name;
+            this.type = type;
+        }
+
+        ParameterKind getKind() {
+            return kind;
+        }
+
+        String getVariable() {
+            return variable;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        TypeMirror getType() {
+            return type;
+        }
+
+        List<PropertyModel> getProperties() {
+            return properties;
+        }
+    }
+
+    /**
+     * 파라미터로 바인딩할 객체의 필드 정보
+     */
+    static class PropertyModel {
+
+        private final String name;
+        private final String accessor;
+        private final TypeMirror type;
+
+        PropertyModel(final String name, final String accessor, final TypeMirror type) {
+            this.name = name;
+            this.accessor = accessor;
+            this.type = type;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        String getAccessor() {
+            return accessor;
+        }
+
+        TypeMirror getType() {
+            return type;
+        }
+    }
+
+    enum ParameterKind {
+        PATH, PARAM, MAP, OBJECT, FILE, HEADER, BODY
+    }
+
+    enum ReturnKind {
+        VOID, BODY, ENTITY, OPTIONAL, ASYNC, REQUEST
+    }
+}
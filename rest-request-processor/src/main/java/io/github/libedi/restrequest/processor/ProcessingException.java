@@ -0,0 +1,26 @@
+package io.github.libedi.restrequest.processor;
+
+import javax.lang.model.element.Element;
+
+/**
+ * 구현 클래스를 생성할 수 없는 선언에 대한 예외
+ *
+ * @author "Sangjun,Park"
+ *
+ */
+class ProcessingException extends RuntimeException {
+
+    private static final long serialVersionUID = -3158829430861870524L;
+
+    private final transient Element element;
+
+    ProcessingException(final Element element, final String message) {
+        super(message);
+        this.element = element;
+    }
+
+    Element getElement() {
+        return element;
+    }
+
+}
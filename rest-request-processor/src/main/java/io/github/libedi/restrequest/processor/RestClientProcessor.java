@@ -0,0 +1,463 @@
+package io.github.libedi.restrequest.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.JavaFileObject;
+
+import io.github.libedi.restrequest.annotation.Body;
+import io.github.libedi.restrequest.annotation.DeleteRequest;
+import io.github.libedi.restrequest.annotation.GetRequest;
+import io.github.libedi.restrequest.annotation.Header;
+import io.github.libedi.restrequest.annotation.Param;
+import io.github.libedi.restrequest.annotation.PatchRequest;
+import io.github.libedi.restrequest.annotation.Path;
+import io.github.libedi.restrequest.annotation.PostRequest;
+import io.github.libedi.restrequest.annotation.PutRequest;
+import io.github.libedi.restrequest.annotation.RestClient;
+import io.github.libedi.restrequest.processor.ClientModel.MethodModel;
+import io.github.libedi.restrequest.processor.ClientModel.ParameterModel;
+import io.github.libedi.restrequest.processor.ClientModel.ParameterKind;
+import io.github.libedi.restrequest.processor.ClientModel.PropertyModel;
+import io.github.libedi.restrequest.processor.ClientModel.ReturnKind;
+
+/**
+ * {@link RestClient} 인터페이스의 구현 클래스를 생성하는 Annotation Processor
+ *
+ * @author "Sangjun,Park"
+ *
+ */
+@SupportedAnnotationTypes("io.github.libedi.restrequest.annotation.RestClient")
+public class RestClientProcessor extends AbstractProcessor {
+
+    private static final Pattern URI_VARIABLE = Pattern.compile("\\{([^}:]+)(?::[^}]*)?}");
+
+    private static final String RESPONSE_ENTITY = "org.springframework.http.ResponseEntity";
+    private static final String REST_REQUEST = "io.github.libedi.restrequest.RestRequest";
+    private static final String MULTIPART_FILE = "org.springframework.web.multipart.MultipartFile";
+
+    private Elements elements;
+    private Types types;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+
+        for (final Element element : roundEnv.getElementsAnnotatedWith(RestClient.class)) {
+            try {
+                if (element.getKind() != ElementKind.INTERFACE) {
+                    throw new ProcessingException(element, "@RestClient must be declared on an interface.");
+                }
+                write(parseClient((TypeElement) element));
+            } catch (final ProcessingException e) {
+                processingEnv.getMessager().printMessage(Kind.ERROR, e.getMessage(), e.getElement());
+            }
+        }
+        return false;
+    }
+
+    private ClientModel parseClient(final TypeElement type) {
+        if (type.getModifiers().contains(Modifier.PRIVATE)) {
+            throw new ProcessingException(type, "@RestClient interface must not be private.");
+        }
+        if (!type.getTypeParameters().isEmpty()) {
+            throw new ProcessingException(type, "@RestClient interface must not declare type parameters.");
+        }
+        final RestClient restClient = type.getAnnotation(RestClient.class);
+        final PackageElement packageElement = elements.getPackageOf(type);
+        final ClientModel client = new ClientModel(type, packageElement.getQualifiedName().toString(),
+                implementationName(type), generatedAnnotation());
+
+        for (final ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            if (method.getModifiers().contains(Modifier.ABSTRACT)) {
+                client.getMethods().add(parseMethod(client, restClient, method));
+            }
+        }
+        return client;
+    }
+
+    private String implementationName(final TypeElement type) {
+        final StringBuilder name = new StringBuilder(type.getSimpleName());
+        Element enclosing = type.getEnclosingElement();
+        while (enclosing.getKind() != ElementKind.PACKAGE) {
+            name.insert(0, enclosing.getSimpleName() + "_");
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return name.append("Impl").toString();
+    }
+
+    private String generatedAnnotation() {
+        for (final String name : new String[] { "javax.annotation.processing.Generated",
+                "javax.annotation.Generated" }) {
+            if (elements.getTypeElement(name) != null) {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    private MethodModel parseMethod(final ClientModel client, final RestClient restClient,
+            final ExecutableElement method) {
+        if (!method.getTypeParameters().isEmpty()) {
+            throw new ProcessingException(method, "Request method must not declare type parameters.");
+        }
+        final MethodModel model = new MethodModel(method);
+        resolveRequestMapping(model, method);
+        model.setPath(joinPath(restClient.value(), model.getPath()));
+        parseHeaders(model, method, restClient.headers());
+        resolveReturnType(client, model, method);
+
+        for (final VariableElement parameter : method.getParameters()) {
+            model.getParameters().add(parseParameter(model, parameter));
+        }
+        resolveUriVariables(model, method);
+        return model;
+    }
+
+    private void resolveRequestMapping(final MethodModel model, final ExecutableElement method) {
+        final List<String> found = new ArrayList<>();
+        final GetRequest get = method.getAnnotation(GetRequest.class);
+        if (get != null) {
+            found.add("get");
+            model.setRequestMapping("get", false, get.value(), get.headers());
+        }
+        final PostRequest post = method.getAnnotation(PostRequest.class);
+        if (post != null) {
+            found.add("post");
+            model.setRequestMapping("post", true, post.value(), post.headers());
+        }
+        final PutRequest put = method.getAnnotation(PutRequest.class);
+        if (put != null) {
+            found.add("put");
+            model.setRequestMapping("put", true, put.value(), put.headers());
+        }
+        final PatchRequest patch = method.getAnnotation(PatchRequest.class);
+        if (patch != null) {
+            found.add("patch");
+            model.setRequestMapping("patch", true, patch.value(), patch.headers());
+        }
+        final DeleteRequest delete = method.getAnnotation(DeleteRequest.class);
+        if (delete != null) {
+            found.add("delete");
+            model.setRequestMapping("delete", false, delete.value(), delete.headers());
+        }
+        if (found.size() != 1) {
+            throw new ProcessingException(method,
+                    "Request method must declare exactly one of @GetRequest, @PostRequest, @PutRequest, "
+                            + "@PatchRequest or @DeleteRequest.");
+        }
+    }
+
+    private String joinPath(final String prefix, final String path) {
+        final String left = trimTrailingSlash(prefix);
+        if (path.isEmpty()) {
+            return left.isEmpty() || left.startsWith("/") ? left : "/" + left;
+        }
+        final String joined = left + (path.startsWith("/") ? path : "/" + path);
+        return joined.startsWith("/") ? joined : "/" + joined;
+    }
+
+    private String trimTrailingSlash(final String path) {
+        return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    private void parseHeaders(final MethodModel model, final ExecutableElement method, final String[] clientHeaders) {
+        final List<String[]> headers = new ArrayList<>();
+        for (final String[] declared : new String[][] { clientHeaders, model.getDeclaredHeaders() }) {
+            for (final String header : declared) {
+                final int index = header.indexOf(':');
+                if (index <= 0) {
+                    throw new ProcessingException(method,
+                            "Header '" + header + "' must be declared as \"Header-Name: value\".");
+                }
+                headers.add(new String[] { header.substring(0, index).trim(), header.substring(index + 1).trim() });
+            }
+        }
+        model.setHeaders(headers);
+    }
+
+    private void resolveReturnType(final ClientModel client, final MethodModel model, final ExecutableElement method) {
+        final TypeMirror returnType = method.getReturnType();
+        if (returnType.getKind() == TypeKind.VOID) {
+            model.setReturnKind(ReturnKind.VOID);
+            return;
+        }
+        TypeMirror responseType = returnType;
+        ReturnKind kind = ReturnKind.BODY;
+        if (isType(returnType, RESPONSE_ENTITY)) {
+            kind = ReturnKind.ENTITY;
+            responseType = typeArgument(method, returnType);
+        } else if (isType(returnType, "java.util.Optional")) {
+            kind = ReturnKind.OPTIONAL;
+            responseType = typeArgument(method, returnType);
+        } else if (isType(returnType, REST_REQUEST)) {
+            kind = ReturnKind.REQUEST;
+            responseType = typeArgument(method, returnType);
+        } else if (isType(returnType, "java.util.concurrent.CompletableFuture")) {
+            final TypeMirror entityType = typeArgument(method, returnType);
+            if (!isType(entityType, RESPONSE_ENTITY)) {
+                throw new ProcessingException(method,
+                        "Asynchronous request method must return CompletableFuture<ResponseEntity<T>>.");
+            }
+            kind = ReturnKind.ASYNC;
+            responseType = typeArgument(method, entityType);
+        } else if (returnType.getKind().isPrimitive()) {
+            responseType = types.boxedClass((javax.lang.model.type.PrimitiveType) returnType).asType();
+        }
+        validateResponseType(method, responseType);
+        model.setReturnKind(kind);
+        model.setResponseType(responseType.toString());
+        if (isClassLiteral(responseType)) {
+            model.setResponseTypeExpression(types.erasure(responseType).toString() + ".class");
+        } else {
+            model.setResponseTypeExpression(client.addTypeReference(responseType.toString()));
+        }
+    }
+
+    private TypeMirror typeArgument(final ExecutableElement method, final TypeMirror type) {
+        final List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+        if (arguments.size() != 1) {
+            throw new ProcessingException(method, "Return type '" + type + "' must declare its response type.");
+        }
+        return arguments.get(0);
+    }
+
+    private void validateResponseType(final ExecutableElement method, final TypeMirror type) {
+        switch (type.getKind()) {
+        case DECLARED:
+            for (final TypeMirror argument : ((DeclaredType) type).getTypeArguments()) {
+                validateResponseType(method, argument);
+            }
+            return;
+        case ARRAY:
+            validateResponseType(method, ((ArrayType) type).getComponentType());
+            return;
+        case BOOLEAN:
+        case BYTE:
+        case SHORT:
+        case INT:
+        case LONG:
+        case CHAR:
+        case FLOAT:
+        case DOUBLE:
+            return;
+        default:
+            throw new ProcessingException(method, "Response type '" + type
+                    + "' must be a concrete type without wildcards or type variables.");
+        }
+    }
+
+    private boolean isClassLiteral(final TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return isClassLiteral(((ArrayType) type).getComponentType());
+        }
+        return type.getKind().isPrimitive()
+                || type.getKind() == TypeKind.DECLARED && ((DeclaredType) type).getTypeArguments().isEmpty();
+    }
+
+    private ParameterModel parseParameter(final MethodModel method, final VariableElement parameter) {
+        final Path path = parameter.getAnnotation(Path.class);
+        final Param param = parameter.getAnnotation(Param.class);
+        final Header header = parameter.getAnnotation(Header.class);
+        final Body body = parameter.getAnnotation(Body.class);
+        final int count = (path == null ? 0 : 1) + (param == null ? 0 : 1) + (header == null ? 0 : 1)
+                + (body == null ? 0 : 1);
+        if (count != 1) {
+            throw new ProcessingException(parameter,
+                    "Parameter must declare exactly one of @Path, @Param, @Header or @Body.");
+        }
+
+        final String variable = parameter.getSimpleName().toString();
+        final TypeMirror type = parameter.asType();
+        if (path != null) {
+            return new ParameterModel(ParameterKind.PATH, variable, nameOrDefault(path.value(), variable), type);
+        }
+        if (header != null) {
+            if (header.value().isEmpty()) {
+                throw new ProcessingException(parameter, "@Header must declare the header name.");
+            }
+            return new ParameterModel(ParameterKind.HEADER, variable, header.value(), type);
+        }
+        if (body != null) {
+            if (!method.isBodyAllowed()) {
+                throw new ProcessingException(parameter, "@Body is only allowed on POST, PUT and PATCH requests.");
+            }
+            if (method.getParameters().stream().anyMatch(p -> p.getKind() == ParameterKind.BODY)) {
+                throw new ProcessingException(parameter, "Only one @Body parameter is allowed.");
+            }
+            return new ParameterModel(ParameterKind.BODY, variable, variable, type);
+        }
+        return parseParam(method, parameter, nameOrDefault(param.value(), variable));
+    }
+
+    private String nameOrDefault(final String name, final String defaultName) {
+        return name.isEmpty() ? defaultName : name;
+    }
+
+    private ParameterModel parseParam(final MethodModel method, final VariableElement parameter, final String name) {
+        final String variable = parameter.getSimpleName().toString();
+        final TypeMirror type = parameter.asType();
+        if (isType(type, "java.io.File") || isType(type, "java.nio.file.Path") || isType(type, MULTIPART_FILE)) {
+            if (!method.isBodyAllowed()) {
+                throw new ProcessingException(parameter,
+                        "File parameters are only allowed on POST, PUT and PATCH requests.");
+            }
+            return new ParameterModel(ParameterKind.FILE, variable, name, type);
+        }
+        if (isAssignable(type, "java.util.Map")) {
+            return new ParameterModel(ParameterKind.MAP, variable, name, type);
+        }
+        if (isBindableObject(type)) {
+            final ParameterModel model = new ParameterModel(ParameterKind.OBJECT, variable, name, type);
+            collectProperties(parameter, (TypeElement) ((DeclaredType) type).asElement(), model.getProperties());
+            return model;
+        }
+        return new ParameterModel(ParameterKind.PARAM, variable, name, type);
+    }
+
+    private boolean isBindableObject(final TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        final Element element = ((DeclaredType) type).asElement();
+        return element.getKind() == ElementKind.CLASS && !isJavaType((TypeElement) element)
+                && !isAssignable(type, "java.util.Collection");
+    }
+
+    private boolean isJavaType(final TypeElement element) {
+        final String name = element.getQualifiedName().toString();
+        return name.startsWith("java.") || name.startsWith("javax.");
+    }
+
+    /**
+     * RestRequestFormSpec.setParams(Object)와 같은 순서(선언 클래스의 필드부터 상위 클래스 순서)로 바인딩한다. 단, 값이 null인 필드는
+     * setParams(Object)와 달리 이름만 있는 파라미터로 추가하지 않고 생략한다.
+     */
+    private void collectProperties(final VariableElement parameter, final TypeElement type,
+            final List<PropertyModel> properties) {
+        final String generatedPackage = elements.getPackageOf(parameter).getQualifiedName().toString();
+        final Set<String> names = new LinkedHashSet<>();
+        TypeElement current = type;
+        while (current != null && !isJavaType(current)) {
+            for (final VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (field.getModifiers().contains(Modifier.STATIC) || !names.add(field.getSimpleName().toString())) {
+                    continue;
+                }
+                properties.add(new PropertyModel(field.getSimpleName().toString(),
+                        accessor(parameter, type, field, generatedPackage), field.asType()));
+            }
+            final TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) types.asElement(superclass) : null;
+        }
+    }
+
+    private String accessor(final VariableElement parameter, final TypeElement type, final VariableElement field,
+            final String generatedPackage) {
+        final String name = field.getSimpleName().toString();
+        final String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        final List<String> candidates = new ArrayList<>();
+        if (field.asType().getKind() == TypeKind.BOOLEAN) {
+            candidates.add("is" + capitalized);
+        }
+        candidates.add("get" + capitalized);
+
+        for (final ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            if (candidates.contains(method.getSimpleName().toString()) && method.getParameters().isEmpty()
+                    && !method.getModifiers().contains(Modifier.STATIC)
+                    && isAccessible(method, generatedPackage)
+                    && types.isAssignable(field.asType(), method.getReturnType())) {
+                return method.getSimpleName() + "()";
+            }
+        }
+        if (isAccessible(field, generatedPackage)) {
+            return name;
+        }
+        throw new ProcessingException(parameter,
+                "Field '" + name + "' of " + type.getQualifiedName() + " has no accessible getter.");
+    }
+
+    private boolean isAccessible(final Element element, final String generatedPackage) {
+        final Set<Modifier> modifiers = element.getModifiers();
+        if (modifiers.contains(Modifier.PUBLIC)) {
+            return true;
+        }
+        return !modifiers.contains(Modifier.PRIVATE)
+                && elements.getPackageOf(element).getQualifiedName().contentEquals(generatedPackage);
+    }
+
+    private void resolveUriVariables(final MethodModel model, final ExecutableElement method) {
+        final Matcher matcher = URI_VARIABLE.matcher(model.getPath());
+        final Set<String> used = new LinkedHashSet<>();
+        while (matcher.find()) {
+            final String name = matcher.group(1).trim();
+            final ParameterModel parameter = model.getParameters().stream()
+                    .filter(p -> p.getKind() == ParameterKind.PATH && p.getName().equals(name))
+                    .findFirst()
+                    .orElseThrow(() -> new ProcessingException(method,
+                            "URI variable '" + name + "' has no matching @Path parameter."));
+            model.getUriVariables().add(parameter.getVariable());
+            used.add(name);
+        }
+        for (final ParameterModel parameter : model.getParameters()) {
+            if (parameter.getKind() == ParameterKind.PATH && !used.contains(parameter.getName())) {
+                throw new ProcessingException(method,
+                        "@Path parameter '" + parameter.getName() + "' is not used in '" + model.getPath() + "'.");
+            }
+        }
+    }
+
+    private boolean isType(final TypeMirror type, final String qualifiedName) {
+        final TypeElement element = elements.getTypeElement(qualifiedName);
+        return element != null && types.isSameType(types.erasure(type), types.erasure(element.asType()));
+    }
+
+    private boolean isAssignable(final TypeMirror type, final String qualifiedName) {
+        final TypeElement element = elements.getTypeElement(qualifiedName);
+        return element != null && types.isAssignable(types.erasure(type), types.erasure(element.asType()));
+    }
+
+    private void write(final ClientModel client) {
+        try {
+            final JavaFileObject file = processingEnv.getFiler().createSourceFile(client.getQualifiedName(),
+                    client.getType());
+            try (Writer writer = file.openWriter()) {
+                writer.write(new RestClientWriter(client).write());
+            }
+        } catch (final IOException e) {
+            throw new ProcessingException(client.getType(),
+                    "Failed to write " + client.getQualifiedName() + ": " + e.getMessage());
+        }
+    }
+
+}
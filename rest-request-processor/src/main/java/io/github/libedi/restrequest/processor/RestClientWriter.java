@@ -0,0 +1,385 @@
+package io.github.libedi.restrequest.processor;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map.Entry;
+import java.util.stream.Collectors;
+
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+import io.github.libedi.restrequest.processor.ClientModel.MethodModel;
+import io.github.libedi.restrequest.processor.ClientModel.ParameterKind;
+import io.github.libedi.restrequest.processor.ClientModel.ParameterModel;
+import io.github.libedi.restrequest.processor.ClientModel.PropertyModel;
+
+/**
+ * REST Client 구현 클래스 소스 생성
+ * <p>
+ * 메소드별 URI 템플릿, HTTP Method, 고정 Header는 생성자에서 {@link io.github.libedi.restrequest.RestRequestTemplate}으로 한번만
+ * 해석하고, 호출시에는 URI 변수, Query Parameter, Request Body만 바인딩한다. Form / Multipart 요청은 RestRequestSpec으로 구성하되, URI는
+ * 미리 해석한 템플릿으로 생성한다.
+ *
+ * @author "Sangjun,Park"
+ *
+ */
+class RestClientWriter {
+
+    private static final String REST_REQUEST = "io.github.libedi.restrequest.RestRequest";
+    private static final String REST_REQUEST_TEMPLATE = "io.github.libedi.restrequest.RestRequestTemplate";
+    private static final String BINDING = REST_REQUEST_TEMPLATE + ".Binding";
+    private static final String HTTP_METHOD = "org.springframework.http.HttpMethod";
+    private static final String REST_CLIENT_ADAPTER = "io.github.libedi.restrequest.RestClientAdapter";
+    private static final String FORM_SPEC = "io.github.libedi.restrequest.RestRequestSpec.RestRequestFormSpec";
+    private static final String BODY_SPEC = "io.github.libedi.restrequest.RestRequestSpec.RestRequestBodySpec";
+    private static final String TYPE_REFERENCE = "org.springframework.core.ParameterizedTypeReference";
+
+    private final ClientModel client;
+    private final StringBuilder source = new StringBuilder();
+    private int indent;
+
+    RestClientWriter(final ClientModel client) {
+        this.client = client;
+    }
+
+    String write() {
+        if (!client.getPackageName().isEmpty()) {
+            line("package " + client.getPackageName() + ";");
+            line("");
+        }
+        line("/**");
+        line(" * REST client implementation of {@link " + client.getType().getQualifiedName() + "}.");
+        line(" * <p>");
+        line(" * Generated by rest-request-processor. Do not edit.");
+        line(" */");
+        if (client.getGeneratedAnnotation() != null) {
+            line("@" + client.getGeneratedAnnotation() + "(\"" + RestClientProcessor.class.getName() + "\")");
+        }
+        open("public final class " + client.getSimpleName() + " implements " + client.getType().getQualifiedName());
+        line("");
+        writeTypeReferences();
+        writeFields();
+        writeConstructor();
+        final List<MethodModel> methods = client.getMethods();
+        for (int i = 0; i < methods.size(); i++) {
+            writeMethod(methods.get(i), i);
+        }
+        writeHelpers(methods);
+        close();
+        return source.toString();
+    }
+
+    private void writeTypeReferences() {
+        for (final Entry<String, String> entry : client.getTypeReferences().entrySet()) {
+            line("private static final " + TYPE_REFERENCE + "<" + entry.getKey() + "> " + entry.getValue() + " = new "
+                    + TYPE_REFERENCE + "<" + entry.getKey() + ">() {");
+            line("};");
+            line("");
+        }
+    }
+
+    private void writeFields() {
+        line("private final " + REST_CLIENT_ADAPTER + " restClientAdapter;");
+        for (int i = 0; i < client.getMethods().size(); i++) {
+            line("private final " + REST_REQUEST_TEMPLATE + "<" + responseType(client.getMethods().get(i)) + "> request"
+                    + i + ";");
+        }
+        line("");
+    }
+
+    private void writeConstructor() {
+        line("/**");
+        line(" * Creates the REST client.");
+        line(" *");
+        line(" * @param restClientAdapter adapter sending the requests");
+        line(" * @param baseUri           base URI prepended to every request path (e.g. http://www.api.com)");
+        line(" */");
+        open("public " + client.getSimpleName() + "(final " + REST_CLIENT_ADAPTER
+                + " restClientAdapter, final String baseUri)");
+        line("this.restClientAdapter = java.util.Objects.requireNonNull(restClientAdapter, "
+                + "\"RestClientAdapter must not be null.\");");
+        line("java.util.Objects.requireNonNull(baseUri, \"Base URI must not be null.\");");
+        line("final String base = baseUri.endsWith(\"/\") ? baseUri.substring(0, baseUri.length() - 1) : baseUri;");
+        for (int i = 0; i < client.getMethods().size(); i++) {
+            writeTemplate(client.getMethods().get(i), i);
+        }
+        close();
+        line("");
+    }
+
+    private void writeTemplate(final MethodModel method, final int index) {
+        final String resp = method.getResponseTypeExpression() == null ? REST_REQUEST_TEMPLATE + ".nonResp()"
+                : REST_REQUEST_TEMPLATE + ".resp(" + method.getResponseTypeExpression() + ")";
+        line("this.request" + index + " = " + resp);
+        line("        .uri(base + " + literal(method.getPath()) + ")");
+        line("        .method(" + HTTP_METHOD + "." + method.getHttpMethod().toUpperCase(Locale.ROOT) + ")");
+        if (isTemplateRequest(method)) {
+            for (final String[] header : method.getHeaders()) {
+                line("        .addHeader(" + literal(header[0]) + ", " + literal(header[1]) + ")");
+            }
+        }
+        line("        .build();");
+    }
+
+    private void writeMethod(final MethodModel method, final int index) {
+        final ExecutableElement element = method.getElement();
+        line("@Override");
+        open("public " + element.getReturnType() + " " + element.getSimpleName() + "(" + parameters(element) + ")"
+                + thrown(element));
+
+        final String responseType = responseType(method);
+        final String uriVariables = method.getUriVariables().isEmpty() ? ""
+                : "new Object[] { " + String.join(", ", method.getUriVariables()) + " }";
+        final String target;
+        if (isTemplateRequest(method)) {
+            target = "request$";
+            line("final " + BINDING + "<" + responseType + "> request$ = this.request" + index + ".bind(" + uriVariables
+                    + ");");
+        } else {
+            // Form / Multipart 요청: RestRequestSpec으로 Request Body를 구성
+            target = "spec$";
+            final String resp = method.getResponseTypeExpression() == null ? REST_REQUEST + ".nonResp()"
+                    : REST_REQUEST + ".resp(" + method.getResponseTypeExpression() + ")";
+            line("final " + BODY_SPEC + "<" + responseType + "> spec$ = " + resp + ".uri(this.request" + index
+                    + ".expand(" + uriVariables + "))." + method.getHttpMethod() + "();");
+            for (final String[] header : method.getHeaders()) {
+                line("spec$.addHeader(" + literal(header[0]) + ", " + literal(header[1]) + ");");
+            }
+        }
+        for (final ParameterModel parameter : method.getParameters()) {
+            writeParameter(target, parameter);
+        }
+
+        final String request = target + ".build()";
+        switch (method.getReturnKind()) {
+        case VOID:
+            line("this.restClientAdapter.send(" + request + ");");
+            break;
+        case BODY:
+            if (element.getReturnType().getKind().isPrimitive()) {
+                // 응답 body가 없으면 unboxing 시 NullPointerException이 발생하므로 원인을 알 수 있는 예외로 대체한다.
+                line("final " + responseType + " body$ = this.restClientAdapter.send(" + request + ").getBody();");
+                open("if (body$ == null)");
+                line("throw new IllegalStateException(" + literal("Response body of "
+                        + element.getEnclosingElement().getSimpleName() + "." + element.getSimpleName()
+                        + "() must not be null for primitive return type '" + element.getReturnType() + "'.") + ");");
+                close();
+                line("return body$;");
+            } else {
+                line("return this.restClientAdapter.send(" + request + ").getBody();");
+            }
+            break;
+        case ENTITY:
+            line("return this.restClientAdapter.send(" + request + ");");
+            break;
+        case OPTIONAL:
+            line("return this.restClientAdapter.sendForBody(" + request + ");");
+            break;
+        case ASYNC:
+            line("return this.restClientAdapter.sendAsync(" + request + ");");
+            break;
+        case REQUEST:
+            line("return " + request + ";");
+            break;
+        default:
+            throw new IllegalStateException("Unknown return kind: " + method.getReturnKind());
+        }
+        close();
+        line("");
+    }
+
+    private void writeParameter(final String target, final ParameterModel parameter) {
+        final String variable = parameter.getVariable();
+        final String name = literal(parameter.getName());
+        final boolean primitive = parameter.getType().getKind().isPrimitive();
+        switch (parameter.getKind()) {
+        case PATH:
+            break;
+        case HEADER:
+            if (primitive) {
+                line(target + ".addHeader(" + name + ", String.valueOf(" + variable + "));");
+            } else {
+                open("if (" + variable + " != null)");
+                line(target + ".addHeader(" + name + ", String.valueOf(" + variable + "));");
+                close();
+            }
+            break;
+        case PARAM:
+            writeParamValue(target, name, variable, parameter.getType());
+            break;
+        case MAP:
+            open("if (" + variable + " != null)");
+            open("for (final java.util.Map.Entry<?, ?> entry$ : ((java.util.Map<?, ?>) " + variable
+                    + ").entrySet())");
+            line("addParam(" + target + ", String.valueOf(entry$.getKey()), entry$.getValue());");
+            close();
+            close();
+            break;
+        case OBJECT:
+            open("if (" + variable + " != null)");
+            for (final PropertyModel property : parameter.getProperties()) {
+                writeParamValue(target, literal(property.getName()), variable + "." + property.getAccessor(),
+                        property.getType());
+            }
+            close();
+            break;
+        case FILE:
+            open("if (" + variable + " != null)");
+            line(target + ".addFile(" + name + ", " + variable + ");");
+            close();
+            break;
+        case BODY:
+            line(target + ".body(" + variable + ");");
+            break;
+        default:
+            throw new IllegalStateException("Unknown parameter kind: " + parameter.getKind());
+        }
+    }
+
+    private void writeParamValue(final String target, final String name, final String expression,
+            final TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            line(target + ".addParam(" + name + ", " + expression + ");");
+        } else if (type.getKind() == TypeKind.ARRAY && ((ArrayType) type).getComponentType().getKind().isPrimitive()) {
+            open("");
+            line("final " + type + " values$ = " + expression + ";");
+            open("if (values$ != null)");
+            open("for (final " + ((ArrayType) type).getComponentType() + " value$ : values$)");
+            line(target + ".addParam(" + name + ", value$);");
+            close();
+            close();
+            close();
+        } else {
+            line("addParam(" + target + ", " + name + ", " + expression + ");");
+        }
+    }
+
+    private void writeHelpers(final List<MethodModel> methods) {
+        final boolean template = methods.stream().anyMatch(RestClientWriter::isTemplateRequest);
+        final boolean spec = !methods.stream().allMatch(RestClientWriter::isTemplateRequest);
+        if (template) {
+            writeAddParam(BINDING + "<?> request");
+        }
+        if (template && spec) {
+            line("");
+        }
+        if (spec) {
+            writeAddParam(FORM_SPEC + "<?, ?> request");
+        }
+    }
+
+    private void writeAddParam(final String request) {
+        open("private static void addParam(final " + request + ", final String name, final Object value)");
+        open("if (value instanceof java.util.Collection)");
+        open("for (final Object element : (java.util.Collection<?>) value)");
+        line("request.addParam(name, element);");
+        close();
+        close("else if (value instanceof Object[])");
+        open("for (final Object element : (Object[]) value)");
+        line("request.addParam(name, element);");
+        close();
+        close("else if (value != null)");
+        line("request.addParam(name, value);");
+        close();
+        close();
+    }
+
+    /**
+     * RestRequestTemplate의 바인딩만으로 요청을 구성할 수 있는지 여부. Request Body를 허용하는 요청의 파라미터와 첨부파일은 Form / Multipart
+     * Request Body로 전송하므로 RestRequestSpec으로 구성한다.
+     */
+    private static boolean isTemplateRequest(final MethodModel method) {
+        return method.getParameters().stream().noneMatch(parameter -> parameter.getKind() == ParameterKind.FILE
+                || method.isBodyAllowed() && (parameter.getKind() == ParameterKind.PARAM
+                        || parameter.getKind() == ParameterKind.MAP || parameter.getKind() == ParameterKind.OBJECT));
+    }
+
+    private static String responseType(final MethodModel method) {
+        return method.getResponseType() == null ? "java.lang.Void" : method.getResponseType();
+    }
+
+    private String parameters(final ExecutableElement element) {
+        final List<? extends VariableElement> parameters = element.getParameters();
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < parameters.size(); i++) {
+            final VariableElement parameter = parameters.get(i);
+            String type = parameter.asType().toString();
+            if (element.isVarArgs() && i == parameters.size() - 1 && type.endsWith("[]")) {
+                type = type.substring(0, type.length() - 2) + "...";
+            }
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append("final ").append(type).append(' ').append(parameter.getSimpleName());
+        }
+        return builder.toString();
+    }
+
+    private String thrown(final ExecutableElement element) {
+        if (element.getThrownTypes().isEmpty()) {
+            return "";
+        }
+        return " throws " + element.getThrownTypes().stream()
+                .map(TypeMirror::toString)
+                .collect(Collectors.joining(", "));
+    }
+
+    private static String literal(final String value) {
+        final StringBuilder builder = new StringBuilder("\"");
+        for (final char c : value.toCharArray()) {
+            switch (c) {
+            case '"':
+                builder.append("\\\"");
+                break;
+            case '\\':
+                builder.append("\\\\");
+                break;
+            case '\n':
+                builder.append("\\n");
+                break;
+            case '\r':
+                builder.append("\\r");
+                break;
+            case '\t':
+                builder.append("\\t");
+                break;
+            default:
+                if (c < 0x20) {
+                    builder.append(String.format("\\u%04x", (int) c));
+                } else {
+                    builder.append(c);
+                }
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    private void open(final String statement) {
+        line(statement.isEmpty() ? "{" : statement + " {");
+        indent++;
+    }
+
+    private void close() {
+        indent--;
+        line("}");
+    }
+
+    private void close(final String continuation) {
+        indent--;
+        line("} " + continuation + " {");
+        indent++;
+    }
+
+    private void line(final String line) {
+        if (!line.isEmpty()) {
+            for (int i = 0; i < indent; i++) {
+                source.append("    ");
+            }
+        }
+        source.append(line).append('\n');
+    }
+
+}
@@ -0,0 +1,92 @@
+package io.github.libedi.restrequest.processor.test;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.http.ResponseEntity;
+
+import io.github.libedi.restrequest.RestRequest;
+import io.github.libedi.restrequest.annotation.Body;
+import io.github.libedi.restrequest.annotation.DeleteRequest;
+import io.github.libedi.restrequest.annotation.GetRequest;
+import io.github.libedi.restrequest.annotation.Header;
+import io.github.libedi.restrequest.annotation.Param;
+import io.github.libedi.restrequest.annotation.Path;
+import io.github.libedi.restrequest.annotation.PostRequest;
+import io.github.libedi.restrequest.annotation.PutRequest;
+import io.github.libedi.restrequest.annotation.RestClient;
+
+@RestClient(value = "/api", headers = "Accept: application/json")
+public interface ItemClient {
+
+    @GetRequest("/items/{id}")
+    ResponseEntity<Item> findItem(@Path long id, @Header("X-Tenant") String tenant);
+
+    @GetRequest(value = "/items", headers = "X-Page-Size: 20")
+    List<Item> search(@Param("q") String keyword, @Param int page, @Param List<String> tags, @Param int[] ids);
+
+    @GetRequest("/items")
+    RestRequest<List<Item>> searchRequest(@Param SearchCondition condition, @Param Map<String, Object> extra);
+
+    @GetRequest("/items/{id}")
+    Optional<Item> findOptional(@Path("id") String itemId);
+
+    @PostRequest("/{tenant}/items")
+    CompletableFuture<ResponseEntity<Item>> create(@Path String tenant, @Body Item item);
+
+    @PutRequest("/items/{id}")
+    RestRequest<Void> upload(@Path long id, @Param("description") String description, @Param("file") File file);
+
+    @DeleteRequest("/items/{id}")
+    void delete(@Path long id);
+
+    @GetRequest("/items/count")
+    long count();
+
+    default String name() {
+        return "items";
+    }
+
+    class Item {
+        private final String id;
+
+        public Item(final String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+    }
+
+    class BaseCondition {
+        int page = 1;
+    }
+
+    class SearchCondition extends BaseCondition {
+        private final String keyword;
+        private final boolean exact;
+        private final List<String> tags;
+
+        public SearchCondition(final String keyword, final boolean exact, final List<String> tags) {
+            this.keyword = keyword;
+            this.exact = exact;
+            this.tags = tags;
+        }
+
+        public String getKeyword() {
+            return keyword;
+        }
+
+        public boolean isExact() {
+            return exact;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+    }
+}
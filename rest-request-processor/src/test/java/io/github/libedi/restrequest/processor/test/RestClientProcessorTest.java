@@ -0,0 +1,200 @@
+package io.github.libedi.restrequest.processor.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
+
+import io.github.libedi.restrequest.RestClientAdapter;
+import io.github.libedi.restrequest.RestRequest;
+import io.github.libedi.restrequest.processor.test.ItemClient.Item;
+import io.github.libedi.restrequest.processor.test.ItemClient.SearchCondition;
+
+public class RestClientProcessorTest {
+
+    private final List<RestRequest<?>> requests = new ArrayList<>();
+    private final ItemClient client = new ItemClientImpl(new RestClientAdapter() {
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> ResponseEntity<T> send(final RestRequest<T> restRequest) {
+            requests.add(restRequest);
+            final Object body = restRequest.getResponseType() == Item.class ? new Item("result") : null;
+            return new ResponseEntity<>((T) body, HttpStatus.OK);
+        }
+
+        @Override
+        public <T> CompletableFuture<ResponseEntity<T>> sendAsync(final RestRequest<T> restRequest) {
+            return CompletableFuture.completedFuture(send(restRequest));
+        }
+    }, "http://localhost:8080/");
+
+    @DisplayName("URI 변수 / Header 파라미터")
+    @Test
+    public void pathAndHeader() {
+        // when
+        final ResponseEntity<Item> actual = client.findItem(10L, "tenant-a");
+
+        // then
+        assertThat(actual.getBody().getId()).isEqualTo("result");
+        final RestRequest<?> request = requests.get(0);
+        assertThat(request.getUri()).isEqualTo(URI.create("http://localhost:8080/api/items/10"));
+        assertThat(request.getMethod()).isEqualTo(HttpMethod.GET);
+        assertThat(request.getHttpEntity().getHeaders().getAccept()).containsExactly(MediaType.APPLICATION_JSON);
+        assertThat(request.getHttpEntity().getHeaders().getFirst("X-Tenant")).isEqualTo("tenant-a");
+        assertThat(request.getResponseType()).isEqualTo(Item.class);
+    }
+
+    @DisplayName("Query Parameter : 단일 값 / Collection / 배열 / null")
+    @Test
+    public void params() {
+        // when
+        client.search(null, 2, Arrays.asList("a", "b"), new int[] { 1, 2 });
+
+        // then
+        final RestRequest<?> request = requests.get(0);
+        assertThat(request.getUri())
+                .isEqualTo(URI.create("http://localhost:8080/api/items?page=2&tags=a&tags=b&ids=1&ids=2"));
+        assertThat(request.getHttpEntity().getHeaders().getFirst("X-Page-Size")).isEqualTo("20");
+        assertThat(request.getTypeReference()).isEqualTo(new ParameterizedTypeReference<List<Item>>() {
+        });
+    }
+
+    @DisplayName("Query Parameter : 객체 / Map / null 필드 생략")
+    @Test
+    public void objectAndMapParams() {
+        // given
+        final Map<String, Object> extra = new LinkedHashMap<>();
+        extra.put("sort", "name");
+
+        // when
+        final RestRequest<List<Item>> actual = client.searchRequest(
+                new SearchCondition("key", true, Collections.singletonList("t")), extra);
+        final RestRequest<List<Item>> nullFields = client.searchRequest(
+                new SearchCondition(null, false, Collections.emptyList()), null);
+
+        // then
+        assertThat(requests).isEmpty();
+        assertThat(actual.getUri())
+                .isEqualTo(URI.create("http://localhost:8080/api/items?keyword=key&exact=true&tags=t&page=1&sort=name"));
+        assertThat(nullFields.getUri()).isEqualTo(URI.create("http://localhost:8080/api/items?exact=false&page=1"));
+    }
+
+    @DisplayName("Optional / CompletableFuture / void 반환 타입")
+    @Test
+    public void returnTypes() {
+        // when
+        assertThat(client.findOptional("a1")).get().extracting(Item::getId).isEqualTo("result");
+        assertThat(client.create("tenant-a", new Item("new")).join().getBody()).isNotNull();
+        client.delete(3L);
+
+        // then
+        assertThat(requests).hasSize(3);
+        assertThat(requests.get(1).getUri()).isEqualTo(URI.create("http://localhost:8080/api/tenant-a/items"));
+        assertThat(requests.get(1).getMethod()).isEqualTo(HttpMethod.POST);
+        assertThat(requests.get(1).getHttpEntity().getBody()).isInstanceOf(Item.class);
+        assertThat(requests.get(2).getMethod()).isEqualTo(HttpMethod.DELETE);
+        assertThat(requests.get(2).getResponseType()).isEqualTo(Void.class);
+    }
+
+    @DisplayName("primitive 반환 타입: 응답 body가 없으면 IllegalStateException")
+    @Test
+    public void primitiveReturnType() {
+        // when / then
+        assertThatThrownBy(() -> client.count()).isInstanceOf(IllegalStateException.class)
+                .hasMessage("Response body of ItemClient.count() must not be null for primitive return type 'long'.");
+        assertThat(requests).hasSize(1);
+        assertThat(requests.get(0).getResponseType()).isEqualTo(Long.class);
+    }
+
+    @DisplayName("첨부파일 파라미터")
+    @Test
+    public void file(@TempDir final Path directory) throws IOException {
+        // given
+        final File file = Files.write(directory.resolve("test.txt"), "test".getBytes(StandardCharsets.UTF_8))
+                .toFile();
+
+        // when
+        final RestRequest<Void> actual = client.upload(1L, "desc", file);
+
+        // then
+        assertThat(actual.getMethod()).isEqualTo(HttpMethod.PUT);
+        assertThat(actual.getHttpEntity().getHeaders().getContentType()).isEqualTo(MediaType.MULTIPART_FORM_DATA);
+        @SuppressWarnings("unchecked")
+        final MultiValueMap<String, Object> form = (MultiValueMap<String, Object>) actual.getHttpEntity().getBody();
+        assertThat(form.getFirst("description")).isEqualTo("desc");
+        assertThat(form.getFirst("file")).isInstanceOf(FileSystemResource.class);
+        assertThat(actual.getHttpEntity().getHeaders()).doesNotContainKey(HttpHeaders.AUTHORIZATION);
+    }
+
+    @DisplayName("잘못된 선언은 컴파일 오류")
+    @Test
+    public void compileError(@TempDir final Path directory) throws IOException {
+        assertThat(compile(directory, "@GetRequest(\"/items/{id}\") Item find(@Path String other);"))
+                .anyMatch(message -> message.contains("URI variable 'id' has no matching @Path parameter."));
+        assertThat(compile(directory, "@GetRequest(\"/items\") Item find(@Body Item item);"))
+                .anyMatch(message -> message.contains("@Body is only allowed on POST, PUT and PATCH requests."));
+        assertThat(compile(directory, "@GetRequest(\"/items\") Item find(String keyword);"))
+                .anyMatch(message -> message.contains("Parameter must declare exactly one of"));
+        assertThat(compile(directory, "Item find();"))
+                .anyMatch(message -> message.contains("Request method must declare exactly one of"));
+    }
+
+    private List<String> compile(final Path directory, final String method) throws IOException {
+        final Path source = directory.resolve("BrokenClient.java");
+        Files.write(source, ("import io.github.libedi.restrequest.annotation.*;\n"
+                + "@RestClient public interface BrokenClient {\n"
+                + "    class Item {}\n"
+                + "    " + method + "\n"
+                + "}\n").getBytes(StandardCharsets.UTF_8));
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null,
+                StandardCharsets.UTF_8)) {
+            compiler.getTask(null, fileManager, diagnostics,
+                    Arrays.asList("-classpath", System.getProperty("java.class.path"), "-d", directory.toString(),
+                            "-proc:only"),
+                    null, fileManager.getJavaFileObjects(source.toFile()))
+                    .call();
+        }
+        final List<String> messages = new ArrayList<>();
+        for (final Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                messages.add(diagnostic.getMessage(Locale.ROOT));
+            }
+        }
+        return messages;
+    }
+}
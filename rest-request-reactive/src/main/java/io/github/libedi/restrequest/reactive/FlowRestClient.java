@@ -0,0 +1,263 @@
+package io.github.libedi.restrequest.reactive;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.http.ResponseEntity;
+
+import io.github.libedi.restrequest.RestClientAdapter;
+import io.github.libedi.restrequest.RestRequest;
+
+/**
+ * {@link Flow.Publisher}로 전달되는 RestRequest를 전송하고 응답을 {@link Flow.Publisher}로 전달하는 Reactive Streams 연산자
+ * <p>
+ * 요청은 {@link RestClientAdapter#sendAsync(RestRequest)}로 전송하며, 응답은 요청 순서대로 전달한다. 상위 Publisher에는 아직 하위
+ * Subscriber에 전달하지 않은 요청(전송 중인 요청과 전달 대기 중인 응답)이 최대 동시 전송 개수를 넘지 않도록 요청하므로, 하위 Subscriber가 느리면
+ * 요청 전송도 느려지고 응답은 최대 동시 전송 개수까지만 보관한다.
+ * <p>
+ * 요청 전송이 실패하면 상위 구독과 전송 중인 요청을 취소하고 하위 Subscriber에 onError를 전달한다. org.reactivestreams 타입은
+ * {@code org.reactivestreams.FlowAdapters}(Reactor는 {@code JdkFlowAdapter})로 변환하여 사용한다.
+ *
+ * <pre class="code">
+ * Flow.Publisher&lt;ResponseEntity&lt;Void&gt;&gt; responses = new FlowRestClient(restClientAdapter, 16).send(requests);
+ * </pre>
+ *
+ * @author "Sangjun,Park"
+ *
+ */
+public class FlowRestClient {
+
+    /** 기본 최대 동시 전송 개수 */
+    public static final int DEFAULT_MAX_IN_FLIGHT = 16;
+
+    private final RestClientAdapter restClientAdapter;
+    private final int maxInFlight;
+
+    /**
+     * FlowRestClient 생성. 최대 동시 전송 개수는 {@value #DEFAULT_MAX_IN_FLIGHT}이다.
+     *
+     * @param restClientAdapter 요청을 전송할 RestClientAdapter
+     * @throws IllegalArgumentException restClientAdapter 파라미터가 null인 경우
+     */
+    public FlowRestClient(final RestClientAdapter restClientAdapter) {
+        this(restClientAdapter, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    /**
+     * FlowRestClient 생성
+     *
+     * @param restClientAdapter 요청을 전송할 RestClientAdapter
+     * @param maxInFlight       최대 동시 전송 개수
+     * @throws IllegalArgumentException restClientAdapter 파라미터가 null이거나, maxInFlight 파라미터가 1보다 작은 경우
+     */
+    public FlowRestClient(final RestClientAdapter restClientAdapter, final int maxInFlight) {
+        if (restClientAdapter == null) {
+            throw new IllegalArgumentException("RestClientAdapter must not be null.");
+        }
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Max in-flight must be greater than 0.");
+        }
+        this.restClientAdapter = restClientAdapter;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * 요청 Publisher를 응답 Publisher로 변환. 응답 Publisher를 구독할 때마다 요청 Publisher를 구독한다.
+     *
+     * @param <T>
+     * @param requests
+     * @return
+     * @throws NullPointerException requests 파라미터가 null인 경우
+     */
+    public <T> Flow.Publisher<ResponseEntity<T>> send(final Flow.Publisher<RestRequest<T>> requests) {
+        Objects.requireNonNull(requests, () -> "Publisher must not be null.");
+        return subscriber -> {
+            Objects.requireNonNull(subscriber, () -> "Subscriber must not be null.");
+            requests.subscribe(new SendSubscriber<>(subscriber));
+        };
+    }
+
+    /**
+     * 상위 Publisher의 요청을 전송하고, 응답을 요청 순서대로 하위 Subscriber에 전달한다. 전달 처리는 drain()에서 한 스레드만 수행한다.
+     */
+    private final class SendSubscriber<T> implements Flow.Subscriber<RestRequest<T>>, Flow.Subscription {
+        private final Flow.Subscriber<? super ResponseEntity<T>> downstream;
+        private final Queue<CompletableFuture<ResponseEntity<T>>> responses = new ConcurrentLinkedQueue<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private Flow.Subscription upstream;
+        private volatile boolean upstreamDone;
+        private volatile Throwable upstreamError;
+        private volatile Throwable demandError;
+        private volatile boolean cancelled;
+        private volatile boolean done;
+        /** 상위 Publisher에 요청했으나 하위 Subscriber에 전달하지 않은 개수 (drain()에서만 변경) */
+        private int outstanding;
+
+        SendSubscriber(final Flow.Subscriber<? super ResponseEntity<T>> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            Objects.requireNonNull(subscription, () -> "Subscription must not be null.");
+            if (upstream != null) {
+                subscription.cancel();
+                return;
+            }
+            upstream = subscription;
+            outstanding = maxInFlight;
+            downstream.onSubscribe(this);
+            if (!cancelled) {
+                subscription.request(maxInFlight);
+            }
+        }
+
+        @Override
+        public void onNext(final RestRequest<T> restRequest) {
+            Objects.requireNonNull(restRequest, () -> "RestRequest must not be null.");
+            if (upstreamDone || cancelled || done) {
+                return;
+            }
+            CompletableFuture<ResponseEntity<T>> future;
+            try {
+                future = restClientAdapter.sendAsync(restRequest);
+            } catch (final RuntimeException e) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+            }
+            responses.offer(future);
+            future.whenComplete((response, error) -> drain());
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            Objects.requireNonNull(throwable, () -> "Throwable must not be null.");
+            upstreamError = throwable;
+            upstreamDone = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            upstreamDone = true;
+            drain();
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                demandError = new IllegalArgumentException("Request must be positive: " + n);
+            } else {
+                requested.getAndAccumulate(n, (current, add) -> {
+                    final long sum = current + add;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                drain();
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (done) {
+                    return;
+                }
+                if (cancelled) {
+                    terminate();
+                    return;
+                }
+                if (demandError != null) {
+                    terminate();
+                    downstream.onError(demandError);
+                    return;
+                }
+                if (upstreamError != null) {
+                    terminate();
+                    downstream.onError(upstreamError);
+                    return;
+                }
+                final long demand = requested.get();
+                long emitted = 0;
+                CompletableFuture<ResponseEntity<T>> head;
+                while ((head = responses.peek()) != null && head.isDone()) {
+                    if (head.isCompletedExceptionally()) {
+                        terminate();
+                        downstream.onError(causeOf(head));
+                        return;
+                    }
+                    if (emitted == demand) {
+                        break;
+                    }
+                    responses.poll();
+                    downstream.onNext(head.join());
+                    emitted++;
+                    if (cancelled) {
+                        terminate();
+                        return;
+                    }
+                }
+                if (responses.isEmpty() && upstreamDone) {
+                    done = true;
+                    downstream.onComplete();
+                    return;
+                }
+                if (emitted > 0) {
+                    if (demand != Long.MAX_VALUE) {
+                        requested.addAndGet(-emitted);
+                    }
+                    outstanding -= emitted;
+                    if (!upstreamDone) {
+                        final int replenish = maxInFlight - outstanding;
+                        outstanding = maxInFlight;
+                        upstream.request(replenish);
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /**
+         * 상위 구독과 전송 중인 요청 취소
+         */
+        private void terminate() {
+            done = true;
+            if (!upstreamDone) {
+                upstream.cancel();
+            }
+            CompletableFuture<ResponseEntity<T>> future;
+            while ((future = responses.poll()) != null) {
+                future.cancel(true);
+            }
+        }
+
+        private Throwable causeOf(final CompletableFuture<ResponseEntity<T>> future) {
+            try {
+                future.join();
+                return new IllegalStateException("Response future completed normally.");
+            } catch (final CompletionException e) {
+                return e.getCause() != null ? e.getCause() : e;
+            } catch (final RuntimeException e) {
+                return e;
+            }
+        }
+    }
+
+}
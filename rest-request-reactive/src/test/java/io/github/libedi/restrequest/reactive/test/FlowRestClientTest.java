@@ -0,0 +1,192 @@
+package io.github.libedi.restrequest.reactive.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+
+import io.github.libedi.restrequest.RestClientAdapter;
+import io.github.libedi.restrequest.RestRequest;
+import io.github.libedi.restrequest.reactive.FlowRestClient;
+
+class FlowRestClientTest {
+
+    /**
+     * 응답을 직접 완료하는 Adapter
+     */
+    private static class PendingAdapter implements RestClientAdapter {
+        private final List<CompletableFuture<ResponseEntity<String>>> pending = new ArrayList<>();
+        private int maxInFlight;
+
+        @Override
+        public <T> ResponseEntity<T> send(final RestRequest<T> restRequest) {
+            throw new UnsupportedOperationException();
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        @Override
+        public <T> CompletableFuture<ResponseEntity<T>> sendAsync(final RestRequest<T> restRequest) {
+            final CompletableFuture<ResponseEntity<String>> future = new CompletableFuture<>();
+            pending.add(future);
+            maxInFlight = Math.max(maxInFlight, (int) pending.stream().filter(f -> !f.isDone()).count());
+            return (CompletableFuture) future;
+        }
+
+        void complete(final int index) {
+            pending.get(index).complete(ResponseEntity.ok("r" + index));
+        }
+    }
+
+    /**
+     * 요청받은 개수만큼 동기적으로 전달하는 Publisher
+     */
+    private static class ListPublisher<T> implements Flow.Publisher<T> {
+        private final List<T> items;
+        private long requested;
+        private boolean cancelled;
+
+        ListPublisher(final List<T> items) {
+            this.items = items;
+        }
+
+        @Override
+        public void subscribe(final Flow.Subscriber<? super T> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                private long demand;
+                private int index;
+                private boolean emitting;
+
+                @Override
+                public void request(final long n) {
+                    demand += n;
+                    requested += n;
+                    if (emitting) {
+                        return;
+                    }
+                    emitting = true;
+                    while (demand > 0 && index < items.size() && !cancelled) {
+                        demand--;
+                        subscriber.onNext(items.get(index++));
+                    }
+                    if (index == items.size() && !cancelled) {
+                        index++;
+                        subscriber.onComplete();
+                    }
+                    emitting = false;
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+
+    private static class TestSubscriber<T> implements Flow.Subscriber<T> {
+        private final List<T> items = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(final T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    private static List<RestRequest<String>> requests(final int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> RestRequest.resp(String.class).uri("http://www.test.com/" + i).get().build())
+                .collect(Collectors.toList());
+    }
+
+    @DisplayName("하위 Subscriber 요청 개수와 최대 동시 전송 개수에 맞춰 요청 전송, 요청 순서대로 응답 전달")
+    @Test
+    public void backpressure() {
+        // given
+        final PendingAdapter adapter = new PendingAdapter();
+        final ListPublisher<RestRequest<String>> publisher = new ListPublisher<>(requests(10));
+        final TestSubscriber<ResponseEntity<String>> subscriber = new TestSubscriber<>();
+
+        // when
+        new FlowRestClient(adapter, 3).send(publisher).subscribe(subscriber);
+        final int sentBeforeDemand = adapter.pending.size();
+        adapter.complete(2);
+        adapter.complete(0);
+        adapter.complete(1);
+        final int sentWithoutDemand = adapter.pending.size();
+        subscriber.subscription.request(2);
+        final List<String> firstBatch = bodies(subscriber.items);
+        final int sentAfterDemand = adapter.pending.size();
+        subscriber.subscription.request(Long.MAX_VALUE);
+        for (int i = 3; i < 10; i++) {
+            adapter.complete(i);
+        }
+
+        // then
+        assertThat(sentBeforeDemand).isEqualTo(3);
+        assertThat(sentWithoutDemand).isEqualTo(3);
+        assertThat(firstBatch).containsExactly("r0", "r1");
+        assertThat(sentAfterDemand).isEqualTo(5);
+        assertThat(bodies(subscriber.items)).containsExactly("r0", "r1", "r2", "r3", "r4", "r5", "r6", "r7", "r8",
+                "r9");
+        assertThat(adapter.maxInFlight).isEqualTo(3);
+        assertThat(publisher.requested).isLessThanOrEqualTo(10 + 3);
+        assertThat(subscriber.completed).isTrue();
+        assertThat(subscriber.error).isNull();
+    }
+
+    @DisplayName("요청 전송 실패시 상위 구독과 전송 중인 요청 취소, onError 전달")
+    @Test
+    public void error() {
+        // given
+        final PendingAdapter adapter = new PendingAdapter();
+        final ListPublisher<RestRequest<String>> publisher = new ListPublisher<>(requests(5));
+        final TestSubscriber<ResponseEntity<String>> subscriber = new TestSubscriber<>();
+        final ResourceAccessException failure = new ResourceAccessException("Connection refused");
+
+        // when
+        new FlowRestClient(adapter, 2).send(publisher).subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        adapter.complete(0);
+        adapter.pending.get(1).completeExceptionally(failure);
+
+        // then
+        assertThat(bodies(subscriber.items)).containsExactly("r0");
+        assertThat(subscriber.error).isSameAs(failure);
+        assertThat(subscriber.completed).isFalse();
+        assertThat(publisher.cancelled).isTrue();
+        assertThat(adapter.pending).hasSize(3);
+        assertThat(adapter.pending.get(2)).isCancelled();
+    }
+
+    private static List<String> bodies(final List<ResponseEntity<String>> responses) {
+        return responses.stream().map(ResponseEntity::getBody).collect(Collectors.toList());
+    }
+
+}
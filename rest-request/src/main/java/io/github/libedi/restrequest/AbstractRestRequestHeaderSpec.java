@@ -1,7 +1,9 @@
 package io.github.libedi.restrequest;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpHeaders;
@@ -23,7 +25,8 @@ public abstract class AbstractRestRequestHeaderSpec<T, S extends RestRequestHead
 
     private final URI uri;
     private final HttpMethod method;
-    private final HttpHeaders headers;
+    private HttpHeaders headers;
+    private HeaderOverlay headerOverlay;
     private final Class<T> responseType;
     private final ParameterizedTypeReference<T> typeReference;
 
@@ -52,6 +55,22 @@ public abstract class AbstractRestRequestHeaderSpec<T, S extends RestRequestHead
         return (S) this;
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public S headerProfile(final HeaderProfile headerProfile) {
+        Objects.requireNonNull(headerProfile, () -> "HeaderProfile must not be null.");
+        final HeaderOverlay overlay = new HeaderOverlay(headerProfile.getSharedHeaders());
+        if (headerOverlay == null) {
+            headers.forEach((key, values) -> overlay.put(key, new ArrayList<>(values)));
+        } else {
+            // 이전 HeaderProfile의 공유 Header는 제외하고, 요청별로 추가 / 변경한 Header만 옮긴다.
+            headerOverlay.copyOverridesTo(overlay);
+        }
+        headerOverlay = overlay;
+        headers = new HttpHeaders(overlay);
+        return (S) this;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public S accept(final List<MediaType> acceptableMediaTypes) {
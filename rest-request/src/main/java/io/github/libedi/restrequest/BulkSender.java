@@ -0,0 +1,109 @@
+package io.github.libedi.restrequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.http.ResponseEntity;
+
+/**
+ * 동시 전송 개수를 제한하여 요청을 일괄 전송
+ * <p>
+ * 최대 maxConcurrency개의 요청을 전송하고, 요청이 완료될 때마다 다음 요청을 전송한다. 요청 완료 콜백이 호출 스레드에서 즉시 실행되더라도 재귀
+ * 호출이 쌓이지 않도록, 다음 요청 전송은 한 스레드에서만 수행한다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ * @param <T> 응답 타입
+ */
+final class BulkSender<T> {
+
+    private final RestClientAdapter restClientAdapter;
+    private final List<RestRequest<T>> restRequests;
+    private final int maxConcurrency;
+    private final SendAllMode mode;
+
+    private final SendResult<?>[] results;
+    private final CompletableFuture<List<SendResult<T>>> future = new CompletableFuture<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger remaining;
+    private int next;
+
+    BulkSender(final RestClientAdapter restClientAdapter, final Collection<? extends RestRequest<T>> restRequests,
+            final int maxConcurrency, final SendAllMode mode) {
+        if (restRequests == null) {
+            throw new IllegalArgumentException("RestRequests must not be null.");
+        }
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Max concurrency must be greater than 0.");
+        }
+        if (mode == null) {
+            throw new IllegalArgumentException("SendAllMode must not be null.");
+        }
+        this.restClientAdapter = restClientAdapter;
+        this.restRequests = new ArrayList<>(restRequests);
+        this.maxConcurrency = maxConcurrency;
+        this.mode = mode;
+        results = new SendResult<?>[this.restRequests.size()];
+        remaining = new AtomicInteger(results.length);
+    }
+
+    CompletableFuture<List<SendResult<T>>> execute() {
+        if (results.length == 0) {
+            future.complete(Collections.emptyList());
+        } else {
+            drain();
+        }
+        return future;
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        do {
+            while (!future.isDone() && next < results.length && inFlight.get() < maxConcurrency) {
+                inFlight.incrementAndGet();
+                send(next++);
+            }
+        } while (wip.decrementAndGet() != 0);
+    }
+
+    private void send(final int index) {
+        CompletableFuture<ResponseEntity<T>> response;
+        try {
+            response = restClientAdapter.sendAsync(restRequests.get(index));
+        } catch (final RuntimeException e) {
+            response = new CompletableFuture<>();
+            response.completeExceptionally(e);
+        }
+        response.whenComplete((entity, error) -> complete(index, entity, error));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void complete(final int index, final ResponseEntity<T> entity, final Throwable error) {
+        if (error == null) {
+            results[index] = SendResult.success(entity);
+        } else {
+            final Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+            results[index] = SendResult.failure(cause);
+            if (mode == SendAllMode.FAIL_FAST) {
+                future.completeExceptionally(cause);
+            }
+        }
+        inFlight.decrementAndGet();
+        if (remaining.decrementAndGet() == 0) {
+            future.complete(Collections.unmodifiableList(Arrays.asList((SendResult<T>[]) results)));
+        }
+        drain();
+    }
+
+}
@@ -0,0 +1,548 @@
+package io.github.libedi.restrequest;
+
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+
+/**
+ * HTTP 캐시 규칙에 따라 GET 요청의 응답을 캐시하는 Adapter
+ * <p>
+ * 응답의 {@code Cache-Control}(max-age, no-cache, no-store) / {@code Expires} 헤더로 캐시 유효기간을 계산하고, 유효기간이 지난 응답은
+ * {@code If-None-Match} / {@code If-Modified-Since} 헤더로 재검증하여 304 응답시 캐시된 응답을 반환한다. 캐시 용량은 응답별 크기의
+ * 합계로 제한하며, 용량을 초과하면 가장 오래 사용하지 않은 응답부터 제거한다. POST / PUT / PATCH / DELETE 요청을 전송하면 같은 URI의 캐시된
+ * 응답을 제거한다.
+ * <p>
+ * 캐시 Key는 URI, 응답 타입, Authorization / Accept / Accept-Encoding 헤더 및 응답의 Vary 헤더에 지정된 요청 헤더이다. 캐시된 응답의 body 객체는 호출자들이
+ * 공유하므로, 변경하지 않아야 한다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+public class CachingRestClientAdapter implements RestClientAdapter {
+
+    private final RestClientAdapter restClientAdapter;
+    private final long maximumWeight;
+    private final ToLongFunction<ResponseEntity<?>> weigher;
+
+    private final LinkedHashMap<CacheKey, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder revalidatedCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * CachingRestClientAdapter 생성. 응답 크기는 Content-Length 헤더 값이며, 헤더가 없는 경우 문자열 / byte 배열 body의 길이,
+     * 그 외에는 1로 계산한다.
+     * 
+     * @param restClientAdapter 요청을 전송할 RestClientAdapter
+     * @param maximumWeight     캐시할 응답 크기의 최대 합계
+     * @throws IllegalArgumentException restClientAdapter 파라미터가 null이거나, maximumWeight 파라미터가 1보다 작은 경우
+     */
+    public CachingRestClientAdapter(final RestClientAdapter restClientAdapter, final long maximumWeight) {
+        this(restClientAdapter, maximumWeight, CachingRestClientAdapter::weigh);
+    }
+
+    /**
+     * CachingRestClientAdapter 생성
+     * 
+     * @param restClientAdapter 요청을 전송할 RestClientAdapter
+     * @param maximumWeight     캐시할 응답 크기의 최대 합계
+     * @param weigher           응답 크기 계산 함수
+     * @throws IllegalArgumentException restClientAdapter 또는 weigher 파라미터가 null이거나, maximumWeight 파라미터가 1보다 작은
+     *                                  경우
+     */
+    public CachingRestClientAdapter(final RestClientAdapter restClientAdapter, final long maximumWeight,
+            final ToLongFunction<ResponseEntity<?>> weigher) {
+        if (restClientAdapter == null) {
+            throw new IllegalArgumentException("RestClientAdapter must not be null.");
+        }
+        if (maximumWeight < 1) {
+            throw new IllegalArgumentException("Maximum weight must be greater than 0.");
+        }
+        if (weigher == null) {
+            throw new IllegalArgumentException("Weigher must not be null.");
+        }
+        this.restClientAdapter = restClientAdapter;
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+    }
+
+    @Override
+    public <T> ResponseEntity<T> send(final RestRequest<T> restRequest) {
+        final Lookup<T> lookup = lookup(restRequest);
+        if (lookup.response != null) {
+            return lookup.response;
+        }
+        return lookup.complete(restClientAdapter.send(lookup.request));
+    }
+
+    /**
+     * 응답 Stream은 캐시하지 않고 감싼 Adapter로 전송한다. POST / PUT / PATCH / DELETE 요청이면 같은 URI의 캐시된 응답을 제거한다.
+     */
+    @Override
+    public <T> Stream<T> sendForStream(final RestRequest<T> restRequest) {
+        bypass(restRequest);
+        return restClientAdapter.sendForStream(restRequest);
+    }
+
+    /**
+     * 파일로 저장하는 응답은 캐시하지 않고 감싼 Adapter로 전송한다. POST / PUT / PATCH / DELETE 요청이면 같은 URI의 캐시된 응답을 제거한다.
+     */
+    @Override
+    public ResponseEntity<Long> sendToFile(final RestRequest<?> restRequest, final Path path) {
+        bypass(restRequest);
+        return restClientAdapter.sendToFile(restRequest, path);
+    }
+
+    @Override
+    public <T> CompletableFuture<ResponseEntity<T>> sendAsync(final RestRequest<T> restRequest) {
+        final Lookup<T> lookup = lookup(restRequest);
+        if (lookup.response != null) {
+            return CompletableFuture.completedFuture(lookup.response);
+        }
+        return restClientAdapter.sendAsync(lookup.request).thenApply(lookup::complete);
+    }
+
+    @Override
+    public <T> CompletableFuture<ResponseEntity<T>> sendAsync(final RestRequest<T> restRequest,
+            final Executor executor) {
+        Objects.requireNonNull(executor, () -> "Executor must not be null.");
+        final Lookup<T> lookup = lookup(restRequest);
+        if (lookup.response != null) {
+            return CompletableFuture.completedFuture(lookup.response);
+        }
+        return restClientAdapter.sendAsync(lookup.request, executor).thenApply(lookup::complete);
+    }
+
+    /**
+     * 캐시된 응답을 반환한 횟수. 재검증 결과 304 응답을 받은 경우를 포함한다.
+     * 
+     * @return hit count
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * 캐시된 응답이 없거나 재검증 결과 새로운 응답을 받은 횟수
+     * 
+     * @return miss count
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * 재검증 결과 304 응답을 받아 캐시된 응답을 반환한 횟수
+     * 
+     * @return revalidated count
+     */
+    public long getRevalidatedCount() {
+        return revalidatedCount.sum();
+    }
+
+    /**
+     * 용량 초과로 제거한 응답 개수
+     * 
+     * @return eviction count
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * 캐시된 응답 개수
+     * 
+     * @return size
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * 캐시된 응답 크기의 합계
+     * 
+     * @return weight
+     */
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    /**
+     * 캐시된 응답 전체 제거
+     */
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    private void bypass(final RestRequest<?> restRequest) {
+        if (restRequest == null) {
+            throw new IllegalArgumentException("RestRequest must not be null.");
+        }
+        final HttpMethod method = restRequest.getMethod();
+        if (method == HttpMethod.POST || method == HttpMethod.PUT || method == HttpMethod.PATCH
+                || method == HttpMethod.DELETE) {
+            invalidate(restRequest.getUri());
+        }
+    }
+
+    private <T> Lookup<T> lookup(final RestRequest<T> restRequest) {
+        if (restRequest == null) {
+            throw new IllegalArgumentException("RestRequest must not be null.");
+        }
+        final HttpMethod method = restRequest.getMethod();
+        if (method == HttpMethod.POST || method == HttpMethod.PUT || method == HttpMethod.PATCH
+                || method == HttpMethod.DELETE) {
+            invalidate(restRequest.getUri());
+            return new Lookup<>(restRequest, null, null);
+        }
+        final HttpHeaders requestHeaders = getHeaders(restRequest);
+        if (method != HttpMethod.GET || restRequest.getHttpEntity() != null && restRequest.getHttpEntity().hasBody()
+                || requestHeaders.containsKey(HttpHeaders.IF_NONE_MATCH)
+                || requestHeaders.containsKey(HttpHeaders.IF_MODIFIED_SINCE)) {
+            return new Lookup<>(restRequest, null, null);
+        }
+        final CacheDirectives requestDirectives = new CacheDirectives(requestHeaders.getCacheControl());
+        if (requestDirectives.noStore) {
+            return new Lookup<>(restRequest, null, null);
+        }
+
+        final CacheKey key = new CacheKey(restRequest);
+        final CacheEntry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+        if (entry == null || !entry.matches(requestHeaders)) {
+            missCount.increment();
+            return new Lookup<>(restRequest, key, null);
+        }
+        if (!entry.noCache && !requestDirectives.noCache && requestDirectives.maxAge != 0
+                && entry.isFresh(System.currentTimeMillis())) {
+            hitCount.increment();
+            return new Lookup<>(entry.toResponse(entry.headers), null, null);
+        }
+        if (entry.eTag == null && entry.lastModified < 0) {
+            missCount.increment();
+            return new Lookup<>(restRequest, key, null);
+        }
+
+        final HttpHeaders conditionalHeaders = new HttpHeaders();
+        conditionalHeaders.putAll(requestHeaders);
+        if (entry.eTag != null) {
+            conditionalHeaders.setIfNoneMatch(entry.eTag);
+        }
+        if (entry.lastModified >= 0) {
+            conditionalHeaders.setIfModifiedSince(entry.lastModified);
+        }
+        final RestRequest<T> conditionalRequest = new RestRequest<>(restRequest.getUri(), method,
+                new HttpEntity<>(conditionalHeaders), restRequest.getResponseType(), restRequest.getTypeReference());
+        return new Lookup<>(conditionalRequest, key, entry);
+    }
+
+    private <T> ResponseEntity<T> complete(final CacheKey key, final CacheEntry revalidated,
+            final HttpHeaders requestHeaders, final ResponseEntity<T> response) {
+        final long now = System.currentTimeMillis();
+        if (revalidated != null && response.getStatusCodeValue() == HttpStatus.NOT_MODIFIED.value()) {
+            final HttpHeaders headers = new HttpHeaders();
+            headers.putAll(revalidated.headers);
+            response.getHeaders().forEach((name, values) -> {
+                if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                    headers.put(name, values);
+                }
+            });
+            final CacheEntry entry = CacheEntry.create(revalidated.response, headers, requestHeaders, now,
+                    revalidated.weight);
+            if (entry != null) {
+                put(key, entry);
+            }
+            hitCount.increment();
+            revalidatedCount.increment();
+            return revalidated.toResponse(headers);
+        }
+        if (revalidated != null) {
+            missCount.increment();
+        }
+        if (response.getStatusCodeValue() == HttpStatus.OK.value()) {
+            final CacheEntry entry = CacheEntry.create(response, response.getHeaders(), requestHeaders, now,
+                    weigher.applyAsLong(response));
+            if (entry != null) {
+                put(key, entry);
+            } else {
+                remove(key);
+            }
+        }
+        return response;
+    }
+
+    private synchronized void put(final CacheKey key, final CacheEntry entry) {
+        if (entry.weight > maximumWeight) {
+            final CacheEntry removed = entries.remove(key);
+            if (removed != null) {
+                weight -= removed.weight;
+            }
+            return;
+        }
+        final CacheEntry previous = entries.put(key, entry);
+        weight += entry.weight - (previous == null ? 0 : previous.weight);
+        final Iterator<CacheEntry> iterator = entries.values().iterator();
+        while (weight > maximumWeight && iterator.hasNext()) {
+            final CacheEntry eldest = iterator.next();
+            iterator.remove();
+            weight -= eldest.weight;
+            evictionCount.increment();
+        }
+    }
+
+    private synchronized void remove(final CacheKey key) {
+        final CacheEntry removed = entries.remove(key);
+        if (removed != null) {
+            weight -= removed.weight;
+        }
+    }
+
+    private synchronized void invalidate(final URI uri) {
+        final Iterator<Map.Entry<CacheKey, CacheEntry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<CacheKey, CacheEntry> entry = iterator.next();
+            if (entry.getKey().uri.equals(uri)) {
+                iterator.remove();
+                weight -= entry.getValue().weight;
+            }
+        }
+    }
+
+    private static HttpHeaders getHeaders(final RestRequest<?> restRequest) {
+        return restRequest.getHttpEntity() == null ? HttpHeaders.EMPTY : restRequest.getHttpEntity().getHeaders();
+    }
+
+    private static long weigh(final ResponseEntity<?> response) {
+        final long contentLength = response.getHeaders().getContentLength();
+        if (contentLength >= 0) {
+            return Math.max(contentLength, 1);
+        }
+        final Object body = response.getBody();
+        if (body instanceof byte[]) {
+            return Math.max(((byte[]) body).length, 1);
+        }
+        if (body instanceof CharSequence) {
+            return Math.max(body.toString().getBytes(StandardCharsets.UTF_8).length, 1);
+        }
+        return 1;
+    }
+
+    /**
+     * 캐시 조회 결과
+     */
+    private final class Lookup<T> {
+        private final RestRequest<T> request;
+        private final CacheKey key;
+        private final CacheEntry revalidated;
+        private final ResponseEntity<T> response;
+
+        Lookup(final RestRequest<T> request, final CacheKey key, final CacheEntry revalidated) {
+            this.request = request;
+            this.key = key;
+            this.revalidated = revalidated;
+            response = null;
+        }
+
+        Lookup(final ResponseEntity<T> response, final CacheKey key, final CacheEntry revalidated) {
+            request = null;
+            this.key = key;
+            this.revalidated = revalidated;
+            this.response = response;
+        }
+
+        ResponseEntity<T> complete(final ResponseEntity<T> response) {
+            if (key == null || response == null) {
+                return response;
+            }
+            return CachingRestClientAdapter.this.complete(key, revalidated, getHeaders(request), response);
+        }
+    }
+
+    /**
+     * 캐시 Key
+     */
+    private static final class CacheKey {
+        private final URI uri;
+        private final Type responseType;
+        private final List<String> authorization;
+        private final List<String> accept;
+        private final List<String> acceptEncoding;
+        private final int hash;
+
+        CacheKey(final RestRequest<?> restRequest) {
+            final HttpHeaders headers = getHeaders(restRequest);
+            uri = restRequest.getUri();
+            responseType = restRequest.getTypeReference() == null ? restRequest.getResponseType()
+                    : restRequest.getTypeReference().getType();
+            authorization = headers.get(HttpHeaders.AUTHORIZATION);
+            accept = headers.get(HttpHeaders.ACCEPT);
+            acceptEncoding = headers.get(HttpHeaders.ACCEPT_ENCODING);
+            hash = Objects.hash(uri, responseType, authorization, accept, acceptEncoding);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CacheKey)) {
+                return false;
+            }
+            final CacheKey other = (CacheKey) obj;
+            return uri.equals(other.uri) && Objects.equals(responseType, other.responseType)
+                    && Objects.equals(authorization, other.authorization) && Objects.equals(accept, other.accept)
+                    && Objects.equals(acceptEncoding, other.acceptEncoding);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * 캐시된 응답
+     */
+    private static final class CacheEntry {
+        private final ResponseEntity<?> response;
+        private final HttpHeaders headers;
+        private final Map<String, List<String>> vary;
+        private final long expiresAt;
+        private final boolean noCache;
+        private final String eTag;
+        private final long lastModified;
+        private final long weight;
+
+        private CacheEntry(final ResponseEntity<?> response, final HttpHeaders headers,
+                final Map<String, List<String>> vary, final long expiresAt, final boolean noCache,
+                final long weight) {
+            this.response = response;
+            this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+            this.vary = vary;
+            this.expiresAt = expiresAt;
+            this.noCache = noCache;
+            eTag = headers.getETag();
+            lastModified = headers.getLastModified();
+            this.weight = weight;
+        }
+
+        /**
+         * 응답 헤더로 캐시 가능 여부와 유효기간을 계산하여 생성
+         * 
+         * @return 캐시할 수 없는 응답이면 null
+         */
+        static CacheEntry create(final ResponseEntity<?> response, final HttpHeaders headers,
+                final HttpHeaders requestHeaders, final long now, final long weight) {
+            final CacheDirectives directives = new CacheDirectives(headers.getCacheControl());
+            if (directives.noStore || headers.getVary().contains("*")) {
+                return null;
+            }
+            long lifetime = -1;
+            if (directives.maxAge >= 0) {
+                lifetime = directives.maxAge * 1000;
+            } else if (headers.getExpires() >= 0) {
+                final long date = headers.getDate() >= 0 ? headers.getDate() : now;
+                lifetime = headers.getExpires() - date;
+            }
+            final boolean validator = headers.getETag() != null || headers.getLastModified() >= 0;
+            if (lifetime <= 0 && !validator) {
+                return null;
+            }
+            long age = 0;
+            final String ageHeader = headers.getFirst(HttpHeaders.AGE);
+            if (ageHeader != null) {
+                try {
+                    age = Long.parseLong(ageHeader.trim()) * 1000;
+                } catch (final NumberFormatException e) {
+                    age = 0;
+                }
+            }
+            final Map<String, List<String>> vary = new LinkedHashMap<>();
+            for (final String name : headers.getVary()) {
+                final List<String> values = requestHeaders.get(name);
+                vary.put(name, values == null ? Collections.emptyList() : new ArrayList<>(values));
+            }
+            return new CacheEntry(response, headers, vary, now + Math.max(lifetime, 0) - age, directives.noCache,
+                    weight);
+        }
+
+        boolean matches(final HttpHeaders requestHeaders) {
+            for (final Map.Entry<String, List<String>> entry : vary.entrySet()) {
+                final List<String> values = requestHeaders.get(entry.getKey());
+                if (!entry.getValue().equals(values == null ? Collections.emptyList() : values)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean isFresh(final long now) {
+            return now < expiresAt;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> ResponseEntity<T> toResponse(final HttpHeaders responseHeaders) {
+            return new ResponseEntity<>((T) response.getBody(), responseHeaders, response.getStatusCodeValue());
+        }
+    }
+
+    /**
+     * Cache-Control 헤더 지시자
+     */
+    private static final class CacheDirectives {
+        private boolean noStore;
+        private boolean noCache;
+        private long maxAge = -1;
+
+        CacheDirectives(final String cacheControl) {
+            if (!StringUtils.hasText(cacheControl)) {
+                return;
+            }
+            for (final String directive : StringUtils.tokenizeToStringArray(cacheControl, ",")) {
+                final int index = directive.indexOf('=');
+                final String name = (index < 0 ? directive : directive.substring(0, index)).trim()
+                        .toLowerCase(Locale.ROOT);
+                if ("no-store".equals(name)) {
+                    noStore = true;
+                } else if ("no-cache".equals(name)) {
+                    noCache = true;
+                } else if ("max-age".equals(name) && index > 0) {
+                    try {
+                        maxAge = Long.parseLong(StringUtils.trimTrailingCharacter(
+                                StringUtils.trimLeadingCharacter(directive.substring(index + 1).trim(), '"'), '"'));
+                    } catch (final NumberFormatException e) {
+                        maxAge = 0;
+                    }
+                }
+            }
+        }
+    }
+
+}
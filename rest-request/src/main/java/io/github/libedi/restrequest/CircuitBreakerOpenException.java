@@ -0,0 +1,31 @@
+package io.github.libedi.restrequest;
+
+import org.springframework.web.client.RestClientException;
+
+/**
+ * 대상 호스트의 circuit이 열려 있어 요청을 전송하지 않은 경우 발생하는 예외
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+public class CircuitBreakerOpenException extends RestClientException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String host;
+
+    public CircuitBreakerOpenException(final String host) {
+        super("Circuit breaker is open for " + host);
+        this.host = host;
+    }
+
+    /**
+     * 대상 호스트
+     * 
+     * @return
+     */
+    public String getHost() {
+        return host;
+    }
+
+}
@@ -0,0 +1,42 @@
+package io.github.libedi.restrequest;
+
+import org.springframework.web.client.RestClientException;
+
+/**
+ * 대상 호스트의 동시 요청 개수 제한을 초과하여 요청을 전송하지 않은 경우 발생하는 예외
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+public class ConcurrencyLimitExceededException extends RestClientException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String host;
+    private final int limit;
+
+    public ConcurrencyLimitExceededException(final String host, final int limit) {
+        super("Concurrency limit exceeded for " + host + " (limit: " + limit + ")");
+        this.host = host;
+        this.limit = limit;
+    }
+
+    /**
+     * 대상 호스트
+     * 
+     * @return
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * 요청 거부 시점의 동시 요청 개수 제한
+     * 
+     * @return
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+}
@@ -0,0 +1,461 @@
+package io.github.libedi.restrequest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+/**
+ * 대상 호스트별 동시 요청 개수를 적응적으로 제한하고, 오류가 지속되면 circuit을 여는 Adapter
+ * <p>
+ * 동시 요청 개수 제한은 AIMD(Additive Increase / Multiplicative Decrease) 방식으로 조정한다. 제한의 절반 이상을 사용 중일 때 정상 응답을
+ * 받으면 제한을 1 / limit 만큼 늘리고, 실패(I/O 오류, 5xx, 429 응답)하거나 응답시간이 지정 시간을 초과하면 제한에 감소 비율을 곱한다. 제한을 초과한
+ * 요청은 대기하지 않고 {@link ConcurrencyLimitExceededException}으로 즉시 실패한다.
+ * <p>
+ * circuit breaker는 호스트별로 지정 개수의 요청마다 실패 비율을 계산하여, 기준을 넘으면 circuit을 열고 지정 시간동안 요청을
+ * {@link CircuitBreakerOpenException}으로 즉시 실패시킨다. 이후 한 개의 요청을 시험 전송하여 성공하면 circuit을 닫고, 실패하면 다시 연다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+public class ConcurrencyLimitRestClientAdapter implements RestClientAdapter {
+
+    /**
+     * Circuit 상태
+     * 
+     * @author "Sangjun,Park"
+     *
+     */
+    public enum CircuitState {
+        /** 요청 전송 */
+        CLOSED,
+        /** 요청 거부 */
+        OPEN,
+        /** 시험 요청 전송 */
+        HALF_OPEN
+    }
+
+    private final RestClientAdapter restClientAdapter;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+    private final Predicate<Throwable> failure;
+    private final double failureRateThreshold;
+    private final int windowSize;
+    private final long openDurationNanos;
+    private final ConcurrentMap<String, HostLimiter> limiters = new ConcurrentHashMap<>();
+
+    private ConcurrencyLimitRestClientAdapter(final Builder builder) {
+        restClientAdapter = builder.restClientAdapter;
+        initialLimit = builder.initialLimit;
+        minLimit = builder.minLimit;
+        maxLimit = builder.maxLimit;
+        backoffRatio = builder.backoffRatio;
+        latencyThresholdNanos = builder.latencyThreshold.toNanos();
+        failure = builder.failure;
+        failureRateThreshold = builder.failureRateThreshold;
+        windowSize = builder.windowSize;
+        openDurationNanos = builder.openDuration.toNanos();
+    }
+
+    /**
+     * ConcurrencyLimitRestClientAdapter 생성
+     * 
+     * @param restClientAdapter 요청을 전송할 RestClientAdapter
+     * @return
+     * @throws IllegalArgumentException restClientAdapter 파라미터가 null인 경우
+     */
+    public static Builder builder(final RestClientAdapter restClientAdapter) {
+        if (restClientAdapter == null) {
+            throw new IllegalArgumentException("RestClientAdapter must not be null.");
+        }
+        return new Builder(restClientAdapter);
+    }
+
+    /**
+     * 기본 실패 조건 : I/O 오류, 5xx / 429 응답
+     * 
+     * @param error 요청 실패 원인
+     * @return 실패로 판단하면 true
+     */
+    public static boolean isFailure(final Throwable error) {
+        return error instanceof ResourceAccessException || error instanceof HttpServerErrorException
+                || error instanceof RestClientResponseException
+                        && ((RestClientResponseException) error).getRawStatusCode() == HttpStatus.TOO_MANY_REQUESTS
+                                .value();
+    }
+
+    @Override
+    public <T> ResponseEntity<T> send(final RestRequest<T> restRequest) {
+        final HostLimiter limiter = getLimiter(restRequest);
+        final boolean probe = limiter.acquire();
+        final long start = System.nanoTime();
+        try {
+            final ResponseEntity<T> response = restClientAdapter.send(restRequest);
+            limiter.release(probe, System.nanoTime() - start, null);
+            return response;
+        } catch (final RuntimeException | Error e) {
+            limiter.release(probe, System.nanoTime() - start, e);
+            throw e;
+        }
+    }
+
+    /**
+     * 응답 body를 읽는 동안 연결을 사용하므로, 요소를 모두 읽거나, 요소를 읽는 중 예외가 발생하거나, Stream을 닫을 때 동시 요청 개수를 반환한다.
+     * 요소를 읽는 중 발생한 예외는 실패 조건에 따라 제한 조정과 circuit 상태에 반영한다. 제한 조정에는 Stream을 반환하기까지의 응답시간을 사용한다.
+     * 요소를 모두 읽지 않은 경우 Stream을 닫아야 동시 요청 개수를 반환한다.
+     */
+    @Override
+    public <T> Stream<T> sendForStream(final RestRequest<T> restRequest) {
+        final HostLimiter limiter = getLimiter(restRequest);
+        final boolean probe = limiter.acquire();
+        final long start = System.nanoTime();
+        final Stream<T> stream;
+        try {
+            stream = restClientAdapter.sendForStream(restRequest);
+        } catch (final RuntimeException | Error e) {
+            limiter.release(probe, System.nanoTime() - start, e);
+            throw e;
+        }
+        final long latency = System.nanoTime() - start;
+        return StreamCompletion.of(stream, error -> limiter.release(probe, latency, error));
+    }
+
+    @Override
+    public ResponseEntity<Long> sendToFile(final RestRequest<?> restRequest, final Path path) {
+        final HostLimiter limiter = getLimiter(restRequest);
+        final boolean probe = limiter.acquire();
+        final long start = System.nanoTime();
+        try {
+            final ResponseEntity<Long> response = restClientAdapter.sendToFile(restRequest, path);
+            limiter.release(probe, System.nanoTime() - start, null);
+            return response;
+        } catch (final RuntimeException | Error e) {
+            limiter.release(probe, System.nanoTime() - start, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<ResponseEntity<T>> sendAsync(final RestRequest<T> restRequest) {
+        return limit(restRequest, restClientAdapter::sendAsync);
+    }
+
+    @Override
+    public <T> CompletableFuture<ResponseEntity<T>> sendAsync(final RestRequest<T> restRequest,
+            final Executor executor) {
+        Objects.requireNonNull(executor, () -> "Executor must not be null.");
+        return limit(restRequest, request -> restClientAdapter.sendAsync(request, executor));
+    }
+
+    /**
+     * 대상 호스트의 현재 동시 요청 개수 제한
+     * 
+     * @param uri 요청 URI
+     * @return 요청한 적이 없는 호스트이면 초기 제한
+     */
+    public int getLimit(final URI uri) {
+        final HostLimiter limiter = limiters.get(getHost(uri));
+        return limiter == null ? initialLimit : (int) limiter.limit;
+    }
+
+    /**
+     * 대상 호스트의 현재 처리중인 요청 개수
+     * 
+     * @param uri 요청 URI
+     * @return
+     */
+    public int getInFlight(final URI uri) {
+        final HostLimiter limiter = limiters.get(getHost(uri));
+        return limiter == null ? 0 : limiter.inFlight.get();
+    }
+
+    /**
+     * 대상 호스트의 circuit 상태
+     * 
+     * @param uri 요청 URI
+     * @return
+     */
+    public CircuitState getCircuitState(final URI uri) {
+        final HostLimiter limiter = limiters.get(getHost(uri));
+        return limiter == null ? CircuitState.CLOSED : limiter.state;
+    }
+
+    private <T> CompletableFuture<ResponseEntity<T>> limit(final RestRequest<T> restRequest,
+            final Function<RestRequest<T>, CompletableFuture<ResponseEntity<T>>> sender) {
+        final HostLimiter limiter = getLimiter(restRequest);
+        final boolean probe;
+        try {
+            probe = limiter.acquire();
+        } catch (final RuntimeException e) {
+            final CompletableFuture<ResponseEntity<T>> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(e);
+            return rejected;
+        }
+        final long start = System.nanoTime();
+        final CompletableFuture<ResponseEntity<T>> future;
+        try {
+            future = sender.apply(restRequest);
+        } catch (final RuntimeException | Error e) {
+            limiter.release(probe, System.nanoTime() - start, e);
+            throw e;
+        }
+        return future.whenComplete((response, error) -> limiter.release(probe, System.nanoTime() - start,
+                error instanceof CompletionException && error.getCause() != null ? error.getCause() : error));
+    }
+
+    private HostLimiter getLimiter(final RestRequest<?> restRequest) {
+        if (restRequest == null) {
+            throw new IllegalArgumentException("RestRequest must not be null.");
+        }
+        return limiters.computeIfAbsent(getHost(restRequest.getUri()), HostLimiter::new);
+    }
+
+    private static String getHost(final URI uri) {
+        Objects.requireNonNull(uri, () -> "URI must not be null.");
+        return uri.getScheme() + "://" + uri.getRawAuthority();
+    }
+
+    /**
+     * 호스트별 동시 요청 개수 제한 및 circuit 상태. 처리중인 요청 개수는 CAS로 증감하고, 제한 / circuit 상태 갱신은 synchronized로 보호한다.
+     */
+    private final class HostLimiter {
+        private final String host;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile double limit = initialLimit;
+        private volatile CircuitState state = CircuitState.CLOSED;
+        private long openedAt;
+        private boolean probing;
+        private int calls;
+        private int failures;
+
+        HostLimiter(final String host) {
+            this.host = host;
+        }
+
+        /**
+         * 요청 전송 허가
+         * 
+         * @return 시험 요청이면 true
+         * @throws CircuitBreakerOpenException        circuit이 열려 있는 경우
+         * @throws ConcurrencyLimitExceededException 동시 요청 개수 제한을 초과한 경우
+         */
+        boolean acquire() {
+            final boolean probe = state != CircuitState.CLOSED && acquireProbe();
+            int current;
+            do {
+                current = inFlight.get();
+                if (current >= (int) limit) {
+                    if (probe) {
+                        releaseProbe();
+                    }
+                    throw new ConcurrencyLimitExceededException(host, (int) limit);
+                }
+            } while (!inFlight.compareAndSet(current, current + 1));
+            return probe;
+        }
+
+        private synchronized boolean acquireProbe() {
+            if (state == CircuitState.CLOSED) {
+                return false;
+            }
+            if (state == CircuitState.OPEN && System.nanoTime() - openedAt >= openDurationNanos) {
+                state = CircuitState.HALF_OPEN;
+            }
+            if (state == CircuitState.OPEN || probing) {
+                throw new CircuitBreakerOpenException(host);
+            }
+            probing = true;
+            return true;
+        }
+
+        private synchronized void releaseProbe() {
+            probing = false;
+        }
+
+        synchronized void release(final boolean probe, final long latency, final Throwable error) {
+            final int current = inFlight.getAndDecrement();
+            if (error instanceof CancellationException) {
+                probing = probing && !probe;
+                return;
+            }
+            final boolean failed = error != null && failure.test(error);
+            if (failed || latencyThresholdNanos > 0 && latency > latencyThresholdNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (current * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            if (probe) {
+                probing = false;
+                if (failed) {
+                    open();
+                } else {
+                    state = CircuitState.CLOSED;
+                    calls = 0;
+                    failures = 0;
+                }
+            } else if (state == CircuitState.CLOSED && windowSize > 0) {
+                calls++;
+                if (failed) {
+                    failures++;
+                }
+                if (calls >= windowSize) {
+                    if (failures >= failureRateThreshold * calls) {
+                        open();
+                    }
+                    calls = 0;
+                    failures = 0;
+                }
+            }
+        }
+
+        private void open() {
+            state = CircuitState.OPEN;
+            openedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * ConcurrencyLimitRestClientAdapter 설정
+     * 
+     * @author "Sangjun,Park"
+     *
+     */
+    public static final class Builder {
+
+        private final RestClientAdapter restClientAdapter;
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 200;
+        private double backoffRatio = 0.9;
+        private Duration latencyThreshold = Duration.ZERO;
+        private Predicate<Throwable> failure = ConcurrencyLimitRestClientAdapter::isFailure;
+        private double failureRateThreshold = 0.5;
+        private int windowSize = 20;
+        private Duration openDuration = Duration.ofSeconds(10);
+
+        private Builder(final RestClientAdapter restClientAdapter) {
+            this.restClientAdapter = restClientAdapter;
+        }
+
+        /**
+         * 호스트별 동시 요청 개수 제한 설정 (기본값: 20, 1 ~ 200)
+         * 
+         * @param initialLimit 초기 제한
+         * @param minLimit     최소 제한
+         * @param maxLimit     최대 제한
+         * @return
+         * @throws IllegalArgumentException minLimit &lt;= initialLimit &lt;= maxLimit 조건을 만족하지 않거나, minLimit이 1보다 작은
+         *                                  경우
+         */
+        public Builder limit(final int initialLimit, final int minLimit, final int maxLimit) {
+            if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+                throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max.");
+            }
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            return this;
+        }
+
+        /**
+         * 실패 / 응답 지연시 제한에 곱할 감소 비율 설정 (기본값: 0.9)
+         * 
+         * @param backoffRatio 0.0 초과 1.0 미만의 비율
+         * @return
+         * @throws IllegalArgumentException backoffRatio 파라미터가 0.0 초과 1.0 미만의 값이 아닌 경우
+         */
+        public Builder backoffRatio(final double backoffRatio) {
+            if (!(backoffRatio > 0 && backoffRatio < 1)) {
+                throw new IllegalArgumentException("Backoff ratio must be between 0.0 and 1.0.");
+            }
+            this.backoffRatio = backoffRatio;
+            return this;
+        }
+
+        /**
+         * 응답 지연 기준 시간 설정. 응답시간이 기준을 초과하면 실패와 같이 제한을 줄인다. (기본값: 사용 안함)
+         * 
+         * @param latencyThreshold
+         * @return
+         * @throws IllegalArgumentException latencyThreshold 파라미터가 null이거나 음수인 경우
+         */
+        public Builder latencyThreshold(final Duration latencyThreshold) {
+            if (latencyThreshold == null || latencyThreshold.isNegative()) {
+                throw new IllegalArgumentException("Latency threshold must not be negative.");
+            }
+            this.latencyThreshold = latencyThreshold;
+            return this;
+        }
+
+        /**
+         * 실패 조건 설정 (기본값: {@link ConcurrencyLimitRestClientAdapter#isFailure(Throwable)})
+         * 
+         * @param failure
+         * @return
+         * @throws IllegalArgumentException failure 파라미터가 null인 경우
+         */
+        public Builder failureOn(final Predicate<Throwable> failure) {
+            if (failure == null) {
+                throw new IllegalArgumentException("Failure predicate must not be null.");
+            }
+            this.failure = failure;
+            return this;
+        }
+
+        /**
+         * circuit breaker 설정. windowSize 개의 요청마다 실패 비율을 계산하여 failureRateThreshold 이상이면 openDuration 동안
+         * circuit을 연다. (기본값: 0.5, 20, 10s)
+         * 
+         * @param failureRateThreshold 0.0 초과 1.0 이하의 실패 비율
+         * @param windowSize           실패 비율 계산 단위 요청 개수. 0이면 circuit breaker를 사용하지 않는다.
+         * @param openDuration         circuit을 열어두는 시간
+         * @return
+         * @throws IllegalArgumentException 파라미터가 범위를 벗어나거나, openDuration 파라미터가 null인 경우
+         */
+        public Builder circuitBreaker(final double failureRateThreshold, final int windowSize,
+                final Duration openDuration) {
+            if (!(failureRateThreshold > 0 && failureRateThreshold <= 1)) {
+                throw new IllegalArgumentException("Failure rate threshold must be greater than 0.0 and at most 1.0.");
+            }
+            if (windowSize < 0) {
+                throw new IllegalArgumentException("Window size must not be negative.");
+            }
+            if (openDuration == null || openDuration.isNegative()) {
+                throw new IllegalArgumentException("Open duration must not be negative.");
+            }
+            this.failureRateThreshold = failureRateThreshold;
+            this.windowSize = windowSize;
+            this.openDuration = openDuration;
+            return this;
+        }
+
+        /**
+         * ConcurrencyLimitRestClientAdapter 생성
+         * 
+         * @return
+         */
+        public ConcurrencyLimitRestClientAdapter build() {
+            return new ConcurrencyLimitRestClientAdapter(this);
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+package io.github.libedi.restrequest;
+
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * 모든 요청에 HeaderProfile의 Header를 기본값으로 추가하는 Adapter
+ * <p>
+ * HeaderProfile의 Header는 요청마다 복사하지 않고 참조하며, 요청에 같은 이름의 Header가 있으면 요청의 값을 사용한다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+public class DefaultHeadersRestClientAdapter implements RestClientAdapter {
+
+    private final RestClientAdapter restClientAdapter;
+    private final HeaderProfile headerProfile;
+
+    /**
+     * DefaultHeadersRestClientAdapter 생성
+     * 
+     * @param restClientAdapter 요청을 전송할 RestClientAdapter
+     * @param headerProfile     기본 Header
+     * @throws IllegalArgumentException 파라미터가 null인 경우
+     */
+    public DefaultHeadersRestClientAdapter(final RestClientAdapter restClientAdapter,
+            final HeaderProfile headerProfile) {
+        if (restClientAdapter == null) {
+            throw new IllegalArgumentException("RestClientAdapter must not be null.");
+        }
+        if (headerProfile == null) {
+            throw new IllegalArgumentException("HeaderProfile must not be null.");
+        }
+        this.restClientAdapter = restClientAdapter;
+        this.headerProfile = headerProfile;
+    }
+
+    @Override
+    public <T> ResponseEntity<T> send(final RestRequest<T> restRequest) {
+        return restClientAdapter.send(withDefaultHeaders(restRequest));
+    }
+
+    @Override
+    public <T> Stream<T> sendForStream(final RestRequest<T> restRequest) {
+        return restClientAdapter.sendForStream(withDefaultHeaders(restRequest));
+    }
+
+    @Override
+    public ResponseEntity<Long> sendToFile(final RestRequest<?> restRequest, final Path path) {
+        return restClientAdapter.sendToFile(withDefaultHeaders(restRequest), path);
+    }
+
+    @Override
+    public <T> CompletableFuture<ResponseEntity<T>> sendAsync(final RestRequest<T> restRequest) {
+        return restClientAdapter.sendAsync(withDefaultHeaders(restRequest));
+    }
+
+    @Override
+    public <T> CompletableFuture<ResponseEntity<T>> sendAsync(final RestRequest<T> restRequest,
+            final Executor executor) {
+        Objects.requireNonNull(executor, () -> "Executor must not be null.");
+        return restClientAdapter.sendAsync(withDefaultHeaders(restRequest), executor);
+    }
+
+    /**
+     * 기본 Header
+     * 
+     * @return
+     */
+    public HeaderProfile getHeaderProfile() {
+        return headerProfile;
+    }
+
+    private <T> RestRequest<T> withDefaultHeaders(final RestRequest<T> restRequest) {
+        if (restRequest == null) {
+            throw new IllegalArgumentException("RestRequest must not be null.");
+        }
+        final HttpEntity<?> httpEntity = restRequest.getHttpEntity();
+        final HttpHeaders headers = new HttpHeaders(new HeaderOverlay(headerProfile.getSharedHeaders()));
+        Object body = null;
+        if (httpEntity != null) {
+            httpEntity.getHeaders().forEach(headers::put);
+            body = httpEntity.getBody();
+        }
+        return new RestRequest<>(restRequest.getUri(), restRequest.getMethod(),
+                new HttpEntity<>(body, HttpHeaders.readOnlyHttpHeaders(headers)), restRequest.getResponseType(),
+                restRequest.getTypeReference());
+    }
+
+}
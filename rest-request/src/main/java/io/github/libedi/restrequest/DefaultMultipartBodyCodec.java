@@ -0,0 +1,33 @@
+package io.github.libedi.restrequest;
+
+/**
+ * 기본 MultipartBodyCodec 보관소. Jackson은 multipart/mixed 요청을 생성할 때 처음 로딩된다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+final class DefaultMultipartBodyCodec {
+
+    private static volatile MultipartBodyCodec codec;
+
+    private DefaultMultipartBodyCodec() {
+    }
+
+    static MultipartBodyCodec get() {
+        MultipartBodyCodec current = codec;
+        if (current == null) {
+            synchronized (DefaultMultipartBodyCodec.class) {
+                current = codec;
+                if (current == null) {
+                    current = codec = new JacksonMultipartBodyCodec();
+                }
+            }
+        }
+        return current;
+    }
+
+    static void set(final MultipartBodyCodec multipartBodyCodec) {
+        codec = multipartBodyCodec;
+    }
+
+}
@@ -1,36 +1,84 @@
 package io.github.libedi.restrequest;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.Proxy;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import javax.net.ssl.SSLSocketFactory;
+
+import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 /**
  * RestRequest를 활용하여 RestTemplate을 사용하게 해주는 Adapter
+ * <p>
+ * {@link #builder()}로 생성한 Adapter는 내부에서 생성한 {@link PooledClientHttpRequestFactory}를 소유하므로, 사용이 끝나면
+ * {@link #close()}로 유휴 연결을 닫는다. 전달받은 RestTemplate을 사용하는 경우 {@link #close()}는 아무 작업도 하지 않는다.
  * 
  * @author "Sangjun,Park"
  *
  */
-public class DefaultRestClientAdapter implements RestClientAdapter {
+public class DefaultRestClientAdapter implements RestClientAdapter, Closeable {
 
     private final RestTemplate restTemplate;
+    private final PooledClientHttpRequestFactory requestFactory;
 
     /**
      * RestClientAdapter 생성. 내부적으로 RestTemplate 기본 생성자를 통해 작동한다.
+     * <p>
+     * 연결 재사용과 timeout이 설정된 RestTemplate이 필요하면 {@link #builder()}를 사용한다.
      */
     public DefaultRestClientAdapter() {
-        restTemplate = new RestTemplate();
+        this(withMultipartBodyConverter(new RestTemplate()));
     }
 
     /**
-     * RestClientAdapter 생성.
+     * RestClientAdapter 생성. 전달한 RestTemplate은 변경하지 않는다. multipart/mixed 요청의 Request Body 파트를 스트림에 직접 기록하려면
+     * {@link MultipartBodyHttpMessageConverter#register(RestTemplate)}를 직접 호출한다.
      * 
      * @param restTemplate
      * @throws IllegalArgumentException restTemplate 파라미터가 null인 경우
      */
     public DefaultRestClientAdapter(final RestTemplate restTemplate) {
+        this(restTemplate, null);
+    }
+
+    private DefaultRestClientAdapter(final RestTemplate restTemplate,
+            final PooledClientHttpRequestFactory requestFactory) {
         if (restTemplate == null) {
             throw new IllegalArgumentException("RestTemplate must not be null.");
         }
         this.restTemplate = restTemplate;
+        this.requestFactory = requestFactory;
+    }
+
+    private static RestTemplate withMultipartBodyConverter(final RestTemplate restTemplate) {
+        MultipartBodyHttpMessageConverter.register(restTemplate);
+        return restTemplate;
+    }
+
+    /**
+     * {@link PooledClientHttpRequestFactory}를 사용하는 RestClientAdapter 설정
+     * <p>
+     * 요청 body는 64KiB까지만 버퍼링하고, 초과하면 Content-Length 또는 chunked 방식으로 바로 전송하므로 addFileStream()으로 추가한 대용량 파일도
+     * 메모리에 적재하지 않는다. 단, ClientHttpRequestInterceptor를 등록하면 RestTemplate이 요청 body 전체를 버퍼링한다.
+     * 
+     * @return
+     */
+    public static Builder builder() {
+        return new Builder();
     }
 
     @Override
@@ -46,4 +94,247 @@ public class DefaultRestClientAdapter implements RestClientAdapter {
                 restRequest.getTypeReference());
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * 응답 body를 Jackson streaming parser로 읽으면서 요소를 하나씩 변환한다. 최상위 JSON 배열과 NDJSON(줄바꿈으로 구분된 JSON 값)을 모두
+     * 지원하며, 요소 변환에는 RestTemplate에 등록된 {@code MappingJackson2HttpMessageConverter}의 ObjectMapper를 사용한다. 응답은
+     * Stream을 닫을 때 닫힌다. (RestTemplate의 ClientHttpRequestInterceptor를 사용하는 경우, 요청 팩토리에 따라 응답 body가 버퍼링될 수
+     * 있다.)
+     * 
+     * @throws ResourceAccessException I/O 오류가 발생한 경우
+     */
+    @Override
+    public <T> Stream<T> sendForStream(final RestRequest<T> restRequest) {
+        if (restRequest == null) {
+            throw new IllegalArgumentException("RestRequest must not be null.");
+        }
+        final Type elementType = restRequest.getTypeReference() == null ? restRequest.getResponseType()
+                : restRequest.getTypeReference().getType();
+        ClientHttpResponse response = execute(restRequest, elementType);
+        try {
+            final Stream<T> stream = JsonElementStreams.of(restTemplate, response, elementType);
+            response = null;
+            return stream;
+        } catch (final IOException e) {
+            throw ioError(restRequest, e);
+        } finally {
+            if (response != null) {
+                response.close();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * 응답 body를 {@link java.nio.channels.FileChannel#transferFrom(java.nio.channels.ReadableByteChannel, long, long)}으로
+     * 파일에 직접 전송하므로, 응답 크기와 무관하게 고정 크기의 전송 버퍼만 사용한다. 요청 header에 Accept를 설정하지 않으면 Accept header 없이
+     * 전송한다.
+     * 
+     * @throws ResourceAccessException I/O 오류가 발생한 경우
+     */
+    @Override
+    public ResponseEntity<Long> sendToFile(final RestRequest<?> restRequest, final Path path) {
+        if (restRequest == null) {
+            throw new IllegalArgumentException("RestRequest must not be null.");
+        }
+        Objects.requireNonNull(path, () -> "Path must not be null.");
+        try (ClientHttpResponse response = execute(restRequest, null)) {
+            return new ResponseEntity<>(FileTransfer.transfer(response.getBody(), path), response.getHeaders(),
+                    response.getRawStatusCode());
+        } catch (final IOException e) {
+            throw ioError(restRequest, e);
+        }
+    }
+
+    /**
+     * RestTemplate의 요청 팩토리, 요청 초기화, 요청 콜백, 오류 처리기로 요청을 전송하고, 응답 body를 읽지 않은 상태로 응답을 반환한다.
+     */
+    private ClientHttpResponse execute(final RestRequest<?> restRequest, final Type responseType) {
+        final URI uri = restRequest.getUri();
+        final HttpMethod method = restRequest.getMethod();
+        ClientHttpResponse response = null;
+        try {
+            final ClientHttpRequest request = restTemplate.getRequestFactory().createRequest(uri, method);
+            // RestTemplate.createRequest()와 같이 등록된 ClientHttpRequestInitializer를 적용한다.
+            restTemplate.getClientHttpRequestInitializers().forEach(initializer -> initializer.initialize(request));
+            restTemplate.httpEntityCallback(restRequest.getHttpEntity(), responseType).doWithRequest(request);
+            response = request.execute();
+            if (restTemplate.getErrorHandler().hasError(response)) {
+                restTemplate.getErrorHandler().handleError(uri, method, response);
+            }
+            final ClientHttpResponse result = response;
+            response = null;
+            return result;
+        } catch (final IOException e) {
+            throw ioError(restRequest, e);
+        } finally {
+            if (response != null) {
+                response.close();
+            }
+        }
+    }
+
+    /**
+     * {@link #builder()}로 생성한 경우 내부에서 생성한 {@link PooledClientHttpRequestFactory}의 유휴 연결을 닫고, 이후 요청을 거부한다. 사용중인
+     * 연결은 반환될 때 닫는다. 전달받은 RestTemplate을 사용하는 경우 아무 작업도 하지 않는다.
+     */
+    @Override
+    public void close() {
+        if (requestFactory != null) {
+            requestFactory.close();
+        }
+    }
+
+    private static ResourceAccessException ioError(final RestRequest<?> restRequest, final IOException e) {
+        return new ResourceAccessException("I/O error on " + restRequest.getMethod().name() + " request for \""
+                + restRequest.getUri() + "\": " + e.getMessage(), e);
+    }
+
+    /**
+     * DefaultRestClientAdapter 설정. 연결을 재사용하는 {@link PooledClientHttpRequestFactory}로 RestTemplate을 생성한다.
+     * 
+     * @author "Sangjun,Park"
+     *
+     */
+    public static final class Builder {
+
+        private final PooledClientHttpRequestFactory.Builder requestFactoryBuilder = PooledClientHttpRequestFactory
+                .builder();
+        private Consumer<RestTemplate> customizer = restTemplate -> {
+        };
+
+        private Builder() {
+        }
+
+        /**
+         * 대상(scheme, host, port)별 최대 연결 개수 설정 (기본값: 20)
+         * 
+         * @param maxConnectionsPerRoute
+         * @return
+         * @see PooledClientHttpRequestFactory.Builder#maxConnectionsPerRoute(int)
+         */
+        public Builder maxConnectionsPerRoute(final int maxConnectionsPerRoute) {
+            requestFactoryBuilder.maxConnectionsPerRoute(maxConnectionsPerRoute);
+            return this;
+        }
+
+        /**
+         * 유휴 연결의 최대 유지 시간 설정 (기본값: 30s)
+         * 
+         * @param maxIdleTime
+         * @return
+         * @see PooledClientHttpRequestFactory.Builder#maxIdleTime(Duration)
+         */
+        public Builder maxIdleTime(final Duration maxIdleTime) {
+            requestFactoryBuilder.maxIdleTime(maxIdleTime);
+            return this;
+        }
+
+        /**
+         * 연결 timeout 설정 (기본값: 5s)
+         * 
+         * @param connectTimeout
+         * @return
+         * @see PooledClientHttpRequestFactory.Builder#connectTimeout(Duration)
+         */
+        public Builder connectTimeout(final Duration connectTimeout) {
+            requestFactoryBuilder.connectTimeout(connectTimeout);
+            return this;
+        }
+
+        /**
+         * 응답 읽기 timeout 설정 (기본값: 30s)
+         * 
+         * @param readTimeout
+         * @return
+         * @see PooledClientHttpRequestFactory.Builder#readTimeout(Duration)
+         */
+        public Builder readTimeout(final Duration readTimeout) {
+            requestFactoryBuilder.readTimeout(readTimeout);
+            return this;
+        }
+
+        /**
+         * 최대 연결 개수에 도달했을 때 연결 반환을 기다리는 시간 설정 (기본값: 5s)
+         * 
+         * @param connectionRequestTimeout
+         * @return
+         * @see PooledClientHttpRequestFactory.Builder#connectionRequestTimeout(Duration)
+         */
+        public Builder connectionRequestTimeout(final Duration connectionRequestTimeout) {
+            requestFactoryBuilder.connectionRequestTimeout(connectionRequestTimeout);
+            return this;
+        }
+
+        /**
+         * https 연결에 사용할 SSLSocketFactory 설정
+         * 
+         * @param sslSocketFactory
+         * @return
+         * @see PooledClientHttpRequestFactory.Builder#sslSocketFactory(SSLSocketFactory)
+         */
+        public Builder sslSocketFactory(final SSLSocketFactory sslSocketFactory) {
+            requestFactoryBuilder.sslSocketFactory(sslSocketFactory);
+            return this;
+        }
+
+        /**
+         * 모든 요청에 사용할 Proxy 설정
+         * 
+         * @param proxy
+         * @return
+         * @see PooledClientHttpRequestFactory.Builder#proxy(Proxy)
+         */
+        public Builder proxy(final Proxy proxy) {
+            requestFactoryBuilder.proxy(proxy);
+            return this;
+        }
+
+        /**
+         * 요청 URI별 Proxy를 선택할 ProxySelector 설정 (기본값: {@link ProxySelector#getDefault()})
+         * 
+         * @param proxySelector
+         * @return
+         * @see PooledClientHttpRequestFactory.Builder#proxySelector(ProxySelector)
+         */
+        public Builder proxySelector(final ProxySelector proxySelector) {
+            requestFactoryBuilder.proxySelector(proxySelector);
+            return this;
+        }
+
+        /**
+         * 생성한 RestTemplate 추가 설정 (예: MessageConverter, Interceptor 등록)
+         * 
+         * @param customizer
+         * @return
+         * @throws IllegalArgumentException customizer 파라미터가 null인 경우
+         */
+        public Builder customize(final Consumer<RestTemplate> customizer) {
+            if (customizer == null) {
+                throw new IllegalArgumentException("Customizer must not be null.");
+            }
+            this.customizer = this.customizer.andThen(customizer);
+            return this;
+        }
+
+        /**
+         * DefaultRestClientAdapter 생성. 생성한 Adapter는 사용이 끝나면 {@link DefaultRestClientAdapter#close()}로 닫는다.
+         * 
+         * @return
+         */
+        public DefaultRestClientAdapter build() {
+            final PooledClientHttpRequestFactory requestFactory = requestFactoryBuilder.build();
+            final RestTemplate restTemplate = withMultipartBodyConverter(new RestTemplate(requestFactory));
+            try {
+                customizer.accept(restTemplate);
+            } catch (final RuntimeException | Error e) {
+                requestFactory.close();
+                throw e;
+            }
+            return new DefaultRestClientAdapter(restTemplate, requestFactory);
+        }
+    }
+
 }
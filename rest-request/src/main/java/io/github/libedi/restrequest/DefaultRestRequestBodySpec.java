@@ -6,6 +6,7 @@ import java.net.URI;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.Objects;
 
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.io.ByteArrayResource;
@@ -19,11 +20,6 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.util.UriComponentsBuilder;
-
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.github.libedi.restrequest.RestRequestSpec.RestRequestBodySpec;
 
@@ -39,6 +35,7 @@ public class DefaultRestRequestBodySpec<T> extends DefaultRestRequestFormSpec<T,
 
     private Object body;
     private boolean isMultipart;
+    private MultipartBodyCodec multipartBodyCodec;
 
     DefaultRestRequestBodySpec(final URI uri, final HttpMethod method, final Class<T> responseType,
             final ParameterizedTypeReference<T> typeReference) {
@@ -56,6 +53,12 @@ public class DefaultRestRequestBodySpec<T> extends DefaultRestRequestFormSpec<T,
         return this;
     }
 
+    @Override
+    public RestRequestBodySpec<T> multipartBodyCodec(final MultipartBodyCodec multipartBodyCodec) {
+        this.multipartBodyCodec = Objects.requireNonNull(multipartBodyCodec, () -> "Codec must not be null.");
+        return this;
+    }
+
     @Override
     public RestRequestBodySpec<T> addFile(final String key, final File file) {
         addParam(key, new FileSystemResource(file));
@@ -86,6 +89,14 @@ public class DefaultRestRequestBodySpec<T> extends DefaultRestRequestFormSpec<T,
         return this;
     }
 
+    @Override
+    public RestRequestBodySpec<T> addFileStream(final String key, final MultipartFile multipartFile) {
+        addParam(key, new MultipartFileResource(
+                Objects.requireNonNull(multipartFile, () -> "MultipartFile must not be null.")));
+        isMultipart = true;
+        return this;
+    }
+
     @Override
     public RestRequest<T> build() {
         setMultipartData();
@@ -94,7 +105,8 @@ public class DefaultRestRequestBodySpec<T> extends DefaultRestRequestFormSpec<T,
     }
 
     private void setMultipartData() {
-        if (!isMultipart && getParameter().entrySet().stream().anyMatch(this::hasMultipartFormData)) {
+        if (!isMultipart && getParameter() != null
+                && getParameter().entrySet().stream().anyMatch(this::hasMultipartFormData)) {
             isMultipart = true;
         }
         if (!isMultipart) {
@@ -104,16 +116,11 @@ public class DefaultRestRequestBodySpec<T> extends DefaultRestRequestFormSpec<T,
             changeMultipartContentType(MediaType.MULTIPART_FORM_DATA_VALUE);
         } else {
             changeMultipartContentType("multipart/mixed");
-            try {
-                final ObjectMapper objectMapper = new ObjectMapper()
-                        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-                final String partBody = objectMapper.writeValueAsString(body);
-                final HttpHeaders partHeader = new HttpHeaders();
-                partHeader.setContentType(MediaType.APPLICATION_JSON);
-                addParam("body", new HttpEntity<>(partBody, partHeader));
-            } catch (final JsonProcessingException e) {
-                throw new RuntimeException(e);
-            }
+            final MultipartBodyCodec codec = multipartBodyCodec == null ? MultipartBodyCodec.getDefault()
+                    : multipartBodyCodec;
+            final HttpHeaders partHeader = new HttpHeaders();
+            partHeader.setContentType(codec.getContentType());
+            addParam("body", new HttpEntity<>(new MultipartBodyResource(body, codec), partHeader));
         }
     }
 
@@ -129,14 +136,8 @@ public class DefaultRestRequestBodySpec<T> extends DefaultRestRequestFormSpec<T,
     }
 
     private URI getUriWithQueryParam() {
-        final UriComponentsBuilder builder = UriComponentsBuilder.fromUri(getUri());
-        if (hasQueryParameter()) {
-            getParameter().entrySet().stream()
-                    .filter(entry -> !hasMultipartFormData(entry))
-                    .forEach(entry -> builder.queryParam(entry.getKey(),
-                            CollectionUtils.isEmpty(entry.getValue()) ? new Object[0] : entry.getValue().toArray()));
-        }
-        return builder.build().toUri();
+        return QueryStringEncoder.encode(getUri(), hasQueryParameter() ? getParameter() : null,
+                entry -> !hasMultipartFormData(entry));
     }
 
     private boolean hasQueryParameter() {
@@ -1,11 +1,7 @@
 package io.github.libedi.restrequest;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
 import java.net.URI;
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
@@ -16,8 +12,6 @@ import org.springframework.http.HttpMethod;
 import org.springframework.util.Assert;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
-import org.springframework.util.ReflectionUtils;
-import org.springframework.web.util.UriComponentsBuilder;
 
 import io.github.libedi.restrequest.RestRequestSpec.RestRequestFormSpec;
 
@@ -90,25 +84,15 @@ public class DefaultRestRequestFormSpec<T, S extends RestRequestFormSpec<T, S>>
         Objects.requireNonNull(object, () -> "Parameter must not be null.");
         Assert.isTrue(!(object instanceof Collection), "Parameter must not be Collection.");
 
-        ReflectionUtils.doWithFields(object.getClass(),
-                field -> handleParameterValue(field, object),
-                field -> !Modifier.isStatic(field.getModifiers()));
-        return (S) this;
-    }
-
-    private void handleParameterValue(final Field field, final Object object)
-            throws IllegalArgumentException, IllegalAccessException {
-        field.setAccessible(true);
-        final String name = field.getName();
-        final Object value = field.get(object);
-
-        if (value instanceof Collection) {
-            ((Collection<?>) value).forEach(el -> addParam(name, el));
-        } else if (value != null && value.getClass().isArray()) {
-            Arrays.stream((Object[]) value).forEach(el -> addParam(name, el));
-        } else {
-            addParam(name, value);
+        final ParameterBinder binder = ParameterBinder.of(object.getClass());
+        if (binder.isEmpty()) {
+            return (S) this;
         }
+        if (parameter == null) {
+            parameter = new LinkedMultiValueMap<>();
+        }
+        binder.bind(object, parameter);
+        return (S) this;
     }
 
     @Override
@@ -118,14 +102,7 @@ public class DefaultRestRequestFormSpec<T, S extends RestRequestFormSpec<T, S>>
     }
 
     private URI getUriWithQueryParam() {
-        final UriComponentsBuilder builder = UriComponentsBuilder.fromUri(getUri());
-        if (parameter != null) {
-            for (final Entry<String, List<Object>> entry : parameter.entrySet()) {
-                builder.queryParam(entry.getKey(),
-                        entry.getValue() != null ? entry.getValue().toArray() : new Object[0]);
-            }
-        }
-        return builder.build().toUri();
+        return QueryStringEncoder.encode(getUri(), parameter, entry -> true);
     }
 
     protected MultiValueMap<String, Object> getParameter() {
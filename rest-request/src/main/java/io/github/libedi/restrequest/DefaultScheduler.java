@@ -0,0 +1,27 @@
+package io.github.libedi.restrequest;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * 재시도, 중복 요청, 지연 전송 예약에 사용하는 기본 Scheduler. 예약된 작업은 요청 전송만 시작하므로 daemon 스레드 1개를 공유한다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+final class DefaultScheduler {
+
+    private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "rest-request-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private DefaultScheduler() {
+    }
+
+    static ScheduledExecutorService get() {
+        return INSTANCE;
+    }
+
+}
@@ -0,0 +1,104 @@
+package io.github.libedi.restrequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 응답 body를 파일로 저장.
+ * <p>
+ * 대상 파일과 같은 디렉토리의 임시 파일에 {@link FileChannel#transferFrom(ReadableByteChannel, long, long)}으로 기록한 후 대상 파일로
+ * 이동하므로, 전송 중 오류가 발생해도 기존 파일이나 불완전한 파일이 남지 않는다. 임시 파일은 일반 파일 생성과 같은 기본 권한(umask)으로 생성하며,
+ * 기존 파일을 덮어쓰는 경우 기존 파일의 POSIX 권한을 유지한다. 다른 모듈의 RestClientAdapter 구현에서
+ * {@link RestClientAdapter#sendToFile(RestRequest, Path)}를 구현할 때 사용할 수 있다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+public final class FileTransfer {
+
+    private static final long CHUNK_SIZE = 1 << 20;
+
+    private FileTransfer() {
+    }
+
+    /**
+     * InputStream의 내용을 파일로 저장
+     * 
+     * @param inputStream 응답 body
+     * @param path        저장할 파일 경로
+     * @return 저장한 byte 수
+     * @throws IOException
+     */
+    public static long transfer(final InputStream inputStream, final Path path) throws IOException {
+        Objects.requireNonNull(path, () -> "Path must not be null.");
+        final Path absolutePath = path.toAbsolutePath();
+        final Path temp = createPartFile(absolutePath);
+        try {
+            long position = 0;
+            try (ReadableByteChannel source = Channels.newChannel(inputStream);
+                    FileChannel target = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                long transferred;
+                while ((transferred = target.transferFrom(source, position, CHUNK_SIZE)) > 0) {
+                    position += transferred;
+                }
+                target.force(false);
+            }
+            copyPermissions(absolutePath, temp);
+            move(temp, absolutePath);
+            return position;
+        } catch (final IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    /**
+     * 대상 파일과 같은 디렉토리에 임시 파일 생성. {@link Files#createTempFile(Path, String, String, java.nio.file.attribute.FileAttribute...)}는
+     * 소유자 전용 권한(0600)으로 파일을 생성하므로, 권한 속성 없이 생성하여 디렉토리의 기본 권한이 적용되도록 한다.
+     */
+    private static Path createPartFile(final Path path) throws IOException {
+        final String prefix = path.getFileName().toString() + ".";
+        while (true) {
+            final Path temp = path.resolveSibling(
+                    prefix + Long.toUnsignedString(ThreadLocalRandom.current().nextLong(), Character.MAX_RADIX) + ".part");
+            try {
+                FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE).close();
+                return temp;
+            } catch (final FileAlreadyExistsException e) {
+                // 이름이 겹치면 다시 생성
+            }
+        }
+    }
+
+    private static void copyPermissions(final Path source, final Path target) throws IOException {
+        if (!Files.exists(source)) {
+            return;
+        }
+        final PosixFileAttributeView sourceView = Files.getFileAttributeView(source, PosixFileAttributeView.class);
+        final PosixFileAttributeView targetView = Files.getFileAttributeView(target, PosixFileAttributeView.class);
+        if (sourceView != null && targetView != null) {
+            targetView.setPermissions(sourceView.readAttributes().permissions());
+        }
+    }
+
+    private static void move(final Path source, final Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+}
@@ -0,0 +1,173 @@
+package io.github.libedi.restrequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * 요청 body를 gzip으로 압축하고, gzip 응답 body를 읽는 시점에 압축 해제하는 Interceptor.
+ * <p>
+ * 요청 body(multipart 요청 포함)가 지정 크기 이상이고 Content-Encoding header가 없으면 gzip으로 압축하여 {@code Content-Encoding: gzip}으로
+ * 전송한다. Accept-Encoding header가 없는 요청에는 {@code Accept-Encoding: gzip}을 추가하고, {@code Content-Encoding: gzip} 응답은
+ * body를 읽으면서 압축을 해제한다. ({@link RestClientAdapter#sendForStream(RestRequest)},
+ * {@link RestClientAdapter#sendToFile(RestRequest, java.nio.file.Path)} 포함)
+ * <p>
+ * RestTemplate에 Interceptor를 등록하면 요청 body가 메모리에 버퍼링되므로, 대용량 파일 스트림 전송에는 사용하지 않는다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+public class GzipCompressionInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final String GZIP = "gzip";
+
+    /** 기본 압축 기준 크기 (bytes) */
+    public static final int DEFAULT_MIN_REQUEST_SIZE = 1024;
+
+    private final int minRequestSize;
+
+    /**
+     * {@link #DEFAULT_MIN_REQUEST_SIZE} 이상의 요청 body를 압축하는 Interceptor 생성
+     */
+    public GzipCompressionInterceptor() {
+        this(DEFAULT_MIN_REQUEST_SIZE);
+    }
+
+    /**
+     * Interceptor 생성
+     * 
+     * @param minRequestSize 압축할 요청 body의 최소 크기 (bytes)
+     * @throws IllegalArgumentException minRequestSize 파라미터가 음수인 경우
+     */
+    public GzipCompressionInterceptor(final int minRequestSize) {
+        if (minRequestSize < 0) {
+            throw new IllegalArgumentException("Min request size must not be negative.");
+        }
+        this.minRequestSize = minRequestSize;
+    }
+
+    /**
+     * RestTemplate에 {@link #DEFAULT_MIN_REQUEST_SIZE} 기준의 Interceptor 등록. 이미 등록되어 있으면 등록하지 않는다.
+     * 
+     * @param restTemplate
+     */
+    public static void register(final RestTemplate restTemplate) {
+        register(restTemplate, DEFAULT_MIN_REQUEST_SIZE);
+    }
+
+    /**
+     * RestTemplate에 Interceptor 등록. 이미 등록되어 있으면 등록하지 않는다.
+     * 
+     * @param restTemplate
+     * @param minRequestSize 압축할 요청 body의 최소 크기 (bytes)
+     */
+    public static void register(final RestTemplate restTemplate, final int minRequestSize) {
+        if (restTemplate.getInterceptors().stream().noneMatch(GzipCompressionInterceptor.class::isInstance)) {
+            restTemplate.getInterceptors().add(new GzipCompressionInterceptor(minRequestSize));
+        }
+    }
+
+    @Override
+    public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+            final ClientHttpRequestExecution execution) throws IOException {
+        final HttpHeaders headers = request.getHeaders();
+        if (!headers.containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+            headers.set(HttpHeaders.ACCEPT_ENCODING, GZIP);
+        }
+        byte[] requestBody = body;
+        if (body.length > 0 && body.length >= minRequestSize && !headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            requestBody = compress(body);
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+            headers.setContentLength(requestBody.length);
+        }
+        final ClientHttpResponse response = execution.execute(request, requestBody);
+        if (request.getMethod() == HttpMethod.HEAD || !isGzip(response.getHeaders())) {
+            return response;
+        }
+        return new GzipClientHttpResponse(response);
+    }
+
+    private static byte[] compress(final byte[] body) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(Math.max(body.length / 4, 64));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(outputStream)) {
+            gzip.write(body);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static boolean isGzip(final HttpHeaders headers) {
+        final String contentEncoding = headers.getFirst(HttpHeaders.CONTENT_ENCODING);
+        return contentEncoding != null && (GZIP.equalsIgnoreCase(contentEncoding.trim())
+                || "x-gzip".equalsIgnoreCase(contentEncoding.trim()));
+    }
+
+    /**
+     * body를 읽는 시점에 압축을 해제하는 응답. Content-Encoding, Content-Length header는 제거한다.
+     */
+    private static final class GzipClientHttpResponse implements ClientHttpResponse {
+        private final ClientHttpResponse response;
+        private final HttpHeaders headers;
+        private InputStream body;
+
+        GzipClientHttpResponse(final ClientHttpResponse response) {
+            this.response = response;
+            headers = new HttpHeaders();
+            headers.putAll(response.getHeaders());
+            headers.remove(HttpHeaders.CONTENT_ENCODING);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                final PushbackInputStream inputStream = new PushbackInputStream(response.getBody(), 1);
+                final int first = inputStream.read();
+                if (first == -1) {
+                    body = inputStream;
+                } else {
+                    inputStream.unread(first);
+                    body = new GZIPInputStream(inputStream);
+                }
+            }
+            return body;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public int getRawStatusCode() throws IOException {
+            return response.getRawStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public void close() {
+            response.close();
+        }
+    }
+
+}
@@ -0,0 +1,249 @@
+package io.github.libedi.restrequest;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * 공유 Header 위에 요청별 변경 사항만 저장하는 copy-on-write Header Map.
+ * <p>
+ * 조회는 변경 사항을 먼저 확인하고 없으면 공유 Header를 참조한다. Header를 추가 / 변경 / 삭제하면 해당 Header만 변경 사항에 기록하며(기존 값에 추가하는
+ * 경우 해당 Header 값만 복사), 공유 Header는 변경하지 않는다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+final class HeaderOverlay extends AbstractMap<String, List<String>> implements MultiValueMap<String, String> {
+
+    private final MultiValueMap<String, String> base;
+    private LinkedCaseInsensitiveMap<List<String>> overlay;
+
+    HeaderOverlay(final MultiValueMap<String, String> base) {
+        this.base = base;
+    }
+
+    private LinkedCaseInsensitiveMap<List<String>> overlay() {
+        if (overlay == null) {
+            overlay = new LinkedCaseInsensitiveMap<>(8);
+        }
+        return overlay;
+    }
+
+    private boolean isOverridden(final Object key) {
+        return overlay != null && key instanceof String && overlay.containsKey(key);
+    }
+
+    @Override
+    public List<String> get(final Object key) {
+        return isOverridden(key) ? overlay.get(key) : base.get(key);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return isOverridden(key) ? overlay.get(key) != null : base.containsKey(key);
+    }
+
+    @Override
+    public List<String> put(final String key, final List<String> value) {
+        final List<String> previous = get(key);
+        overlay().put(key, value);
+        return previous;
+    }
+
+    @Override
+    public List<String> remove(final Object key) {
+        final List<String> previous = get(key);
+        if (key instanceof String && (previous != null || isOverridden(key))) {
+            // 공유 Header를 가리도록 삭제 표시(null)를 기록한다.
+            overlay().put((String) key, null);
+        }
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        overlay = new LinkedCaseInsensitiveMap<>(8);
+        for (final String key : base.keySet()) {
+            overlay.put(key, null);
+        }
+    }
+
+    @Override
+    public String getFirst(final String key) {
+        final List<String> values = get(key);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    @Override
+    public void add(final String key, final String value) {
+        writableValues(key).add(value);
+    }
+
+    @Override
+    public void addAll(final String key, final List<? extends String> values) {
+        writableValues(key).addAll(values);
+    }
+
+    @Override
+    public void addAll(final MultiValueMap<String, String> values) {
+        values.forEach(this::addAll);
+    }
+
+    @Override
+    public void set(final String key, final String value) {
+        final List<String> values = new ArrayList<>(1);
+        values.add(value);
+        overlay().put(key, values);
+    }
+
+    @Override
+    public void setAll(final Map<String, String> values) {
+        values.forEach(this::set);
+    }
+
+    @Override
+    public Map<String, String> toSingleValueMap() {
+        final Map<String, String> singleValueMap = new LinkedHashMap<>(size());
+        forEach((key, values) -> {
+            if (values != null && !values.isEmpty()) {
+                singleValueMap.put(key, values.get(0));
+            }
+        });
+        return singleValueMap;
+    }
+
+    /**
+     * 요청별로 추가 / 변경한 Header를 다른 HeaderOverlay로 복사한다. 삭제 표시와 공유 Header는 복사하지 않는다.
+     */
+    void copyOverridesTo(final HeaderOverlay target) {
+        if (overlay == null) {
+            return;
+        }
+        overlay.forEach((key, values) -> {
+            if (values != null) {
+                target.put(key, new ArrayList<>(values));
+            }
+        });
+    }
+
+    /**
+     * 현재 상태를 복사한 HeaderOverlay. 공유 Header는 그대로 참조하고, 변경 사항(삭제 표시 포함)은 값 목록까지 복사한다.
+     */
+    HeaderOverlay copy() {
+        final HeaderOverlay copy = new HeaderOverlay(base);
+        if (overlay != null) {
+            copy.overlay = new LinkedCaseInsensitiveMap<>(Math.max(overlay.size(), 8));
+            overlay.forEach((key, values) -> copy.overlay.put(key, values == null ? null : new ArrayList<>(values)));
+        }
+        return copy;
+    }
+
+    /**
+     * 변경 가능한 Header 값 목록. 공유 Header 값이 있으면 복사한다.
+     */
+    private List<String> writableValues(final String key) {
+        if (isOverridden(key)) {
+            List<String> values = overlay.get(key);
+            if (values == null) {
+                values = new ArrayList<>(1);
+                overlay.put(key, values);
+            }
+            return values;
+        }
+        final List<String> shared = base.get(key);
+        final List<String> values = shared == null ? new ArrayList<>(1) : new ArrayList<>(shared);
+        overlay().put(key, values);
+        return values;
+    }
+
+    @Override
+    public Set<Entry<String, List<String>>> entrySet() {
+        return new AbstractSet<Entry<String, List<String>>>() {
+            @Override
+            public Iterator<Entry<String, List<String>>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                int size = 0;
+                for (final String key : base.keySet()) {
+                    if (!isOverridden(key) || overlay.get(key) != null) {
+                        size++;
+                    }
+                }
+                if (overlay != null) {
+                    for (final Entry<String, List<String>> entry : overlay.entrySet()) {
+                        if (entry.getValue() != null && !base.containsKey(entry.getKey())) {
+                            size++;
+                        }
+                    }
+                }
+                return size;
+            }
+        };
+    }
+
+    /**
+     * 공유 Header를 순서대로 순회하며(변경된 Header는 변경된 값, 삭제된 Header는 제외), 이후 새로 추가된 Header를 순회한다.
+     */
+    private final class EntryIterator implements Iterator<Entry<String, List<String>>> {
+        private final Iterator<Entry<String, List<String>>> baseIterator = base.entrySet().iterator();
+        private final Iterator<Entry<String, List<String>>> overlayIterator = overlay == null ? null
+                : new ArrayList<>(overlay.entrySet()).iterator();
+        private Entry<String, List<String>> next;
+        private Entry<String, List<String>> last;
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                if (baseIterator.hasNext()) {
+                    final Entry<String, List<String>> entry = baseIterator.next();
+                    if (!isOverridden(entry.getKey())) {
+                        next = entry;
+                    } else if (overlay.get(entry.getKey()) != null) {
+                        next = new SimpleImmutableEntry<>(entry.getKey(), overlay.get(entry.getKey()));
+                    }
+                } else if (overlayIterator != null && overlayIterator.hasNext()) {
+                    final Entry<String, List<String>> entry = overlayIterator.next();
+                    if (entry.getValue() != null && !base.containsKey(entry.getKey())) {
+                        next = entry;
+                    }
+                } else {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Entry<String, List<String>> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = null;
+            return last;
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            HeaderOverlay.this.remove(last.getKey());
+            last = null;
+        }
+    }
+
+}
@@ -0,0 +1,177 @@
+package io.github.libedi.restrequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Objects;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * 여러 요청에서 공유하는 변경 불가능한 HTTP Header 묶음
+ * <p>
+ * 요청 명세({@link RestRequestSpec.RestRequestHeaderSpec#headerProfile(HeaderProfile)})나
+ * {@link DefaultHeadersRestClientAdapter}에 설정하면, Header를 복사하지 않고 참조한다. 요청별로 추가 / 변경한 Header만 별도로 저장하며,
+ * 기존 Header 값을 변경하는 경우에만 해당 Header 값을 복사한다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+public final class HeaderProfile {
+
+    private final String name;
+    private final HttpHeaders sharedHeaders;
+    private final HttpHeaders headers;
+
+    private HeaderProfile(final String name, final HttpHeaders headers) {
+        this.name = name;
+        this.sharedHeaders = headers;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
+    /**
+     * HeaderProfile 생성
+     * 
+     * @param name 이름
+     * @return
+     * @throws NullPointerException name 파라미터가 null인 경우
+     */
+    public static Builder builder(final String name) {
+        return new Builder(Objects.requireNonNull(name, () -> "Name must not be null."), new HttpHeaders());
+    }
+
+    /**
+     * 이 HeaderProfile의 Header를 포함하는 새 HeaderProfile 생성
+     * 
+     * @param name 이름
+     * @return
+     * @throws NullPointerException name 파라미터가 null인 경우
+     */
+    public Builder extend(final String name) {
+        final HttpHeaders copy = new HttpHeaders();
+        headers.forEach((key, values) -> copy.put(key, new ArrayList<>(values)));
+        return new Builder(Objects.requireNonNull(name, () -> "Name must not be null."), copy);
+    }
+
+    /**
+     * 이름
+     * 
+     * @return
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 읽기 전용 Header
+     * 
+     * @return
+     */
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    /**
+     * 요청별 Header가 참조하는 공유 Header. Header 값 목록은 변경할 수 없으며, Map은 변경하지 않아야 한다.
+     * 
+     * @return
+     */
+    MultiValueMap<String, String> getSharedHeaders() {
+        return sharedHeaders;
+    }
+
+    @Override
+    public String toString() {
+        return "HeaderProfile[" + name + "]" + headers;
+    }
+
+    /**
+     * HeaderProfile 설정
+     * 
+     * @author "Sangjun,Park"
+     *
+     */
+    public static final class Builder {
+
+        private final String name;
+        private final HttpHeaders headers;
+
+        private Builder(final String name, final HttpHeaders headers) {
+            this.name = name;
+            this.headers = headers;
+        }
+
+        /**
+         * HTTP Header 추가
+         * 
+         * @param headerName
+         * @param headerValues
+         * @return
+         */
+        public Builder add(final String headerName, final String... headerValues) {
+            for (final String headerValue : headerValues) {
+                headers.add(headerName, headerValue);
+            }
+            return this;
+        }
+
+        /**
+         * HTTP Header 설정. 기존 값은 대체한다.
+         * 
+         * @param headerName
+         * @param headerValues
+         * @return
+         */
+        public Builder set(final String headerName, final String... headerValues) {
+            headers.put(headerName, Arrays.asList(headerValues));
+            return this;
+        }
+
+        /**
+         * HTTP Header 설정 : Accept
+         * 
+         * @param acceptableMediaTypes
+         * @return
+         */
+        public Builder accept(final MediaType... acceptableMediaTypes) {
+            headers.setAccept(Arrays.asList(acceptableMediaTypes));
+            return this;
+        }
+
+        /**
+         * HTTP Header 설정 : Content-Type
+         * 
+         * @param contentType
+         * @return
+         */
+        public Builder contentType(final MediaType contentType) {
+            headers.setContentType(contentType);
+            return this;
+        }
+
+        /**
+         * HTTP Header 설정 : Authorization
+         * 
+         * @param authValue
+         * @return
+         */
+        public Builder authorization(final String authValue) {
+            headers.set(HttpHeaders.AUTHORIZATION, authValue);
+            return this;
+        }
+
+        /**
+         * HeaderProfile 생성
+         * 
+         * @return
+         */
+        public HeaderProfile build() {
+            final HttpHeaders copy = new HttpHeaders();
+            headers.forEach((key, values) -> copy.put(key, Collections.unmodifiableList(new ArrayList<>(values))));
+            return new HeaderProfile(name, copy);
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+package io.github.libedi.restrequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Jackson ObjectWriter를 사용하는 MultipartBodyCodec. ObjectWriter는 thread-safe 하므로 모든 요청에서 공유한다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+public class JacksonMultipartBodyCodec implements MultipartBodyCodec {
+
+    private final ObjectWriter objectWriter;
+    private final MediaType contentType;
+
+    /**
+     * 기본 ObjectMapper와 application/json Content-Type으로 생성
+     */
+    public JacksonMultipartBodyCodec() {
+        this(new ObjectMapper());
+    }
+
+    /**
+     * application/json Content-Type으로 생성
+     * 
+     * @param objectMapper
+     */
+    public JacksonMultipartBodyCodec(final ObjectMapper objectMapper) {
+        this(Objects.requireNonNull(objectMapper, () -> "ObjectMapper must not be null.").writer(),
+                MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * Codec 생성
+     * 
+     * @param objectWriter 공유할 ObjectWriter
+     * @param contentType  파트의 Content-Type
+     */
+    public JacksonMultipartBodyCodec(final ObjectWriter objectWriter, final MediaType contentType) {
+        this.objectWriter = Objects.requireNonNull(objectWriter, () -> "ObjectWriter must not be null.")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.contentType = Objects.requireNonNull(contentType, () -> "Content type must not be null.");
+    }
+
+    @Override
+    public MediaType getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public void write(final Object body, final OutputStream outputStream) throws IOException {
+        objectWriter.writeValue(outputStream, body);
+    }
+
+}
@@ -0,0 +1,120 @@
+package io.github.libedi.restrequest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * JSON 배열 / NDJSON 응답 body를 Jackson streaming parser로 읽으면서 요소를 하나씩 변환하는 Stream 생성.
+ * <p>
+ * Jackson을 사용하지 않는 환경에서 {@link DefaultRestClientAdapter}가 로딩되도록 별도 클래스로 분리한다. 다른 모듈의 RestClientAdapter
+ * 구현에서 {@link RestClientAdapter#sendForStream(RestRequest)}를 구현할 때 사용할 수 있다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+public final class JsonElementStreams {
+
+    private JsonElementStreams() {
+    }
+
+    /**
+     * 응답 body의 요소 Stream 생성. 최상위 JSON 배열이면 배열 요소를, 그렇지 않으면 공백 / 줄바꿈으로 구분된 JSON 값(NDJSON)을 차례로 변환한다.
+     * JSON {@code null} 요소는 null로 반환한다. Stream을 닫으면 응답을 닫는다.
+     * 
+     * @param restTemplate 요소 변환에 사용할 ObjectMapper를 찾을 RestTemplate
+     * @param response     응답
+     * @param elementType  요소 타입
+     * @return
+     * @throws IOException 응답 body를 읽을 수 없는 경우
+     */
+    public static <T> Stream<T> of(final RestTemplate restTemplate, final ClientHttpResponse response,
+            final Type elementType) throws IOException {
+        final ObjectMapper objectMapper = getObjectMapper(restTemplate);
+        final JavaType javaType = objectMapper.getTypeFactory().constructType(elementType);
+        final JsonParser parser = objectMapper.getFactory().createParser(response.getBody());
+        final ElementIterator<T> iterator;
+        try {
+            iterator = new ElementIterator<>(parser, objectMapper.readerFor(javaType));
+        } catch (final IOException | RuntimeException e) {
+            parser.close();
+            throw e;
+        }
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    try {
+                        parser.close();
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    } finally {
+                        response.close();
+                    }
+                });
+    }
+
+    /**
+     * 최상위 JSON 배열의 요소 또는 NDJSON 값을 차례로 변환하는 Iterator. JSON {@code null} 요소는 null로 반환한다.
+     */
+    private static final class ElementIterator<T> implements Iterator<T> {
+        private final JsonParser parser;
+        private final ObjectReader reader;
+        private final boolean array;
+        private JsonToken token;
+
+        ElementIterator(final JsonParser parser, final ObjectReader reader) throws IOException {
+            this.parser = parser;
+            this.reader = reader;
+            token = parser.nextToken();
+            array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return token != null && !(array && token == JsonToken.END_ARRAY);
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                final T value = token == JsonToken.VALUE_NULL ? null : reader.readValue(parser);
+                token = parser.nextToken();
+                return value;
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static ObjectMapper getObjectMapper(final RestTemplate restTemplate) {
+        for (final HttpMessageConverter<?> converter : restTemplate.getMessageConverters()) {
+            if (converter instanceof MappingJackson2HttpMessageConverter) {
+                return ((MappingJackson2HttpMessageConverter) converter).getObjectMapper();
+            }
+        }
+        return new ObjectMapper();
+    }
+
+}
@@ -0,0 +1,153 @@
+package io.github.libedi.restrequest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free 응답시간 히스토그램
+ * <p>
+ * 나노초 단위의 값을 2의 거듭제곱 구간마다 64개의 하위 구간으로 나누어 기록하므로, 백분위 값의 상대 오차는 약 1.6% 이내이다. 기록은 구간별
+ * {@link AtomicLongArray} 증가 연산만 수행하며, 약 18분(2<sup>40</sup>ns)을 초과하는 값은 최대 구간에 기록한다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final long MAX_VALUE = (1L << MAX_EXPONENT) - 1;
+    private static final int BUCKET_COUNT = index(MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * 응답시간 기록
+     * 
+     * @param nanos 응답시간 (나노초)
+     */
+    public void record(final long nanos) {
+        final long value = Math.min(Math.max(nanos, 0), MAX_VALUE);
+        counts.incrementAndGet(index(value));
+        count.increment();
+        total.add(value);
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            // retry
+        }
+    }
+
+    /**
+     * 응답시간 기록
+     * 
+     * @param duration 응답시간
+     * @param unit     응답시간 단위
+     */
+    public void record(final long duration, final TimeUnit unit) {
+        record(unit.toNanos(duration));
+    }
+
+    /**
+     * 기록된 값의 개수
+     * 
+     * @return count
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * 기록된 값의 합계 (나노초)
+     * 
+     * @return total
+     */
+    public long getTotal() {
+        return total.sum();
+    }
+
+    /**
+     * 기록된 최대값 (나노초)
+     * 
+     * @return max
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * 기록된 값의 평균 (나노초)
+     * 
+     * @return mean. 기록된 값이 없으면 0
+     */
+    public double getMean() {
+        final long n = getCount();
+        return n == 0 ? 0 : (double) getTotal() / n;
+    }
+
+    /**
+     * 백분위 값 조회
+     * 
+     * @param quantile 0.0 ~ 1.0 사이의 값 (예: p99는 0.99)
+     * @return 백분위 값 (나노초). 기록된 값이 없으면 0
+     * @throws IllegalArgumentException quantile 파라미터가 0.0 ~ 1.0 사이의 값이 아닌 경우
+     */
+    public long getValueAtQuantile(final double quantile) {
+        if (quantile < 0.0 || quantile > 1.0 || Double.isNaN(quantile)) {
+            throw new IllegalArgumentException("Quantile must be between 0.0 and 1.0.");
+        }
+        final long[] snapshot = new long[BUCKET_COUNT];
+        long n = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            n += snapshot[i];
+        }
+        if (n == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(quantile * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(highestEquivalentValue(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * 기록된 값 초기화. 기록 중인 값과 동시에 호출하면 일부 값이 누락될 수 있다.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        total.reset();
+        max.set(0);
+    }
+
+    private static int index(final long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return SUB_BUCKET_COUNT + (shift << SUB_BUCKET_BITS) + (int) (value >>> shift) - SUB_BUCKET_COUNT;
+    }
+
+    private static long highestEquivalentValue(final int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int shift = (index - SUB_BUCKET_COUNT) >>> SUB_BUCKET_BITS;
+        final long subBucket = SUB_BUCKET_COUNT + ((index - SUB_BUCKET_COUNT) & (SUB_BUCKET_COUNT - 1));
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+}
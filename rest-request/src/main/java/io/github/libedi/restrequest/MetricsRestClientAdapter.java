@@ -0,0 +1,312 @@
+package io.github.libedi.restrequest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClientResponseException;
+
+/**
+ * 요청 지표를 기록하는 Adapter
+ * <p>
+ * 요청마다 HTTP Method, URI 템플릿, 응답 상태 구분(1xx ~ 5xx)별 응답시간, 전송 중인 요청 개수, 예외 발생 횟수, Request / Response Body
+ * 크기를 {@link RestClientMetricsRecorder}에 기록한다. Body 크기는 Content-Length 헤더 또는 byte 배열 body로 알 수 있는 경우에만
+ * 기록한다.
+ * <p>
+ * RestRequest는 URI 템플릿 정보를 갖지 않으므로, 기본적으로 URI 경로에서 숫자, UUID, 16자 이상의 16진수로 이루어진 경로를 {@code {id}}로
+ * 치환한 값을 URI 템플릿으로 사용한다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+public class MetricsRestClientAdapter implements RestClientAdapter {
+
+    private static final String[] STATUS_CLASSES = { "1xx", "2xx", "3xx", "4xx", "5xx" };
+
+    private final RestClientAdapter restClientAdapter;
+    private final RestClientMetricsRecorder recorder;
+    private final Function<RestRequest<?>, String> uriTemplateResolver;
+
+    /**
+     * MetricsRestClientAdapter 생성. 요청 지표를 {@link RestClientMetricsRegistry}에 기록한다.
+     * 
+     * @param restClientAdapter 요청을 전송할 RestClientAdapter
+     * @throws IllegalArgumentException restClientAdapter 파라미터가 null인 경우
+     */
+    public MetricsRestClientAdapter(final RestClientAdapter restClientAdapter) {
+        this(restClientAdapter, new RestClientMetricsRegistry());
+    }
+
+    /**
+     * MetricsRestClientAdapter 생성
+     * 
+     * @param restClientAdapter 요청을 전송할 RestClientAdapter
+     * @param recorder          요청 지표 기록
+     * @throws IllegalArgumentException restClientAdapter 또는 recorder 파라미터가 null인 경우
+     */
+    public MetricsRestClientAdapter(final RestClientAdapter restClientAdapter,
+            final RestClientMetricsRecorder recorder) {
+        this(restClientAdapter, recorder, MetricsRestClientAdapter::resolveUriTemplate);
+    }
+
+    /**
+     * MetricsRestClientAdapter 생성
+     * 
+     * @param restClientAdapter   요청을 전송할 RestClientAdapter
+     * @param recorder            요청 지표 기록
+     * @param uriTemplateResolver RestRequest의 URI 템플릿 조회 함수
+     * @throws IllegalArgumentException restClientAdapter, recorder 또는 uriTemplateResolver 파라미터가 null인 경우
+     */
+    public MetricsRestClientAdapter(final RestClientAdapter restClientAdapter,
+            final RestClientMetricsRecorder recorder, final Function<RestRequest<?>, String> uriTemplateResolver) {
+        if (restClientAdapter == null) {
+            throw new IllegalArgumentException("RestClientAdapter must not be null.");
+        }
+        if (recorder == null) {
+            throw new IllegalArgumentException("RestClientMetricsRecorder must not be null.");
+        }
+        if (uriTemplateResolver == null) {
+            throw new IllegalArgumentException("URI template resolver must not be null.");
+        }
+        this.restClientAdapter = restClientAdapter;
+        this.recorder = recorder;
+        this.uriTemplateResolver = uriTemplateResolver;
+    }
+
+    /**
+     * 요청 지표 기록 객체 조회
+     * 
+     * @return recorder
+     */
+    public RestClientMetricsRecorder getRecorder() {
+        return recorder;
+    }
+
+    @Override
+    public <T> ResponseEntity<T> send(final RestRequest<T> restRequest) {
+        final String uriTemplate = getUriTemplate(restRequest);
+        recorder.requestStarted(restRequest.getMethod(), uriTemplate);
+        final long start = System.nanoTime();
+        final ResponseEntity<T> response;
+        try {
+            response = restClientAdapter.send(restRequest);
+        } catch (final RuntimeException | Error e) {
+            recordError(restRequest, uriTemplate, start, e);
+            throw e;
+        }
+        recordResponse(restRequest, uriTemplate, start, response);
+        return response;
+    }
+
+    /**
+     * 요청 지표를 기록하고 요청을 전송한다. 응답시간은 요소를 모두 읽거나, 요소를 읽는 중 예외가 발생하거나, Stream을 닫을 때까지의 시간이다. 요소를
+     * 읽는 중 발생한 예외는 예외로 기록하며, 그 외에는 응답 상태 구분을 2xx로 기록한다. 요소를 모두 읽지 않은 경우 Stream을 닫아야 기록한다.
+     */
+    @Override
+    public <T> Stream<T> sendForStream(final RestRequest<T> restRequest) {
+        final String uriTemplate = getUriTemplate(restRequest);
+        recorder.requestStarted(restRequest.getMethod(), uriTemplate);
+        final long start = System.nanoTime();
+        final Stream<T> stream;
+        try {
+            stream = restClientAdapter.sendForStream(restRequest);
+        } catch (final RuntimeException | Error e) {
+            recordError(restRequest, uriTemplate, start, e);
+            throw e;
+        }
+        return StreamCompletion.of(stream, error -> {
+            if (error == null) {
+                recorder.requestCompleted(restRequest.getMethod(), uriTemplate, STATUS_CLASSES[1],
+                        System.nanoTime() - start, getRequestBytes(restRequest), -1, null);
+            } else {
+                recordError(restRequest, uriTemplate, start, error);
+            }
+        });
+    }
+
+    @Override
+    public ResponseEntity<Long> sendToFile(final RestRequest<?> restRequest, final Path path) {
+        final String uriTemplate = getUriTemplate(restRequest);
+        recorder.requestStarted(restRequest.getMethod(), uriTemplate);
+        final long start = System.nanoTime();
+        final ResponseEntity<Long> response;
+        try {
+            response = restClientAdapter.sendToFile(restRequest, path);
+        } catch (final RuntimeException | Error e) {
+            recordError(restRequest, uriTemplate, start, e);
+            throw e;
+        }
+        // 응답 body는 저장한 byte 수
+        recorder.requestCompleted(restRequest.getMethod(), uriTemplate,
+                getStatusClass(response.getStatusCodeValue()), System.nanoTime() - start,
+                getRequestBytes(restRequest), response.getBody() == null ? -1 : response.getBody(), null);
+        return response;
+    }
+
+    @Override
+    public <T> Optional<T> sendForBody(final RestRequest<T> restRequest) {
+        return Optional.ofNullable(send(restRequest).getBody());
+    }
+
+    @Override
+    public <T> CompletableFuture<ResponseEntity<T>> sendAsync(final RestRequest<T> restRequest) {
+        return record(restRequest, restClientAdapter::sendAsync);
+    }
+
+    @Override
+    public <T> CompletableFuture<ResponseEntity<T>> sendAsync(final RestRequest<T> restRequest,
+            final Executor executor) {
+        Objects.requireNonNull(executor, () -> "Executor must not be null.");
+        return record(restRequest, request -> restClientAdapter.sendAsync(request, executor));
+    }
+
+    private <T> CompletableFuture<ResponseEntity<T>> record(final RestRequest<T> restRequest,
+            final Function<RestRequest<T>, CompletableFuture<ResponseEntity<T>>> sender) {
+        final String uriTemplate = getUriTemplate(restRequest);
+        recorder.requestStarted(restRequest.getMethod(), uriTemplate);
+        final long start = System.nanoTime();
+        final CompletableFuture<ResponseEntity<T>> future;
+        try {
+            future = sender.apply(restRequest);
+        } catch (final RuntimeException | Error e) {
+            recordError(restRequest, uriTemplate, start, e);
+            throw e;
+        }
+        return future.whenComplete((response, error) -> {
+            if (error == null) {
+                recordResponse(restRequest, uriTemplate, start, response);
+            } else {
+                recordError(restRequest, uriTemplate, start,
+                        error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            }
+        });
+    }
+
+    private String getUriTemplate(final RestRequest<?> restRequest) {
+        if (restRequest == null) {
+            throw new IllegalArgumentException("RestRequest must not be null.");
+        }
+        return uriTemplateResolver.apply(restRequest);
+    }
+
+    private void recordResponse(final RestRequest<?> restRequest, final String uriTemplate, final long start,
+            final ResponseEntity<?> response) {
+        final long duration = System.nanoTime() - start;
+        recorder.requestCompleted(restRequest.getMethod(), uriTemplate, getStatusClass(response.getStatusCodeValue()),
+                duration, getRequestBytes(restRequest), getResponseBytes(response), null);
+    }
+
+    private void recordError(final RestRequest<?> restRequest, final String uriTemplate, final long start,
+            final Throwable error) {
+        final long duration = System.nanoTime() - start;
+        String statusClass = RestClientMetricsRecorder.STATUS_ERROR;
+        long responseBytes = -1;
+        if (error instanceof RestClientResponseException) {
+            final RestClientResponseException responseException = (RestClientResponseException) error;
+            statusClass = getStatusClass(responseException.getRawStatusCode());
+            responseBytes = responseException.getResponseBodyAsByteArray().length;
+        }
+        recorder.requestCompleted(restRequest.getMethod(), uriTemplate, statusClass, duration,
+                getRequestBytes(restRequest), responseBytes, error);
+    }
+
+    private static String getStatusClass(final int statusCode) {
+        final int index = statusCode / 100 - 1;
+        return index >= 0 && index < STATUS_CLASSES.length ? STATUS_CLASSES[index]
+                : RestClientMetricsRecorder.STATUS_ERROR;
+    }
+
+    private static long getRequestBytes(final RestRequest<?> restRequest) {
+        final HttpEntity<?> httpEntity = restRequest.getHttpEntity();
+        if (httpEntity == null) {
+            return -1;
+        }
+        if (httpEntity.getBody() instanceof byte[]) {
+            return ((byte[]) httpEntity.getBody()).length;
+        }
+        if (httpEntity.getBody() == null && restRequest.getMethod() == HttpMethod.GET) {
+            return 0;
+        }
+        return httpEntity.getHeaders().getContentLength();
+    }
+
+    private static long getResponseBytes(final ResponseEntity<?> response) {
+        final long contentLength = response.getHeaders().getContentLength();
+        if (contentLength >= 0) {
+            return contentLength;
+        }
+        return response.getBody() instanceof byte[] ? ((byte[]) response.getBody()).length : -1;
+    }
+
+    /**
+     * 기본 URI 템플릿 : URI의 scheme, host, port와 ID 형태의 경로를 {@code {id}}로 치환한 경로
+     */
+    private static String resolveUriTemplate(final RestRequest<?> restRequest) {
+        final URI uri = restRequest.getUri();
+        final StringBuilder builder = new StringBuilder();
+        if (uri.getScheme() != null) {
+            builder.append(uri.getScheme()).append("://");
+        }
+        if (uri.getHost() != null) {
+            builder.append(uri.getHost());
+        }
+        if (uri.getPort() >= 0) {
+            builder.append(':').append(uri.getPort());
+        }
+        final String path = uri.getRawPath();
+        if (path == null) {
+            return builder.toString();
+        }
+        int start = 0;
+        while (start < path.length()) {
+            int end = path.indexOf('/', start + 1);
+            if (end < 0) {
+                end = path.length();
+            }
+            final int segmentStart = path.charAt(start) == '/' ? start + 1 : start;
+            if (path.charAt(start) == '/') {
+                builder.append('/');
+            }
+            if (isIdentifier(path, segmentStart, end)) {
+                builder.append("{id}");
+            } else {
+                builder.append(path, segmentStart, end);
+            }
+            start = end;
+        }
+        return builder.toString();
+    }
+
+    private static boolean isIdentifier(final String path, final int start, final int end) {
+        final int length = end - start;
+        if (length == 0) {
+            return false;
+        }
+        boolean digits = true;
+        boolean hex = true;
+        int hyphens = 0;
+        for (int i = start; i < end; i++) {
+            final char c = path.charAt(i);
+            if (c == '-') {
+                hyphens++;
+                digits = false;
+            } else if (c < '0' || c > '9') {
+                digits = false;
+                if ((c < 'a' || c > 'f') && (c < 'A' || c > 'F')) {
+                    hex = false;
+                }
+            }
+        }
+        return digits || hex && (hyphens == 0 && length >= 16 || hyphens == 4 && length == 36);
+    }
+
+}
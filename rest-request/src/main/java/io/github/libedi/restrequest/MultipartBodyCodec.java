@@ -0,0 +1,55 @@
+package io.github.libedi.restrequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+
+import org.springframework.http.MediaType;
+
+/**
+ * multipart/mixed 요청의 Request Body 파트 Codec.
+ * <p>
+ * Request Body와 첨부파일을 함께 설정한 경우, Request Body는 {@code body} 파트로 전송된다. Codec은 {@code build()} 시점이 아닌 요청
+ * 전송 시점에 호출되어 파트 내용을 출력 스트림에 직접 기록한다. 여러 요청에서 동시에 사용되므로 thread-safe 해야 한다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+public interface MultipartBodyCodec {
+
+    /**
+     * 파트의 Content-Type
+     * 
+     * @return
+     */
+    MediaType getContentType();
+
+    /**
+     * Request Body를 출력 스트림에 기록. 출력 스트림은 닫지 않아야 한다.
+     * 
+     * @param body         Request Body
+     * @param outputStream 파트 출력 스트림
+     * @throws IOException
+     */
+    void write(Object body, OutputStream outputStream) throws IOException;
+
+    /**
+     * 기본 Codec 조회. 별도로 설정하지 않은 경우 {@link JacksonMultipartBodyCodec}를 사용한다.
+     * 
+     * @return
+     */
+    static MultipartBodyCodec getDefault() {
+        return DefaultMultipartBodyCodec.get();
+    }
+
+    /**
+     * 기본 Codec 설정. 이후 생성하는 모든 RestRequest에 적용된다.
+     * 
+     * @param codec
+     * @throws NullPointerException codec 파라미터가 null인 경우
+     */
+    static void setDefault(final MultipartBodyCodec codec) {
+        DefaultMultipartBodyCodec.set(Objects.requireNonNull(codec, () -> "Codec must not be null."));
+    }
+
+}
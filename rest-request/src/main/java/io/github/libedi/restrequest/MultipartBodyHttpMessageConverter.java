@@ -0,0 +1,75 @@
+package io.github.libedi.restrequest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.FormHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * multipart/mixed 요청의 Request Body 파트를 MultipartBodyCodec으로 출력 스트림에 직접 기록하는 파트 Converter.
+ * <p>
+ * {@link DefaultRestClientAdapter}가 직접 생성하는 RestTemplate(기본 생성자, {@link DefaultRestClientAdapter#builder()})에는 자동으로
+ * 등록한다. 전달받은 RestTemplate은 변경하지 않으므로, 필요하면 {@link #register(RestTemplate)}로 직접 등록한다. 등록하지 않아도 Request Body
+ * 파트는 정상적으로 전송된다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+public class MultipartBodyHttpMessageConverter extends AbstractHttpMessageConverter<Resource> {
+
+    public MultipartBodyHttpMessageConverter() {
+        super(MediaType.ALL);
+    }
+
+    /**
+     * RestTemplate의 모든 FormHttpMessageConverter에 파트 Converter 등록
+     * 
+     * @param restTemplate
+     */
+    public static void register(final RestTemplate restTemplate) {
+        for (final HttpMessageConverter<?> converter : restTemplate.getMessageConverters()) {
+            if (converter instanceof FormHttpMessageConverter) {
+                final FormHttpMessageConverter formConverter = (FormHttpMessageConverter) converter;
+                final List<HttpMessageConverter<?>> partConverters = formConverter.getPartConverters();
+                if (partConverters.stream().noneMatch(MultipartBodyHttpMessageConverter.class::isInstance)) {
+                    final List<HttpMessageConverter<?>> converters = new ArrayList<>(partConverters.size() + 1);
+                    converters.add(new MultipartBodyHttpMessageConverter());
+                    converters.addAll(partConverters);
+                    formConverter.setPartConverters(converters);
+                }
+            }
+        }
+    }
+
+    @Override
+    protected boolean supports(final Class<?> clazz) {
+        return MultipartBodyResource.class == clazz;
+    }
+
+    @Override
+    protected boolean canRead(final MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Resource readInternal(final Class<? extends Resource> clazz, final HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("Multipart body part can not be read.", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(final Resource resource, final HttpOutputMessage outputMessage) throws IOException {
+        ((MultipartBodyResource) resource).writeTo(StreamUtils.nonClosing(outputMessage.getBody()));
+    }
+
+}
@@ -0,0 +1,62 @@
+package io.github.libedi.restrequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.util.FastByteArrayOutputStream;
+
+/**
+ * multipart/mixed 요청의 Request Body 파트.
+ * <p>
+ * 요청 전송 시점에 MultipartBodyCodec으로 기록된다. {@link MultipartBodyHttpMessageConverter}가 등록된 경우 출력 스트림에 직접
+ * 기록하며, 그 외에는 Resource로 취급되어 전송 시점에 한 번 인코딩된다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+final class MultipartBodyResource extends AbstractResource {
+
+    private final Object body;
+    private final MultipartBodyCodec codec;
+
+    MultipartBodyResource(final Object body, final MultipartBodyCodec codec) {
+        this.body = body;
+        this.codec = codec;
+    }
+
+    /**
+     * Request Body를 출력 스트림에 기록
+     * 
+     * @param outputStream
+     * @throws IOException
+     */
+    void writeTo(final OutputStream outputStream) throws IOException {
+        codec.write(body, outputStream);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        final FastByteArrayOutputStream outputStream = new FastByteArrayOutputStream();
+        writeTo(outputStream);
+        return outputStream.getInputStream();
+    }
+
+    @Override
+    public long contentLength() {
+        return -1;
+    }
+
+    @Override
+    public String getFilename() {
+        return null;
+    }
+
+    @Override
+    public String getDescription() {
+        return "multipart body [" + (body == null ? null : body.getClass().getName()) + "]";
+    }
+
+}
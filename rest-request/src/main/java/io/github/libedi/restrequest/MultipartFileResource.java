@@ -0,0 +1,50 @@
+package io.github.libedi.restrequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * MultipartFile 첨부파일 Resource.
+ * <p>
+ * 파일 내용을 메모리에 적재하지 않고, 요청 전송 시점에 MultipartFile의 InputStream을 열어 고정 크기 버퍼로 출력 스트림에 복사한다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+final class MultipartFileResource extends AbstractResource {
+
+    private final MultipartFile multipartFile;
+
+    MultipartFileResource(final MultipartFile multipartFile) {
+        this.multipartFile = multipartFile;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return multipartFile.getInputStream();
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public long contentLength() {
+        return multipartFile.getSize();
+    }
+
+    @Override
+    public String getFilename() {
+        return multipartFile.getOriginalFilename();
+    }
+
+    @Override
+    public String getDescription() {
+        return "MultipartFile resource [" + multipartFile.getName() + "]";
+    }
+
+}
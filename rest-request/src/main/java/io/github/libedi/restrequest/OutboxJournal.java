@@ -0,0 +1,320 @@
+package io.github.libedi.restrequest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * memory-mapped segment 파일에 기록하는 append-only journal
+ * <p>
+ * 각 record는 {@code [길이(4)][상태(1)][CRC32(4)][payload]} 형식이며, 길이를 마지막에 기록하여 기록 중 종료된 record는 무시한다. 전송을 완료한
+ * record는 상태만 변경하고, 모든 record를 완료한 segment 파일은 삭제한다. 메모리에는 미완료 record의 위치만 보관한다.
+ * <p>
+ * 디렉토리의 lock 파일에 {@link FileLock}을 획득하여, 다른 journal(같은 프로세스 또는 다른 프로세스)이 같은 디렉토리를 동시에 사용하지 못하도록 한다.
+ *
+ * @author "Sangjun,Park"
+ *
+ */
+final class OutboxJournal implements Closeable {
+
+    static final String SEGMENT_SUFFIX = ".seg";
+    static final String LOCK_FILE = "outbox.lock";
+
+    private static final int HEADER_SIZE = 9;
+    private static final byte PENDING = 0;
+    private static final byte COMPLETED = 1;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean syncOnAppend;
+    private final FileChannel lockChannel;
+    private final List<Segment> segments = new ArrayList<>();
+    private final Set<Record> pending = new LinkedHashSet<>();
+    private Segment active;
+    private boolean closed;
+
+    /**
+     * OutboxJournal 생성. 디렉토리에 남아있는 segment 파일의 미완료 record를 복원한다.
+     *
+     * @param directory    segment 파일 디렉토리
+     * @param segmentSize  segment 파일 크기 (bytes)
+     * @param syncOnAppend record 기록마다 디스크 동기화 여부
+     * @throws IOException 디렉토리를 다른 journal이 사용중이거나, segment 파일을 읽을 수 없는 경우
+     */
+    OutboxJournal(final Path directory, final int segmentSize, final boolean syncOnAppend) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        this.syncOnAppend = syncOnAppend;
+        lockChannel = lock(this.directory);
+        try {
+            recover();
+        } catch (final IOException | RuntimeException e) {
+            lockChannel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 디렉토리의 lock 파일 잠금. 이미 잠겨 있으면 기다리지 않고 실패한다.
+     */
+    private static FileChannel lock(final Path directory) throws IOException {
+        final FileChannel channel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+        FileLock fileLock;
+        try {
+            fileLock = channel.tryLock();
+        } catch (final OverlappingFileLockException e) {
+            // 같은 프로세스의 다른 journal이 잠근 경우
+            fileLock = null;
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        if (fileLock == null) {
+            channel.close();
+            throw new IOException("Outbox directory is already in use: " + directory);
+        }
+        return channel;
+    }
+
+    /**
+     * 디렉토리에 남아있는 segment 파일의 미완료 record 복원
+     */
+    private void recover() throws IOException {
+        final List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+        for (final Path file : files) {
+            final Segment segment = new Segment(file, sequenceOf(file), (int) Files.size(file));
+            segment.recover();
+            segments.add(segment);
+        }
+        for (final Segment segment : new ArrayList<>(segments)) {
+            if (segment.pendingCount == 0 && segment != last()) {
+                delete(segment);
+            }
+        }
+        active = segments.isEmpty() ? newSegment(0, segmentSize) : last();
+    }
+
+    /**
+     * record 추가
+     *
+     * @param payload
+     * @throws IOException
+     */
+    synchronized void append(final byte[] payload) throws IOException {
+        if (closed) {
+            throw new IOException("Outbox journal is closed.");
+        }
+        if (payload.length == 0) {
+            throw new IllegalArgumentException("Payload must not be empty.");
+        }
+        final int recordSize = HEADER_SIZE + payload.length;
+        if (active.writePosition + recordSize > active.capacity) {
+            final Segment previous = active;
+            active = newSegment(previous.sequence + 1, Math.max(segmentSize, recordSize));
+            if (previous.pendingCount == 0) {
+                delete(previous);
+            }
+        }
+        final CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        final int position = active.writePosition;
+        final ByteBuffer buffer = active.buffer.duplicate();
+        buffer.position(position + 4);
+        buffer.put(PENDING);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(payload);
+        active.buffer.putInt(position, payload.length);
+        if (syncOnAppend) {
+            active.buffer.force();
+        }
+        active.writePosition += recordSize;
+        active.pendingCount++;
+        pending.add(new Record(active, position, payload.length));
+    }
+
+    /**
+     * 미완료 record 목록 (기록 순서)
+     *
+     * @return
+     */
+    synchronized List<Record> pending() {
+        return new ArrayList<>(pending);
+    }
+
+    /**
+     * 미완료 record 개수
+     *
+     * @return
+     */
+    synchronized int size() {
+        return pending.size();
+    }
+
+    /**
+     * record payload 읽기
+     *
+     * @param record
+     * @return
+     * @throws IllegalStateException record가 손상된 경우
+     */
+    synchronized byte[] read(final Record record) {
+        final byte[] payload = new byte[record.length];
+        final ByteBuffer buffer = record.segment.buffer.duplicate();
+        buffer.position(record.position + 5);
+        final int checksum = buffer.getInt();
+        buffer.get(payload);
+        final CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        if ((int) crc.getValue() != checksum) {
+            throw new IllegalStateException("Corrupted outbox record in " + record.segment.path.getFileName()
+                    + " at " + record.position);
+        }
+        return payload;
+    }
+
+    /**
+     * record 완료 처리. segment의 모든 record가 완료되면 segment 파일을 삭제한다.
+     *
+     * @param record
+     */
+    synchronized void complete(final Record record) {
+        if (!pending.remove(record)) {
+            return;
+        }
+        final Segment segment = record.segment;
+        segment.buffer.put(record.position + 4, COMPLETED);
+        if (syncOnAppend) {
+            segment.buffer.force();
+        }
+        if (--segment.pendingCount == 0 && segment != active) {
+            delete(segment);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (final Segment segment : segments) {
+            segment.buffer.force();
+        }
+        try {
+            // channel을 닫으면 lock도 해제된다.
+            lockChannel.close();
+        } catch (final IOException e) {
+            // 프로세스 종료시 해제된다.
+        }
+    }
+
+    private Segment last() {
+        return segments.get(segments.size() - 1);
+    }
+
+    private Segment newSegment(final long sequence, final int capacity) throws IOException {
+        final Segment segment = new Segment(directory.resolve(String.format("%020d", sequence) + SEGMENT_SUFFIX),
+                sequence, capacity);
+        segments.add(segment);
+        return segment;
+    }
+
+    /**
+     * 완료된 segment 삭제. 파일 삭제에 실패해도 다음 실행시 완료된 segment로 확인하여 다시 삭제하므로 예외를 전파하지 않는다.
+     *
+     * @param segment
+     */
+    private void delete(final Segment segment) {
+        segments.remove(segment);
+        try {
+            Files.deleteIfExists(segment.path);
+        } catch (final IOException e) {
+            // 다음 실행시 다시 삭제한다.
+        }
+    }
+
+    private static long sequenceOf(final Path file) {
+        final String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+        } catch (final NumberFormatException e) {
+            throw new IllegalStateException("Invalid outbox segment file: " + file, e);
+        }
+    }
+
+    /**
+     * segment 파일
+     */
+    private final class Segment {
+        private final Path path;
+        private final long sequence;
+        private final int capacity;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+        private int pendingCount;
+
+        Segment(final Path path, final long sequence, final int capacity) throws IOException {
+            this.path = path;
+            this.sequence = sequence;
+            this.capacity = capacity;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                buffer = channel.map(MapMode.READ_WRITE, 0, capacity);
+            }
+        }
+
+        /**
+         * 기록된 record를 확인하여 미완료 record와 다음 기록 위치를 복원
+         */
+        void recover() {
+            int position = 0;
+            while (position + HEADER_SIZE <= capacity) {
+                final int length = buffer.getInt(position);
+                if (length <= 0 || length > capacity - position - HEADER_SIZE) {
+                    break;
+                }
+                if (buffer.get(position + 4) == PENDING) {
+                    pendingCount++;
+                    pending.add(new Record(this, position, length));
+                }
+                position += HEADER_SIZE + length;
+            }
+            writePosition = position;
+        }
+    }
+
+    /**
+     * record 위치
+     */
+    static final class Record {
+        private final Segment segment;
+        private final int position;
+        private final int length;
+
+        private Record(final Segment segment, final int position, final int length) {
+            this.segment = segment;
+            this.position = position;
+            this.length = length;
+        }
+    }
+
+}
@@ -0,0 +1,531 @@
+package io.github.libedi.restrequest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.springframework.http.ResponseEntity;
+
+import io.github.libedi.restrequest.OutboxJournal.Record;
+
+/**
+ * 전송에 실패한 요청을 디스크의 outbox에 저장하고, 이후 다시 전송하는 Adapter
+ * <p>
+ * 전송 실패가 저장 대상(기본값: 연결 실패, 429 / 502 / 503 / 504 응답, Circuit Breaker OPEN, 요청 비율 / 동시 요청 개수 제한 초과)이면 요청을 {@link RestRequestCodec}으로 변환하여
+ * memory-mapped segment 파일에 기록하고 {@link RequestDeferredException}으로 실패한다. {@link #defer(RestRequest)}로 전송하지 않고
+ * 바로 저장할 수도 있다. 저장한 요청은 메모리에 보관하지 않으며, 프로세스를 다시 시작해도 유지된다.
+ * <p>
+ * 저장한 요청은 주기적으로 (또는 {@link #replay()} 호출시) 기록 순서대로 최대 동시 전송 개수만큼 다시 전송한다. 다시 전송한 요청의 응답은 사용하지
+ * 않으므로, 응답이 필요 없는 요청(예: 이벤트 전송)에 사용한다. 다시 전송 중 저장 대상 실패가 발생하면 대상 서버가 아직 복구되지 않은 것으로 보고 다음
+ * 주기까지 전송을 중단하며, 그 외의 실패는 요청을 outbox에서 삭제한다.
+ * <p>
+ * 사용 후에는 {@link #close()}를 호출하여 주기적인 재전송을 중지해야 한다.
+ *
+ * @author "Sangjun,Park"
+ *
+ */
+public class OutboxRestClientAdapter implements RestClientAdapter, Closeable {
+
+    private final RestClientAdapter restClientAdapter;
+    private final RestRequestCodec codec;
+    private final OutboxJournal journal;
+    private final Predicate<Throwable> deferOn;
+    private final int replayConcurrency;
+    private final Executor executor;
+    private final BiConsumer<RestRequest<?>, Throwable> dropListener;
+    private final ScheduledFuture<?> replayTask;
+    private final AtomicLong replayedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private ReplayRound round;
+
+    private OutboxRestClientAdapter(final Builder builder) throws IOException {
+        restClientAdapter = builder.restClientAdapter;
+        codec = builder.codec == null ? new RestRequestCodec() : builder.codec;
+        deferOn = builder.deferOn;
+        replayConcurrency = builder.replayConcurrency;
+        executor = builder.executor;
+        dropListener = builder.dropListener;
+        journal = new OutboxJournal(builder.directory, builder.segmentSize, builder.syncOnAppend);
+        if (builder.replayInterval.isZero()) {
+            replayTask = null;
+        } else {
+            final long interval = builder.replayInterval.toNanos();
+            replayTask = (builder.scheduler == null ? DefaultScheduler.get() : builder.scheduler)
+                    .scheduleWithFixedDelay(this::replay, interval, interval, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * OutboxRestClientAdapter 생성
+     *
+     * @param restClientAdapter 요청을 전송할 RestClientAdapter
+     * @param directory         outbox segment 파일을 저장할 디렉토리
+     * @return
+     * @throws IllegalArgumentException 파라미터가 null인 경우
+     */
+    public static Builder builder(final RestClientAdapter restClientAdapter, final Path directory) {
+        if (restClientAdapter == null) {
+            throw new IllegalArgumentException("RestClientAdapter must not be null.");
+        }
+        if (directory == null) {
+            throw new IllegalArgumentException("Directory must not be null.");
+        }
+        return new Builder(restClientAdapter, directory);
+    }
+
+    /**
+     * 기본 저장 대상 실패 : 연결 실패, 429 / 502 / 503 / 504 응답, Circuit Breaker OPEN, 요청 비율 / 동시 요청 개수 제한 초과
+     *
+     * @param error
+     * @return
+     */
+    public static boolean isDeferrable(final Throwable error) {
+        return RetryRestClientAdapter.isRetryable(error) || error instanceof CircuitBreakerOpenException
+                || error instanceof RateLimitExceededException || error instanceof ConcurrencyLimitExceededException;
+    }
+
+    @Override
+    public <T> ResponseEntity<T> send(final RestRequest<T> restRequest) {
+        if (restRequest == null) {
+            throw new IllegalArgumentException("RestRequest must not be null.");
+        }
+        try {
+            return restClientAdapter.send(restRequest);
+        } catch (final RuntimeException e) {
+            throw (RuntimeException) deferOnFailure(restRequest, e);
+        }
+    }
+
+    /**
+     * 응답을 사용해야 하는 요청이므로 outbox에 저장하지 않고 감싼 Adapter로 전송한다.
+     */
+    @Override
+    public <T> Stream<T> sendForStream(final RestRequest<T> restRequest) {
+        return restClientAdapter.sendForStream(restRequest);
+    }
+
+    /**
+     * 응답을 사용해야 하는 요청이므로 outbox에 저장하지 않고 감싼 Adapter로 전송한다.
+     */
+    @Override
+    public ResponseEntity<Long> sendToFile(final RestRequest<?> restRequest, final Path path) {
+        return restClientAdapter.sendToFile(restRequest, path);
+    }
+
+    @Override
+    public <T> CompletableFuture<ResponseEntity<T>> sendAsync(final RestRequest<T> restRequest) {
+        if (restRequest == null) {
+            throw new IllegalArgumentException("RestRequest must not be null.");
+        }
+        return deferOnFailure(restRequest, restClientAdapter.sendAsync(restRequest));
+    }
+
+    @Override
+    public <T> CompletableFuture<ResponseEntity<T>> sendAsync(final RestRequest<T> restRequest,
+            final Executor executor) {
+        Objects.requireNonNull(executor, () -> "Executor must not be null.");
+        if (restRequest == null) {
+            throw new IllegalArgumentException("RestRequest must not be null.");
+        }
+        return deferOnFailure(restRequest, restClientAdapter.sendAsync(restRequest, executor));
+    }
+
+    /**
+     * 요청을 전송하지 않고 outbox에 저장
+     *
+     * @param restRequest
+     * @throws IllegalArgumentException restRequest 파라미터가 null이거나, 요청을 변환할 수 없는 경우
+     * @throws UncheckedIOException     outbox 기록 중 오류가 발생한 경우
+     */
+    public void defer(final RestRequest<?> restRequest) {
+        if (restRequest == null) {
+            throw new IllegalArgumentException("RestRequest must not be null.");
+        }
+        try {
+            journal.append(codec.encode(restRequest));
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Could not write to outbox: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 저장한 요청 다시 전송. 이미 다시 전송 중이면 진행 중인 전송의 결과를 반환한다.
+     *
+     * @return 다시 전송에 성공한 요청 개수
+     */
+    public synchronized CompletableFuture<Integer> replay() {
+        if (round != null) {
+            return round.result;
+        }
+        final ReplayRound replayRound = new ReplayRound(journal.pending().iterator());
+        final int workers = Math.min(replayConcurrency, journal.size());
+        if (workers == 0) {
+            return CompletableFuture.completedFuture(0);
+        }
+        round = replayRound;
+        replayRound.workers = workers;
+        for (int i = 0; i < workers; i++) {
+            replayNext(replayRound);
+        }
+        return replayRound.result;
+    }
+
+    /**
+     * outbox에 저장된 요청 개수
+     *
+     * @return
+     */
+    public int getPendingCount() {
+        return journal.size();
+    }
+
+    /**
+     * 다시 전송에 성공한 요청 개수
+     *
+     * @return
+     */
+    public long getReplayedCount() {
+        return replayedCount.get();
+    }
+
+    /**
+     * 다시 전송에 실패하여 (또는 복원할 수 없어) outbox에서 삭제한 요청 개수
+     *
+     * @return
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * 주기적인 재전송을 중지하고 outbox 파일을 디스크에 동기화한다. 저장한 요청은 다음 실행시 다시 전송한다.
+     */
+    @Override
+    public void close() {
+        if (replayTask != null) {
+            replayTask.cancel(false);
+        }
+        journal.close();
+    }
+
+    private <T> CompletableFuture<ResponseEntity<T>> deferOnFailure(final RestRequest<T> restRequest,
+            final CompletableFuture<ResponseEntity<T>> future) {
+        final CompletableFuture<ResponseEntity<T>> result = new CompletableFuture<>();
+        future.whenComplete((response, error) -> {
+            if (error == null) {
+                result.complete(response);
+            } else {
+                result.completeExceptionally(deferOnFailure(restRequest, unwrap(error)));
+            }
+        });
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                future.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private Throwable deferOnFailure(final RestRequest<?> restRequest, final Throwable error) {
+        if (!deferOn.test(error)) {
+            return error;
+        }
+        try {
+            journal.append(codec.encode(restRequest));
+        } catch (final IOException | RuntimeException e) {
+            error.addSuppressed(e);
+            return error;
+        }
+        return new RequestDeferredException(restRequest.getMethod(), restRequest.getUri(), error);
+    }
+
+    /**
+     * record를 하나씩 다시 전송한다. 이미 완료된 응답은 반복문에서 처리하여, 응답이 즉시 완료되는 경우에도 호출 깊이가 늘어나지 않도록 한다.
+     */
+    private void replayNext(final ReplayRound replayRound) {
+        Record record;
+        while ((record = replayRound.next()) != null) {
+            final RestRequest<?> restRequest;
+            try {
+                restRequest = codec.decode(journal.read(record));
+            } catch (final RuntimeException e) {
+                drop(record, null, e);
+                continue;
+            }
+            CompletableFuture<?> future;
+            try {
+                future = executor == null ? restClientAdapter.sendAsync(restRequest)
+                        : restClientAdapter.sendAsync(restRequest, executor);
+            } catch (final RuntimeException e) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+            }
+            if (future.isDone()) {
+                Throwable error = null;
+                try {
+                    future.join();
+                } catch (final CompletionException | CancellationException e) {
+                    error = e;
+                }
+                replayed(replayRound, record, restRequest, error);
+                continue;
+            }
+            final Record sent = record;
+            future.whenComplete((response, error) -> {
+                replayed(replayRound, sent, restRequest, error);
+                replayNext(replayRound);
+            });
+            return;
+        }
+        synchronized (this) {
+            if (--replayRound.workers == 0) {
+                round = null;
+                replayRound.result.complete(replayRound.replayed.get());
+            }
+        }
+    }
+
+    private void replayed(final ReplayRound replayRound, final Record record, final RestRequest<?> restRequest,
+            final Throwable error) {
+        if (error == null) {
+            journal.complete(record);
+            replayedCount.incrementAndGet();
+            replayRound.replayed.incrementAndGet();
+            return;
+        }
+        final Throwable cause = unwrap(error);
+        if (deferOn.test(cause)) {
+            replayRound.stop();
+        } else {
+            drop(record, restRequest, cause);
+        }
+    }
+
+    private void drop(final Record record, final RestRequest<?> restRequest, final Throwable error) {
+        journal.complete(record);
+        droppedCount.incrementAndGet();
+        if (dropListener != null) {
+            try {
+                dropListener.accept(restRequest, error);
+            } catch (final RuntimeException e) {
+                // listener 오류로 재전송을 중단하지 않는다.
+            }
+        }
+    }
+
+    private static Throwable unwrap(final Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * 한번의 재전송. 기록 순서대로 record를 나누어 전송한다.
+     */
+    private static final class ReplayRound {
+        private final Iterator<Record> records;
+        private final CompletableFuture<Integer> result = new CompletableFuture<>();
+        private boolean stopped;
+        private int workers;
+        private final AtomicInteger replayed = new AtomicInteger();
+
+        ReplayRound(final Iterator<Record> records) {
+            this.records = records;
+        }
+
+        synchronized Record next() {
+            return stopped || !records.hasNext() ? null : records.next();
+        }
+
+        synchronized void stop() {
+            stopped = true;
+        }
+    }
+
+    /**
+     * OutboxRestClientAdapter 설정
+     *
+     * @author "Sangjun,Park"
+     *
+     */
+    public static final class Builder {
+
+        private final RestClientAdapter restClientAdapter;
+        private final Path directory;
+        private RestRequestCodec codec;
+        private int segmentSize = 16 * 1024 * 1024;
+        private boolean syncOnAppend;
+        private Predicate<Throwable> deferOn = OutboxRestClientAdapter::isDeferrable;
+        private int replayConcurrency = 4;
+        private Duration replayInterval = Duration.ofSeconds(5);
+        private Executor executor;
+        private ScheduledExecutorService scheduler;
+        private BiConsumer<RestRequest<?>, Throwable> dropListener;
+
+        private Builder(final RestClientAdapter restClientAdapter, final Path directory) {
+            this.restClientAdapter = restClientAdapter;
+            this.directory = directory;
+        }
+
+        /**
+         * 요청 변환에 사용할 RestRequestCodec 설정 (기본값: RestTemplate 기본 HttpMessageConverter 사용)
+         *
+         * @param codec
+         * @return
+         * @throws IllegalArgumentException codec 파라미터가 null인 경우
+         */
+        public Builder codec(final RestRequestCodec codec) {
+            if (codec == null) {
+                throw new IllegalArgumentException("Codec must not be null.");
+            }
+            this.codec = codec;
+            return this;
+        }
+
+        /**
+         * segment 파일 크기 설정. segment 크기보다 큰 요청은 요청 크기의 segment에 기록한다. (기본값: 16MiB)
+         *
+         * @param segmentSize segment 파일 크기 (bytes)
+         * @return
+         * @throws IllegalArgumentException segmentSize 파라미터가 1024보다 작은 경우
+         */
+        public Builder segmentSize(final int segmentSize) {
+            if (segmentSize < 1024) {
+                throw new IllegalArgumentException("Segment size must be at least 1024 bytes.");
+            }
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        /**
+         * 요청 저장 / 재전송 완료마다 디스크 동기화 여부 설정. 동기화하지 않아도 프로세스 종료시에는 유지되며, 운영체제 장애시에도 유지하려면 설정한다.
+         * (기본값: false)
+         *
+         * @param syncOnAppend
+         * @return
+         */
+        public Builder syncOnAppend(final boolean syncOnAppend) {
+            this.syncOnAppend = syncOnAppend;
+            return this;
+        }
+
+        /**
+         * outbox에 저장할 실패 조건 설정 (기본값: {@link OutboxRestClientAdapter#isDeferrable(Throwable)})
+         *
+         * @param deferOn
+         * @return
+         * @throws IllegalArgumentException deferOn 파라미터가 null인 경우
+         */
+        public Builder deferOn(final Predicate<Throwable> deferOn) {
+            if (deferOn == null) {
+                throw new IllegalArgumentException("Defer predicate must not be null.");
+            }
+            this.deferOn = deferOn;
+            return this;
+        }
+
+        /**
+         * 재전송 최대 동시 전송 개수 설정 (기본값: 4)
+         *
+         * @param replayConcurrency
+         * @return
+         * @throws IllegalArgumentException replayConcurrency 파라미터가 1보다 작은 경우
+         */
+        public Builder replayConcurrency(final int replayConcurrency) {
+            if (replayConcurrency < 1) {
+                throw new IllegalArgumentException("Replay concurrency must be greater than 0.");
+            }
+            this.replayConcurrency = replayConcurrency;
+            return this;
+        }
+
+        /**
+         * 재전송 주기 설정. {@link Duration#ZERO}이면 {@link OutboxRestClientAdapter#replay()} 호출시에만 재전송한다. (기본값: 5초)
+         *
+         * @param replayInterval
+         * @return
+         * @throws IllegalArgumentException replayInterval 파라미터가 null이거나 음수인 경우
+         */
+        public Builder replayInterval(final Duration replayInterval) {
+            if (replayInterval == null || replayInterval.isNegative()) {
+                throw new IllegalArgumentException("Replay interval must not be negative.");
+            }
+            this.replayInterval = replayInterval;
+            return this;
+        }
+
+        /**
+         * 재전송에 사용할 Executor 설정 (기본값: {@link RestClientAdapter#sendAsync(RestRequest)}의 기본 Executor)
+         *
+         * @param executor
+         * @return
+         * @throws IllegalArgumentException executor 파라미터가 null인 경우
+         */
+        public Builder executor(final Executor executor) {
+            if (executor == null) {
+                throw new IllegalArgumentException("Executor must not be null.");
+            }
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * 주기적인 재전송에 사용할 Scheduler 설정. (기본값: 공유 daemon 스레드)
+         *
+         * @param scheduler
+         * @return
+         * @throws IllegalArgumentException scheduler 파라미터가 null인 경우
+         */
+        public Builder scheduler(final ScheduledExecutorService scheduler) {
+            if (scheduler == null) {
+                throw new IllegalArgumentException("Scheduler must not be null.");
+            }
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        /**
+         * outbox에서 삭제한 요청 처리 설정. 요청을 복원할 수 없는 경우 요청은 null이다.
+         *
+         * @param dropListener
+         * @return
+         * @throws IllegalArgumentException dropListener 파라미터가 null인 경우
+         */
+        public Builder onDrop(final BiConsumer<RestRequest<?>, Throwable> dropListener) {
+            if (dropListener == null) {
+                throw new IllegalArgumentException("Drop listener must not be null.");
+            }
+            this.dropListener = dropListener;
+            return this;
+        }
+
+        /**
+         * OutboxRestClientAdapter 생성. 디렉토리에 저장된 요청이 있으면 복원한다.
+         *
+         * @return
+         * @throws UncheckedIOException outbox 파일을 열 수 없거나, 다른 outbox가 같은 디렉토리를 사용 중인 경우
+         */
+        public OutboxRestClientAdapter build() {
+            try {
+                return new OutboxRestClientAdapter(this);
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Could not open outbox: " + directory, e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,437 @@
+package io.github.libedi.restrequest;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * 여러 페이지로 나뉜 응답을 하나의 Iterator / Stream으로 조회
+ * <p>
+ * 첫 페이지 요청부터 시작하여, 응답에서 다음 페이지 요청을 만들어 전송한다. 다음 페이지는 {@code Link: <...>; rel="next"} Header, 응답의 cursor
+ * 값, offset Query Parameter 또는 직접 지정한 방식으로 찾는다. 다음 페이지 요청은 {@link RestRequest#mutate()}로 생성하므로 첫 페이지 요청의
+ * Header와 응답 타입을 그대로 사용한다.
+ * <p>
+ * 현재 페이지를 처리하는 동안 다음 페이지를 미리 조회하며(기본값: 1 페이지), 조회하고 아직 처리하지 않은 페이지는 prefetch 개수를 넘지 않는다.
+ * 요청은 Iterator / Stream을 처음 사용할 때 전송한다. 페이지 조회 중 오류가 발생하면 해당 페이지에서 예외가 발생하고 조회를 종료한다.
+ *
+ * <pre class="code">
+ * try (Stream&lt;Item&gt; items = Pagination.builder(restClientAdapter, firstPage)
+ *         .nextByCursor("cursor", ItemPage::getNextCursor)
+ *         .prefetch(2)
+ *         .build()
+ *         .items(ItemPage::getItems)) {
+ *     items.forEach(this::export);
+ * }
+ * </pre>
+ *
+ * @author "Sangjun,Park"
+ *
+ * @param <T> 페이지 응답 타입
+ */
+public final class Pagination<T> implements Iterable<ResponseEntity<T>> {
+
+    private final RestClientAdapter restClientAdapter;
+    private final RestRequest<T> firstPage;
+    private final BiFunction<RestRequest<T>, ResponseEntity<T>, RestRequest<T>> nextPage;
+    private final int prefetch;
+    private final Executor executor;
+
+    private Pagination(final Builder<T> builder) {
+        restClientAdapter = builder.restClientAdapter;
+        firstPage = builder.firstPage;
+        nextPage = builder.nextPage;
+        prefetch = builder.prefetch;
+        executor = builder.executor;
+    }
+
+    /**
+     * Pagination 생성
+     *
+     * @param <T>
+     * @param restClientAdapter 요청을 전송할 RestClientAdapter
+     * @param firstPage         첫 페이지 요청
+     * @return
+     * @throws IllegalArgumentException 파라미터가 null인 경우
+     */
+    public static <T> Builder<T> builder(final RestClientAdapter restClientAdapter, final RestRequest<T> firstPage) {
+        if (restClientAdapter == null) {
+            throw new IllegalArgumentException("RestClientAdapter must not be null.");
+        }
+        if (firstPage == null) {
+            throw new IllegalArgumentException("RestRequest must not be null.");
+        }
+        return new Builder<>(restClientAdapter, firstPage);
+    }
+
+    /**
+     * 페이지 응답 Iterator. 호출할 때마다 첫 페이지부터 조회한다.
+     */
+    @Override
+    public PageIterator<T> iterator() {
+        return new PageIterator<>(this);
+    }
+
+    /**
+     * 페이지 응답 Stream. Stream을 닫으면 미리 조회 중인 요청을 취소한다.
+     *
+     * @return
+     */
+    public Stream<ResponseEntity<T>> pages() {
+        final PageIterator<T> iterator = iterator();
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
+    /**
+     * 모든 페이지의 항목 Stream. Stream을 닫으면 미리 조회 중인 요청을 취소한다.
+     *
+     * @param <E>
+     * @param itemExtractor 페이지 응답에서 항목 목록 조회
+     * @return
+     * @throws NullPointerException itemExtractor 파라미터가 null인 경우
+     */
+    public <E> Stream<E> items(final Function<? super T, ? extends Collection<? extends E>> itemExtractor) {
+        Objects.requireNonNull(itemExtractor, () -> "Item extractor must not be null.");
+        return pages().flatMap(page -> {
+            final Collection<? extends E> items = page.getBody() == null ? null : itemExtractor.apply(page.getBody());
+            return items == null ? Stream.<E>empty() : items.stream().map(Function.<E>identity());
+        });
+    }
+
+    /**
+     * {@code Link} Header에서 {@code rel="next"} URI 조회. 상대 URI는 요청 URI를 기준으로 변환한다.
+     *
+     * @param requestUri 요청 URI
+     * @param headers    응답 Header
+     * @return 다음 페이지 URI. 없으면 null
+     */
+    static URI findNextLink(final URI requestUri, final HttpHeaders headers) {
+        final List<String> links = headers.get(HttpHeaders.LINK);
+        if (links == null) {
+            return null;
+        }
+        for (final String link : links) {
+            int index = 0;
+            while ((index = link.indexOf('<', index)) >= 0) {
+                final int end = link.indexOf('>', index);
+                if (end < 0) {
+                    break;
+                }
+                final String target = link.substring(index + 1, end).trim();
+                int next = link.indexOf('<', end);
+                final String params = link.substring(end + 1, next < 0 ? link.length() : next);
+                if (hasNextRelation(params)) {
+                    return requestUri.resolve(target);
+                }
+                index = next < 0 ? link.length() : next;
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasNextRelation(final String params) {
+        for (final String param : StringUtils.tokenizeToStringArray(params, ";,")) {
+            final int equals = param.indexOf('=');
+            if (equals < 0 || !"rel".equalsIgnoreCase(param.substring(0, equals).trim())) {
+                continue;
+            }
+            final String relations = StringUtils.trimTrailingCharacter(
+                    StringUtils.trimLeadingCharacter(param.substring(equals + 1).trim(), '"'), '"');
+            for (final String relation : StringUtils.tokenizeToStringArray(relations, " ")) {
+                if ("next".equalsIgnoreCase(relation)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 페이지 응답 Iterator. 스레드간 공유하지 않는다. 사용을 중단하는 경우 {@link #close()}로 미리 조회 중인 요청을 취소한다.
+     *
+     * @author "Sangjun,Park"
+     *
+     * @param <T> 페이지 응답 타입
+     */
+    public static final class PageIterator<T> implements Iterator<ResponseEntity<T>>, AutoCloseable {
+
+        private final Pagination<T> pagination;
+        /** 조회하고 아직 반환하지 않은 페이지 (조회 중인 페이지 포함) */
+        private final ArrayDeque<CompletableFuture<ResponseEntity<T>>> pages = new ArrayDeque<>();
+        /** 아직 전송하지 않은 다음 페이지 요청 */
+        private RestRequest<T> pendingRequest;
+        private boolean closed;
+
+        private PageIterator(final Pagination<T> pagination) {
+            this.pagination = pagination;
+            pendingRequest = pagination.firstPage;
+        }
+
+        @Override
+        public synchronized boolean hasNext() {
+            return !closed && (!pages.isEmpty() || pendingRequest != null);
+        }
+
+        @Override
+        public ResponseEntity<T> next() {
+            final CompletableFuture<ResponseEntity<T>> page;
+            synchronized (this) {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (pages.isEmpty()) {
+                    fetch();
+                }
+                page = pages.peek();
+            }
+            try {
+                return page.join();
+            } catch (final CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e;
+            } finally {
+                synchronized (this) {
+                    pages.remove(page);
+                    prefetch();
+                }
+            }
+        }
+
+        /**
+         * 미리 조회 중인 요청을 취소하고 조회를 종료한다.
+         */
+        @Override
+        public synchronized void close() {
+            closed = true;
+            pendingRequest = null;
+            CompletableFuture<ResponseEntity<T>> page;
+            while ((page = pages.poll()) != null) {
+                page.cancel(true);
+            }
+        }
+
+        private void prefetch() {
+            if (pendingRequest != null && pages.size() < pagination.prefetch) {
+                fetch();
+            }
+        }
+
+        private void fetch() {
+            final RestRequest<T> restRequest = pendingRequest;
+            pendingRequest = null;
+            CompletableFuture<ResponseEntity<T>> response;
+            try {
+                response = pagination.executor == null ? pagination.restClientAdapter.sendAsync(restRequest)
+                        : pagination.restClientAdapter.sendAsync(restRequest, pagination.executor);
+            } catch (final RuntimeException e) {
+                response = new CompletableFuture<>();
+                response.completeExceptionally(e);
+            }
+            // 다음 페이지 요청은 페이지를 반환하기 전에 결정하여, next()가 반환된 후 hasNext()가 정확하도록 한다.
+            // 응답이 이미 완료된 경우에도 prefetch 개수에 포함되도록 페이지를 먼저 추가한다.
+            final CompletableFuture<ResponseEntity<T>> page = new CompletableFuture<>();
+            pages.add(page);
+            final CompletableFuture<ResponseEntity<T>> sent = response;
+            page.whenComplete((result, error) -> {
+                if (error instanceof CancellationException) {
+                    sent.cancel(true);
+                }
+            });
+            sent.whenComplete((result, error) -> {
+                if (error != null) {
+                    page.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause()
+                            : error);
+                    return;
+                }
+                try {
+                    final RestRequest<T> next = pagination.nextPage.apply(restRequest, result);
+                    synchronized (this) {
+                        if (!closed) {
+                            pendingRequest = next;
+                            prefetch();
+                        }
+                    }
+                    page.complete(result);
+                } catch (final RuntimeException | Error e) {
+                    page.completeExceptionally(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Pagination 설정
+     *
+     * @author "Sangjun,Park"
+     *
+     * @param <T> 페이지 응답 타입
+     */
+    public static final class Builder<T> {
+
+        private final RestClientAdapter restClientAdapter;
+        private final RestRequest<T> firstPage;
+        private BiFunction<RestRequest<T>, ResponseEntity<T>, RestRequest<T>> nextPage;
+        private int prefetch = 1;
+        private Executor executor;
+
+        private Builder(final RestClientAdapter restClientAdapter, final RestRequest<T> firstPage) {
+            this.restClientAdapter = restClientAdapter;
+            this.firstPage = firstPage;
+        }
+
+        /**
+         * {@code Link} Header의 {@code rel="next"} URI로 다음 페이지 조회. {@code rel="next"}가 없으면 종료한다.
+         *
+         * @return
+         */
+        public Builder<T> nextByLink() {
+            nextPage = (restRequest, response) -> {
+                final URI next = findNextLink(restRequest.getUri(), response.getHeaders());
+                return next == null ? null : restRequest.mutate().uri(next).build();
+            };
+            return this;
+        }
+
+        /**
+         * 응답의 cursor 값을 Query Parameter로 설정하여 다음 페이지 조회. cursor 값이 null 또는 빈 문자열이면 종료한다. cursor 값에 포함된
+         * '+'는 공백으로 해석되지 않도록 인코딩한다.
+         *
+         * @param cursorParam     cursor Query Parameter 이름
+         * @param cursorExtractor 페이지 응답에서 다음 페이지 cursor 조회
+         * @return
+         * @throws IllegalArgumentException 파라미터가 null인 경우
+         */
+        public Builder<T> nextByCursor(final String cursorParam, final Function<? super T, String> cursorExtractor) {
+            if (cursorParam == null) {
+                throw new IllegalArgumentException("Cursor parameter must not be null.");
+            }
+            if (cursorExtractor == null) {
+                throw new IllegalArgumentException("Cursor extractor must not be null.");
+            }
+            nextPage = (restRequest, response) -> {
+                final String cursor = response.getBody() == null ? null : cursorExtractor.apply(response.getBody());
+                return StringUtils.hasLength(cursor) ? restRequest.mutate().param(cursorParam, cursor).build() : null;
+            };
+            return this;
+        }
+
+        /**
+         * offset Query Parameter를 페이지 크기만큼 증가시켜 다음 페이지 조회. 응답 항목 개수가 페이지 크기보다 작으면 종료한다. 첫 페이지 요청에 offset
+         * Query Parameter가 없으면 0부터 시작한다.
+         *
+         * @param offsetParam  offset Query Parameter 이름
+         * @param pageSize     페이지 크기
+         * @param itemCounter  페이지 응답의 항목 개수 조회
+         * @return
+         * @throws IllegalArgumentException offsetParam 또는 itemCounter 파라미터가 null이거나, pageSize 파라미터가 1보다 작은 경우
+         */
+        public Builder<T> nextByOffset(final String offsetParam, final int pageSize,
+                final ToIntFunction<? super T> itemCounter) {
+            if (offsetParam == null) {
+                throw new IllegalArgumentException("Offset parameter must not be null.");
+            }
+            if (pageSize < 1) {
+                throw new IllegalArgumentException("Page size must be greater than 0.");
+            }
+            if (itemCounter == null) {
+                throw new IllegalArgumentException("Item counter must not be null.");
+            }
+            nextPage = (restRequest, response) -> {
+                if (response.getBody() == null || itemCounter.applyAsInt(response.getBody()) < pageSize) {
+                    return null;
+                }
+                final String offset = UriComponentsBuilder.fromUri(restRequest.getUri()).build().getQueryParams()
+                        .getFirst(offsetParam);
+                final long next = (StringUtils.hasLength(offset) ? Long.parseLong(offset) : 0L) + pageSize;
+                return restRequest.mutate().param(offsetParam, next).build();
+            };
+            return this;
+        }
+
+        /**
+         * 다음 페이지 요청 생성 방식 설정. null을 반환하면 종료한다.
+         *
+         * @param nextPage 현재 페이지 요청과 응답으로 다음 페이지 요청 생성
+         * @return
+         * @throws IllegalArgumentException nextPage 파라미터가 null인 경우
+         */
+        public Builder<T> next(final BiFunction<RestRequest<T>, ResponseEntity<T>, RestRequest<T>> nextPage) {
+            if (nextPage == null) {
+                throw new IllegalArgumentException("Next page function must not be null.");
+            }
+            this.nextPage = nextPage;
+            return this;
+        }
+
+        /**
+         * 미리 조회할 페이지 개수 설정. 0이면 페이지를 사용할 때 조회한다. (기본값: 1)
+         *
+         * @param prefetch
+         * @return
+         * @throws IllegalArgumentException prefetch 파라미터가 음수인 경우
+         */
+        public Builder<T> prefetch(final int prefetch) {
+            if (prefetch < 0) {
+                throw new IllegalArgumentException("Prefetch must not be negative.");
+            }
+            this.prefetch = prefetch;
+            return this;
+        }
+
+        /**
+         * 페이지 조회에 사용할 Executor 설정 (기본값: {@link RestClientAdapter#sendAsync(RestRequest)}의 기본 Executor)
+         *
+         * @param executor
+         * @return
+         * @throws IllegalArgumentException executor 파라미터가 null인 경우
+         */
+        public Builder<T> executor(final Executor executor) {
+            if (executor == null) {
+                throw new IllegalArgumentException("Executor must not be null.");
+            }
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Pagination 생성
+         *
+         * @return
+         * @throws IllegalStateException 다음 페이지 조회 방식을 설정하지 않은 경우
+         */
+        public Pagination<T> build() {
+            if (nextPage == null) {
+                throw new IllegalStateException("Next page strategy must be set.");
+            }
+            return new Pagination<>(this);
+        }
+    }
+
+}
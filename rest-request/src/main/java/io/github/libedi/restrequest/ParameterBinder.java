@@ -0,0 +1,110 @@
+package io.github.libedi.restrequest;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * 객체의 필드를 파라미터로 바인딩하는 Binder.
+ * <p>
+ * 필드 목록과 접근자(MethodHandle)는 클래스별로 최초 1회만 생성되어 캐시되므로, 동일 타입의 반복 바인딩에서는 리플렉션 조회가 발생하지 않는다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+final class ParameterBinder {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<ParameterBinder> BINDERS = new ClassValue<ParameterBinder>() {
+        @Override
+        protected ParameterBinder computeValue(final Class<?> type) {
+            return new ParameterBinder(type);
+        }
+    };
+
+    private final String[] names;
+    private final MethodHandle[] getters;
+
+    private ParameterBinder(final Class<?> type) {
+        final List<Field> fields = new ArrayList<>();
+        ReflectionUtils.doWithFields(type, fields::add, field -> !Modifier.isStatic(field.getModifiers()));
+
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        names = new String[fields.size()];
+        getters = new MethodHandle[fields.size()];
+        for (int i = 0; i < names.length; i++) {
+            final Field field = fields.get(i);
+            ReflectionUtils.makeAccessible(field);
+            names[i] = field.getName();
+            try {
+                getters[i] = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+            } catch (final IllegalAccessException e) {
+                throw new IllegalStateException("Not allowed to access field '" + field.getName() + "': " + e, e);
+            }
+        }
+    }
+
+    /**
+     * 클래스에 해당하는 Binder 조회
+     * 
+     * @param type
+     * @return
+     */
+    static ParameterBinder of(final Class<?> type) {
+        return BINDERS.get(type);
+    }
+
+    /**
+     * 바인딩할 필드가 없는지 여부
+     * 
+     * @return
+     */
+    boolean isEmpty() {
+        return names.length == 0;
+    }
+
+    /**
+     * 객체의 필드 값을 파라미터에 추가. Collection / 배열 타입의 필드는 각 요소를 같은 이름의 파라미터로 추가한다.
+     * 
+     * @param object    바인딩할 객체
+     * @param parameter 파라미터
+     */
+    void bind(final Object object, final MultiValueMap<String, Object> parameter) {
+        for (int i = 0; i < names.length; i++) {
+            final String name = names[i];
+            final Object value = getValue(i, object);
+
+            if (value instanceof Collection) {
+                for (final Object element : (Collection<?>) value) {
+                    parameter.add(name, element);
+                }
+            } else if (value != null && value.getClass().isArray()) {
+                for (final Object element : (Object[]) value) {
+                    parameter.add(name, element);
+                }
+            } else {
+                parameter.add(name, value);
+            }
+        }
+    }
+
+    private Object getValue(final int index, final Object object) {
+        try {
+            return (Object) getters[index].invokeExact(object);
+        } catch (final RuntimeException | Error e) {
+            throw e;
+        } catch (final Throwable e) {
+            throw new IllegalStateException("Failed to read field '" + names[index] + "'", e);
+        }
+    }
+
+}
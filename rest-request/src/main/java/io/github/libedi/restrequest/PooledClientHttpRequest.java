@@ -0,0 +1,322 @@
+package io.github.libedi.restrequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Proxy;
+import java.net.SocketException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map.Entry;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * {@link PooledClientHttpRequestFactory}의 HTTP/1.1 요청.
+ * <p>
+ * {@link #getBody()}로 작성한 요청 body는 Content-Length를 계산하기 위해 버퍼링한다. HttpMessageConverter가 {@link #setBody(Body)}로
+ * 전달한 요청 body는 {@value #STREAMING_THRESHOLD} byte까지만 버퍼링하고, 초과하면 버퍼링한 내용부터 바로 전송한다. 이 때 Content-Length
+ * header가 있으면 그 길이로, 없으면 chunked 방식으로 전송하며, 서버가 닫은 유휴 연결을 재사용하여 실패해도 재시도하지 않는다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+final class PooledClientHttpRequest extends AbstractClientHttpRequest implements StreamingHttpOutputMessage {
+
+    /** 전송을 시작하기 전에 버퍼링하는 최대 요청 body 크기 */
+    static final int STREAMING_THRESHOLD = 64 * 1024;
+
+    private static final byte[] LAST_CHUNK = "0\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1);
+
+    private final PooledClientHttpRequestFactory requestFactory;
+    private final URI uri;
+    private final HttpMethod method;
+    private ByteArrayOutputStream bufferedOutput;
+    private Body body;
+
+    PooledClientHttpRequest(final PooledClientHttpRequestFactory requestFactory, final URI uri,
+            final HttpMethod method) {
+        this.requestFactory = requestFactory;
+        this.uri = uri;
+        this.method = method;
+    }
+
+    @Override
+    public String getMethodValue() {
+        return method.name();
+    }
+
+    @Override
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    @Override
+    public URI getURI() {
+        return uri;
+    }
+
+    @Override
+    public void setBody(final Body body) {
+        assertNotExecuted();
+        this.body = body;
+    }
+
+    @Override
+    protected OutputStream getBodyInternal(final HttpHeaders headers) {
+        if (bufferedOutput == null) {
+            bufferedOutput = new ByteArrayOutputStream(1024);
+        }
+        return bufferedOutput;
+    }
+
+    @Override
+    protected ClientHttpResponse executeInternal(final HttpHeaders headers) throws IOException {
+        final Proxy proxy = requestFactory.selectProxy(uri);
+        // HTTP Proxy를 사용하는 http 요청은 absolute-form 요청 대상을 사용한다. https 요청은 CONNECT 터널로 전송한다.
+        final boolean absoluteForm = proxy.type() == Proxy.Type.HTTP && "http".equalsIgnoreCase(uri.getScheme());
+        if (body == null) {
+            return execute(headers, proxy, absoluteForm,
+                    bufferedOutput == null ? new byte[0] : bufferedOutput.toByteArray());
+        }
+        final StreamingOutputStream outputStream = new StreamingOutputStream(headers, proxy, absoluteForm);
+        try {
+            body.writeTo(outputStream);
+        } catch (final IOException | RuntimeException e) {
+            outputStream.abort();
+            throw e;
+        }
+        return outputStream.finish();
+    }
+
+    /**
+     * 버퍼링한 요청 body 전송
+     */
+    private ClientHttpResponse execute(final HttpHeaders headers, final Proxy proxy, final boolean absoluteForm,
+            final byte[] body) throws IOException {
+        final byte[] head = writeHead(headers, body.length, false, absoluteForm);
+        boolean retried = false;
+        while (true) {
+            final PooledConnection connection = requestFactory.acquire(uri, proxy);
+            try {
+                final OutputStream outputStream = connection.getOutputStream();
+                outputStream.write(head);
+                outputStream.write(body);
+                outputStream.flush();
+                return PooledClientHttpResponse.read(requestFactory, connection, method);
+            } catch (final IOException | RuntimeException e) {
+                requestFactory.release(connection, false);
+                // 서버가 닫은 유휴 연결을 재사용한 경우, 멱등 요청은 새 연결로 한번 재시도한다.
+                if (!retried && connection.isReused() && isIdempotent()
+                        && (e instanceof EOFException || e instanceof SocketException)) {
+                    retried = true;
+                    continue;
+                }
+                throw e;
+            }
+        }
+    }
+
+    private boolean isIdempotent() {
+        return method == HttpMethod.GET || method == HttpMethod.HEAD || method == HttpMethod.OPTIONS
+                || method == HttpMethod.PUT || method == HttpMethod.DELETE || method == HttpMethod.TRACE;
+    }
+
+    private byte[] writeHead(final HttpHeaders headers, final long contentLength, final boolean chunked,
+            final boolean absoluteForm) {
+        final StringBuilder builder = new StringBuilder(256);
+        final String path = uri.getRawPath();
+        builder.append(method.name()).append(' ');
+        if (absoluteForm) {
+            builder.append(uri.getScheme().toLowerCase(Locale.ROOT)).append("://").append(uri.getHost());
+            if (uri.getPort() >= 0) {
+                builder.append(':').append(uri.getPort());
+            }
+        }
+        builder.append(path == null || path.isEmpty() ? "/" : path);
+        if (uri.getRawQuery() != null) {
+            builder.append('?').append(uri.getRawQuery());
+        }
+        builder.append(" HTTP/1.1\r\n");
+        if (!headers.containsKey(HttpHeaders.HOST)) {
+            builder.append("Host: ").append(uri.getHost());
+            if (uri.getPort() >= 0) {
+                builder.append(':').append(uri.getPort());
+            }
+            builder.append("\r\n");
+        }
+        for (final Entry<String, List<String>> entry : headers.entrySet()) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(entry.getKey())
+                    || HttpHeaders.TRANSFER_ENCODING.equalsIgnoreCase(entry.getKey())) {
+                continue;
+            }
+            checkHeaderName(entry.getKey());
+            for (final String value : entry.getValue()) {
+                checkHeaderValue(entry.getKey(), value);
+                builder.append(entry.getKey()).append(": ").append(value == null ? "" : value).append("\r\n");
+            }
+        }
+        if (chunked) {
+            builder.append("Transfer-Encoding: chunked\r\n");
+        } else if (contentLength > 0 || method == HttpMethod.POST || method == HttpMethod.PUT
+                || method == HttpMethod.PATCH) {
+            builder.append("Content-Length: ").append(contentLength).append("\r\n");
+        }
+        builder.append("\r\n");
+        return builder.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * 헤더 이름이 RFC 7230 token인지 확인
+     */
+    private static void checkHeaderName(final String name) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Header name must not be empty.");
+        }
+        for (int i = 0; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9'
+                    || "!#$%&'*+-.^_`|~".indexOf(c) >= 0)) {
+                throw new IllegalArgumentException("Invalid character in header name: \"" + name + "\"");
+            }
+        }
+    }
+
+    /**
+     * 헤더 값에 CR, LF, NUL이 없는지 확인. 헤더 주입(request smuggling)을 방지한다.
+     */
+    private static void checkHeaderValue(final String name, final String value) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '\r' || c == '\n' || c == '\0') {
+                throw new IllegalArgumentException("Invalid character in value of header \"" + name + "\"");
+            }
+        }
+    }
+
+    /**
+     * {@link Body}가 작성하는 요청 body. {@value #STREAMING_THRESHOLD} byte까지는 버퍼링하고, 초과하면 연결을 할당받아 요청 head와 버퍼링한 내용을
+     * 전송한 후 이후 내용을 바로 전송한다.
+     */
+    private final class StreamingOutputStream extends OutputStream {
+
+        private final HttpHeaders headers;
+        private final Proxy proxy;
+        private final boolean absoluteForm;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+        private PooledConnection connection;
+        private OutputStream connectionOutput;
+        private boolean chunked;
+        private boolean aborted;
+
+        StreamingOutputStream(final HttpHeaders headers, final Proxy proxy, final boolean absoluteForm) {
+            this.headers = headers;
+            this.proxy = proxy;
+            this.absoluteForm = absoluteForm;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (aborted) {
+                throw new IOException("Request body could not be sent.");
+            }
+            if (len == 0) {
+                return;
+            }
+            if (connection == null) {
+                if (buffer.size() + len <= STREAMING_THRESHOLD) {
+                    buffer.write(b, off, len);
+                    return;
+                }
+                start();
+            }
+            try {
+                if (chunked) {
+                    connectionOutput.write(Integer.toHexString(len).getBytes(StandardCharsets.ISO_8859_1));
+                    connectionOutput.write('\r');
+                    connectionOutput.write('\n');
+                    connectionOutput.write(b, off, len);
+                    connectionOutput.write('\r');
+                    connectionOutput.write('\n');
+                } else {
+                    connectionOutput.write(b, off, len);
+                }
+            } catch (final IOException | RuntimeException e) {
+                abort();
+                throw e;
+            }
+        }
+
+        /**
+         * Converter가 body 작성 후 stream을 닫아도 연결은 닫지 않는다.
+         */
+        @Override
+        public void close() {
+            // 연결은 응답을 읽은 후 반환한다.
+        }
+
+        private void start() throws IOException {
+            final long contentLength = headers.getContentLength();
+            chunked = contentLength < 0;
+            final byte[] head = writeHead(headers, contentLength, chunked, absoluteForm);
+            connection = requestFactory.acquire(uri, proxy);
+            try {
+                connectionOutput = connection.getOutputStream();
+                connectionOutput.write(head);
+            } catch (final IOException | RuntimeException e) {
+                abort();
+                throw e;
+            }
+            final byte[] buffered = buffer.toByteArray();
+            buffer.reset();
+            if (buffered.length > 0) {
+                write(buffered, 0, buffered.length);
+            }
+        }
+
+        /**
+         * body 작성 완료 후 응답 수신. 버퍼 크기를 넘지 않은 body는 Content-Length를 계산하여 전송한다.
+         */
+        ClientHttpResponse finish() throws IOException {
+            if (connection == null) {
+                return execute(headers, proxy, absoluteForm, buffer.toByteArray());
+            }
+            try {
+                if (chunked) {
+                    connectionOutput.write(LAST_CHUNK);
+                }
+                connectionOutput.flush();
+                return PooledClientHttpResponse.read(requestFactory, connection, method);
+            } catch (final IOException | RuntimeException e) {
+                abort();
+                throw e;
+            }
+        }
+
+        /**
+         * 전송을 시작한 연결은 요청이 불완전하므로 재사용하지 않고 닫는다.
+         */
+        void abort() {
+            if (!aborted && connection != null) {
+                requestFactory.release(connection, false);
+            }
+            aborted = true;
+        }
+    }
+
+}
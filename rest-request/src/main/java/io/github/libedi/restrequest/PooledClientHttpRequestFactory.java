@@ -0,0 +1,522 @@
+package io.github.libedi.restrequest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.ref.WeakReference;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.ProxySelector;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.SocketFactory;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+
+/**
+ * 연결을 재사용(keep-alive)하는 HTTP/1.1 ClientHttpRequestFactory. 별도의 라이브러리 없이 JDK Socket으로 구현한다.
+ * <p>
+ * 대상(scheme, host, port)별로 최대 연결 개수를 제한하며, 연결이 부족하면 지정 시간동안 반환을 기다린다. 응답 body를 끝까지 읽고 닫은 연결은
+ * pool에 반환되어 가장 최근에 사용한 연결부터 재사용되고, 최대 유휴 시간(또는 응답의 Keep-Alive timeout)이 지난 연결은 닫는다. 서버가 닫은 유휴
+ * 연결로 멱등 요청을 전송하다 실패하면 새 연결로 한번 재시도한다.
+ * <p>
+ * 요청 body는 Content-Length를 계산하기 위해 버퍼링하고, 응답 body는 스트림으로 읽는다. 사용이 끝나면 {@link #close()}로 유휴 연결을 닫는다.
+ * <p>
+ * Proxy는 {@link ProxySelector}로 선택한다. (기본값: {@link ProxySelector#getDefault()}로, {@code http(s).proxyHost},
+ * {@code http.nonProxyHosts}, {@code socksProxyHost} 시스템 속성을 사용한다.) HTTP Proxy를 사용하는 https 요청은 CONNECT로 터널을 생성한다.
+ * Proxy 인증은 지원하지 않으며, http 요청은 {@code Proxy-Authorization} 헤더를 직접 추가하여 사용할 수 있다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+public class PooledClientHttpRequestFactory implements ClientHttpRequestFactory, Closeable {
+
+    private final int maxConnectionsPerRoute;
+    private final long maxIdleNanos;
+    private final int connectTimeout;
+    private final int readTimeout;
+    private final long connectionRequestTimeoutNanos;
+    private final SSLSocketFactory sslSocketFactory;
+    private final ProxySelector proxySelector;
+    private final ConcurrentMap<String, Route> routes = new ConcurrentHashMap<>();
+    private final ScheduledFuture<?> idleSweeper;
+    private volatile boolean closed;
+
+    /**
+     * 기본 설정으로 생성
+     * 
+     * @see Builder
+     */
+    public PooledClientHttpRequestFactory() {
+        this(new Builder());
+    }
+
+    private PooledClientHttpRequestFactory(final Builder builder) {
+        maxConnectionsPerRoute = builder.maxConnectionsPerRoute;
+        maxIdleNanos = builder.maxIdleTime.toNanos();
+        connectTimeout = (int) Math.min(builder.connectTimeout.toMillis(), Integer.MAX_VALUE);
+        readTimeout = (int) Math.min(builder.readTimeout.toMillis(), Integer.MAX_VALUE);
+        connectionRequestTimeoutNanos = builder.connectionRequestTimeout.toNanos();
+        sslSocketFactory = builder.sslSocketFactory == null ? (SSLSocketFactory) SSLSocketFactory.getDefault()
+                : builder.sslSocketFactory;
+        proxySelector = builder.proxySelector;
+        final long period = Math.max(maxIdleNanos / 2, TimeUnit.SECONDS.toNanos(1));
+        idleSweeper = DefaultScheduler.get().scheduleWithFixedDelay(new IdleSweeper(this), period, period,
+                TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * PooledClientHttpRequestFactory 설정
+     * 
+     * @return
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(final URI uri, final HttpMethod httpMethod) throws IOException {
+        Objects.requireNonNull(uri, () -> "URI must not be null.");
+        Objects.requireNonNull(httpMethod, () -> "HttpMethod must not be null.");
+        if (closed) {
+            throw new IOException("Request factory is closed.");
+        }
+        return new PooledClientHttpRequest(this, uri, httpMethod);
+    }
+
+    /**
+     * 대상의 유휴 연결 개수
+     * 
+     * @param uri 요청 URI
+     * @return
+     */
+    public int getIdleConnections(final URI uri) {
+        final Route route = routes.get(getRouteKey(uri, selectProxy(uri)));
+        return route == null ? 0 : route.idle.size();
+    }
+
+    /**
+     * 대상의 사용중인 연결 개수
+     * 
+     * @param uri 요청 URI
+     * @return
+     */
+    public int getLeasedConnections(final URI uri) {
+        final Route route = routes.get(getRouteKey(uri, selectProxy(uri)));
+        return route == null ? 0 : maxConnectionsPerRoute - route.permits.availablePermits();
+    }
+
+    /**
+     * 유휴 연결을 닫고, 이후 요청 생성을 거부한다. 사용중인 연결은 반환될 때 닫는다.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        idleSweeper.cancel(false);
+        for (final Route route : routes.values()) {
+            PooledConnection connection;
+            while ((connection = route.idle.pollFirst()) != null) {
+                connection.close();
+            }
+        }
+    }
+
+    /**
+     * 요청 URI에 사용할 Proxy 선택
+     * 
+     * @param uri 요청 URI
+     * @return Proxy를 사용하지 않으면 {@link Proxy#NO_PROXY}
+     */
+    Proxy selectProxy(final URI uri) {
+        final ProxySelector selector = proxySelector == null ? ProxySelector.getDefault() : proxySelector;
+        if (selector == null) {
+            return Proxy.NO_PROXY;
+        }
+        final List<Proxy> proxies = selector.select(uri);
+        return proxies == null || proxies.isEmpty() || proxies.get(0) == null ? Proxy.NO_PROXY : proxies.get(0);
+    }
+
+    /**
+     * 연결 대여. 유휴 연결이 있으면 재사용하고, 없으면 새로 연결한다.
+     * 
+     * @param uri   요청 URI
+     * @param proxy {@link #selectProxy(URI)}로 선택한 Proxy
+     * @return
+     * @throws IOException 연결 반환 대기시간을 초과하거나, 연결할 수 없는 경우
+     */
+    PooledConnection acquire(final URI uri, final Proxy proxy) throws IOException {
+        final String key = getRouteKey(uri, proxy);
+        final Route route = routes.computeIfAbsent(key, k -> new Route());
+        try {
+            if (!route.permits.tryAcquire(connectionRequestTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new IOException("Timeout waiting for connection to " + key + " (max connections per route: "
+                        + maxConnectionsPerRoute + ")");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for connection to " + key, e);
+        }
+        final long now = System.nanoTime();
+        PooledConnection connection;
+        while ((connection = route.idle.pollFirst()) != null) {
+            if (connection.isExpired(now, maxIdleNanos) || connection.isStale()) {
+                connection.close();
+                continue;
+            }
+            connection.setReused(true);
+            return connection;
+        }
+        try {
+            return connect(key, uri, proxy);
+        } catch (final IOException | RuntimeException e) {
+            route.permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 연결 반환
+     * 
+     * @param connection 대여한 연결
+     * @param reusable   재사용 가능 여부. false이면 연결을 닫는다.
+     */
+    void release(final PooledConnection connection, final boolean reusable) {
+        final Route route = routes.get(connection.getRoute());
+        if (reusable && !closed) {
+            connection.setReused(false);
+            connection.markIdle(System.nanoTime());
+            route.idle.offerFirst(connection);
+            // close()가 유휴 연결을 정리한 후에 반환된 연결은 직접 닫는다.
+            if (closed && route.idle.remove(connection)) {
+                connection.close();
+            }
+        } else {
+            connection.close();
+        }
+        route.permits.release();
+    }
+
+    private void evictIdle() {
+        final long now = System.nanoTime();
+        for (final Route route : routes.values()) {
+            final Iterator<PooledConnection> iterator = route.idle.descendingIterator();
+            while (iterator.hasNext()) {
+                final PooledConnection connection = iterator.next();
+                if (connection.isExpired(now, maxIdleNanos) && route.idle.remove(connection)) {
+                    connection.close();
+                }
+            }
+        }
+    }
+
+    private PooledConnection connect(final String key, final URI uri, final Proxy proxy) throws IOException {
+        final boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        final String host = getHost(uri);
+        final int port = getPort(uri);
+        final Socket socket = proxy.type() == Proxy.Type.SOCKS ? new Socket(proxy)
+                : SocketFactory.getDefault().createSocket();
+        try {
+            socket.setTcpNoDelay(true);
+            socket.setKeepAlive(true);
+            socket.connect(getSocketAddress(proxy, host, port), connectTimeout);
+            socket.setSoTimeout(readTimeout);
+            if (!secure) {
+                return new PooledConnection(key, socket);
+            }
+            if (proxy.type() == Proxy.Type.HTTP) {
+                tunnel(socket, uri.getHost(), port);
+            }
+            final SSLSocket sslSocket = (SSLSocket) sslSocketFactory.createSocket(socket, host, port, true);
+            final SSLParameters parameters = sslSocket.getSSLParameters();
+            parameters.setEndpointIdentificationAlgorithm("HTTPS");
+            sslSocket.setSSLParameters(parameters);
+            sslSocket.startHandshake();
+            return new PooledConnection(key, sslSocket);
+        } catch (final IOException | RuntimeException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 연결할 주소. SOCKS Proxy는 대상 주소를 Proxy에서 해석하고, HTTP Proxy는 Proxy 주소로 연결한다.
+     */
+    private static SocketAddress getSocketAddress(final Proxy proxy, final String host, final int port) {
+        switch (proxy.type()) {
+        case SOCKS:
+            return InetSocketAddress.createUnresolved(host, port);
+        case HTTP:
+            final SocketAddress address = proxy.address();
+            if (address instanceof InetSocketAddress && ((InetSocketAddress) address).isUnresolved()) {
+                return new InetSocketAddress(((InetSocketAddress) address).getHostString(),
+                        ((InetSocketAddress) address).getPort());
+            }
+            return address;
+        default:
+            return new InetSocketAddress(host, port);
+        }
+    }
+
+    /**
+     * HTTP Proxy에 CONNECT 요청을 전송하여 대상 서버로의 터널 생성
+     * 
+     * @param socket    Proxy 연결
+     * @param authority 대상 host (IPv6 주소는 대괄호 포함)
+     * @param port      대상 port
+     * @throws IOException Proxy가 2xx 이외의 응답을 반환한 경우
+     */
+    private static void tunnel(final Socket socket, final String authority, final int port) throws IOException {
+        final String target = authority + ":" + port;
+        final OutputStream outputStream = socket.getOutputStream();
+        outputStream.write(("CONNECT " + target + " HTTP/1.1\r\nHost: " + target + "\r\n\r\n")
+                .getBytes(StandardCharsets.ISO_8859_1));
+        outputStream.flush();
+        // 터널이 생성된 후에는 대상 서버의 데이터이므로, 응답 헤더의 끝까지만 1 byte씩 읽는다.
+        final InputStream inputStream = socket.getInputStream();
+        final StringBuilder head = new StringBuilder(128);
+        int b;
+        while ((b = inputStream.read()) >= 0) {
+            head.append((char) b);
+            if (head.length() >= 4 && head.lastIndexOf("\r\n\r\n") == head.length() - 4) {
+                break;
+            }
+            if (head.length() > 8192) {
+                throw new IOException("Proxy CONNECT response header too large.");
+            }
+        }
+        final String statusLine = head.indexOf("\r\n") < 0 ? head.toString() : head.substring(0, head.indexOf("\r\n"));
+        final String[] parts = statusLine.split(" ", 3);
+        if (b < 0 || parts.length < 2 || !parts[0].startsWith("HTTP/") || parts[1].length() != 3
+                || parts[1].charAt(0) != '2') {
+            throw new IOException("Unable to tunnel through proxy to " + target + ". Proxy returns \"" + statusLine
+                    + "\"");
+        }
+    }
+
+    private static String getRouteKey(final URI uri, final Proxy proxy) {
+        Objects.requireNonNull(uri, () -> "URI must not be null.");
+        final String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase(Locale.ROOT);
+        if (!"http".equals(scheme) && !"https".equals(scheme) || uri.getHost() == null) {
+            throw new IllegalArgumentException("Only absolute http / https URIs are supported: " + uri);
+        }
+        final String key = scheme + "://" + uri.getHost().toLowerCase(Locale.ROOT) + ":" + getPort(uri);
+        return proxy.type() == Proxy.Type.DIRECT ? key : key + " via " + proxy;
+    }
+
+    private static String getHost(final URI uri) {
+        final String host = uri.getHost();
+        return host.startsWith("[") && host.endsWith("]") ? host.substring(1, host.length() - 1) : host;
+    }
+
+    private static int getPort(final URI uri) {
+        if (uri.getPort() >= 0) {
+            return uri.getPort();
+        }
+        return "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+    }
+
+    /**
+     * 대상별 연결 pool. 유휴 연결은 가장 최근에 반환된 연결이 앞에 위치한다.
+     */
+    private final class Route {
+        private final Semaphore permits = new Semaphore(maxConnectionsPerRoute);
+        private final ConcurrentLinkedDeque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+    }
+
+    /**
+     * 유휴 연결 정리 작업. Factory가 GC 대상이 되면 예외를 발생시켜 반복 실행을 종료한다.
+     */
+    private static final class IdleSweeper implements Runnable {
+        private final WeakReference<PooledClientHttpRequestFactory> reference;
+
+        IdleSweeper(final PooledClientHttpRequestFactory requestFactory) {
+            reference = new WeakReference<>(requestFactory);
+        }
+
+        @Override
+        public void run() {
+            final PooledClientHttpRequestFactory requestFactory = reference.get();
+            if (requestFactory == null) {
+                throw new IllegalStateException("Request factory has been garbage collected.");
+            }
+            requestFactory.evictIdle();
+        }
+    }
+
+    /**
+     * PooledClientHttpRequestFactory 설정
+     * 
+     * @author "Sangjun,Park"
+     *
+     */
+    public static final class Builder {
+
+        private int maxConnectionsPerRoute = 20;
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration connectTimeout = Duration.ofSeconds(5);
+        private Duration readTimeout = Duration.ofSeconds(30);
+        private Duration connectionRequestTimeout = Duration.ofSeconds(5);
+        private SSLSocketFactory sslSocketFactory;
+        private ProxySelector proxySelector;
+
+        private Builder() {
+        }
+
+        /**
+         * 대상(scheme, host, port)별 최대 연결 개수 설정 (기본값: 20)
+         * 
+         * @param maxConnectionsPerRoute
+         * @return
+         * @throws IllegalArgumentException maxConnectionsPerRoute 파라미터가 1보다 작은 경우
+         */
+        public Builder maxConnectionsPerRoute(final int maxConnectionsPerRoute) {
+            if (maxConnectionsPerRoute < 1) {
+                throw new IllegalArgumentException("Max connections per route must be greater than 0.");
+            }
+            this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+            return this;
+        }
+
+        /**
+         * 유휴 연결의 최대 유지 시간 설정 (기본값: 30s)
+         * 
+         * @param maxIdleTime
+         * @return
+         * @throws IllegalArgumentException maxIdleTime 파라미터가 null이거나 음수인 경우
+         */
+        public Builder maxIdleTime(final Duration maxIdleTime) {
+            this.maxIdleTime = requireNonNegative(maxIdleTime, "Max idle time");
+            return this;
+        }
+
+        /**
+         * 연결 timeout 설정. 0이면 제한 없음 (기본값: 5s)
+         * 
+         * @param connectTimeout
+         * @return
+         * @throws IllegalArgumentException connectTimeout 파라미터가 null이거나 음수인 경우
+         */
+        public Builder connectTimeout(final Duration connectTimeout) {
+            this.connectTimeout = requireNonNegative(connectTimeout, "Connect timeout");
+            return this;
+        }
+
+        /**
+         * 응답 읽기 timeout 설정. 0이면 제한 없음 (기본값: 30s)
+         * 
+         * @param readTimeout
+         * @return
+         * @throws IllegalArgumentException readTimeout 파라미터가 null이거나 음수인 경우
+         */
+        public Builder readTimeout(final Duration readTimeout) {
+            this.readTimeout = requireNonNegative(readTimeout, "Read timeout");
+            return this;
+        }
+
+        /**
+         * 최대 연결 개수에 도달했을 때 연결 반환을 기다리는 시간 설정 (기본값: 5s)
+         * 
+         * @param connectionRequestTimeout
+         * @return
+         * @throws IllegalArgumentException connectionRequestTimeout 파라미터가 null이거나 음수인 경우
+         */
+        public Builder connectionRequestTimeout(final Duration connectionRequestTimeout) {
+            this.connectionRequestTimeout = requireNonNegative(connectionRequestTimeout,
+                    "Connection request timeout");
+            return this;
+        }
+
+        /**
+         * https 연결에 사용할 SSLSocketFactory 설정 (기본값: {@link SSLSocketFactory#getDefault()})
+         * 
+         * @param sslSocketFactory
+         * @return
+         * @throws IllegalArgumentException sslSocketFactory 파라미터가 null인 경우
+         */
+        public Builder sslSocketFactory(final SSLSocketFactory sslSocketFactory) {
+            if (sslSocketFactory == null) {
+                throw new IllegalArgumentException("SSLSocketFactory must not be null.");
+            }
+            this.sslSocketFactory = sslSocketFactory;
+            return this;
+        }
+
+        /**
+         * 모든 요청에 사용할 Proxy 설정. {@link Proxy#NO_PROXY}이면 Proxy를 사용하지 않는다.
+         * 
+         * @param proxy
+         * @return
+         * @throws IllegalArgumentException proxy 파라미터가 null인 경우
+         */
+        public Builder proxy(final Proxy proxy) {
+            if (proxy == null) {
+                throw new IllegalArgumentException("Proxy must not be null.");
+            }
+            final List<Proxy> proxies = Collections.singletonList(proxy);
+            proxySelector = new ProxySelector() {
+                @Override
+                public List<Proxy> select(final URI uri) {
+                    return proxies;
+                }
+
+                @Override
+                public void connectFailed(final URI uri, final SocketAddress address, final IOException e) {
+                }
+            };
+            return this;
+        }
+
+        /**
+         * 요청 URI별 Proxy를 선택할 ProxySelector 설정 (기본값: {@link ProxySelector#getDefault()})
+         * 
+         * @param proxySelector
+         * @return
+         * @throws IllegalArgumentException proxySelector 파라미터가 null인 경우
+         */
+        public Builder proxySelector(final ProxySelector proxySelector) {
+            if (proxySelector == null) {
+                throw new IllegalArgumentException("ProxySelector must not be null.");
+            }
+            this.proxySelector = proxySelector;
+            return this;
+        }
+
+        /**
+         * PooledClientHttpRequestFactory 생성
+         * 
+         * @return
+         */
+        public PooledClientHttpRequestFactory build() {
+            return new PooledClientHttpRequestFactory(this);
+        }
+
+        private static Duration requireNonNegative(final Duration duration, final String name) {
+            if (duration == null || duration.isNegative()) {
+                throw new IllegalArgumentException(name + " must not be negative.");
+            }
+            return duration;
+        }
+    }
+
+}
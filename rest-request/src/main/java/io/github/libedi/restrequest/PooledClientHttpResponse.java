@@ -0,0 +1,347 @@
+package io.github.libedi.restrequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.AbstractClientHttpResponse;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@link PooledClientHttpRequestFactory}의 HTTP/1.1 응답.
+ * <p>
+ * 응답 body(Content-Length / chunked)를 끝까지 읽고 닫으면 연결을 pool에 반환한다. body를 끝까지 읽지 않고 닫으면, 남은 body가 작은
+ * 경우에만 읽어서 버리고 반환하며, 그렇지 않으면 연결을 닫는다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+final class PooledClientHttpResponse extends AbstractClientHttpResponse {
+
+    private static final int MAX_LINE_LENGTH = 64 * 1024;
+    private static final int MAX_DRAIN_SIZE = 8192;
+
+    private final PooledClientHttpRequestFactory requestFactory;
+    private final PooledConnection connection;
+    private final int statusCode;
+    private final String statusText;
+    private final HttpHeaders headers;
+    private final BodyInputStream body;
+    private final boolean keepAlive;
+    private boolean released;
+
+    private PooledClientHttpResponse(final PooledClientHttpRequestFactory requestFactory,
+            final PooledConnection connection, final int statusCode, final String statusText,
+            final HttpHeaders headers, final HttpMethod method, final boolean keepAlive) throws IOException {
+        this.requestFactory = requestFactory;
+        this.connection = connection;
+        this.statusCode = statusCode;
+        this.statusText = statusText;
+        this.headers = headers;
+        final InputStream inputStream = connection.getInputStream();
+        final String transferEncoding = headers.getFirst(HttpHeaders.TRANSFER_ENCODING);
+        if (method == HttpMethod.HEAD || statusCode == HttpStatus.NO_CONTENT.value()
+                || statusCode == HttpStatus.NOT_MODIFIED.value()) {
+            body = new FixedLengthInputStream(inputStream, 0);
+            this.keepAlive = keepAlive;
+        } else if (transferEncoding != null && transferEncoding.toLowerCase(Locale.ROOT).contains("chunked")) {
+            body = new ChunkedInputStream(inputStream);
+            this.keepAlive = keepAlive;
+        } else if (headers.getContentLength() >= 0) {
+            body = new FixedLengthInputStream(inputStream, headers.getContentLength());
+            this.keepAlive = keepAlive;
+        } else {
+            body = new UntilCloseInputStream(inputStream);
+            this.keepAlive = false;
+        }
+    }
+
+    /**
+     * 연결에서 응답 상태와 header 읽기
+     * 
+     * @param requestFactory
+     * @param connection
+     * @param method         요청 method
+     * @return
+     * @throws EOFException 응답을 받기 전에 연결이 닫힌 경우
+     * @throws IOException
+     */
+    static PooledClientHttpResponse read(final PooledClientHttpRequestFactory requestFactory,
+            final PooledConnection connection, final HttpMethod method) throws IOException {
+        final InputStream inputStream = connection.getInputStream();
+        String statusLine;
+        int statusCode;
+        HttpHeaders headers;
+        do {
+            statusLine = readLine(inputStream);
+            if (statusLine == null) {
+                throw new EOFException("Connection closed before response.");
+            }
+            statusCode = parseStatusCode(statusLine);
+            headers = readHeaders(inputStream);
+        } while (statusCode >= 100 && statusCode < 200 && statusCode != HttpStatus.SWITCHING_PROTOCOLS.value());
+
+        final int reasonStart = statusLine.indexOf(' ', statusLine.indexOf(' ') + 1);
+        final String statusText = reasonStart < 0 ? "" : statusLine.substring(reasonStart + 1);
+        final String connectionHeader = headers.getFirst(HttpHeaders.CONNECTION);
+        final boolean keepAlive = statusLine.startsWith("HTTP/1.0")
+                ? connectionHeader != null && connectionHeader.toLowerCase(Locale.ROOT).contains("keep-alive")
+                : connectionHeader == null || !connectionHeader.toLowerCase(Locale.ROOT).contains("close");
+        connection.setKeepAliveNanos(parseKeepAliveTimeout(headers.getFirst("Keep-Alive")));
+        return new PooledClientHttpResponse(requestFactory, connection, statusCode, statusText, headers, method,
+                keepAlive);
+    }
+
+    @Override
+    public int getRawStatusCode() {
+        return statusCode;
+    }
+
+    @Override
+    public String getStatusText() {
+        return statusText;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public InputStream getBody() {
+        return body;
+    }
+
+    @Override
+    public void close() {
+        if (released) {
+            return;
+        }
+        released = true;
+        boolean reusable = keepAlive;
+        if (reusable && !body.eof) {
+            try {
+                reusable = body.drain(MAX_DRAIN_SIZE);
+            } catch (final IOException e) {
+                reusable = false;
+            }
+        }
+        requestFactory.release(connection, reusable);
+    }
+
+    private static int parseStatusCode(final String statusLine) throws IOException {
+        final int start = statusLine.indexOf(' ');
+        if (!statusLine.startsWith("HTTP/") || start < 0 || statusLine.length() < start + 4) {
+            throw new IOException("Invalid status line: " + statusLine);
+        }
+        try {
+            return Integer.parseInt(statusLine.substring(start + 1, start + 4));
+        } catch (final NumberFormatException e) {
+            throw new IOException("Invalid status line: " + statusLine, e);
+        }
+    }
+
+    private static HttpHeaders readHeaders(final InputStream inputStream) throws IOException {
+        final HttpHeaders headers = new HttpHeaders();
+        String line;
+        while ((line = readLine(inputStream)) != null && !line.isEmpty()) {
+            final int colon = line.indexOf(':');
+            if (colon > 0) {
+                headers.add(line.substring(0, colon).trim(), line.substring(colon + 1).trim());
+            }
+        }
+        if (line == null) {
+            throw new EOFException("Connection closed while reading response headers.");
+        }
+        return headers;
+    }
+
+    private static long parseKeepAliveTimeout(final String keepAlive) {
+        if (!StringUtils.hasText(keepAlive)) {
+            return -1;
+        }
+        for (final String parameter : keepAlive.split(",")) {
+            final String[] pair = parameter.trim().split("=", 2);
+            if (pair.length == 2 && "timeout".equalsIgnoreCase(pair[0].trim())) {
+                try {
+                    return TimeUnit.SECONDS.toNanos(Long.parseLong(pair[1].trim()));
+                } catch (final NumberFormatException e) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * CRLF(또는 LF)로 끝나는 한 줄 읽기
+     * 
+     * @return 줄바꿈 문자를 제외한 문자열. 첫 문자를 읽기 전에 스트림이 끝나면 null
+     */
+    static String readLine(final InputStream inputStream) throws IOException {
+        final ByteArrayOutputStream line = new ByteArrayOutputStream(64);
+        int b;
+        while ((b = inputStream.read()) != '\n') {
+            if (b == -1) {
+                if (line.size() == 0) {
+                    return null;
+                }
+                throw new EOFException("Unexpected end of stream.");
+            }
+            if (line.size() >= MAX_LINE_LENGTH) {
+                throw new IOException("Response line too long.");
+            }
+            line.write(b);
+        }
+        final byte[] bytes = line.toByteArray();
+        final int length = bytes.length > 0 && bytes[bytes.length - 1] == '\r' ? bytes.length - 1 : bytes.length;
+        return new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * 응답 body. 닫으면 응답을 닫는다.
+     */
+    private abstract class BodyInputStream extends InputStream {
+        protected final InputStream inputStream;
+        protected boolean eof;
+
+        BodyInputStream(final InputStream inputStream) {
+            this.inputStream = inputStream;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        /**
+         * 남은 body를 최대 limit bytes까지 읽어서 버림
+         * 
+         * @return body를 끝까지 읽었으면 true
+         */
+        boolean drain(final int limit) throws IOException {
+            final byte[] buffer = new byte[Math.min(limit, 4096)];
+            int drained = 0;
+            int read;
+            while (drained <= limit && (read = read(buffer, 0, buffer.length)) != -1) {
+                drained += read;
+            }
+            return eof;
+        }
+
+        @Override
+        public void close() {
+            PooledClientHttpResponse.this.close();
+        }
+    }
+
+    /**
+     * Content-Length 응답 body
+     */
+    private final class FixedLengthInputStream extends BodyInputStream {
+        private long remaining;
+
+        FixedLengthInputStream(final InputStream inputStream, final long contentLength) {
+            super(inputStream);
+            remaining = contentLength;
+            eof = contentLength == 0;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (remaining == 0) {
+                eof = true;
+                return -1;
+            }
+            final int read = inputStream.read(b, off, (int) Math.min(len, remaining));
+            if (read == -1) {
+                throw new EOFException("Connection closed before end of response body.");
+            }
+            remaining -= read;
+            eof = remaining == 0;
+            return read;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(inputStream.available(), remaining);
+        }
+    }
+
+    /**
+     * Transfer-Encoding: chunked 응답 body
+     */
+    private final class ChunkedInputStream extends BodyInputStream {
+        private long chunkRemaining;
+
+        ChunkedInputStream(final InputStream inputStream) {
+            super(inputStream);
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (eof) {
+                return -1;
+            }
+            if (chunkRemaining == 0) {
+                final String sizeLine = readLine(inputStream);
+                if (sizeLine == null) {
+                    throw new EOFException("Connection closed before end of chunked response body.");
+                }
+                final int extension = sizeLine.indexOf(';');
+                try {
+                    chunkRemaining = Long.parseLong((extension < 0 ? sizeLine : sizeLine.substring(0, extension))
+                            .trim(), 16);
+                } catch (final NumberFormatException e) {
+                    throw new IOException("Invalid chunk size: " + sizeLine, e);
+                }
+                if (chunkRemaining == 0) {
+                    String trailer;
+                    while ((trailer = readLine(inputStream)) != null && !trailer.isEmpty()) {
+                        // ignore trailers
+                    }
+                    eof = true;
+                    return -1;
+                }
+            }
+            final int read = inputStream.read(b, off, (int) Math.min(len, chunkRemaining));
+            if (read == -1) {
+                throw new EOFException("Connection closed before end of chunked response body.");
+            }
+            chunkRemaining -= read;
+            if (chunkRemaining == 0) {
+                readLine(inputStream);
+            }
+            return read;
+        }
+    }
+
+    /**
+     * 연결이 닫힐 때까지 읽는 응답 body. 연결은 재사용하지 않는다.
+     */
+    private final class UntilCloseInputStream extends BodyInputStream {
+
+        UntilCloseInputStream(final InputStream inputStream) {
+            super(inputStream);
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (eof) {
+                return -1;
+            }
+            final int read = inputStream.read(b, off, len);
+            eof = read == -1;
+            return read;
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+package io.github.libedi.restrequest;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+
+/**
+ * {@link PooledClientHttpRequestFactory}가 재사용하는 HTTP/1.1 연결
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+final class PooledConnection implements Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final String route;
+    private final Socket socket;
+    private final InputStream inputStream;
+    private final OutputStream outputStream;
+    private long lastUsed;
+    private long keepAliveNanos = -1;
+    private boolean reused;
+
+    PooledConnection(final String route, final Socket socket) throws IOException {
+        this.route = route;
+        this.socket = socket;
+        inputStream = new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE);
+        outputStream = new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE);
+    }
+
+    String getRoute() {
+        return route;
+    }
+
+    InputStream getInputStream() {
+        return inputStream;
+    }
+
+    OutputStream getOutputStream() {
+        return outputStream;
+    }
+
+    boolean isReused() {
+        return reused;
+    }
+
+    void setReused(final boolean reused) {
+        this.reused = reused;
+    }
+
+    /**
+     * 응답의 Keep-Alive timeout 설정
+     * 
+     * @param keepAliveNanos 음수이면 제한 없음
+     */
+    void setKeepAliveNanos(final long keepAliveNanos) {
+        this.keepAliveNanos = keepAliveNanos;
+    }
+
+    void markIdle(final long now) {
+        lastUsed = now;
+    }
+
+    /**
+     * 유휴 시간 초과 여부
+     * 
+     * @param now         현재 시각 (nanoseconds)
+     * @param maxIdleNanos 최대 유휴 시간
+     * @return
+     */
+    boolean isExpired(final long now, final long maxIdleNanos) {
+        final long idle = now - lastUsed;
+        return idle >= maxIdleNanos || keepAliveNanos >= 0 && idle >= keepAliveNanos;
+    }
+
+    /**
+     * 재사용할 수 없는 연결 여부. 서버가 연결을 닫았거나, 요청하지 않은 데이터가 남아있는 경우
+     * 
+     * @return
+     */
+    boolean isStale() {
+        if (socket.isClosed() || socket.isInputShutdown() || socket.isOutputShutdown()) {
+            return true;
+        }
+        try {
+            return inputStream.available() > 0;
+        } catch (final IOException e) {
+            return true;
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            socket.close();
+        } catch (final IOException e) {
+            // ignore
+        }
+    }
+
+}
@@ -0,0 +1,327 @@
+package io.github.libedi.restrequest;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Query Parameter를 추가한 URI 생성
+ * <p>
+ * {@code UriComponentsBuilder.fromUri(uri).queryParam(...).build().toUri()}와 같은 URI를 생성하되, 중간 객체(UriComponentsBuilder,
+ * Query Parameter Map, 값 배열) 없이 하나의 StringBuilder에 URI 문자열을 작성하고 URI를 한번만 생성한다. 기존 URI에 Query가 있는 경우에만
+ * 기존 Query를 해석하여 같은 이름의 Query Parameter를 묶는다.
+ * <p>
+ * 각 구성 요소는 URI 생성자와 같은 방식으로 인용(quote)한다. 공백, '%', '#' 등 URI에 사용할 수 없는 문자만 인코딩하고, 예약 문자와 비 ASCII 문자는
+ * 그대로 둔다. 단, 추가하는 Query Parameter의 이름과 값에 포함된 '+', '&amp;'는 공백이나 Query 구분자로 해석되지 않도록 인코딩하므로, 이 두 문자는
+ * UriComponentsBuilder 방식과 결과가 다르다. RestRequest 변경 / 템플릿 바인딩에서 추가하는 Query Parameter도 같은 방식으로 인코딩한다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+final class QueryStringEncoder {
+
+    /** UriComponentsBuilder의 Query 해석 패턴 */
+    private static final Pattern QUERY_PARAM_PATTERN = Pattern.compile("([^&=]+)(=?)([^&]+)?");
+
+    /** URI 생성자가 Query / Fragment에서 인코딩하지 않는 비예약 문자 외의 문자 */
+    private static final String QUERY_CHARS = ";/?:@&=+$,[]";
+
+    /** 추가하는 Query Parameter 이름 / 값에서 인코딩하지 않는 비예약 문자 외의 문자 ('+', '&amp;' 제외) */
+    private static final String QUERY_PARAM_CHARS = ";/?:@=$,[]";
+
+    /** URI 생성자가 Path에서 인코딩하지 않는 비예약 문자 외의 문자 */
+    private static final String PATH_CHARS = ";/:@&=+$,";
+
+    /** URI 생성자가 User Info에서 인코딩하지 않는 비예약 문자 외의 문자 */
+    private static final String USER_INFO_CHARS = ";:&=+$,";
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private QueryStringEncoder() {
+    }
+
+    /**
+     * Query Parameter를 추가한 URI 생성
+     * 
+     * @param uri    요청 URI
+     * @param params Query Parameter (null 가능)
+     * @param filter Query Parameter로 추가할 항목
+     * @return
+     * @throws IllegalStateException URI를 생성할 수 없는 경우
+     */
+    static URI encode(final URI uri, final MultiValueMap<String, Object> params,
+            final Predicate<Entry<String, List<Object>>> filter) {
+        if (uri.isOpaque()) {
+            return encodeWithBuilder(uri, params, filter);
+        }
+        final String rawQuery = uri.getRawQuery();
+        final String query = !StringUtils.hasLength(rawQuery) ? appendQuery(params, filter)
+                : mergeQuery(quote(new StringBuilder(rawQuery.length() + 8), rawQuery, QUERY_CHARS).toString(), params,
+                        filter);
+        // URI 생성자와 같은 순서로 구성 요소를 인용하여 URI 문자열을 작성한다.
+        final StringBuilder sb = new StringBuilder(64 + (query == null ? 0 : query.length()));
+        if (uri.getScheme() != null) {
+            sb.append(uri.getScheme()).append(':');
+        }
+        if (uri.getHost() != null) {
+            sb.append("//");
+            if (uri.getRawUserInfo() != null) {
+                quote(sb, uri.getRawUserInfo(), USER_INFO_CHARS).append('@');
+            }
+            sb.append(uri.getHost());
+            if (uri.getPort() != -1) {
+                sb.append(':').append(uri.getPort());
+            }
+        }
+        final String path = getPath(uri);
+        if (path != null) {
+            quote(sb, path, PATH_CHARS);
+        }
+        if (query != null) {
+            sb.append('?').append(query);
+        }
+        if (uri.getRawFragment() != null) {
+            quote(sb.append('#'), uri.getRawFragment(), QUERY_CHARS);
+        }
+        try {
+            return new URI(sb.toString());
+        } catch (final URISyntaxException e) {
+            throw new IllegalStateException("Could not create URI object: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 인코딩된 URI에 Query Parameter 추가. 기존 URI 구성 요소는 다시 해석 / 인코딩하지 않는다.
+     * 
+     * @param uri    인코딩된 요청 URI
+     * @param params Query Parameter
+     * @return
+     */
+    static URI append(final URI uri, final MultiValueMap<String, Object> params) {
+        final String rawQuery = uri.getRawQuery();
+        return withQuery(uri, !StringUtils.hasLength(rawQuery) ? appendQuery(params, entry -> true)
+                : mergeQuery(rawQuery, params, entry -> true));
+    }
+
+    /**
+     * 인코딩된 URI 구성 요소를 다시 해석 / 인코딩하지 않고 Query만 교체
+     * 
+     * @param uri   인코딩된 요청 URI
+     * @param query 인코딩된 Query (null이면 Query 제거)
+     * @return
+     */
+    static URI withQuery(final URI uri, final String query) {
+        final StringBuilder sb = new StringBuilder();
+        if (uri.getScheme() != null) {
+            sb.append(uri.getScheme()).append(':');
+        }
+        if (uri.getRawAuthority() != null) {
+            sb.append("//").append(uri.getRawAuthority());
+        }
+        if (uri.getRawPath() != null) {
+            sb.append(uri.getRawPath());
+        }
+        if (StringUtils.hasLength(query)) {
+            sb.append('?').append(query);
+        }
+        if (uri.getRawFragment() != null) {
+            sb.append('#').append(uri.getRawFragment());
+        }
+        return URI.create(sb.toString());
+    }
+
+    /**
+     * Query Parameter 이름 / 값 인코딩. URI 생성자와 같이 Query에 사용할 수 없는 문자와 '+', '&amp;'를 UTF-8로 인코딩한다.
+     * 
+     * @param source
+     * @return
+     */
+    static String encodeQueryParam(final String source) {
+        return quote(new StringBuilder(source.length() + 8), source, QUERY_PARAM_CHARS).toString();
+    }
+
+    private static String appendQuery(final MultiValueMap<String, Object> params,
+            final Predicate<Entry<String, List<Object>>> filter) {
+        if (params == null) {
+            return null;
+        }
+        StringBuilder sb = null;
+        for (final Entry<String, List<Object>> entry : params.entrySet()) {
+            if (!filter.test(entry)) {
+                continue;
+            }
+            if (sb == null) {
+                sb = new StringBuilder(params.size() * 16);
+            }
+            final List<Object> values = entry.getValue();
+            if (CollectionUtils.isEmpty(values)) {
+                appendEncodedParam(sb, entry.getKey(), null);
+                continue;
+            }
+            for (final Object value : values) {
+                appendEncodedParam(sb, entry.getKey(), toQueryParamValue(value));
+            }
+        }
+        return sb == null ? null : sb.toString();
+    }
+
+    private static String mergeQuery(final String rawQuery, final MultiValueMap<String, Object> params,
+            final Predicate<Entry<String, List<Object>>> filter) {
+        final Map<String, List<String>> queryParams = new LinkedHashMap<>();
+        final Matcher matcher = QUERY_PARAM_PATTERN.matcher(rawQuery);
+        while (matcher.find()) {
+            final String value = matcher.group(3);
+            add(queryParams, matcher.group(1), value != null ? value : matcher.group(2).isEmpty() ? null : "");
+        }
+        if (params != null) {
+            for (final Entry<String, List<Object>> entry : params.entrySet()) {
+                if (!filter.test(entry)) {
+                    continue;
+                }
+                final String name = encodeQueryParam(entry.getKey());
+                if (CollectionUtils.isEmpty(entry.getValue())) {
+                    add(queryParams, name, null);
+                    continue;
+                }
+                for (final Object value : entry.getValue()) {
+                    final String paramValue = toQueryParamValue(value);
+                    add(queryParams, name, paramValue == null ? null : encodeQueryParam(paramValue));
+                }
+            }
+        }
+        if (queryParams.isEmpty()) {
+            return null;
+        }
+        final StringBuilder sb = new StringBuilder(rawQuery.length() + queryParams.size() * 16);
+        queryParams.forEach((name, values) -> values.forEach(value -> appendParam(sb, name, value)));
+        return sb.toString();
+    }
+
+    private static void add(final Map<String, List<String>> queryParams, final String name, final String value) {
+        queryParams.computeIfAbsent(name, key -> new ArrayList<>(1)).add(value);
+    }
+
+    /**
+     * 기존 Query의 인코딩된 이름 / 값을 그대로 추가
+     */
+    private static void appendParam(final StringBuilder sb, final String name, final String value) {
+        if (sb.length() != 0) {
+            sb.append('&');
+        }
+        sb.append(name);
+        if (value != null) {
+            sb.append('=').append(value);
+        }
+    }
+
+    /**
+     * 추가하는 Query Parameter의 이름 / 값을 인코딩하여 추가
+     */
+    private static void appendEncodedParam(final StringBuilder sb, final String name, final String value) {
+        if (sb.length() != 0) {
+            sb.append('&');
+        }
+        quote(sb, name, QUERY_PARAM_CHARS);
+        if (value != null) {
+            quote(sb.append('='), value, QUERY_PARAM_CHARS);
+        }
+    }
+
+    /**
+     * java.net.URI 생성자와 같은 방식으로 인용(quote). ASCII 문자 중 비예약 문자와 허용 문자가 아닌 문자를 인코딩하고, 비 ASCII 문자는 공백 / 제어 문자만
+     * UTF-8로 인코딩한다. '%'도 인코딩하므로 이미 인코딩된 문자열은 다시 인코딩된다.
+     */
+    private static StringBuilder quote(final StringBuilder sb, final String source, final String allowed) {
+        final int length = source.length();
+        for (int i = 0; i < length; i++) {
+            final char c = source.charAt(i);
+            if (c < 0x80) {
+                if (isUnreserved(c) || allowed.indexOf(c) >= 0) {
+                    sb.append(c);
+                } else {
+                    appendEscaped(sb, (byte) c);
+                }
+            } else if (Character.isSpaceChar(c) || Character.isISOControl(c)) {
+                for (final byte b : String.valueOf(c).getBytes(StandardCharsets.UTF_8)) {
+                    appendEscaped(sb, b);
+                }
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb;
+    }
+
+    private static void appendEscaped(final StringBuilder sb, final byte b) {
+        sb.append('%').append(HEX_DIGITS[(b >> 4) & 0x0F]).append(HEX_DIGITS[b & 0x0F]);
+    }
+
+    private static boolean isUnreserved(final char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || "-_.!~*'()".indexOf(c) >= 0;
+    }
+
+    /**
+     * Query Parameter 값 문자열. Optional은 값을 꺼내며, 값이 없으면 null을 반환한다.
+     * 
+     * @param value
+     * @return
+     */
+    static String toQueryParamValue(final Object value) {
+        if (value instanceof Optional) {
+            return ((Optional<?>) value).map(Object::toString).orElse(null);
+        }
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * UriComponentsBuilder와 같이 연속된 '/'를 하나로 줄이고, 앞에 URI 구성 요소가 있으면 '/'로 시작하도록 한다.
+     */
+    private static String getPath(final URI uri) {
+        String path = uri.getRawPath();
+        if (path == null || path.isEmpty()) {
+            return null;
+        }
+        if (path.contains("//")) {
+            final StringBuilder sb = new StringBuilder(path.length());
+            for (int i = 0; i < path.length(); i++) {
+                final char c = path.charAt(i);
+                if (c != '/' || sb.length() == 0 || sb.charAt(sb.length() - 1) != '/') {
+                    sb.append(c);
+                }
+            }
+            path = sb.toString();
+        }
+        if (path.charAt(0) != '/' && (uri.getScheme() != null || uri.getRawUserInfo() != null || uri.getHost() != null
+                || uri.getPort() != -1)) {
+            path = '/' + path;
+        }
+        return path;
+    }
+
+    private static URI encodeWithBuilder(final URI uri, final MultiValueMap<String, Object> params,
+            final Predicate<Entry<String, List<Object>>> filter) {
+        final UriComponentsBuilder builder = UriComponentsBuilder.fromUri(uri);
+        if (params != null) {
+            params.entrySet().stream()
+                    .filter(filter)
+                    .forEach(entry -> builder.queryParam(entry.getKey(),
+                            CollectionUtils.isEmpty(entry.getValue()) ? new Object[0] : entry.getValue().toArray()));
+        }
+        return builder.build().toUri();
+    }
+
+}
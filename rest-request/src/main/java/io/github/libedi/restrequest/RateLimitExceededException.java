@@ -0,0 +1,42 @@
+package io.github.libedi.restrequest;
+
+import org.springframework.web.client.RestClientException;
+
+/**
+ * 요청 전송 허가를 최대 대기시간 안에 받을 수 없어 요청을 전송하지 않은 경우 발생하는 예외
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+public class RateLimitExceededException extends RestClientException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String key;
+    private final long waitNanos;
+
+    public RateLimitExceededException(final String key, final long waitNanos) {
+        super("Rate limit exceeded for " + key + " (required wait: " + waitNanos / 1_000_000 + "ms)");
+        this.key = key;
+        this.waitNanos = waitNanos;
+    }
+
+    /**
+     * 요청 속도 제한 key
+     * 
+     * @return
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * 요청 전송 허가를 받기 위해 필요한 대기시간 (nanoseconds)
+     * 
+     * @return
+     */
+    public long getWaitNanos() {
+        return waitNanos;
+    }
+
+}
@@ -0,0 +1,341 @@
+package io.github.libedi.restrequest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * key(기본값: 요청 URI의 호스트)별로 초당 요청 개수를 제한하는 Adapter
+ * <p>
+ * key별 token bucket을 GCRA(Generic Cell Rate Algorithm)로 구현하여, 다음 요청 가능 시각 하나만 CAS로 갱신한다. 허용량(burst)만큼은 즉시
+ * 전송하고, 이후 요청은 초당 요청 개수에 맞춰 전송 시각을 예약한다. {@link #send(RestRequest)}는 예약된 시각까지 호출 스레드를 대기시키고,
+ * {@link #sendAsync(RestRequest)}는 스레드를 점유하지 않고 예약된 시각에 요청 전송을 시작한다.
+ * <p>
+ * 대기시간이 최대 대기시간을 초과하면 예약하지 않고 {@link RateLimitExceededException}으로 실패한다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+public class RateLimitRestClientAdapter implements RestClientAdapter {
+
+    private final RestClientAdapter restClientAdapter;
+    private final Function<RestRequest<?>, String> keyResolver;
+    private final Rate defaultRate;
+    private final Map<String, Rate> rates;
+    private final long maxWaitNanos;
+    private final ScheduledExecutorService scheduler;
+    private final ConcurrentMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    private RateLimitRestClientAdapter(final Builder builder) {
+        restClientAdapter = builder.restClientAdapter;
+        keyResolver = builder.keyResolver;
+        defaultRate = builder.defaultRate;
+        rates = new HashMap<>(builder.rates);
+        maxWaitNanos = builder.maxWait.toNanos();
+        scheduler = builder.scheduler == null ? DefaultScheduler.get() : builder.scheduler;
+    }
+
+    /**
+     * RateLimitRestClientAdapter 생성
+     * 
+     * @param restClientAdapter 요청을 전송할 RestClientAdapter
+     * @param permitsPerSecond  key별 초당 요청 개수
+     * @return
+     * @throws IllegalArgumentException restClientAdapter 파라미터가 null이거나, permitsPerSecond 파라미터가 0 이하인 경우
+     */
+    public static Builder builder(final RestClientAdapter restClientAdapter, final double permitsPerSecond) {
+        if (restClientAdapter == null) {
+            throw new IllegalArgumentException("RestClientAdapter must not be null.");
+        }
+        return new Builder(restClientAdapter, new Rate(permitsPerSecond, 1));
+    }
+
+    @Override
+    public <T> ResponseEntity<T> send(final RestRequest<T> restRequest) {
+        await(restRequest);
+        return restClientAdapter.send(restRequest);
+    }
+
+    @Override
+    public <T> Stream<T> sendForStream(final RestRequest<T> restRequest) {
+        await(restRequest);
+        return restClientAdapter.sendForStream(restRequest);
+    }
+
+    @Override
+    public ResponseEntity<Long> sendToFile(final RestRequest<?> restRequest, final Path path) {
+        await(restRequest);
+        return restClientAdapter.sendToFile(restRequest, path);
+    }
+
+    @Override
+    public <T> CompletableFuture<ResponseEntity<T>> sendAsync(final RestRequest<T> restRequest) {
+        return schedule(restRequest, restClientAdapter::sendAsync);
+    }
+
+    @Override
+    public <T> CompletableFuture<ResponseEntity<T>> sendAsync(final RestRequest<T> restRequest,
+            final Executor executor) {
+        Objects.requireNonNull(executor, () -> "Executor must not be null.");
+        return schedule(restRequest, request -> restClientAdapter.sendAsync(request, executor));
+    }
+
+    private <T> CompletableFuture<ResponseEntity<T>> schedule(final RestRequest<T> restRequest,
+            final Function<RestRequest<T>, CompletableFuture<ResponseEntity<T>>> sender) {
+        final long wait;
+        try {
+            wait = getBucket(restRequest).reserve();
+        } catch (final RateLimitExceededException e) {
+            final CompletableFuture<ResponseEntity<T>> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(e);
+            return rejected;
+        }
+        if (wait <= 0) {
+            return sender.apply(restRequest);
+        }
+        final CompletableFuture<ResponseEntity<T>> result = new CompletableFuture<>();
+        final AtomicReference<CompletableFuture<ResponseEntity<T>>> sent = new AtomicReference<>();
+        final ScheduledFuture<?> task = scheduler.schedule(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                final CompletableFuture<ResponseEntity<T>> future = sender.apply(restRequest);
+                sent.set(future);
+                future.whenComplete((response, error) -> {
+                    if (error == null) {
+                        result.complete(response);
+                    } else {
+                        result.completeExceptionally(
+                                error instanceof CompletionException && error.getCause() != null ? error.getCause()
+                                        : error);
+                    }
+                });
+            } catch (final RuntimeException | Error e) {
+                result.completeExceptionally(e);
+            }
+        }, wait, TimeUnit.NANOSECONDS);
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                task.cancel(false);
+                final CompletableFuture<ResponseEntity<T>> future = sent.get();
+                if (future != null) {
+                    future.cancel(true);
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 허용량을 예약하고, 전송 가능한 시점까지 대기
+     */
+    private void await(final RestRequest<?> restRequest) {
+        long wait = getBucket(restRequest).reserve();
+        final long deadline = System.nanoTime() + wait;
+        while (wait > 0) {
+            LockSupport.parkNanos(this, wait);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw new RestClientException("Interrupted while waiting for rate limit.");
+            }
+            wait = deadline - System.nanoTime();
+        }
+    }
+
+    private Bucket getBucket(final RestRequest<?> restRequest) {
+        if (restRequest == null) {
+            throw new IllegalArgumentException("RestRequest must not be null.");
+        }
+        final String key = keyResolver.apply(restRequest);
+        return buckets.computeIfAbsent(key, k -> new Bucket(k, rates.getOrDefault(k, defaultRate)));
+    }
+
+    /**
+     * 기본 key : 요청 URI의 scheme, host, port
+     */
+    private static String resolveHost(final RestRequest<?> restRequest) {
+        final URI uri = restRequest.getUri();
+        return uri.getScheme() + "://" + uri.getRawAuthority();
+    }
+
+    /**
+     * 초당 요청 개수와 허용량
+     */
+    private static final class Rate {
+        private final long intervalNanos;
+        private final long toleranceNanos;
+
+        Rate(final double permitsPerSecond, final int burst) {
+            if (!(permitsPerSecond > 0) || Double.isInfinite(permitsPerSecond)) {
+                throw new IllegalArgumentException("Permits per second must be greater than 0.");
+            }
+            if (burst < 1) {
+                throw new IllegalArgumentException("Burst must be greater than 0.");
+            }
+            intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+            toleranceNanos = intervalNanos * (burst - 1);
+        }
+    }
+
+    /**
+     * GCRA token bucket. 다음 요청의 이론적 도착 시각(TAT)만 저장한다.
+     */
+    private final class Bucket {
+        private final String key;
+        private final Rate rate;
+        private final AtomicLong theoreticalArrival = new AtomicLong(System.nanoTime());
+
+        Bucket(final String key, final Rate rate) {
+            this.key = key;
+            this.rate = rate;
+        }
+
+        /**
+         * 요청 전송 시각 예약
+         * 
+         * @return 예약된 시각까지의 대기시간 (nanoseconds)
+         * @throws RateLimitExceededException 대기시간이 최대 대기시간을 초과하는 경우
+         */
+        long reserve() {
+            while (true) {
+                final long now = System.nanoTime();
+                final long tat = theoreticalArrival.get();
+                final long start = tat - now > 0 ? tat : now;
+                final long wait = start - rate.toleranceNanos - now;
+                if (wait > maxWaitNanos) {
+                    throw new RateLimitExceededException(key, wait);
+                }
+                if (theoreticalArrival.compareAndSet(tat, start + rate.intervalNanos)) {
+                    return Math.max(wait, 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * RateLimitRestClientAdapter 설정
+     * 
+     * @author "Sangjun,Park"
+     *
+     */
+    public static final class Builder {
+
+        private final RestClientAdapter restClientAdapter;
+        private Rate defaultRate;
+        private final Map<String, Rate> rates = new HashMap<>();
+        private Function<RestRequest<?>, String> keyResolver = RateLimitRestClientAdapter::resolveHost;
+        private Duration maxWait = Duration.ofNanos(Long.MAX_VALUE);
+        private ScheduledExecutorService scheduler;
+
+        private Builder(final RestClientAdapter restClientAdapter, final Rate defaultRate) {
+            this.restClientAdapter = restClientAdapter;
+            this.defaultRate = defaultRate;
+        }
+
+        /**
+         * 기본 허용량 설정. 대기 없이 연속으로 전송할 수 있는 요청 개수이다. (기본값: 1)
+         * 
+         * @param permitsPerSecond 초당 요청 개수
+         * @param burst            허용량
+         * @return
+         * @throws IllegalArgumentException permitsPerSecond 파라미터가 0 이하이거나, burst 파라미터가 1보다 작은 경우
+         */
+        public Builder limit(final double permitsPerSecond, final int burst) {
+            defaultRate = new Rate(permitsPerSecond, burst);
+            return this;
+        }
+
+        /**
+         * key별 초당 요청 개수와 허용량 설정
+         * 
+         * @param key              요청 속도 제한 key (예: {@code https://api.partner.com})
+         * @param permitsPerSecond 초당 요청 개수
+         * @param burst            허용량
+         * @return
+         * @throws IllegalArgumentException key 파라미터가 null이거나, permitsPerSecond 파라미터가 0 이하이거나, burst 파라미터가
+         *                                  1보다 작은 경우
+         */
+        public Builder limit(final String key, final double permitsPerSecond, final int burst) {
+            if (key == null) {
+                throw new IllegalArgumentException("Key must not be null.");
+            }
+            rates.put(key, new Rate(permitsPerSecond, burst));
+            return this;
+        }
+
+        /**
+         * 요청 속도 제한 key 설정 (기본값: 요청 URI의 scheme, host, port)
+         * 
+         * @param keyResolver
+         * @return
+         * @throws IllegalArgumentException keyResolver 파라미터가 null인 경우
+         */
+        public Builder key(final Function<RestRequest<?>, String> keyResolver) {
+            if (keyResolver == null) {
+                throw new IllegalArgumentException("Key resolver must not be null.");
+            }
+            this.keyResolver = keyResolver;
+            return this;
+        }
+
+        /**
+         * 최대 대기시간 설정. 대기시간이 초과되는 요청은 {@link RateLimitExceededException}으로 실패한다. (기본값: 제한 없음)
+         * 
+         * @param maxWait
+         * @return
+         * @throws IllegalArgumentException maxWait 파라미터가 null이거나 음수인 경우
+         */
+        public Builder maxWait(final Duration maxWait) {
+            if (maxWait == null || maxWait.isNegative()) {
+                throw new IllegalArgumentException("Max wait must not be negative.");
+            }
+            this.maxWait = maxWait;
+            return this;
+        }
+
+        /**
+         * 비동기 요청의 지연 전송에 사용할 Scheduler 설정. (기본값: 공유 daemon 스레드)
+         * 
+         * @param scheduler
+         * @return
+         * @throws IllegalArgumentException scheduler 파라미터가 null인 경우
+         */
+        public Builder scheduler(final ScheduledExecutorService scheduler) {
+            if (scheduler == null) {
+                throw new IllegalArgumentException("Scheduler must not be null.");
+            }
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        /**
+         * RateLimitRestClientAdapter 생성
+         * 
+         * @return
+         */
+        public RateLimitRestClientAdapter build() {
+            return new RateLimitRestClientAdapter(this);
+        }
+    }
+
+}
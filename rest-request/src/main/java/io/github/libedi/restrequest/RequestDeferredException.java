@@ -0,0 +1,45 @@
+package io.github.libedi.restrequest;
+
+import java.net.URI;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * 요청 전송에 실패하여 outbox에 저장한 경우 발생하는 예외. 저장한 요청은 이후 다시 전송한다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+public class RequestDeferredException extends RestClientException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final HttpMethod method;
+    private final URI uri;
+
+    public RequestDeferredException(final HttpMethod method, final URI uri, final Throwable cause) {
+        super("Request deferred to outbox: " + method + " " + uri, cause);
+        this.method = method;
+        this.uri = uri;
+    }
+
+    /**
+     * 요청 HTTP Method
+     * 
+     * @return
+     */
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    /**
+     * 요청 URI
+     * 
+     * @return
+     */
+    public URI getUri() {
+        return uri;
+    }
+
+}
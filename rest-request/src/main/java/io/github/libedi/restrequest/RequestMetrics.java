@@ -0,0 +1,97 @@
+package io.github.libedi.restrequest;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.http.HttpMethod;
+
+/**
+ * HTTP Method, URI 템플릿, 응답 상태 구분별 요청 지표
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+public final class RequestMetrics {
+
+    private final HttpMethod method;
+    private final String uriTemplate;
+    private final String statusClass;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder requestBytes = new LongAdder();
+    private final LongAdder responseBytes = new LongAdder();
+
+    RequestMetrics(final HttpMethod method, final String uriTemplate, final String statusClass) {
+        this.method = method;
+        this.uriTemplate = uriTemplate;
+        this.statusClass = statusClass;
+    }
+
+    void record(final long durationNanos, final long requestBytes, final long responseBytes,
+            final Throwable error) {
+        latency.record(durationNanos);
+        if (error != null) {
+            errorCount.increment();
+        }
+        if (requestBytes > 0) {
+            this.requestBytes.add(requestBytes);
+        }
+        if (responseBytes > 0) {
+            this.responseBytes.add(responseBytes);
+        }
+    }
+
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    public String getUriTemplate() {
+        return uriTemplate;
+    }
+
+    public String getStatusClass() {
+        return statusClass;
+    }
+
+    /**
+     * 응답시간 히스토그램. 요청 개수는 {@link LatencyHistogram#getCount()}로 조회한다.
+     * 
+     * @return latency histogram
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * 예외가 발생한 요청 개수
+     * 
+     * @return error count
+     */
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    /**
+     * Request Body 크기 합계. 크기를 알 수 있는 요청만 합산한다.
+     * 
+     * @return request bytes
+     */
+    public long getRequestBytes() {
+        return requestBytes.sum();
+    }
+
+    /**
+     * Response Body 크기 합계. 크기를 알 수 있는 응답만 합산한다.
+     * 
+     * @return response bytes
+     */
+    public long getResponseBytes() {
+        return responseBytes.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "RequestMetrics[" + method + " " + uriTemplate + " " + statusClass + ", count="
+                + latency.getCount() + ", errors=" + getErrorCount() + "]";
+    }
+
+}
@@ -1,10 +1,20 @@
 package io.github.libedi.restrequest;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.ResolvableType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
 
 /**
  * RestRequest를 활용하여 REST API를 호출하는 Adapter
@@ -34,6 +44,61 @@ public interface RestClientAdapter {
         return Optional.ofNullable(send(restRequest).getBody());
     }
 
+    /**
+     * RestRequest의 요청 정보로 요청을 전송하고, JSON 배열 응답의 각 요소를 Stream으로 반환한다. RestRequest의 응답 타입은 배열 요소의 타입으로
+     * 지정한다.
+     * <p>
+     * 기본 구현은 응답 전체를 {@code List<T>}로 변환한 후 Stream으로 반환한다. {@link DefaultRestClientAdapter}는 응답 body를 읽으면서
+     * 요소를 하나씩 변환하므로, 응답 크기와 무관하게 메모리 사용량이 일정하다. JSON {@code null} 요소는 null로 반환한다. 이 라이브러리의
+     * Adapter를 감싸는 Adapter는 모두 감싼 Adapter의 구현을 사용하며, SingleFlight / Caching Adapter는 응답을 공유하거나 캐시하지 않는다.
+     * 반환된 Stream은 사용 후 반드시 닫아야 한다.
+     * 
+     * @param <T>
+     * @param restRequest 생성한 RestRequest
+     * @return the lazily converted elements
+     */
+    default <T> Stream<T> sendForStream(final RestRequest<T> restRequest) {
+        if (restRequest == null) {
+            throw new IllegalArgumentException("RestRequest must not be null.");
+        }
+        final ResolvableType elementType = restRequest.getTypeReference() == null
+                ? ResolvableType.forClass(restRequest.getResponseType())
+                : ResolvableType.forType(restRequest.getTypeReference());
+        final ParameterizedTypeReference<List<T>> listType = ParameterizedTypeReference
+                .forType(ResolvableType.forClassWithGenerics(List.class, elementType).getType());
+        final List<T> body = send(new RestRequest<>(restRequest.getUri(), restRequest.getMethod(),
+                restRequest.getHttpEntity(), null, listType)).getBody();
+        return body == null ? Stream.empty() : body.stream();
+    }
+
+    /**
+     * RestRequest의 요청 정보로 요청을 전송하고, 응답 body를 파일로 저장한다. 저장은 같은 디렉토리의 임시 파일에 기록한 후 대상 파일로 이동하므로,
+     * 실패한 경우 기존 파일은 변경되지 않는다.
+     * <p>
+     * 기본 구현은 응답 body를 byte 배열로 받은 후 저장한다. {@link DefaultRestClientAdapter}는 응답 body를 FileChannel로 직접 전송하므로,
+     * 응답 크기만큼의 heap 메모리를 사용하지 않는다. 이 라이브러리의 Adapter를 감싸는 Adapter는 모두 감싼 Adapter의 구현을 사용한다.
+     * 
+     * @param restRequest 생성한 RestRequest. 응답 타입은 사용하지 않는다.
+     * @param path        저장할 파일 경로
+     * @return 응답 상태, 응답 header와 저장한 byte 수
+     * @throws ResourceAccessException 파일 저장 중 I/O 오류가 발생한 경우
+     */
+    default ResponseEntity<Long> sendToFile(final RestRequest<?> restRequest, final Path path) {
+        if (restRequest == null) {
+            throw new IllegalArgumentException("RestRequest must not be null.");
+        }
+        final ResponseEntity<byte[]> response = send(new RestRequest<>(restRequest.getUri(),
+                restRequest.getMethod(), restRequest.getHttpEntity(), byte[].class, null));
+        final byte[] body = response.getBody() == null ? new byte[0] : response.getBody();
+        try {
+            return new ResponseEntity<>(FileTransfer.transfer(new ByteArrayInputStream(body), path),
+                    response.getHeaders(), response.getStatusCodeValue());
+        } catch (final IOException e) {
+            throw new ResourceAccessException("I/O error on writing response to " + path + ": " + e.getMessage(),
+                    e);
+        }
+    }
+
     /**
      * RestRequest의 요청 정보로 비동기 요청 전송
      * 
@@ -57,4 +122,63 @@ public interface RestClientAdapter {
             final Executor executor) {
         return CompletableFuture.supplyAsync(() -> send(restRequest), executor);
     }
+
+    /**
+     * RestRequest 목록의 요청 정보로 일괄 요청 전송. 요청 실패와 관계없이 모든 요청을 전송한다.
+     * 
+     * @param <T>
+     * @param restRequests   생성한 RestRequest 목록
+     * @param maxConcurrency 동시에 전송할 최대 요청 개수
+     * @return 요청 순서와 동일한 순서의 요청별 전송 결과
+     * @throws IllegalArgumentException restRequests 파라미터가 null이거나, maxConcurrency 파라미터가 1보다 작은 경우
+     * @see #sendAll(Collection, int, SendAllMode)
+     */
+    default <T> List<SendResult<T>> sendAll(final Collection<? extends RestRequest<T>> restRequests,
+            final int maxConcurrency) {
+        return sendAll(restRequests, maxConcurrency, SendAllMode.COLLECT_ALL);
+    }
+
+    /**
+     * RestRequest 목록의 요청 정보로 일괄 요청 전송
+     * 
+     * @param <T>
+     * @param restRequests   생성한 RestRequest 목록
+     * @param maxConcurrency 동시에 전송할 최대 요청 개수
+     * @param mode           요청 실패 처리 방식
+     * @return 요청 순서와 동일한 순서의 요청별 전송 결과
+     * @throws IllegalArgumentException restRequests 또는 mode 파라미터가 null이거나, maxConcurrency 파라미터가 1보다 작은 경우
+     * @throws RuntimeException         {@link SendAllMode#FAIL_FAST} 방식에서 요청이 실패한 경우, 첫번째 실패 원인
+     * @see #sendAllAsync(Collection, int, SendAllMode)
+     */
+    default <T> List<SendResult<T>> sendAll(final Collection<? extends RestRequest<T>> restRequests,
+            final int maxConcurrency, final SendAllMode mode) {
+        try {
+            return sendAllAsync(restRequests, maxConcurrency, mode).join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * RestRequest 목록의 요청 정보로 비동기 일괄 요청 전송
+     * <p>
+     * {@link #sendAsync(RestRequest)}로 최대 maxConcurrency개의 요청을 전송하고, 요청이 완료될 때마다 다음 요청을 전송한다. 실제 동시
+     * 전송 개수는 sendAsync가 사용하는 Executor의 스레드 수에 의해서도 제한된다.
+     * 
+     * @param <T>
+     * @param restRequests   생성한 RestRequest 목록
+     * @param maxConcurrency 동시에 전송할 최대 요청 개수
+     * @param mode           요청 실패 처리 방식
+     * @return the new CompletableFuture with 요청 순서와 동일한 순서의 요청별 전송 결과 as return value.
+     *         {@link SendAllMode#FAIL_FAST} 방식에서 요청이 실패한 경우, 첫번째 실패 원인으로 종료되며 남은 요청은 전송하지 않는다.
+     * @throws IllegalArgumentException restRequests 또는 mode 파라미터가 null이거나, maxConcurrency 파라미터가 1보다 작은 경우
+     */
+    default <T> CompletableFuture<List<SendResult<T>>> sendAllAsync(
+            final Collection<? extends RestRequest<T>> restRequests, final int maxConcurrency,
+            final SendAllMode mode) {
+        return new BulkSender<>(this, restRequests, maxConcurrency, mode).execute();
+    }
 }
@@ -0,0 +1,44 @@
+package io.github.libedi.restrequest;
+
+import org.springframework.http.HttpMethod;
+
+/**
+ * RestClientAdapter 요청 지표 기록
+ * <p>
+ * {@link MetricsRestClientAdapter}가 요청 전송 시작과 완료 시점에 호출한다. 요청 전송 스레드에서 호출되므로, 구현체는 blocking 작업을
+ * 수행하지 않아야 한다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ * @see RestClientMetricsRegistry
+ */
+public interface RestClientMetricsRecorder {
+
+    /**
+     * 응답을 받지 못한 경우의 상태 구분
+     */
+    String STATUS_ERROR = "ERROR";
+
+    /**
+     * 요청 전송 시작
+     * 
+     * @param method      HTTP Method
+     * @param uriTemplate URI 템플릿
+     */
+    void requestStarted(HttpMethod method, String uriTemplate);
+
+    /**
+     * 요청 전송 완료
+     * 
+     * @param method        HTTP Method
+     * @param uriTemplate   URI 템플릿
+     * @param statusClass   응답 상태 구분 (1xx ~ 5xx). 응답을 받지 못한 경우 {@link #STATUS_ERROR}
+     * @param durationNanos 응답시간 (나노초)
+     * @param requestBytes  Request Body 크기. 알 수 없는 경우 -1
+     * @param responseBytes Response Body 크기. 알 수 없는 경우 -1
+     * @param error         요청 실패 원인. 요청이 성공한 경우 null
+     */
+    void requestCompleted(HttpMethod method, String uriTemplate, String statusClass, long durationNanos,
+            long requestBytes, long responseBytes, Throwable error);
+
+}
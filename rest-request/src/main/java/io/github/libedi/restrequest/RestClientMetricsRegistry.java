@@ -0,0 +1,117 @@
+package io.github.libedi.restrequest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.http.HttpMethod;
+
+/**
+ * RestClientAdapter 요청 지표 저장소
+ * <p>
+ * HTTP Method, URI 템플릿, 응답 상태 구분별로 {@link RequestMetrics}를 보관하고, HTTP Method, URI 템플릿별로 전송 중인 요청 개수를
+ * 보관한다. 지표 조회와 기록은 lock 없이 수행한다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+public class RestClientMetricsRegistry implements RestClientMetricsRecorder {
+
+    private final ConcurrentMap<MetricsKey, RequestMetrics> metrics = new ConcurrentHashMap<>();
+    private final ConcurrentMap<MetricsKey, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    @Override
+    public void requestStarted(final HttpMethod method, final String uriTemplate) {
+        inFlight.computeIfAbsent(new MetricsKey(method, uriTemplate, null), key -> new AtomicInteger())
+                .incrementAndGet();
+    }
+
+    @Override
+    public void requestCompleted(final HttpMethod method, final String uriTemplate, final String statusClass,
+            final long durationNanos, final long requestBytes, final long responseBytes, final Throwable error) {
+        final AtomicInteger count = inFlight.get(new MetricsKey(method, uriTemplate, null));
+        if (count != null) {
+            count.decrementAndGet();
+        }
+        final MetricsKey key = new MetricsKey(method, uriTemplate, statusClass);
+        RequestMetrics requestMetrics = metrics.get(key);
+        if (requestMetrics == null) {
+            requestMetrics = metrics.computeIfAbsent(key,
+                    k -> new RequestMetrics(method, uriTemplate, statusClass));
+        }
+        requestMetrics.record(durationNanos, requestBytes, responseBytes, error);
+    }
+
+    /**
+     * 요청 지표 조회
+     * 
+     * @param method      HTTP Method
+     * @param uriTemplate URI 템플릿
+     * @param statusClass 응답 상태 구분 (1xx ~ 5xx, {@link #STATUS_ERROR})
+     * @return 요청 지표. 기록된 요청이 없으면 null
+     */
+    public RequestMetrics getMetrics(final HttpMethod method, final String uriTemplate, final String statusClass) {
+        return metrics.get(new MetricsKey(method, uriTemplate, statusClass));
+    }
+
+    /**
+     * 전체 요청 지표 조회
+     * 
+     * @return 요청 지표 목록
+     */
+    public Collection<RequestMetrics> getMetrics() {
+        return Collections.unmodifiableCollection(new ArrayList<>(metrics.values()));
+    }
+
+    /**
+     * 전송 중인 요청 개수 조회
+     * 
+     * @param method      HTTP Method
+     * @param uriTemplate URI 템플릿
+     * @return 전송 중인 요청 개수
+     */
+    public int getInFlight(final HttpMethod method, final String uriTemplate) {
+        final AtomicInteger count = inFlight.get(new MetricsKey(method, uriTemplate, null));
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * 지표 Key
+     */
+    private static final class MetricsKey {
+        private final HttpMethod method;
+        private final String uriTemplate;
+        private final String statusClass;
+        private final int hash;
+
+        MetricsKey(final HttpMethod method, final String uriTemplate, final String statusClass) {
+            this.method = method;
+            this.uriTemplate = uriTemplate;
+            this.statusClass = statusClass;
+            hash = Objects.hash(method, uriTemplate, statusClass);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof MetricsKey)) {
+                return false;
+            }
+            final MetricsKey other = (MetricsKey) obj;
+            return method == other.method && Objects.equals(uriTemplate, other.uriTemplate)
+                    && Objects.equals(statusClass, other.statusClass);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+}
@@ -2,11 +2,18 @@ package io.github.libedi.restrequest;
 
 import java.io.Serializable;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriUtils;
 
 /**
  * REST 요청 생성을 위한 RestRequest
@@ -74,6 +81,22 @@ public class RestRequest<T> implements Serializable {
         return new DefaultRestRequestUriSpec<>(Void.class);
     }
 
+    /**
+     * 이 요청을 기준으로 일부만 변경한 요청을 생성
+     * <p>
+     * 변경하지 않은 URI, HTTP Header, Request Body, 응답 타입은 복사하지 않고 그대로 공유한다. Query Parameter를 변경하면 Query만 다시 생성하고,
+     * HTTP Header를 변경하면 변경한 Header만 새 요청에 저장한다.
+     * 
+     * <pre class="code">
+     * RestRequest&lt;Page&gt; page2 = restRequest.mutate().param("page", 2).build();
+     * </pre>
+     * 
+     * @return
+     */
+    public Builder<T> mutate() {
+        return new Builder<>(this);
+    }
+
     public URI getUri() {
         return uri;
     }
@@ -94,4 +117,198 @@ public class RestRequest<T> implements Serializable {
         return typeReference;
     }
 
+    /**
+     * RestRequest 변경 요청 생성. 스레드간 공유하지 않는다.
+     * 
+     * @author "Sangjun,Park"
+     *
+     * @param <T> 응답 타입
+     */
+    public static final class Builder<T> {
+
+        private final RestRequest<T> source;
+        private URI uri;
+        private List<String> queryPairs;
+        private HeaderOverlay headerOverlay;
+        private HttpHeaders headers;
+        private Object body;
+        private boolean bodyChanged;
+
+        private Builder(final RestRequest<T> source) {
+            this.source = source;
+            uri = source.uri;
+        }
+
+        /**
+         * 요청 URI 변경. 이전에 변경한 Query Parameter는 무시한다.
+         * 
+         * @param uri 요청 URI
+         * @return
+         * @throws IllegalArgumentException uri 파라미터가 null인 경우
+         */
+        public Builder<T> uri(final URI uri) {
+            if (uri == null) {
+                throw new IllegalArgumentException("URI must not be null.");
+            }
+            this.uri = uri;
+            queryPairs = null;
+            return this;
+        }
+
+        /**
+         * Query Parameter 변경. 같은 이름의 기존 Query Parameter를 모두 대체한다.
+         * 
+         * @param key    Query Parameter 이름
+         * @param values Query Parameter 값 (null이면 값 없이 이름만 추가)
+         * @return
+         * @throws IllegalArgumentException key 파라미터가 null인 경우
+         * @throws IllegalStateException    URI가 계층 구조가 아닌 경우 (예: mailto:)
+         */
+        public Builder<T> param(final String key, final Object... values) {
+            removeParam(key);
+            return addParam(key, values);
+        }
+
+        /**
+         * Query Parameter 추가. 이름과 값은 RestRequest 생성 시와 같은 방식으로 인코딩한다.
+         * 
+         * @param key    Query Parameter 이름
+         * @param values Query Parameter 값 (null이면 값 없이 이름만 추가)
+         * @return
+         * @throws IllegalArgumentException key 파라미터가 null인 경우
+         * @throws IllegalStateException    URI가 계층 구조가 아닌 경우 (예: mailto:)
+         */
+        public Builder<T> addParam(final String key, final Object... values) {
+            if (key == null) {
+                throw new IllegalArgumentException("Key must not be null.");
+            }
+            final List<String> pairs = queryPairs();
+            final String encodedKey = QueryStringEncoder.encodeQueryParam(key);
+            for (final Object value : values == null ? new Object[] { null } : values) {
+                final String paramValue = QueryStringEncoder.toQueryParamValue(value);
+                pairs.add(paramValue == null ? encodedKey
+                        : encodedKey + "=" + QueryStringEncoder.encodeQueryParam(paramValue));
+            }
+            return this;
+        }
+
+        /**
+         * Query Parameter 삭제
+         * 
+         * @param key Query Parameter 이름
+         * @return
+         * @throws IllegalArgumentException key 파라미터가 null인 경우
+         * @throws IllegalStateException    URI가 계층 구조가 아닌 경우 (예: mailto:)
+         */
+        public Builder<T> removeParam(final String key) {
+            if (key == null) {
+                throw new IllegalArgumentException("Key must not be null.");
+            }
+            queryPairs().removeIf(pair -> {
+                final int index = pair.indexOf('=');
+                return key.equals(UriUtils.decode(index < 0 ? pair : pair.substring(0, index), StandardCharsets.UTF_8));
+            });
+            return this;
+        }
+
+        /**
+         * HTTP Header 변경. 같은 이름의 기존 Header를 대체한다.
+         * 
+         * @param headerName   Header 이름
+         * @param headerValues Header 값
+         * @return
+         */
+        public Builder<T> header(final String headerName, final String... headerValues) {
+            headers().put(headerName, new ArrayList<>(Arrays.asList(headerValues)));
+            return this;
+        }
+
+        /**
+         * HTTP Header 추가
+         * 
+         * @param headerName   Header 이름
+         * @param headerValues Header 값
+         * @return
+         */
+        public Builder<T> addHeader(final String headerName, final String... headerValues) {
+            headers().addAll(headerName, Arrays.asList(headerValues));
+            return this;
+        }
+
+        /**
+         * HTTP Header 삭제
+         * 
+         * @param headerName Header 이름
+         * @return
+         */
+        public Builder<T> removeHeader(final String headerName) {
+            headers().remove(headerName);
+            return this;
+        }
+
+        /**
+         * Request Body 변경
+         * 
+         * @param body Request Body
+         * @return
+         * @throws IllegalStateException POST / PUT / PATCH 요청이 아닌 경우
+         */
+        public Builder<T> body(final Object body) {
+            final HttpMethod method = source.method;
+            if (method != HttpMethod.POST && method != HttpMethod.PUT && method != HttpMethod.PATCH) {
+                throw new IllegalStateException("Request body is not allowed for " + method + " request.");
+            }
+            this.body = body;
+            bodyChanged = true;
+            return this;
+        }
+
+        /**
+         * RestRequest 생성. 변경 사항이 없으면 원본 요청을 반환한다. Header는 생성 시점의 값을 복사하므로, 이후 Builder를 재사용해도 이미 생성한
+         * RestRequest는 변경되지 않는다.
+         * 
+         * @return
+         */
+        public RestRequest<T> build() {
+            final URI newUri = queryPairs == null ? uri
+                    : QueryStringEncoder.withQuery(uri, StringUtils.collectionToDelimitedString(queryPairs, "&"));
+            if (headers == null && !bodyChanged) {
+                return newUri == source.uri ? source
+                        : new RestRequest<>(newUri, source.method, source.httpEntity, source.responseType,
+                                source.typeReference);
+            }
+            final HttpEntity<?> httpEntity = source.httpEntity;
+            return new RestRequest<>(newUri, source.method,
+                    new HttpEntity<>(bodyChanged || httpEntity == null ? body : httpEntity.getBody(),
+                            headers == null ? sourceHeaders()
+                                    : HttpHeaders.readOnlyHttpHeaders(new HttpHeaders(headerOverlay.copy()))),
+                    source.responseType, source.typeReference);
+        }
+
+        private List<String> queryPairs() {
+            if (queryPairs == null) {
+                if (uri.isOpaque()) {
+                    throw new IllegalStateException("Query parameters are not supported for opaque URI: " + uri);
+                }
+                final String rawQuery = uri.getRawQuery();
+                queryPairs = StringUtils.hasLength(rawQuery)
+                        ? new ArrayList<>(Arrays.asList(StringUtils.delimitedListToStringArray(rawQuery, "&")))
+                        : new ArrayList<>();
+            }
+            return queryPairs;
+        }
+
+        private HttpHeaders sourceHeaders() {
+            return source.httpEntity == null ? HttpHeaders.EMPTY : source.httpEntity.getHeaders();
+        }
+
+        private HttpHeaders headers() {
+            if (headers == null) {
+                headerOverlay = new HeaderOverlay(sourceHeaders());
+                headers = new HttpHeaders(headerOverlay);
+            }
+            return headers;
+        }
+    }
+
 }
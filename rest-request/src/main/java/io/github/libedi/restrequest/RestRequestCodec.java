@@ -0,0 +1,412 @@
+package io.github.libedi.restrequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * RestRequest 바이너리 직렬화
+ * <p>
+ * URI, HTTP Method, HTTP Header, Request Body, 응답 타입을 길이 접두사(varint)를 사용한 바이너리 형식으로 변환한다. Request Body는 전송할 때와
+ * 같이 HttpMessageConverter로 변환한 byte 배열로 저장하며, 변환시 추가된 Header(예: multipart boundary를 포함한 Content-Type)도 함께
+ * 저장한다. 복원한 RestRequest의 Request Body는 byte 배열이다. null인 Header 값도 그대로 복원한다.
+ * <p>
+ * 응답 타입은 Class 또는 Class로만 구성된 제네릭 타입(예: {@code List<Item>})만 지원한다. 스레드간 공유할 수 있다.
+ *
+ * @author "Sangjun,Park"
+ *
+ */
+public final class RestRequestCodec {
+
+    private static final int MAGIC = 0x52525131; // "RRQ1"
+
+    private static final byte NO_RESPONSE_TYPE = 0;
+    private static final byte CLASS_RESPONSE_TYPE = 1;
+    private static final byte GENERIC_RESPONSE_TYPE = 2;
+
+    private final List<HttpMessageConverter<?>> messageConverters;
+    private final ClassLoader classLoader;
+
+    /**
+     * RestTemplate 기본 HttpMessageConverter를 사용하는 RestRequestCodec 생성
+     */
+    public RestRequestCodec() {
+        this(new RestTemplate().getMessageConverters());
+    }
+
+    /**
+     * RestRequestCodec 생성
+     *
+     * @param messageConverters Request Body 변환에 사용할 HttpMessageConverter (예: {@code restTemplate.getMessageConverters()})
+     * @throws IllegalArgumentException messageConverters 파라미터가 null인 경우
+     */
+    public RestRequestCodec(final List<HttpMessageConverter<?>> messageConverters) {
+        if (messageConverters == null) {
+            throw new IllegalArgumentException("Message converters must not be null.");
+        }
+        this.messageConverters = new ArrayList<>(messageConverters);
+        classLoader = ClassUtils.getDefaultClassLoader();
+    }
+
+    /**
+     * RestRequest를 byte 배열로 변환
+     *
+     * @param restRequest
+     * @return
+     * @throws IllegalArgumentException restRequest 파라미터가 null이거나, Request Body를 변환할 HttpMessageConverter가 없거나, 지원하지 않는
+     *                                  응답 타입인 경우
+     * @throws UncheckedIOException     Request Body 변환 중 오류가 발생한 경우
+     */
+    public byte[] encode(final RestRequest<?> restRequest) {
+        if (restRequest == null) {
+            throw new IllegalArgumentException("RestRequest must not be null.");
+        }
+        final HttpEntity<?> httpEntity = restRequest.getHttpEntity();
+        final BufferedOutputMessage body = new BufferedOutputMessage();
+        if (httpEntity != null) {
+            body.headers.putAll(httpEntity.getHeaders());
+            if (httpEntity.getBody() != null) {
+                writeBody(httpEntity.getBody(), body);
+            }
+        }
+
+        final Output out = new Output(256 + body.size());
+        out.writeInt(MAGIC);
+        out.writeString(restRequest.getUri().toString());
+        out.writeString(restRequest.getMethod().name());
+        if (restRequest.getTypeReference() != null) {
+            final Type type = restRequest.getTypeReference().getType();
+            checkResponseType(type);
+            out.write(GENERIC_RESPONSE_TYPE);
+            out.writeString(type.getTypeName());
+        } else if (restRequest.getResponseType() != null) {
+            out.write(CLASS_RESPONSE_TYPE);
+            out.writeString(restRequest.getResponseType().getName());
+        } else {
+            out.write(NO_RESPONSE_TYPE);
+        }
+        out.writeVarInt(body.headers.size());
+        for (final Entry<String, List<String>> entry : body.headers.entrySet()) {
+            final List<String> values = entry.getValue() != null ? entry.getValue() : Collections.emptyList();
+            out.writeString(entry.getKey());
+            out.writeVarInt(values.size());
+            for (final String value : values) {
+                out.writeNullableString(value);
+            }
+        }
+        if (httpEntity == null || httpEntity.getBody() == null) {
+            out.writeVarInt(0);
+        } else {
+            out.writeVarInt(body.size() + 1);
+            body.copyTo(out);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * byte 배열을 RestRequest로 복원
+     *
+     * @param bytes
+     * @return
+     * @throws IllegalArgumentException bytes 파라미터가 null이거나, RestRequestCodec으로 변환한 byte 배열이 아니거나, 응답 타입을 찾을 수 없는 경우
+     */
+    public RestRequest<?> decode(final byte[] bytes) {
+        if (bytes == null) {
+            throw new IllegalArgumentException("Bytes must not be null.");
+        }
+        return decode(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * ByteBuffer의 현재 위치부터 RestRequest를 복원
+     *
+     * @param buffer
+     * @return
+     * @throws IllegalArgumentException buffer 파라미터가 null이거나, RestRequestCodec으로 변환한 데이터가 아니거나, 응답 타입을 찾을 수 없는 경우
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public RestRequest<?> decode(final ByteBuffer buffer) {
+        if (buffer == null) {
+            throw new IllegalArgumentException("Buffer must not be null.");
+        }
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not an encoded RestRequest.");
+            }
+            final URI uri = URI.create(readString(buffer));
+            final HttpMethod method = HttpMethod.valueOf(readString(buffer));
+            Class<?> responseType = null;
+            ParameterizedTypeReference<?> typeReference = null;
+            final byte responseTypeKind = buffer.get();
+            if (responseTypeKind == CLASS_RESPONSE_TYPE) {
+                responseType = ClassUtils.forName(readString(buffer), classLoader);
+            } else if (responseTypeKind == GENERIC_RESPONSE_TYPE) {
+                final String typeName = readString(buffer);
+                final int[] position = { 0 };
+                final ResolvableType type = parseType(typeName, position);
+                if (position[0] != typeName.length()) {
+                    throw new IllegalArgumentException("Unsupported response type: " + typeName);
+                }
+                typeReference = ParameterizedTypeReference.forType(type.getType());
+            } else if (responseTypeKind != NO_RESPONSE_TYPE) {
+                throw new IllegalArgumentException("Unknown response type kind: " + responseTypeKind);
+            }
+            final HttpHeaders headers = new HttpHeaders();
+            for (int i = readVarInt(buffer); i > 0; i--) {
+                final String name = readString(buffer);
+                final int count = readLength(buffer);
+                final List<String> values = new ArrayList<>(count);
+                for (int j = 0; j < count; j++) {
+                    values.add(readNullableString(buffer));
+                }
+                headers.put(name, values);
+            }
+            final int bodyLength = readVarInt(buffer);
+            byte[] body = null;
+            if (bodyLength > 0) {
+                if (bodyLength - 1 > buffer.remaining()) {
+                    throw new IllegalArgumentException("Invalid body length " + (bodyLength - 1) + ": only "
+                            + buffer.remaining() + " bytes remaining.");
+                }
+                body = new byte[bodyLength - 1];
+                buffer.get(body);
+            }
+            return new RestRequest(uri, method, new HttpEntity<>(body, HttpHeaders.readOnlyHttpHeaders(headers)),
+                    responseType, typeReference);
+        } catch (final BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated RestRequest data.", e);
+        } catch (final ClassNotFoundException | LinkageError e) {
+            throw new IllegalArgumentException("Response type not found: " + e.getMessage(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeBody(final Object body, final BufferedOutputMessage outputMessage) {
+        if (body instanceof byte[]) {
+            outputMessage.write((byte[]) body);
+            return;
+        }
+        final Class<?> bodyClass = body.getClass();
+        final MediaType contentType = outputMessage.headers.getContentType();
+        try {
+            for (final HttpMessageConverter<?> messageConverter : messageConverters) {
+                if (messageConverter instanceof GenericHttpMessageConverter) {
+                    final GenericHttpMessageConverter<Object> genericConverter = (GenericHttpMessageConverter<Object>) messageConverter;
+                    if (genericConverter.canWrite(bodyClass, bodyClass, contentType)) {
+                        genericConverter.write(body, bodyClass, contentType, outputMessage);
+                        return;
+                    }
+                } else if (messageConverter.canWrite(bodyClass, contentType)) {
+                    ((HttpMessageConverter<Object>) messageConverter).write(body, contentType, outputMessage);
+                    return;
+                }
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Could not write request body: " + e.getMessage(), e);
+        }
+        throw new IllegalArgumentException("No HttpMessageConverter for " + bodyClass.getName()
+                + (contentType != null ? " and content type \"" + contentType + "\"" : ""));
+    }
+
+    /**
+     * 복원 가능한 응답 타입인지 확인 (Class, Class로만 구성된 ParameterizedType / GenericArrayType)
+     */
+    private static void checkResponseType(final Type type) {
+        if (type instanceof Class) {
+            return;
+        }
+        if (type instanceof ParameterizedType) {
+            checkResponseType(((ParameterizedType) type).getRawType());
+            for (final Type argument : ((ParameterizedType) type).getActualTypeArguments()) {
+                checkResponseType(argument);
+            }
+            return;
+        }
+        if (type instanceof GenericArrayType) {
+            checkResponseType(((GenericArrayType) type).getGenericComponentType());
+            return;
+        }
+        throw new IllegalArgumentException("Unsupported response type: " + type.getTypeName());
+    }
+
+    /**
+     * {@link Type#getTypeName()} 형식의 타입 이름 해석 (예: {@code java.util.Map<java.lang.String, java.util.List<Item>>[]})
+     */
+    private ResolvableType parseType(final String typeName, final int[] position) throws ClassNotFoundException {
+        int index = position[0];
+        while (index < typeName.length() && typeName.charAt(index) == ' ') {
+            index++;
+        }
+        final int start = index;
+        while (index < typeName.length() && "<>,[".indexOf(typeName.charAt(index)) < 0) {
+            index++;
+        }
+        final Class<?> rawType = ClassUtils.forName(typeName.substring(start, index).trim(), classLoader);
+        ResolvableType type;
+        if (index < typeName.length() && typeName.charAt(index) == '<') {
+            final List<ResolvableType> arguments = new ArrayList<>();
+            do {
+                position[0] = index + 1;
+                arguments.add(parseType(typeName, position));
+                index = position[0];
+            } while (index < typeName.length() && typeName.charAt(index) == ',');
+            if (index >= typeName.length() || typeName.charAt(index) != '>') {
+                throw new IllegalArgumentException("Unsupported response type: " + typeName);
+            }
+            index++;
+            type = ResolvableType.forClassWithGenerics(rawType, arguments.toArray(new ResolvableType[0]));
+        } else {
+            type = ResolvableType.forClass(rawType);
+        }
+        while (typeName.startsWith("[]", index)) {
+            type = ResolvableType.forArrayComponent(type);
+            index += 2;
+        }
+        position[0] = index;
+        return type;
+    }
+
+    private static String readString(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[readLength(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * null 가능한 문자열 읽기. 길이 + 1을 저장하며, 0은 null이다.
+     */
+    private static String readNullableString(final ByteBuffer buffer) {
+        final int length = readVarInt(buffer);
+        if (length == 0) {
+            return null;
+        }
+        if (length - 1 > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid length " + (length - 1) + ": only " + buffer.remaining()
+                    + " bytes remaining.");
+        }
+        final byte[] bytes = new byte[length - 1];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 길이 읽기. 남은 데이터보다 큰 길이는 손상된 데이터로 보고, 배열을 할당하기 전에 실패한다.
+     */
+    private static int readLength(final ByteBuffer buffer) {
+        final int length = readVarInt(buffer);
+        if (length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid length " + length + ": only " + buffer.remaining()
+                    + " bytes remaining.");
+        }
+        return length;
+    }
+
+    private static int readVarInt(final ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                if (value < 0) {
+                    break;
+                }
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed length.");
+    }
+
+    /**
+     * 크기를 미리 지정할 수 있는 출력 버퍼
+     */
+    private static final class Output extends ByteArrayOutputStream {
+
+        Output(final int size) {
+            super(size);
+        }
+
+        void writeInt(final int value) {
+            write(value >>> 24);
+            write(value >>> 16);
+            write(value >>> 8);
+            write(value);
+        }
+
+        void writeVarInt(final int value) {
+            int remaining = value;
+            while ((remaining & ~0x7F) != 0) {
+                write((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            write(remaining);
+        }
+
+        void writeString(final String value) {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+
+        void writeNullableString(final String value) {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length + 1);
+            write(bytes, 0, bytes.length);
+        }
+    }
+
+    /**
+     * HttpMessageConverter가 작성한 Request Body와 HTTP Header를 보관하는 HttpOutputMessage
+     */
+    private static final class BufferedOutputMessage extends ByteArrayOutputStream implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+
+        @Override
+        public OutputStream getBody() {
+            return this;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public void write(final byte[] bytes) {
+            write(bytes, 0, bytes.length);
+        }
+
+        void copyTo(final ByteArrayOutputStream out) {
+            out.write(buf, 0, count);
+        }
+    }
+
+}
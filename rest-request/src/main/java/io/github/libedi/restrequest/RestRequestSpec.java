@@ -172,6 +172,17 @@ public interface RestRequestSpec<T> {
                     headerValues);
         }
 
+        /**
+         * 공유 HTTP Header 설정. HeaderProfile의 Header는 복사하지 않고 참조하며, 이후 추가 / 변경한 Header만 요청별로 저장한다.
+         * <p>
+         * 먼저 설정한 Header 중 HeaderProfile과 같은 이름의 Header는 설정한 값을 사용한다.
+         * 
+         * @param headerProfile
+         * @return
+         * @throws NullPointerException headerProfile 파라미터가 null인 경우
+         */
+        S headerProfile(HeaderProfile headerProfile);
+
         /**
          * HTTP Header 설정 : Accept
          * 
@@ -337,6 +348,15 @@ public interface RestRequestSpec<T> {
          */
         RestRequestBodySpec<T> body(Object body);
 
+        /**
+         * multipart/mixed 요청의 Request Body 파트 Codec 설정. 설정하지 않으면 {@link MultipartBodyCodec#getDefault()}를 사용한다.
+         * 
+         * @param multipartBodyCodec
+         * @return
+         * @throws NullPointerException multipartBodyCodec 파라미터가 null인 경우
+         */
+        RestRequestBodySpec<T> multipartBodyCodec(MultipartBodyCodec multipartBodyCodec);
+
         /**
          * 파일 첨부
          * 
@@ -363,6 +383,20 @@ public interface RestRequestSpec<T> {
          * @return
          */
         RestRequestBodySpec<T> addFile(String key, MultipartFile multipartFile);
+
+        /**
+         * 파일 첨부 : 스트림 전송.
+         * <p>
+         * 파일 내용을 메모리에 적재하지 않고, 요청 전송 시점에 MultipartFile의 InputStream을 고정 크기 버퍼로 복사한다. 요청당 메모리 사용량을
+         * 파일 크기와 무관하게 유지하려면 RestTemplate의 ClientHttpRequestFactory도 요청 body를 버퍼링하지 않아야 한다. (예:
+         * {@code SimpleClientHttpRequestFactory#setBufferRequestBody(false)}, ClientHttpRequestInterceptor 미사용)
+         * 
+         * @param key           파라미터 key
+         * @param multipartFile MultipartFile
+         * @return
+         * @throws NullPointerException multipartFile 파라미터가 null인 경우
+         */
+        RestRequestBodySpec<T> addFileStream(String key, MultipartFile multipartFile);
     }
 
 }
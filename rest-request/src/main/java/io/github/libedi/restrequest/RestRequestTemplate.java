@@ -0,0 +1,325 @@
+package io.github.libedi.restrequest;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * 미리 컴파일한 재사용 가능한 REST 요청 템플릿
+ * <p>
+ * URI 템플릿, HTTP Method, 고정 요청 헤더, 응답 타입을 한번만 해석하여 보관하고, 요청마다 URI 변수, Query Parameter, Request Body만
+ * 바인딩하여 RestRequest를 생성한다. 불변 객체이므로 static 필드로 선언하여 여러 스레드에서 공유할 수 있다.
+ * 
+ * <pre class="code">
+ * private static final RestRequestTemplate&lt;Item&gt; GET_ITEM = RestRequestTemplate.resp(Item.class)
+ *         .uri("http://www.api.com/items/{id}")
+ *         .method(HttpMethod.GET)
+ *         .accept(MediaType.APPLICATION_JSON)
+ *         .build();
+ * 
+ * RestRequest&lt;Item&gt; restRequest = GET_ITEM.bind(id).addParam("fields", "name").build();
+ * </pre>
+ * 
+ * @author "Sangjun,Park"
+ *
+ * @param <T> 응답 타입
+ */
+public final class RestRequestTemplate<T> {
+
+    private final UriComponents uriComponents;
+    private final HttpMethod method;
+    private final HttpHeaders headers;
+    private final Class<T> responseType;
+    private final ParameterizedTypeReference<T> typeReference;
+
+    private RestRequestTemplate(final Builder<T> builder) {
+        uriComponents = UriComponentsBuilder.fromUriString(builder.uriTemplate).build();
+        method = builder.method;
+        headers = HttpHeaders.readOnlyHttpHeaders(copyOf(builder.headers));
+        responseType = builder.responseType;
+        typeReference = builder.typeReference;
+    }
+
+    /**
+     * T 타입의 응답 타입
+     * 
+     * @param <T>
+     * @param responseType
+     * @return
+     */
+    public static <T> Builder<T> resp(final Class<T> responseType) {
+        return new Builder<>(Objects.requireNonNull(responseType, () -> "Response type must not be null."), null);
+    }
+
+    /**
+     * T 타입의 제네릭 응답 타입
+     * 
+     * @param <T>
+     * @param typeReference
+     * @return
+     */
+    public static <T> Builder<T> resp(final ParameterizedTypeReference<T> typeReference) {
+        return new Builder<>(null, Objects.requireNonNull(typeReference, () -> "Response type must not be null."));
+    }
+
+    /**
+     * 응답값이 없는 경우
+     * 
+     * @return
+     */
+    public static Builder<Void> nonResp() {
+        return new Builder<>(Void.class, null);
+    }
+
+    /**
+     * URI 변수 바인딩
+     * 
+     * @param uriVariables URI 템플릿 변수 값 (순서대로)
+     * @return
+     */
+    public Binding<T> bind(final Object... uriVariables) {
+        return new Binding<>(this, uriVariables == null ? new Object[0] : uriVariables, null);
+    }
+
+    /**
+     * URI 변수 바인딩
+     * 
+     * @param uriVariables URI 템플릿 변수 값
+     * @return
+     * @throws NullPointerException uriVariables 파라미터가 null인 경우
+     */
+    public Binding<T> bind(final Map<String, ?> uriVariables) {
+        return new Binding<>(this, null,
+                Objects.requireNonNull(uriVariables, () -> "URI variables must not be null."));
+    }
+
+    /**
+     * URI 변수만 바인딩하여 RestRequest 생성
+     * 
+     * @param uriVariables URI 템플릿 변수 값 (순서대로)
+     * @return
+     */
+    public RestRequest<T> build(final Object... uriVariables) {
+        return bind(uriVariables).build();
+    }
+
+    /**
+     * URI 변수만 바인딩하여 요청 URI 생성. Form / Multipart 요청처럼 RestRequestSpec으로 요청을 구성하는 경우에도 URI 템플릿을 다시 해석하지 않는다.
+     * 
+     * @param uriVariables URI 템플릿 변수 값 (순서대로)
+     * @return 인코딩된 요청 URI
+     */
+    public URI expand(final Object... uriVariables) {
+        return uriComponents.expand(uriVariables == null ? new Object[0] : uriVariables).encode().toUri();
+    }
+
+    public String getUriTemplate() {
+        return uriComponents.toUriString();
+    }
+
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    /**
+     * 값 목록까지 복사한 HttpHeaders. Builder 재사용이나 Binding의 헤더 추가가 생성된 RestRequestTemplate에 영향을 주지 않도록 한다.
+     */
+    private static HttpHeaders copyOf(final HttpHeaders source) {
+        final HttpHeaders copy = new HttpHeaders();
+        source.forEach((headerName, headerValues) -> copy.put(headerName, new ArrayList<>(headerValues)));
+        return copy;
+    }
+
+    /**
+     * RestRequestTemplate 생성
+     * 
+     * @author "Sangjun,Park"
+     *
+     * @param <T> 응답 타입
+     */
+    public static final class Builder<T> {
+
+        private final Class<T> responseType;
+        private final ParameterizedTypeReference<T> typeReference;
+        private final HttpHeaders headers = new HttpHeaders();
+        private String uriTemplate;
+        private HttpMethod method;
+
+        private Builder(final Class<T> responseType, final ParameterizedTypeReference<T> typeReference) {
+            this.responseType = responseType;
+            this.typeReference = typeReference;
+        }
+
+        /**
+         * 요청 URI 템플릿 설정
+         * 
+         * @param uriTemplate URI 템플릿 (예: http://www.api.com/items/{id})
+         * @return
+         */
+        public Builder<T> uri(final String uriTemplate) {
+            this.uriTemplate = Objects.requireNonNull(uriTemplate, () -> "URI must not be null.");
+            return this;
+        }
+
+        /**
+         * HTTP Method 설정
+         * 
+         * @param method
+         * @return
+         */
+        public Builder<T> method(final HttpMethod method) {
+            this.method = Objects.requireNonNull(method, () -> "HTTP method must not be null.");
+            return this;
+        }
+
+        /**
+         * 고정 요청 헤더 추가
+         * 
+         * @param headerName
+         * @param headerValues
+         * @return
+         */
+        public Builder<T> addHeader(final String headerName, final String... headerValues) {
+            headers.addAll(headerName, Arrays.asList(headerValues));
+            return this;
+        }
+
+        /**
+         * Accept 헤더 설정
+         * 
+         * @param acceptableMediaTypes
+         * @return
+         */
+        public Builder<T> accept(final MediaType... acceptableMediaTypes) {
+            headers.setAccept(Arrays.asList(acceptableMediaTypes));
+            return this;
+        }
+
+        /**
+         * Content-Type 헤더 설정
+         * 
+         * @param contentType
+         * @return
+         */
+        public Builder<T> contentType(final MediaType contentType) {
+            headers.setContentType(contentType);
+            return this;
+        }
+
+        /**
+         * RestRequestTemplate 생성
+         * 
+         * @return
+         * @throws NullPointerException URI 템플릿 또는 HTTP Method를 설정하지 않은 경우
+         */
+        public RestRequestTemplate<T> build() {
+            Objects.requireNonNull(uriTemplate, () -> "URI must not be null.");
+            Objects.requireNonNull(method, () -> "HTTP method must not be null.");
+            return new RestRequestTemplate<>(this);
+        }
+    }
+
+    /**
+     * 요청별 바인딩 정보. 스레드간 공유하지 않는다.
+     * 
+     * @author "Sangjun,Park"
+     *
+     * @param <T> 응답 타입
+     */
+    public static final class Binding<T> {
+
+        private final RestRequestTemplate<T> template;
+        private final Object[] uriVariableValues;
+        private final Map<String, ?> uriVariables;
+        private MultiValueMap<String, Object> queryParams;
+        private HttpHeaders headers;
+        private Object body;
+
+        private Binding(final RestRequestTemplate<T> template, final Object[] uriVariableValues,
+                final Map<String, ?> uriVariables) {
+            this.template = template;
+            this.uriVariableValues = uriVariableValues;
+            this.uriVariables = uriVariables;
+        }
+
+        /**
+         * Query Parameter 추가
+         * 
+         * @param key
+         * @param values
+         * @return
+         */
+        public Binding<T> addParam(final String key, final Object... values) {
+            Objects.requireNonNull(key, () -> "Key must not be null.");
+            if (queryParams == null) {
+                queryParams = new LinkedMultiValueMap<>();
+            }
+            queryParams.addAll(key, values == null ? Collections.singletonList(null) : Arrays.asList(values));
+            return this;
+        }
+
+        /**
+         * 요청 헤더 추가
+         * 
+         * @param headerName
+         * @param headerValue
+         * @return
+         */
+        public Binding<T> addHeader(final String headerName, final String headerValue) {
+            if (headers == null) {
+                headers = copyOf(template.headers);
+            }
+            headers.add(headerName, headerValue);
+            return this;
+        }
+
+        /**
+         * Request Body 설정
+         * 
+         * @param body
+         * @return
+         * @throws IllegalStateException POST / PUT / PATCH 요청이 아닌 경우
+         */
+        public Binding<T> body(final Object body) {
+            final HttpMethod method = template.method;
+            if (method != HttpMethod.POST && method != HttpMethod.PUT && method != HttpMethod.PATCH) {
+                throw new IllegalStateException("Request body is not allowed for " + method + " request.");
+            }
+            this.body = body;
+            return this;
+        }
+
+        /**
+         * RestRequest 생성. Header는 생성 시점의 값을 복사하므로, 이후 Binding을 재사용해도 이미 생성한 RestRequest는 변경되지 않는다.
+         * 
+         * @return
+         */
+        public RestRequest<T> build() {
+            final URI uri = uriVariables == null ? template.expand(uriVariableValues)
+                    : template.uriComponents.expand(uriVariables).encode().toUri();
+            return new RestRequest<>(queryParams == null ? uri : QueryStringEncoder.append(uri, queryParams),
+                    template.method,
+                    new HttpEntity<>(body,
+                            headers == null ? template.headers : HttpHeaders.readOnlyHttpHeaders(copyOf(headers))),
+                    template.responseType, template.typeReference);
+        }
+    }
+
+}
@@ -0,0 +1,533 @@
+package io.github.libedi.restrequest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+/**
+ * 멱등(idempotent) 요청을 재시도하고, 응답이 지연되면 중복 요청(hedged request)을 전송하는 Adapter
+ * <p>
+ * GET / HEAD / OPTIONS / PUT / DELETE / TRACE 요청이 재시도 가능한 예외로 실패하면, 지수 백오프(exponential backoff)와
+ * jitter를 적용한 대기 후 재시도한다. 기본적으로 I/O 오류({@link ResourceAccessException})와 429 / 502 / 503 / 504 응답을 재시도한다.
+ * <p>
+ * hedging을 설정하면, 요청이 지금까지 관측한 성공 응답시간의 지정 백분위를 초과할 때 같은 요청을 한번 더 전송하고, 먼저 성공한 응답을 반환하며 남은
+ * 요청은 취소한다. (취소 여부는 RestClientAdapter의 sendAsync 구현에 따른다.)
+ * <p>
+ * 재시도와 중복 요청은 재시도 예산(retry budget)을 사용한다. 예산은 요청마다 지정 비율만큼 적립되고, 재시도 / 중복 요청마다 1씩 차감되므로 장애
+ * 상황에서도 추가 요청 수는 전체 요청 수의 지정 비율(과 최소 재시도 횟수) 이내로 제한된다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+public class RetryRestClientAdapter implements RestClientAdapter {
+
+    private final RestClientAdapter restClientAdapter;
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final Predicate<Throwable> retryable;
+    private final RetryBudget budget;
+    private final double hedgeQuantile;
+    private final long minHedgeDelayNanos;
+    private final ScheduledExecutorService scheduler;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLong hedgeDelay = new AtomicLong(-1);
+    private volatile long hedgeDelayUpdatedAt;
+    private final LongAdder retryCount = new LongAdder();
+    private final LongAdder hedgeCount = new LongAdder();
+
+    private RetryRestClientAdapter(final Builder builder) {
+        restClientAdapter = builder.restClientAdapter;
+        maxAttempts = builder.maxAttempts;
+        initialBackoffNanos = builder.initialBackoff.toNanos();
+        maxBackoffNanos = builder.maxBackoff.toNanos();
+        retryable = builder.retryable;
+        budget = new RetryBudget(builder.budgetRatio, builder.minRetries);
+        hedgeQuantile = builder.hedgeQuantile;
+        minHedgeDelayNanos = builder.minHedgeDelay.toNanos();
+        scheduler = builder.scheduler == null ? DefaultScheduler.get() : builder.scheduler;
+    }
+
+    /**
+     * RetryRestClientAdapter 생성
+     * 
+     * @param restClientAdapter 요청을 전송할 RestClientAdapter
+     * @return
+     * @throws IllegalArgumentException restClientAdapter 파라미터가 null인 경우
+     */
+    public static Builder builder(final RestClientAdapter restClientAdapter) {
+        if (restClientAdapter == null) {
+            throw new IllegalArgumentException("RestClientAdapter must not be null.");
+        }
+        return new Builder(restClientAdapter);
+    }
+
+    /**
+     * 기본 재시도 조건 : I/O 오류, 429 / 502 / 503 / 504 응답
+     * 
+     * @param error 요청 실패 원인
+     * @return 재시도 가능하면 true
+     */
+    public static boolean isRetryable(final Throwable error) {
+        if (error instanceof ResourceAccessException) {
+            return true;
+        }
+        if (error instanceof RestClientResponseException) {
+            final int status = ((RestClientResponseException) error).getRawStatusCode();
+            return status == HttpStatus.TOO_MANY_REQUESTS.value() || status == HttpStatus.BAD_GATEWAY.value()
+                    || status == HttpStatus.SERVICE_UNAVAILABLE.value()
+                    || status == HttpStatus.GATEWAY_TIMEOUT.value();
+        }
+        return false;
+    }
+
+    @Override
+    public <T> ResponseEntity<T> send(final RestRequest<T> restRequest) {
+        if (!isIdempotent(restRequest)) {
+            return restClientAdapter.send(restRequest);
+        }
+        if (hedgeQuantile > 0) {
+            try {
+                return sendAsync(restRequest).join();
+            } catch (final CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e;
+            }
+        }
+        return retry(() -> restClientAdapter.send(restRequest), true);
+    }
+
+    /**
+     * 멱등 요청은 응답 Stream을 반환하기 전까지 발생한 예외에 대해 재시도하며, 반환한 Stream을 읽는 중 발생한 예외는 재시도하지 않는다. 중복
+     * 요청(hedged request)은 전송하지 않는다.
+     */
+    @Override
+    public <T> Stream<T> sendForStream(final RestRequest<T> restRequest) {
+        if (!isIdempotent(restRequest)) {
+            return restClientAdapter.sendForStream(restRequest);
+        }
+        return retry(() -> restClientAdapter.sendForStream(restRequest), false);
+    }
+
+    /**
+     * 멱등 요청은 파일 저장까지 실패하면 재시도한다. 실패한 시도는 대상 파일을 변경하지 않는다. 중복 요청(hedged request)은 전송하지 않는다.
+     */
+    @Override
+    public ResponseEntity<Long> sendToFile(final RestRequest<?> restRequest, final Path path) {
+        if (!isIdempotent(restRequest)) {
+            return restClientAdapter.sendToFile(restRequest, path);
+        }
+        return retry(() -> restClientAdapter.sendToFile(restRequest, path), false);
+    }
+
+    @Override
+    public <T> CompletableFuture<ResponseEntity<T>> sendAsync(final RestRequest<T> restRequest) {
+        if (!isIdempotent(restRequest)) {
+            return restClientAdapter.sendAsync(restRequest);
+        }
+        return new Execution<>(restRequest, restClientAdapter::sendAsync).start();
+    }
+
+    @Override
+    public <T> CompletableFuture<ResponseEntity<T>> sendAsync(final RestRequest<T> restRequest,
+            final Executor executor) {
+        Objects.requireNonNull(executor, () -> "Executor must not be null.");
+        if (!isIdempotent(restRequest)) {
+            return restClientAdapter.sendAsync(restRequest, executor);
+        }
+        return new Execution<>(restRequest, request -> restClientAdapter.sendAsync(request, executor)).start();
+    }
+
+    /**
+     * 재시도 횟수
+     * 
+     * @return retry count
+     */
+    public long getRetryCount() {
+        return retryCount.sum();
+    }
+
+    /**
+     * 중복 요청(hedged request) 전송 횟수
+     * 
+     * @return hedge count
+     */
+    public long getHedgeCount() {
+        return hedgeCount.sum();
+    }
+
+    /**
+     * 성공 응답시간 히스토그램. 중복 요청 전송 시점 계산에 사용한다.
+     * 
+     * @return latency histogram
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * 재시도 가능한 예외로 실패하면 백오프 후 재시도
+     */
+    private <R> R retry(final Supplier<R> call, final boolean recordLatency) {
+        budget.deposit();
+        int attempt = 1;
+        while (true) {
+            final long start = System.nanoTime();
+            try {
+                final R result = call.get();
+                if (recordLatency) {
+                    latency.record(System.nanoTime() - start);
+                }
+                return result;
+            } catch (final RuntimeException e) {
+                if (attempt >= maxAttempts || !retryable.test(e) || !budget.tryWithdraw()) {
+                    throw e;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.sleep(backoff(attempt));
+                } catch (final InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+                retryCount.increment();
+                attempt++;
+            }
+        }
+    }
+
+    private static boolean isIdempotent(final RestRequest<?> restRequest) {
+        if (restRequest == null) {
+            throw new IllegalArgumentException("RestRequest must not be null.");
+        }
+        final HttpMethod method = restRequest.getMethod();
+        return method == HttpMethod.GET || method == HttpMethod.HEAD || method == HttpMethod.OPTIONS
+                || method == HttpMethod.PUT || method == HttpMethod.DELETE || method == HttpMethod.TRACE;
+    }
+
+    /**
+     * 지수 백오프 대기시간 : 최대값의 절반 + 0 ~ 절반 사이의 임의 값 (equal jitter)
+     */
+    private long backoff(final int attempt) {
+        final long exponential = initialBackoffNanos << Math.min(attempt - 1, 30);
+        final long cap = exponential < 0 ? maxBackoffNanos : Math.min(exponential, maxBackoffNanos);
+        final long half = cap / 2;
+        return half + (half > 0 ? ThreadLocalRandom.current().nextLong(half + 1) : 0);
+    }
+
+    /**
+     * 중복 요청 대기시간. 관측한 성공 응답시간이 부족하면 -1
+     */
+    private long hedgeDelay() {
+        final long now = System.nanoTime();
+        if (hedgeDelay.get() < 0 || now - hedgeDelayUpdatedAt > TimeUnit.SECONDS.toNanos(1)) {
+            hedgeDelayUpdatedAt = now;
+            hedgeDelay.set(latency.getCount() < Builder.MIN_HEDGE_SAMPLES ? -1
+                    : Math.max(latency.getValueAtQuantile(hedgeQuantile), minHedgeDelayNanos));
+        }
+        return hedgeDelay.get();
+    }
+
+    /**
+     * 비동기 요청 실행 상태. 상태 변경은 synchronized로 보호한다.
+     */
+    private final class Execution<T> {
+        private final RestRequest<T> restRequest;
+        private final Function<RestRequest<T>, CompletableFuture<ResponseEntity<T>>> sender;
+        private final CompletableFuture<ResponseEntity<T>> result = new CompletableFuture<>();
+        private final List<CompletableFuture<ResponseEntity<T>>> inFlight = new ArrayList<>(2);
+        private int attempt;
+        private int pending;
+        private ScheduledFuture<?> hedgeTimer;
+        private Throwable lastError;
+
+        Execution(final RestRequest<T> restRequest,
+                final Function<RestRequest<T>, CompletableFuture<ResponseEntity<T>>> sender) {
+            this.restRequest = restRequest;
+            this.sender = sender;
+        }
+
+        CompletableFuture<ResponseEntity<T>> start() {
+            budget.deposit();
+            startRound();
+            return result;
+        }
+
+        private synchronized void startRound() {
+            if (result.isDone()) {
+                return;
+            }
+            attempt++;
+            inFlight.clear();
+            pending = 1;
+            final int round = attempt;
+            if (hedgeQuantile > 0) {
+                final long delay = hedgeDelay();
+                if (delay >= 0) {
+                    hedgeTimer = scheduler.schedule(() -> hedge(round), delay, TimeUnit.NANOSECONDS);
+                }
+            }
+            launch(round);
+        }
+
+        private synchronized void hedge(final int round) {
+            hedgeTimer = null;
+            if (result.isDone() || round != attempt || pending == 0 || !budget.tryWithdraw()) {
+                return;
+            }
+            pending++;
+            hedgeCount.increment();
+            launch(round);
+        }
+
+        private void launch(final int round) {
+            final long start = System.nanoTime();
+            CompletableFuture<ResponseEntity<T>> future;
+            try {
+                future = sender.apply(restRequest);
+            } catch (final RuntimeException e) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+            }
+            inFlight.add(future);
+            future.whenComplete((response, error) -> complete(round, start, response, error));
+        }
+
+        private synchronized void complete(final int round, final long start, final ResponseEntity<T> response,
+                final Throwable error) {
+            if (result.isDone() || round != attempt) {
+                return;
+            }
+            if (error == null) {
+                latency.record(System.nanoTime() - start);
+                result.complete(response);
+                cancelRemaining();
+                return;
+            }
+            lastError = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (--pending > 0) {
+                return;
+            }
+            if (hedgeTimer != null) {
+                hedgeTimer.cancel(false);
+                hedgeTimer = null;
+            }
+            if (attempt >= maxAttempts || !retryable.test(lastError) || !budget.tryWithdraw()) {
+                result.completeExceptionally(lastError);
+                return;
+            }
+            retryCount.increment();
+            scheduler.schedule(this::startRound, backoff(attempt), TimeUnit.NANOSECONDS);
+        }
+
+        private void cancelRemaining() {
+            if (hedgeTimer != null) {
+                hedgeTimer.cancel(false);
+                hedgeTimer = null;
+            }
+            for (final CompletableFuture<ResponseEntity<T>> future : inFlight) {
+                if (!future.isDone()) {
+                    future.cancel(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * 재시도 예산. 1000분의 1 단위로 적립 / 차감한다.
+     */
+    private static final class RetryBudget {
+        private final long deposit;
+        private final long capacity;
+        private final AtomicLong balance;
+
+        RetryBudget(final double ratio, final int minRetries) {
+            deposit = Math.round(ratio * 1000);
+            capacity = Math.max(minRetries, 1) * 1000L;
+            balance = new AtomicLong(minRetries * 1000L);
+        }
+
+        void deposit() {
+            long current;
+            while ((current = balance.get()) < capacity
+                    && !balance.compareAndSet(current, Math.min(current + deposit, capacity))) {
+                // retry
+            }
+        }
+
+        boolean tryWithdraw() {
+            long current;
+            while ((current = balance.get()) >= 1000) {
+                if (balance.compareAndSet(current, current - 1000)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * RetryRestClientAdapter 설정
+     * 
+     * @author "Sangjun,Park"
+     *
+     */
+    public static final class Builder {
+
+        private static final int MIN_HEDGE_SAMPLES = 20;
+
+        private final RestClientAdapter restClientAdapter;
+        private int maxAttempts = 3;
+        private Duration initialBackoff = Duration.ofMillis(100);
+        private Duration maxBackoff = Duration.ofSeconds(2);
+        private Predicate<Throwable> retryable = RetryRestClientAdapter::isRetryable;
+        private double budgetRatio = 0.1;
+        private int minRetries = 10;
+        private double hedgeQuantile;
+        private Duration minHedgeDelay = Duration.ZERO;
+        private ScheduledExecutorService scheduler;
+
+        private Builder(final RestClientAdapter restClientAdapter) {
+            this.restClientAdapter = restClientAdapter;
+        }
+
+        /**
+         * 최대 시도 횟수 설정. 최초 요청을 포함한다. (기본값: 3)
+         * 
+         * @param maxAttempts
+         * @return
+         * @throws IllegalArgumentException maxAttempts 파라미터가 1보다 작은 경우
+         */
+        public Builder maxAttempts(final int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("Max attempts must be greater than 0.");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * 지수 백오프 대기시간 설정. 재시도마다 2배씩 증가한다. (기본값: 100ms ~ 2s)
+         * 
+         * @param initialBackoff 첫번째 재시도 대기시간
+         * @param maxBackoff     최대 대기시간
+         * @return
+         * @throws IllegalArgumentException 대기시간이 null이거나 음수인 경우, 또는 maxBackoff가 initialBackoff보다 작은 경우
+         */
+        public Builder backoff(final Duration initialBackoff, final Duration maxBackoff) {
+            if (initialBackoff == null || maxBackoff == null || initialBackoff.isNegative()
+                    || maxBackoff.compareTo(initialBackoff) < 0) {
+                throw new IllegalArgumentException("Backoff must be positive and max backoff must not be less "
+                        + "than initial backoff.");
+            }
+            this.initialBackoff = initialBackoff;
+            this.maxBackoff = maxBackoff;
+            return this;
+        }
+
+        /**
+         * 재시도 조건 설정 (기본값: {@link RetryRestClientAdapter#isRetryable(Throwable)})
+         * 
+         * @param retryable
+         * @return
+         * @throws IllegalArgumentException retryable 파라미터가 null인 경우
+         */
+        public Builder retryOn(final Predicate<Throwable> retryable) {
+            if (retryable == null) {
+                throw new IllegalArgumentException("Retry predicate must not be null.");
+            }
+            this.retryable = retryable;
+            return this;
+        }
+
+        /**
+         * 재시도 예산 설정. 재시도 / 중복 요청은 전체 요청의 ratio 비율과 minRetries 이내로 제한된다. (기본값: 0.1, 10)
+         * 
+         * @param ratio      요청당 적립 비율
+         * @param minRetries 최소 재시도 가능 횟수 (예산 최대값)
+         * @return
+         * @throws IllegalArgumentException ratio 파라미터가 음수이거나, minRetries 파라미터가 음수인 경우
+         */
+        public Builder retryBudget(final double ratio, final int minRetries) {
+            if (ratio < 0 || Double.isNaN(ratio) || minRetries < 0) {
+                throw new IllegalArgumentException("Retry budget must not be negative.");
+            }
+            budgetRatio = ratio;
+            this.minRetries = minRetries;
+            return this;
+        }
+
+        /**
+         * 중복 요청(hedged request) 설정. 요청이 성공 응답시간의 quantile 백분위 값(최소 minDelay)을 초과하면 중복 요청을 전송한다. 성공
+         * 응답이 20개 이상 관측된 이후부터 적용한다.
+         * 
+         * @param quantile 0.0 ~ 1.0 사이의 백분위 (예: 0.95)
+         * @param minDelay 최소 대기시간
+         * @return
+         * @throws IllegalArgumentException quantile 파라미터가 0.0 초과 1.0 이하의 값이 아니거나, minDelay 파라미터가 null이거나
+         *                                  음수인 경우
+         */
+        public Builder hedge(final double quantile, final Duration minDelay) {
+            if (!(quantile > 0 && quantile <= 1)) {
+                throw new IllegalArgumentException("Hedge quantile must be greater than 0.0 and at most 1.0.");
+            }
+            if (minDelay == null || minDelay.isNegative()) {
+                throw new IllegalArgumentException("Min hedge delay must not be negative.");
+            }
+            hedgeQuantile = quantile;
+            minHedgeDelay = minDelay;
+            return this;
+        }
+
+        /**
+         * 재시도 / 중복 요청 예약에 사용할 Scheduler 설정. (기본값: 공유 daemon 스레드)
+         * 
+         * @param scheduler
+         * @return
+         * @throws IllegalArgumentException scheduler 파라미터가 null인 경우
+         */
+        public Builder scheduler(final ScheduledExecutorService scheduler) {
+            if (scheduler == null) {
+                throw new IllegalArgumentException("Scheduler must not be null.");
+            }
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        /**
+         * RetryRestClientAdapter 생성
+         * 
+         * @return
+         */
+        public RetryRestClientAdapter build() {
+            return new RetryRestClientAdapter(this);
+        }
+    }
+
+}
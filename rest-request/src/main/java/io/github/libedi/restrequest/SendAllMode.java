@@ -0,0 +1,21 @@
+package io.github.libedi.restrequest;
+
+/**
+ * 일괄 요청 전송시 요청 실패 처리 방식
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+public enum SendAllMode {
+
+    /**
+     * 첫번째 요청 실패시 남은 요청을 전송하지 않고, 해당 실패 원인으로 종료한다.
+     */
+    FAIL_FAST,
+
+    /**
+     * 요청 실패와 관계없이 모든 요청을 전송하고, 요청별 성공/실패 결과를 반환한다.
+     */
+    COLLECT_ALL;
+
+}
@@ -0,0 +1,63 @@
+package io.github.libedi.restrequest;
+
+import org.springframework.http.ResponseEntity;
+
+/**
+ * 일괄 요청 전송시 개별 요청의 전송 결과
+ * 
+ * @author "Sangjun,Park"
+ *
+ * @param <T> 응답 타입
+ */
+public final class SendResult<T> {
+
+    private final ResponseEntity<T> response;
+    private final Throwable error;
+
+    private SendResult(final ResponseEntity<T> response, final Throwable error) {
+        this.response = response;
+        this.error = error;
+    }
+
+    static <T> SendResult<T> success(final ResponseEntity<T> response) {
+        return new SendResult<>(response, null);
+    }
+
+    static <T> SendResult<T> failure(final Throwable error) {
+        return new SendResult<>(null, error);
+    }
+
+    /**
+     * 요청 성공 여부
+     * 
+     * @return 응답을 받은 경우 true
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * 응답 조회
+     * 
+     * @return the response as entity. 요청이 실패한 경우 null
+     */
+    public ResponseEntity<T> getResponse() {
+        return response;
+    }
+
+    /**
+     * 요청 실패 원인 조회
+     * 
+     * @return 요청 실패 원인. 요청이 성공한 경우 null
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess() ? "SendResult[success: " + response.getStatusCodeValue() + "]"
+                : "SendResult[failure: " + error + "]";
+    }
+
+}
@@ -0,0 +1,246 @@
+package io.github.libedi.restrequest;
+
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * 동일한 요청이 전송 중인 경우, 새로 전송하지 않고 전송 중인 요청의 응답을 공유하는 Adapter
+ * <p>
+ * Request Body가 없는 GET / HEAD 요청만 대상이며, HTTP Method, URI, 응답 타입과 요청 헤더가 모두 같으면 동일한 요청으로 판단한다. 비교할
+ * 요청 헤더를 지정하지 않으면 모든 요청 헤더를 비교한다. 응답을 공유하는 호출자들은 같은 ResponseEntity 객체를 받으므로, 응답 객체를 변경하지
+ * 않아야 한다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+public class SingleFlightRestClientAdapter implements RestClientAdapter {
+
+    private final RestClientAdapter restClientAdapter;
+    private final Set<String> keyHeaders;
+    private final ConcurrentMap<FlightKey, CompletableFuture<ResponseEntity<?>>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * SingleFlightRestClientAdapter 생성. 모든 요청 헤더를 비교한다.
+     * 
+     * @param restClientAdapter 요청을 전송할 RestClientAdapter
+     * @throws IllegalArgumentException restClientAdapter 파라미터가 null인 경우
+     */
+    public SingleFlightRestClientAdapter(final RestClientAdapter restClientAdapter) {
+        this(restClientAdapter, null);
+    }
+
+    /**
+     * SingleFlightRestClientAdapter 생성
+     * 
+     * @param restClientAdapter 요청을 전송할 RestClientAdapter
+     * @param keyHeaders        동일한 요청 여부를 판단할 때 비교할 요청 헤더 이름. null이면 모든 요청 헤더를 비교한다.
+     * @throws IllegalArgumentException restClientAdapter 파라미터가 null인 경우
+     */
+    public SingleFlightRestClientAdapter(final RestClientAdapter restClientAdapter,
+            final Collection<String> keyHeaders) {
+        if (restClientAdapter == null) {
+            throw new IllegalArgumentException("RestClientAdapter must not be null.");
+        }
+        this.restClientAdapter = restClientAdapter;
+        if (keyHeaders == null) {
+            this.keyHeaders = null;
+        } else {
+            final Set<String> headerNames = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            headerNames.addAll(keyHeaders);
+            this.keyHeaders = Collections.unmodifiableSet(headerNames);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> ResponseEntity<T> send(final RestRequest<T> restRequest) {
+        final FlightKey key = createKey(restRequest);
+        if (key == null) {
+            return restClientAdapter.send(restRequest);
+        }
+        final CompletableFuture<ResponseEntity<?>> flight = new CompletableFuture<>();
+        final CompletableFuture<ResponseEntity<?>> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            return (ResponseEntity<T>) join(existing);
+        }
+        try {
+            final ResponseEntity<T> response = restClientAdapter.send(restRequest);
+            inFlight.remove(key, flight);
+            flight.complete(response);
+            return response;
+        } catch (final RuntimeException | Error e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 응답 Stream은 호출자별로 읽어야 하므로 공유하지 않고 감싼 Adapter로 전송한다.
+     */
+    @Override
+    public <T> Stream<T> sendForStream(final RestRequest<T> restRequest) {
+        return restClientAdapter.sendForStream(restRequest);
+    }
+
+    /**
+     * 호출자별로 파일을 저장하므로 공유하지 않고 감싼 Adapter로 전송한다.
+     */
+    @Override
+    public ResponseEntity<Long> sendToFile(final RestRequest<?> restRequest, final Path path) {
+        return restClientAdapter.sendToFile(restRequest, path);
+    }
+
+    @Override
+    public <T> CompletableFuture<ResponseEntity<T>> sendAsync(final RestRequest<T> restRequest) {
+        return coalesce(restRequest, restClientAdapter::sendAsync);
+    }
+
+    @Override
+    public <T> CompletableFuture<ResponseEntity<T>> sendAsync(final RestRequest<T> restRequest,
+            final Executor executor) {
+        Objects.requireNonNull(executor, () -> "Executor must not be null.");
+        return coalesce(restRequest, request -> restClientAdapter.sendAsync(request, executor));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<ResponseEntity<T>> coalesce(final RestRequest<T> restRequest,
+            final Function<RestRequest<T>, CompletableFuture<ResponseEntity<T>>> sender) {
+        final FlightKey key = createKey(restRequest);
+        if (key == null) {
+            return sender.apply(restRequest);
+        }
+        final CompletableFuture<ResponseEntity<?>> flight = new CompletableFuture<>();
+        final CompletableFuture<ResponseEntity<?>> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            return existing.thenApply(response -> (ResponseEntity<T>) response);
+        }
+        CompletableFuture<ResponseEntity<T>> response;
+        try {
+            response = sender.apply(restRequest);
+        } catch (final RuntimeException e) {
+            response = new CompletableFuture<>();
+            response.completeExceptionally(e);
+        }
+        response.whenComplete((entity, error) -> {
+            inFlight.remove(key, flight);
+            if (error == null) {
+                flight.complete(entity);
+            } else {
+                flight.completeExceptionally(error);
+            }
+        });
+        return flight.thenApply(entity -> (ResponseEntity<T>) entity);
+    }
+
+    private static ResponseEntity<?> join(final CompletableFuture<ResponseEntity<?>> flight) {
+        try {
+            return flight.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 전송 중인 요청 개수
+     * 
+     * @return 응답을 공유할 수 있는 전송 중인 요청 개수
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private FlightKey createKey(final RestRequest<?> restRequest) {
+        if (restRequest == null) {
+            throw new IllegalArgumentException("RestRequest must not be null.");
+        }
+        final HttpMethod method = restRequest.getMethod();
+        if (method != HttpMethod.GET && method != HttpMethod.HEAD) {
+            return null;
+        }
+        if (restRequest.getHttpEntity() != null && restRequest.getHttpEntity().hasBody()) {
+            return null;
+        }
+        final Map<String, List<String>> headers = new TreeMap<>();
+        if (restRequest.getHttpEntity() != null) {
+            final HttpHeaders requestHeaders = restRequest.getHttpEntity().getHeaders();
+            for (final Entry<String, List<String>> header : requestHeaders.entrySet()) {
+                if (keyHeaders == null || keyHeaders.contains(header.getKey())) {
+                    headers.computeIfAbsent(header.getKey().toLowerCase(Locale.ROOT), name -> new ArrayList<>())
+                            .addAll(header.getValue());
+                }
+            }
+        }
+        final Type responseType = restRequest.getTypeReference() == null ? restRequest.getResponseType()
+                : restRequest.getTypeReference().getType();
+        return new FlightKey(method, restRequest.getUri(), responseType, headers);
+    }
+
+    /**
+     * 동일한 요청 여부를 판단하는 Key
+     */
+    private static final class FlightKey {
+        private final HttpMethod method;
+        private final URI uri;
+        private final Type responseType;
+        private final Map<String, List<String>> headers;
+        private final int hash;
+
+        FlightKey(final HttpMethod method, final URI uri, final Type responseType,
+                final Map<String, List<String>> headers) {
+            this.method = method;
+            this.uri = uri;
+            this.responseType = responseType;
+            this.headers = headers;
+            hash = Objects.hash(method, uri, responseType, headers);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof FlightKey)) {
+                return false;
+            }
+            final FlightKey other = (FlightKey) obj;
+            return method == other.method && Objects.equals(uri, other.uri)
+                    && Objects.equals(responseType, other.responseType) && headers.equals(other.headers);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+}
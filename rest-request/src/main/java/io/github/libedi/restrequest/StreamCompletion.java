@@ -0,0 +1,76 @@
+package io.github.libedi.restrequest;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 응답 Stream의 완료 시점에 한번만 실행할 작업 등록. 지표 기록, 동시 요청 개수 반환처럼 응답 Stream을 다 읽거나 닫을 때 처리해야 하는 작업에 사용한다.
+ * <p>
+ * 요소를 모두 읽은 경우, 요소를 읽는 중 예외가 발생한 경우, Stream을 닫은 경우 중 먼저 발생한 시점에 작업을 실행한다. 요소를 읽는 중 발생한 예외는
+ * 작업에 전달하며, 그 외에는 null을 전달한다.
+ *
+ * @author "Sangjun,Park"
+ *
+ */
+final class StreamCompletion {
+
+    private StreamCompletion() {
+    }
+
+    /**
+     * 완료 작업을 등록한 Stream 생성. 반환한 Stream을 닫으면 원래 Stream을 닫는다.
+     *
+     * @param stream     응답 Stream
+     * @param onComplete 완료 작업. 요소를 읽는 중 발생한 예외 또는 null을 전달한다.
+     * @return 완료 작업을 등록한 Stream
+     */
+    static <T> Stream<T> of(final Stream<T> stream, final Consumer<Throwable> onComplete) {
+        final AtomicBoolean completed = new AtomicBoolean();
+        final Consumer<Throwable> complete = error -> {
+            if (completed.compareAndSet(false, true)) {
+                onComplete.accept(error);
+            }
+        };
+        final Iterator<T> source = stream.iterator();
+        final Iterator<T> iterator = new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                final boolean hasNext;
+                try {
+                    hasNext = source.hasNext();
+                } catch (final RuntimeException | Error e) {
+                    complete.accept(e);
+                    throw e;
+                }
+                if (!hasNext) {
+                    complete.accept(null);
+                }
+                return hasNext;
+            }
+
+            @Override
+            public T next() {
+                try {
+                    return source.next();
+                } catch (final RuntimeException | Error e) {
+                    complete.accept(e);
+                    throw e;
+                }
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    try {
+                        stream.close();
+                    } finally {
+                        complete.accept(null);
+                    }
+                });
+    }
+
+}
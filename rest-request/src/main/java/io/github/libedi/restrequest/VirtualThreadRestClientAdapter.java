@@ -0,0 +1,145 @@
+package io.github.libedi.restrequest;
+
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.springframework.http.ResponseEntity;
+
+/**
+ * 비동기 요청을 가상 스레드(Virtual Thread)에서 전송하는 Adapter
+ * <p>
+ * Java 21 이상에서는 {@code Executors.newVirtualThreadPerTaskExecutor()}로 요청마다 가상 스레드를 생성하여, 스레드 풀 크기와 무관하게
+ * 대량의 blocking 요청을 동시에 처리한다. 가상 스레드를 지원하지 않는 JDK에서는 지정한 fallback Executor를 사용한다. 가상 스레드 지원 여부는
+ * 실행 시점에 확인하므로 Java 8 환경에서도 그대로 사용할 수 있다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+public class VirtualThreadRestClientAdapter implements RestClientAdapter {
+
+    private final RestClientAdapter restClientAdapter;
+    private final Executor executor;
+
+    /**
+     * VirtualThreadRestClientAdapter 생성. 가상 스레드를 지원하지 않으면 daemon 스레드를 사용하는 cached thread pool을 사용한다.
+     * 
+     * @param restClientAdapter 요청을 전송할 RestClientAdapter
+     * @throws IllegalArgumentException restClientAdapter 파라미터가 null인 경우
+     */
+    public VirtualThreadRestClientAdapter(final RestClientAdapter restClientAdapter) {
+        this(restClientAdapter, VirtualThreads.isSupported() ? VirtualThreads.executor() : FallbackExecutor.INSTANCE);
+    }
+
+    /**
+     * VirtualThreadRestClientAdapter 생성
+     * 
+     * @param restClientAdapter 요청을 전송할 RestClientAdapter
+     * @param fallbackExecutor  가상 스레드를 지원하지 않는 경우 사용할 Executor
+     * @throws IllegalArgumentException restClientAdapter 또는 fallbackExecutor 파라미터가 null인 경우
+     */
+    public VirtualThreadRestClientAdapter(final RestClientAdapter restClientAdapter, final Executor fallbackExecutor) {
+        if (restClientAdapter == null) {
+            throw new IllegalArgumentException("RestClientAdapter must not be null.");
+        }
+        if (fallbackExecutor == null) {
+            throw new IllegalArgumentException("Fallback executor must not be null.");
+        }
+        this.restClientAdapter = restClientAdapter;
+        executor = VirtualThreads.isSupported() ? VirtualThreads.executor() : fallbackExecutor;
+    }
+
+    /**
+     * 현재 JVM의 가상 스레드 지원 여부
+     * 
+     * @return Java 21 이상(또는 미리보기 기능을 활성화한 Java 19 / 20)에서 실행 중이면 true
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VirtualThreads.isSupported();
+    }
+
+    @Override
+    public <T> ResponseEntity<T> send(final RestRequest<T> restRequest) {
+        return restClientAdapter.send(restRequest);
+    }
+
+    @Override
+    public <T> Optional<T> sendForBody(final RestRequest<T> restRequest) {
+        return restClientAdapter.sendForBody(restRequest);
+    }
+
+    @Override
+    public <T> Stream<T> sendForStream(final RestRequest<T> restRequest) {
+        return restClientAdapter.sendForStream(restRequest);
+    }
+
+    @Override
+    public ResponseEntity<Long> sendToFile(final RestRequest<?> restRequest, final Path path) {
+        return restClientAdapter.sendToFile(restRequest, path);
+    }
+
+    @Override
+    public <T> CompletableFuture<ResponseEntity<T>> sendAsync(final RestRequest<T> restRequest) {
+        return sendAsync(restRequest, executor);
+    }
+
+    @Override
+    public <T> CompletableFuture<ResponseEntity<T>> sendAsync(final RestRequest<T> restRequest,
+            final Executor executor) {
+        return CompletableFuture.supplyAsync(() -> restClientAdapter.send(restRequest),
+                Objects.requireNonNull(executor, () -> "Executor must not be null."));
+    }
+
+    /**
+     * 가상 스레드 Executor. Java 21 API를 실행 시점에 조회한다.
+     */
+    private static final class VirtualThreads {
+
+        private static final ExecutorService EXECUTOR = newVirtualThreadPerTaskExecutor();
+
+        private static ExecutorService newVirtualThreadPerTaskExecutor() {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (final NoSuchMethodException | IllegalAccessException e) {
+                // API가 없는 경우(Java 19 미만) fallback Executor를 사용한다.
+                return null;
+            } catch (final InvocationTargetException e) {
+                if (e.getCause() instanceof UnsupportedOperationException) {
+                    // 미리보기 기능이 비활성화된 경우(Java 19 / 20) fallback Executor를 사용한다.
+                    return null;
+                }
+                throw new IllegalStateException("Failed to create virtual thread executor.", e.getCause());
+            }
+        }
+
+        static boolean isSupported() {
+            return EXECUTOR != null;
+        }
+
+        static Executor executor() {
+            return EXECUTOR;
+        }
+    }
+
+    /**
+     * 가상 스레드를 지원하지 않는 경우의 기본 Executor
+     */
+    private static final class FallbackExecutor {
+
+        private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+        static final ExecutorService INSTANCE = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "rest-request-" + SEQUENCE.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+}
@@ -0,0 +1,19 @@
+package io.github.libedi.restrequest.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Request Body 파라미터. POST / PUT / PATCH 요청에만 선언할 수 있다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.PARAMETER)
+public @interface Body {
+}
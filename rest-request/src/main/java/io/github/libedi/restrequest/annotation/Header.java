@@ -0,0 +1,26 @@
+package io.github.libedi.restrequest.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * HTTP Header 파라미터. null 값은 추가하지 않는다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.PARAMETER)
+public @interface Header {
+
+    /**
+     * HTTP Header 이름
+     * 
+     * @return
+     */
+    String value();
+}
@@ -0,0 +1,31 @@
+package io.github.libedi.restrequest.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Query Parameter / Form Data 파라미터.
+ * <p>
+ * Collection / 배열은 각 요소를 같은 이름의 파라미터로, Map은 각 entry를 파라미터로 추가한다. File / Path / MultipartFile은 첨부파일로
+ * 추가한다. 그 외 java.* 패키지에 속하지 않는 클래스는 필드별로 파라미터를 추가하며, 생성된 코드는 getter 또는 필드에 직접 접근한다.
+ * null 값은 추가하지 않는다. 객체의 필드 값이 null인 경우도 생략하므로, null 필드를 이름만 있는 파라미터로 추가하는
+ * RestRequestFormSpec.setParams(Object)와 결과가 다르다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.PARAMETER)
+public @interface Param {
+
+    /**
+     * 파라미터명. 지정하지 않으면 메소드 파라미터명을 사용한다.
+     * 
+     * @return
+     */
+    String value() default "";
+}
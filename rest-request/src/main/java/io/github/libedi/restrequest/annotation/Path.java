@@ -0,0 +1,26 @@
+package io.github.libedi.restrequest.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * URI 변수 파라미터
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.PARAMETER)
+public @interface Path {
+
+    /**
+     * URI 변수명. 지정하지 않으면 파라미터명을 사용한다.
+     * 
+     * @return
+     */
+    String value() default "";
+}
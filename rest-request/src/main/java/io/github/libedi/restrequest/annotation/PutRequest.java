@@ -0,0 +1,33 @@
+package io.github.libedi.restrequest.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * PUT 요청 메소드 선언
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.METHOD)
+public @interface PutRequest {
+
+    /**
+     * 요청 경로. URI 변수({name})는 {@link Path} 파라미터로 확장된다.
+     * 
+     * @return
+     */
+    String value() default "";
+
+    /**
+     * 고정 HTTP Header. "Header-Name: value" 형식으로 선언한다.
+     * 
+     * @return
+     */
+    String[] headers() default {};
+}
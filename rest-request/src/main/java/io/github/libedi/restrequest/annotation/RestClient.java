@@ -0,0 +1,36 @@
+package io.github.libedi.restrequest.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 선언형 REST Client 인터페이스.
+ * <p>
+ * rest-request-processor가 컴파일 시점에 인터페이스의 구현 클래스({@code 인터페이스명Impl})를 생성한다. 생성된 클래스는
+ * {@code RestClientAdapter}와 기본 URI를 생성자로 전달받으며, 리플렉션이나 동적 프록시 없이 RestRequest를 생성하여 전송한다.
+ * 
+ * @author "Sangjun,Park"
+ *
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface RestClient {
+
+    /**
+     * 모든 요청 경로 앞에 추가할 공통 경로
+     * 
+     * @return
+     */
+    String value() default "";
+
+    /**
+     * 모든 요청에 추가할 고정 HTTP Header. "Header-Name: value" 형식으로 선언한다.
+     * 
+     * @return
+     */
+    String[] headers() default {};
+}
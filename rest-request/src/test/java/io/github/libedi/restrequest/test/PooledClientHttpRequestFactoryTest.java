@@ -0,0 +1,242 @@
+package io.github.libedi.restrequest.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.github.libedi.restrequest.DefaultRestClientAdapter;
+import io.github.libedi.restrequest.PooledClientHttpRequestFactory;
+import io.github.libedi.restrequest.RestClientAdapter;
+import io.github.libedi.restrequest.RestRequest;
+
+public class PooledClientHttpRequestFactoryTest {
+
+    private HttpServer server;
+    private String baseUri;
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final List<String> transferEncodings = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/items", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            respond(exchange, 200, "item", false);
+        });
+        server.createContext("/echo", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            transferEncodings.add(exchange.getRequestHeaders().getFirst("Transfer-Encoding"));
+            respond(exchange, 200, read(exchange.getRequestBody()), true);
+        });
+        server.createContext("/missing", exchange -> respond(exchange, 404, "none", false));
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(500);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "slow", false);
+        });
+        server.start();
+        baseUri = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    private static void respond(final HttpExchange exchange, final int status, final String body,
+            final boolean chunked) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", MediaType.TEXT_PLAIN_VALUE);
+        exchange.sendResponseHeaders(status, chunked ? 0 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String read(final InputStream inputStream) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        StreamUtils.copy(inputStream, outputStream);
+        return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @DisplayName("PooledClientHttpRequestFactory 테스트: keep-alive 연결 재사용, Adapter를 닫으면 요청 거부")
+    @Test
+    public void keepAlive() {
+        // given
+        final DefaultRestClientAdapter adapter = DefaultRestClientAdapter.builder().build();
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            assertThat(adapter.send(RestRequest.resp(String.class).uri(baseUri + "/items").get().build())
+                    .getBody()).isEqualTo("item");
+        }
+        final ResponseEntity<String> echo = adapter.send(RestRequest.resp(String.class).uri(baseUri + "/echo")
+                .post().contentType(MediaType.TEXT_PLAIN).body("chunked body").build());
+
+        // then
+        assertThat(echo.getBody()).isEqualTo("chunked body");
+        assertThat(clientPorts).hasSize(1);
+        assertThatThrownBy(() -> adapter.send(RestRequest.resp(String.class).uri(baseUri + "/missing").get()
+                .build())).isInstanceOf(HttpClientErrorException.class);
+        adapter.send(RestRequest.resp(String.class).uri(baseUri + "/items").get().build());
+        assertThat(clientPorts).hasSize(1);
+        adapter.close();
+        assertThatThrownBy(() -> adapter.send(RestRequest.resp(String.class).uri(baseUri + "/items").get()
+                .build())).isInstanceOf(ResourceAccessException.class);
+    }
+
+    @DisplayName("PooledClientHttpRequestFactory 테스트: 큰 요청 body는 버퍼링하지 않고 Content-Length 또는 chunked 방식으로 전송")
+    @Test
+    public void streamingRequestBody() {
+        // given
+        final DefaultRestClientAdapter adapter = DefaultRestClientAdapter.builder().build();
+        final byte[] content = new byte[200 * 1024];
+        Arrays.fill(content, (byte) 'a');
+        final String expected = new String(content, StandardCharsets.UTF_8);
+
+        // when
+        final ResponseEntity<String> sized = adapter.send(RestRequest.resp(String.class).uri(baseUri + "/echo")
+                .post().contentType(MediaType.APPLICATION_OCTET_STREAM).body(content).build());
+        final ResponseEntity<String> chunked = adapter.send(RestRequest.resp(String.class).uri(baseUri + "/echo")
+                .post().contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(new InputStreamResource(new ByteArrayInputStream(content))).build());
+        final ResponseEntity<String> small = adapter.send(RestRequest.resp(String.class).uri(baseUri + "/echo")
+                .post().contentType(MediaType.TEXT_PLAIN).body("small").build());
+
+        // then
+        assertThat(sized.getBody()).isEqualTo(expected);
+        assertThat(chunked.getBody()).isEqualTo(expected);
+        assertThat(small.getBody()).isEqualTo("small");
+        assertThat(transferEncodings).containsExactly(null, "chunked", null);
+        assertThat(clientPorts).hasSize(1);
+        adapter.close();
+    }
+
+    @DisplayName("PooledClientHttpRequestFactory 테스트: 대상별 최대 연결 개수, 유휴 연결 정리")
+    @Test
+    public void connectionLimitAndIdleEviction() throws Exception {
+        // given
+        final PooledClientHttpRequestFactory requestFactory = PooledClientHttpRequestFactory.builder()
+                .maxConnectionsPerRoute(1)
+                .connectionRequestTimeout(Duration.ofMillis(50))
+                .maxIdleTime(Duration.ofMillis(100))
+                .build();
+        final URI uri = URI.create(baseUri + "/items");
+
+        // when
+        final ClientHttpResponse leased = requestFactory.createRequest(uri, HttpMethod.GET).execute();
+
+        // then
+        assertThat(requestFactory.getLeasedConnections(uri)).isEqualTo(1);
+        assertThatThrownBy(() -> requestFactory.createRequest(uri, HttpMethod.GET).execute())
+                .isInstanceOf(IOException.class).hasMessageContaining("Timeout waiting for connection");
+        assertThat(read(leased.getBody())).isEqualTo("item");
+        leased.close();
+        assertThat(requestFactory.getLeasedConnections(uri)).isZero();
+        assertThat(requestFactory.getIdleConnections(uri)).isEqualTo(1);
+
+        Thread.sleep(150);
+        try (ClientHttpResponse response = requestFactory.createRequest(uri, HttpMethod.GET).execute()) {
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(read(response.getBody())).isEqualTo("item");
+        }
+        assertThat(clientPorts).hasSize(2);
+        requestFactory.close();
+        assertThat(requestFactory.getIdleConnections(uri)).isZero();
+    }
+
+    @DisplayName("PooledClientHttpRequestFactory 테스트: 응답 읽기 timeout")
+    @Test
+    public void readTimeout() {
+        // given
+        final RestClientAdapter adapter = DefaultRestClientAdapter.builder()
+                .readTimeout(Duration.ofMillis(100))
+                .build();
+
+        // when
+        // then
+        assertThatThrownBy(() -> adapter.send(RestRequest.resp(String.class).uri(baseUri + "/slow").get().build()))
+                .isInstanceOf(ResourceAccessException.class)
+                .hasCauseInstanceOf(SocketTimeoutException.class);
+    }
+
+    @DisplayName("PooledClientHttpRequestFactory 테스트: CR / LF가 포함된 헤더 값, token이 아닌 헤더 이름 거부")
+    @Test
+    public void rejectInvalidHeaders() {
+        // given
+        final RestClientAdapter adapter = DefaultRestClientAdapter.builder().build();
+
+        // when
+        // then
+        assertThatThrownBy(() -> adapter.send(RestRequest.resp(String.class).uri(baseUri + "/items").get()
+                .addHeader("X-Trace-Id", "trace\r\nX-Injected: 1").build()))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("X-Trace-Id");
+        assertThatThrownBy(() -> adapter.send(RestRequest.resp(String.class).uri(baseUri + "/items").get()
+                .addHeader("X-Trace-Id", "trace\u0000").build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> adapter.send(RestRequest.resp(String.class).uri(baseUri + "/items").get()
+                .addHeader("X Trace: 1\r\nX-Injected", "trace").build()))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("header name");
+        assertThat(clientPorts).isEmpty();
+        assertThat(adapter.send(RestRequest.resp(String.class).uri(baseUri + "/items").get()
+                .addHeader("X-Trace-Id", "trace\tid").build()).getBody()).isEqualTo("item");
+    }
+
+    @DisplayName("PooledClientHttpRequestFactory 테스트: HTTP Proxy 사용, https 요청은 CONNECT 터널 생성")
+    @Test
+    public void httpProxy() {
+        // given
+        final RestClientAdapter adapter = DefaultRestClientAdapter.builder()
+                .proxy(new Proxy(Proxy.Type.HTTP, server.getAddress()))
+                .build();
+
+        // when
+        final ResponseEntity<String> response = adapter.send(RestRequest.resp(String.class)
+                .uri("http://proxied.invalid/items").get().build());
+
+        // then
+        assertThat(response.getBody()).isEqualTo("item");
+        assertThat(clientPorts).hasSize(1);
+        assertThatThrownBy(() -> adapter.send(RestRequest.resp(String.class).uri("https://proxied.invalid/items")
+                .get().build())).isInstanceOf(ResourceAccessException.class)
+                .hasMessageContaining("Unable to tunnel through proxy to proxied.invalid:443");
+    }
+
+}
@@ -0,0 +1,1314 @@
+package io.github.libedi.restrequest.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import io.github.libedi.restrequest.CachingRestClientAdapter;
+import io.github.libedi.restrequest.CircuitBreakerOpenException;
+import io.github.libedi.restrequest.ConcurrencyLimitExceededException;
+import io.github.libedi.restrequest.ConcurrencyLimitRestClientAdapter;
+import io.github.libedi.restrequest.ConcurrencyLimitRestClientAdapter.CircuitState;
+import io.github.libedi.restrequest.DefaultHeadersRestClientAdapter;
+import io.github.libedi.restrequest.DefaultRestClientAdapter;
+import io.github.libedi.restrequest.GzipCompressionInterceptor;
+import io.github.libedi.restrequest.HeaderProfile;
+import io.github.libedi.restrequest.LatencyHistogram;
+import io.github.libedi.restrequest.MetricsRestClientAdapter;
+import io.github.libedi.restrequest.OutboxRestClientAdapter;
+import io.github.libedi.restrequest.Pagination;
+import io.github.libedi.restrequest.RateLimitExceededException;
+import io.github.libedi.restrequest.RateLimitRestClientAdapter;
+import io.github.libedi.restrequest.RequestDeferredException;
+import io.github.libedi.restrequest.RequestMetrics;
+import io.github.libedi.restrequest.RestClientAdapter;
+import io.github.libedi.restrequest.RestClientMetricsRecorder;
+import io.github.libedi.restrequest.RestClientMetricsRegistry;
+import io.github.libedi.restrequest.RestRequest;
+import io.github.libedi.restrequest.RetryRestClientAdapter;
+import io.github.libedi.restrequest.SendAllMode;
+import io.github.libedi.restrequest.SendResult;
+import io.github.libedi.restrequest.SingleFlightRestClientAdapter;
+import io.github.libedi.restrequest.VirtualThreadRestClientAdapter;
+
+public class RestClientAdapterTest {
+
+    private static final String URI = "http://www.test.com/test";
+
+    /**
+     * 요청 경로를 응답하고, 경로가 fail로 시작하면 실패하는 Adapter
+     */
+    private static class PathAdapter implements RestClientAdapter {
+        private final AtomicInteger sent = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> ResponseEntity<T> send(final RestRequest<T> restRequest) {
+            sent.incrementAndGet();
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+                final String path = restRequest.getUri().getPath().substring(1);
+                if (path.startsWith("fail")) {
+                    throw new IllegalStateException(path);
+                }
+                return (ResponseEntity<T>) ResponseEntity.ok(path);
+            } catch (final InterruptedException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 비동기 요청의 응답 완료 시점을 직접 제어하는 Adapter
+     */
+    private static class PendingAdapter implements RestClientAdapter {
+        private final List<CompletableFuture<ResponseEntity<?>>> pending = new ArrayList<>();
+
+        @Override
+        public <T> ResponseEntity<T> send(final RestRequest<T> restRequest) {
+            throw new UnsupportedOperationException();
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        @Override
+        public synchronized <T> CompletableFuture<ResponseEntity<T>> sendAsync(final RestRequest<T> restRequest) {
+            final CompletableFuture future = new CompletableFuture<>();
+            pending.add(future);
+            return future;
+        }
+    }
+
+    /**
+     * 전송한 요청을 기록하고, 주어진 함수로 응답하는 Adapter
+     */
+    private static class RecordingAdapter implements RestClientAdapter {
+        private final List<RestRequest<?>> requests = new ArrayList<>();
+        private final Function<RestRequest<?>, ResponseEntity<?>> handler;
+
+        RecordingAdapter(final Function<RestRequest<?>, ResponseEntity<?>> handler) {
+            this.handler = handler;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public synchronized <T> ResponseEntity<T> send(final RestRequest<T> restRequest) {
+            requests.add(restRequest);
+            return (ResponseEntity<T>) handler.apply(restRequest);
+        }
+    }
+
+    private static List<RestRequest<String>> pathRequests(final String... paths) {
+        return IntStream.range(0, paths.length)
+                .mapToObj(i -> RestRequest.resp(String.class).uri("http://www.test.com/" + paths[i]).get().build())
+                .collect(Collectors.toList());
+    }
+
+    private RestClientAdapter threadNameAdapter() {
+        final RestClientAdapter restClientAdapter = mock(RestClientAdapter.class);
+        when(restClientAdapter.send(any())).thenAnswer(invocation -> ResponseEntity.ok(Thread.currentThread()));
+        return restClientAdapter;
+    }
+
+    @DisplayName("VirtualThreadRestClientAdapter 테스트: 비동기 전송 스레드")
+    @Test
+    public void virtualThreadSendAsync() throws Exception {
+        // given
+        final ExecutorService fallbackExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "fallback"));
+        final RestClientAdapter adapter = new VirtualThreadRestClientAdapter(threadNameAdapter(), fallbackExecutor);
+        final RestRequest<Thread> restRequest = RestRequest.resp(Thread.class).uri(URI).get().build();
+
+        try {
+            // when
+            final Thread actual = adapter.sendAsync(restRequest).get().getBody();
+
+            // then
+            if (VirtualThreadRestClientAdapter.isVirtualThreadSupported()) {
+                assertThat(actual.getName()).isNotEqualTo("fallback");
+                assertThat(Thread.class.getMethod("isVirtual").invoke(actual)).isEqualTo(true);
+            } else {
+                assertThat(actual.getName()).isEqualTo("fallback");
+            }
+            assertThat(adapter.send(restRequest).getBody()).isSameAs(Thread.currentThread());
+        } finally {
+            fallbackExecutor.shutdown();
+        }
+    }
+
+    @DisplayName("sendAll 테스트: 동시 전송 개수 제한 및 요청 순서 결과")
+    @Test
+    public void sendAllCollectAll() {
+        // given
+        final PathAdapter adapter = new PathAdapter();
+        final String[] paths = IntStream.range(0, 20).mapToObj(i -> i == 7 ? "fail" + i : "ok" + i)
+                .toArray(String[]::new);
+
+        // when
+        final List<SendResult<String>> actual = adapter.sendAll(pathRequests(paths), 3);
+
+        // then
+        assertThat(actual).hasSize(paths.length);
+        for (int i = 0; i < paths.length; i++) {
+            final SendResult<String> result = actual.get(i);
+            if (i == 7) {
+                assertThat(result.isSuccess()).isFalse();
+                assertThat(result.getError()).isInstanceOf(IllegalStateException.class).hasMessage(paths[i]);
+            } else {
+                assertThat(result.isSuccess()).isTrue();
+                assertThat(result.getResponse().getBody()).isEqualTo(paths[i]);
+            }
+        }
+        assertThat(adapter.sent).hasValue(paths.length);
+        assertThat(adapter.peak.get()).isBetween(1, 3);
+    }
+
+    @DisplayName("sendAll 테스트: FAIL_FAST 방식은 첫번째 실패 이후 요청을 전송하지 않음")
+    @Test
+    public void sendAllFailFast() {
+        // given
+        final PathAdapter adapter = new PathAdapter();
+        final List<RestRequest<String>> restRequests = pathRequests("ok0", "ok1", "fail2", "ok3", "ok4");
+
+        // when & then
+        assertThatThrownBy(() -> adapter.sendAll(restRequests, 1, SendAllMode.FAIL_FAST))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("fail2");
+        assertThat(adapter.sent).hasValue(3);
+        assertThat(adapter.sendAll(pathRequests(), 1)).isEmpty();
+    }
+
+    @DisplayName("SingleFlightRestClientAdapter 테스트: 동일한 GET 요청의 응답 공유")
+    @Test
+    public void singleFlight() throws Exception {
+        // given
+        final PendingAdapter pendingAdapter = new PendingAdapter();
+        final SingleFlightRestClientAdapter adapter = new SingleFlightRestClientAdapter(pendingAdapter);
+        final RestRequest<String> restRequest = RestRequest.resp(String.class).uri(URI).get()
+                .addHeader(HttpHeaders.AUTHORIZATION, "user1").build();
+        final RestRequest<String> otherUser = RestRequest.resp(String.class).uri(URI).get()
+                .addHeader(HttpHeaders.AUTHORIZATION, "user2").build();
+        final RestRequest<String> post = RestRequest.resp(String.class).uri(URI).post().build();
+
+        // when
+        final List<CompletableFuture<ResponseEntity<String>>> shared = Arrays.asList(adapter.sendAsync(restRequest),
+                adapter.sendAsync(restRequest), adapter.sendAsync(restRequest));
+        adapter.sendAsync(otherUser);
+        adapter.sendAsync(post);
+        adapter.sendAsync(post);
+        pendingAdapter.pending.get(0).complete(ResponseEntity.ok("shared"));
+
+        // then
+        assertThat(pendingAdapter.pending).hasSize(4);
+        for (final CompletableFuture<ResponseEntity<String>> future : shared) {
+            assertThat(future.get().getBody()).isEqualTo("shared");
+        }
+        assertThat(adapter.getInFlightCount()).isEqualTo(1);
+        adapter.sendAsync(restRequest);
+        assertThat(pendingAdapter.pending).hasSize(5);
+    }
+
+    @DisplayName("SingleFlightRestClientAdapter 테스트: 지정한 요청 헤더만 비교")
+    @Test
+    public void singleFlightKeyHeaders() {
+        // given
+        final PendingAdapter pendingAdapter = new PendingAdapter();
+        final SingleFlightRestClientAdapter adapter = new SingleFlightRestClientAdapter(pendingAdapter,
+                Arrays.asList("accept"));
+
+        // when
+        final CompletableFuture<ResponseEntity<String>> first = adapter.sendAsync(RestRequest.resp(String.class)
+                .uri(URI).get().accept(MediaType.APPLICATION_JSON)
+                .addHeader("X-Trace-Id", "1").build());
+        final CompletableFuture<ResponseEntity<String>> second = adapter.sendAsync(RestRequest.resp(String.class)
+                .uri(URI).get().accept(MediaType.APPLICATION_JSON)
+                .addHeader("X-Trace-Id", "2").build());
+        pendingAdapter.pending.get(0).completeExceptionally(new IllegalStateException("failed"));
+
+        // then
+        assertThat(pendingAdapter.pending).hasSize(1);
+        assertThatThrownBy(first::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(second::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(adapter.getInFlightCount()).isZero();
+    }
+
+    @DisplayName("CachingRestClientAdapter 테스트: Cache-Control max-age 유효기간 내 캐시 응답")
+    @Test
+    public void cacheFresh() throws Exception {
+        // given
+        final RecordingAdapter recordingAdapter = new RecordingAdapter(request -> ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(1)))
+                .body(request.getUri().getPath()));
+        final CachingRestClientAdapter adapter = new CachingRestClientAdapter(recordingAdapter, 1024);
+        final RestRequest<String> restRequest = RestRequest.resp(String.class).uri(URI).get().build();
+
+        // when
+        final ResponseEntity<String> first = adapter.send(restRequest);
+        final ResponseEntity<String> second = adapter.sendAsync(restRequest).get();
+        final ResponseEntity<String> noStore = adapter.send(RestRequest.resp(String.class).uri(URI).get()
+                .addHeader(HttpHeaders.CACHE_CONTROL, "no-store").build());
+        adapter.send(RestRequest.resp(String.class).uri(URI).delete().build());
+        adapter.send(restRequest);
+
+        // then
+        assertThat(first.getBody()).isEqualTo("/test");
+        assertThat(second.getBody()).isEqualTo("/test");
+        assertThat(second.getHeaders().getCacheControl()).isEqualTo("max-age=60");
+        assertThat(noStore.getBody()).isEqualTo("/test");
+        assertThat(recordingAdapter.requests).hasSize(4);
+        assertThat(adapter.getHitCount()).isEqualTo(1);
+        assertThat(adapter.getMissCount()).isEqualTo(2);
+    }
+
+    @DisplayName("CachingRestClientAdapter 테스트: Vary 헤더가 없어도 Accept / Accept-Encoding 헤더별 캐시")
+    @Test
+    public void cacheKeyAcceptHeaders() {
+        // given
+        final RecordingAdapter recordingAdapter = new RecordingAdapter(request -> ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(1)))
+                .body(request.getHttpEntity().getHeaders().getFirst(HttpHeaders.ACCEPT) + ";"
+                        + request.getHttpEntity().getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING)));
+        final CachingRestClientAdapter adapter = new CachingRestClientAdapter(recordingAdapter, 1024);
+        final RestRequest<String> json = RestRequest.resp(String.class).uri(URI).get()
+                .accept(MediaType.APPLICATION_JSON).build();
+        final RestRequest<String> xml = RestRequest.resp(String.class).uri(URI).get()
+                .accept(MediaType.APPLICATION_XML).build();
+        final RestRequest<String> gzip = RestRequest.resp(String.class).uri(URI).get()
+                .accept(MediaType.APPLICATION_JSON)
+                .addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip").build();
+
+        // when
+        adapter.send(json);
+        final ResponseEntity<String> xmlResponse = adapter.send(xml);
+        final ResponseEntity<String> gzipResponse = adapter.send(gzip);
+        final ResponseEntity<String> jsonResponse = adapter.send(json);
+
+        // then
+        assertThat(xmlResponse.getBody()).isEqualTo("application/xml;null");
+        assertThat(gzipResponse.getBody()).isEqualTo("application/json;gzip");
+        assertThat(jsonResponse.getBody()).isEqualTo("application/json;null");
+        assertThat(recordingAdapter.requests).hasSize(3);
+        assertThat(adapter.getHitCount()).isEqualTo(1);
+        assertThat(adapter.size()).isEqualTo(3);
+    }
+
+    @DisplayName("CachingRestClientAdapter 테스트: ETag 재검증 304 응답시 캐시 응답")
+    @Test
+    public void cacheRevalidate() {
+        // given
+        final RecordingAdapter recordingAdapter = new RecordingAdapter(request -> {
+            if ("\"v1\"".equals(request.getHttpEntity().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag("\"v1\"").build();
+            }
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag("\"v1\"")
+                    .body("cached");
+        });
+        final CachingRestClientAdapter adapter = new CachingRestClientAdapter(recordingAdapter, 1024);
+        final RestRequest<String> restRequest = RestRequest.resp(String.class).uri(URI).get().build();
+
+        // when
+        adapter.send(restRequest);
+        final ResponseEntity<String> actual = adapter.send(restRequest);
+
+        // then
+        assertThat(actual.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(actual.getBody()).isEqualTo("cached");
+        assertThat(recordingAdapter.requests).hasSize(2);
+        assertThat(recordingAdapter.requests.get(1).getHttpEntity().getHeaders().getIfNoneMatch())
+                .containsExactly("\"v1\"");
+        assertThat(adapter.getHitCount()).isEqualTo(1);
+        assertThat(adapter.getRevalidatedCount()).isEqualTo(1);
+    }
+
+    @DisplayName("CachingRestClientAdapter 테스트: 용량 초과시 가장 오래 사용하지 않은 응답 제거")
+    @Test
+    public void cacheEviction() {
+        // given
+        final RecordingAdapter recordingAdapter = new RecordingAdapter(request -> ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(1)))
+                .body(request.getUri().getPath()));
+        final CachingRestClientAdapter adapter = new CachingRestClientAdapter(recordingAdapter, 10);
+        final RestRequest<String> first = RestRequest.resp(String.class).uri("http://www.test.com/aaaa").get()
+                .build();
+        final RestRequest<String> second = RestRequest.resp(String.class).uri("http://www.test.com/bbbb").get()
+                .build();
+        final RestRequest<String> third = RestRequest.resp(String.class).uri("http://www.test.com/cccc").get()
+                .build();
+
+        // when
+        adapter.send(first);
+        adapter.send(second);
+        adapter.send(first);
+        adapter.send(third);
+        adapter.send(first);
+        adapter.send(second);
+
+        // then
+        assertThat(recordingAdapter.requests).hasSize(4);
+        assertThat(adapter.getEvictionCount()).isEqualTo(2);
+        assertThat(adapter.size()).isEqualTo(2);
+        assertThat(adapter.getWeight()).isEqualTo(10);
+    }
+
+    @DisplayName("LatencyHistogram 테스트: 백분위 값 상대 오차")
+    @Test
+    public void latencyHistogram() {
+        // given
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        // when
+        for (int i = 1; i <= 100_000; i++) {
+            histogram.record(i * 1_000L);
+        }
+
+        // then
+        assertThat(histogram.getCount()).isEqualTo(100_000);
+        assertThat(histogram.getMax()).isEqualTo(100_000_000L);
+        assertThat((double) histogram.getValueAtQuantile(0.5)).isCloseTo(50_000_000, within(50_000_000 * 0.016));
+        assertThat((double) histogram.getValueAtQuantile(0.99)).isCloseTo(99_000_000, within(99_000_000 * 0.016));
+        assertThat((double) histogram.getValueAtQuantile(0.999)).isCloseTo(99_900_000, within(99_900_000 * 0.016));
+        assertThat(histogram.getValueAtQuantile(1.0)).isEqualTo(100_000_000L);
+        assertThat(new LatencyHistogram().getValueAtQuantile(0.99)).isZero();
+    }
+
+    @DisplayName("MetricsRestClientAdapter 테스트: URI 템플릿, 응답 상태 구분별 지표 기록")
+    @Test
+    public void metrics() throws Exception {
+        // given
+        final RecordingAdapter recordingAdapter = new RecordingAdapter(request -> {
+            final String path = request.getUri().getPath();
+            if (path.endsWith("/404")) {
+                throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY,
+                        "none".getBytes(), null);
+            }
+            if (path.endsWith("/0")) {
+                throw new ResourceAccessException("I/O error");
+            }
+            return ResponseEntity.ok().contentLength(2).body("ok");
+        });
+        final MetricsRestClientAdapter adapter = new MetricsRestClientAdapter(recordingAdapter);
+        final RestClientMetricsRegistry registry = (RestClientMetricsRegistry) adapter.getRecorder();
+        final String template = "http://www.test.com:8080/items/{id}";
+
+        // when
+        adapter.send(RestRequest.resp(String.class).uri("http://www.test.com:8080/items/1").get().build());
+        adapter.sendAsync(RestRequest.resp(String.class)
+                .uri("http://www.test.com:8080/items/123e4567-e89b-12d3-a456-426614174000").get().build()).get();
+        assertThatThrownBy(() -> adapter.send(RestRequest.resp(String.class)
+                .uri("http://www.test.com:8080/items/404").get().build()))
+                .isInstanceOf(HttpClientErrorException.class);
+        assertThatThrownBy(() -> adapter.sendAsync(RestRequest.resp(String.class)
+                .uri("http://www.test.com:8080/items/0").get().build()).join())
+                .hasCauseInstanceOf(ResourceAccessException.class);
+
+        // then
+        final RequestMetrics success = registry.getMetrics(HttpMethod.GET, template, "2xx");
+        assertThat(success.getLatency().getCount()).isEqualTo(2);
+        assertThat(success.getErrorCount()).isZero();
+        assertThat(success.getResponseBytes()).isEqualTo(4);
+        final RequestMetrics notFound = registry.getMetrics(HttpMethod.GET, template, "4xx");
+        assertThat(notFound.getLatency().getCount()).isEqualTo(1);
+        assertThat(notFound.getErrorCount()).isEqualTo(1);
+        assertThat(notFound.getResponseBytes()).isEqualTo(4);
+        assertThat(registry.getMetrics(HttpMethod.GET, template, RestClientMetricsRecorder.STATUS_ERROR)
+                .getErrorCount()).isEqualTo(1);
+        assertThat(registry.getMetrics()).hasSize(3);
+        assertThat(registry.getInFlight(HttpMethod.GET, template)).isZero();
+    }
+
+    @DisplayName("RetryRestClientAdapter 테스트: 멱등 요청만 재시도")
+    @Test
+    public void retry() {
+        // given
+        final AtomicInteger failures = new AtomicInteger(2);
+        final RecordingAdapter recordingAdapter = new RecordingAdapter(request -> {
+            if (failures.getAndDecrement() > 0) {
+                throw new ResourceAccessException("timeout");
+            }
+            return ResponseEntity.ok("ok");
+        });
+        final RetryRestClientAdapter adapter = RetryRestClientAdapter.builder(recordingAdapter)
+                .backoff(Duration.ZERO, Duration.ZERO)
+                .build();
+
+        // when
+        final ResponseEntity<String> response = adapter.send(RestRequest.resp(String.class).uri(URI).get().build());
+        failures.set(1);
+        final RestRequest<String> post = RestRequest.resp(String.class).uri(URI).post().body("body").build();
+
+        // then
+        assertThat(response.getBody()).isEqualTo("ok");
+        assertThat(recordingAdapter.requests).hasSize(3);
+        assertThat(adapter.getRetryCount()).isEqualTo(2);
+        assertThatThrownBy(() -> adapter.send(post)).isInstanceOf(ResourceAccessException.class);
+        assertThat(recordingAdapter.requests).hasSize(4);
+        assertThat(adapter.sendAsync(post).join().getBody()).isEqualTo("ok");
+    }
+
+    @DisplayName("RetryRestClientAdapter 테스트: 재시도 예산 초과시 재시도하지 않음")
+    @Test
+    public void retryBudget() {
+        // given
+        final RecordingAdapter recordingAdapter = new RecordingAdapter(request -> {
+            throw new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS);
+        });
+        final RetryRestClientAdapter adapter = RetryRestClientAdapter.builder(recordingAdapter)
+                .maxAttempts(5)
+                .backoff(Duration.ZERO, Duration.ZERO)
+                .retryBudget(0, 2)
+                .build();
+        final RestRequest<String> restRequest = RestRequest.resp(String.class).uri(URI).get().build();
+
+        // when
+        assertThatThrownBy(() -> adapter.send(restRequest)).isInstanceOf(HttpClientErrorException.class);
+        assertThatThrownBy(() -> adapter.sendAsync(restRequest).join())
+                .hasCauseInstanceOf(HttpClientErrorException.class);
+
+        // then
+        assertThat(recordingAdapter.requests).hasSize(4);
+        assertThat(adapter.getRetryCount()).isEqualTo(2);
+    }
+
+    @DisplayName("RetryRestClientAdapter 테스트: 응답 지연시 중복 요청 전송 후 먼저 성공한 응답 사용")
+    @Test
+    public void hedge() throws Exception {
+        // given
+        final PendingAdapter pendingAdapter = new PendingAdapter();
+        final RetryRestClientAdapter adapter = RetryRestClientAdapter.builder(pendingAdapter)
+                .hedge(0.5, Duration.ofMillis(20))
+                .build();
+        final RestRequest<String> restRequest = RestRequest.resp(String.class).uri(URI).get().build();
+        for (int i = 0; i < 20; i++) {
+            final CompletableFuture<ResponseEntity<String>> warmUp = adapter.sendAsync(restRequest);
+            pendingAdapter.pending.get(i).complete(ResponseEntity.ok("warm-up"));
+            warmUp.join();
+        }
+
+        // when
+        final CompletableFuture<ResponseEntity<String>> future = adapter.sendAsync(restRequest);
+        final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (pendingAdapter.pending.size() < 22 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        pendingAdapter.pending.get(21).complete(ResponseEntity.ok("hedged"));
+
+        // then
+        assertThat(future.get().getBody()).isEqualTo("hedged");
+        assertThat(adapter.getHedgeCount()).isEqualTo(1);
+        assertThat(pendingAdapter.pending.get(20)).isCancelled();
+        assertThat(adapter.getRetryCount()).isZero();
+    }
+
+    @DisplayName("ConcurrencyLimitRestClientAdapter 테스트: 동시 요청 개수 제한 초과시 즉시 실패, 응답 결과에 따라 제한 조정")
+    @Test
+    public void concurrencyLimit() {
+        // given
+        final PendingAdapter pendingAdapter = new PendingAdapter();
+        final ConcurrencyLimitRestClientAdapter adapter = ConcurrencyLimitRestClientAdapter.builder(pendingAdapter)
+                .limit(2, 1, 10)
+                .backoffRatio(0.5)
+                .build();
+        final RestRequest<String> restRequest = RestRequest.resp(String.class).uri(URI).get().build();
+
+        // when
+        final CompletableFuture<ResponseEntity<String>> first = adapter.sendAsync(restRequest);
+        adapter.sendAsync(restRequest);
+        final CompletableFuture<ResponseEntity<String>> rejected = adapter.sendAsync(restRequest);
+
+        // then
+        assertThat(first).isNotDone();
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(ConcurrencyLimitExceededException.class);
+        assertThat(adapter.getInFlight(java.net.URI.create(URI))).isEqualTo(2);
+
+        pendingAdapter.pending.get(0).complete(ResponseEntity.ok("ok"));
+        assertThat(first.join().getBody()).isEqualTo("ok");
+        assertThat(adapter.getInFlight(java.net.URI.create(URI))).isEqualTo(1);
+        assertThat(adapter.getLimit(java.net.URI.create(URI))).isEqualTo(2);
+
+        final CompletableFuture<ResponseEntity<String>> third = adapter.sendAsync(restRequest);
+        pendingAdapter.pending.get(2).completeExceptionally(new ResourceAccessException("timeout"));
+        assertThatThrownBy(third::join).hasCauseInstanceOf(ResourceAccessException.class);
+        assertThat(adapter.getLimit(java.net.URI.create(URI))).isEqualTo(1);
+        assertThatThrownBy(() -> adapter.sendAsync(restRequest).join())
+                .hasCauseInstanceOf(ConcurrencyLimitExceededException.class);
+        pendingAdapter.pending.get(1).complete(ResponseEntity.ok("ok"));
+        assertThat(adapter.getInFlight(java.net.URI.create(URI))).isZero();
+    }
+
+    @DisplayName("ConcurrencyLimitRestClientAdapter 테스트: 실패 비율 초과시 circuit open, 시험 요청 성공시 close")
+    @Test
+    public void circuitBreaker() throws Exception {
+        // given
+        final AtomicInteger failures = new AtomicInteger(4);
+        final RecordingAdapter recordingAdapter = new RecordingAdapter(request -> {
+            if (failures.getAndDecrement() > 0) {
+                throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            return ResponseEntity.ok("ok");
+        });
+        final ConcurrencyLimitRestClientAdapter adapter = ConcurrencyLimitRestClientAdapter.builder(recordingAdapter)
+                .circuitBreaker(0.5, 4, Duration.ofMillis(50))
+                .build();
+        final RestRequest<String> restRequest = RestRequest.resp(String.class).uri(URI).get().build();
+
+        // when
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> adapter.send(restRequest)).isInstanceOf(HttpServerErrorException.class);
+        }
+
+        // then
+        assertThat(adapter.getCircuitState(restRequest.getUri())).isEqualTo(CircuitState.OPEN);
+        assertThatThrownBy(() -> adapter.send(restRequest)).isInstanceOf(CircuitBreakerOpenException.class);
+        assertThat(recordingAdapter.requests).hasSize(4);
+
+        Thread.sleep(60);
+        assertThat(adapter.send(restRequest).getBody()).isEqualTo("ok");
+        assertThat(adapter.getCircuitState(restRequest.getUri())).isEqualTo(CircuitState.CLOSED);
+        assertThat(recordingAdapter.requests).hasSize(5);
+    }
+
+    @DisplayName("RateLimitRestClientAdapter 테스트: 허용량 이후 요청은 초당 요청 개수에 맞춰 전송")
+    @Test
+    public void rateLimit() {
+        // given
+        final RecordingAdapter recordingAdapter = new RecordingAdapter(request -> ResponseEntity.ok("ok"));
+        final RateLimitRestClientAdapter adapter = RateLimitRestClientAdapter.builder(recordingAdapter, 20)
+                .limit(20, 2)
+                .limit("http://www.other.com", 1, 1)
+                .build();
+        final RestRequest<String> restRequest = RestRequest.resp(String.class).uri(URI).get().build();
+
+        // when
+        final long start = System.nanoTime();
+        adapter.send(restRequest);
+        adapter.send(restRequest);
+        adapter.send(restRequest);
+        final List<CompletableFuture<ResponseEntity<String>>> futures = IntStream.range(0, 3)
+                .mapToObj(i -> adapter.sendAsync(restRequest))
+                .collect(Collectors.toList());
+        final boolean lastDone = futures.get(2).isDone();
+        futures.forEach(CompletableFuture::join);
+        final long end = System.nanoTime();
+
+        // then
+        assertThat(Duration.ofNanos(end - start)).isGreaterThanOrEqualTo(Duration.ofMillis(190));
+        assertThat(lastDone).isFalse();
+        assertThat(recordingAdapter.requests).hasSize(6);
+        assertThat(adapter.send(RestRequest.resp(String.class).uri("http://www.other.com").get().build())
+                .getBody()).isEqualTo("ok");
+    }
+
+    @DisplayName("RateLimitRestClientAdapter 테스트: 최대 대기시간 초과시 즉시 실패")
+    @Test
+    public void rateLimitMaxWait() {
+        // given
+        final RecordingAdapter recordingAdapter = new RecordingAdapter(request -> ResponseEntity.ok("ok"));
+        final RateLimitRestClientAdapter adapter = RateLimitRestClientAdapter.builder(recordingAdapter, 1)
+                .key(request -> "partner")
+                .maxWait(Duration.ofMillis(100))
+                .build();
+        final RestRequest<String> restRequest = RestRequest.resp(String.class).uri(URI).get().build();
+
+        // when
+        adapter.send(restRequest);
+
+        // then
+        assertThatThrownBy(() -> adapter.send(RestRequest.resp(String.class).uri("http://www.other.com").get()
+                .build())).isInstanceOf(RateLimitExceededException.class)
+                .hasFieldOrPropertyWithValue("key", "partner");
+        assertThatThrownBy(() -> adapter.sendAsync(restRequest).join())
+                .hasCauseInstanceOf(RateLimitExceededException.class);
+        assertThat(recordingAdapter.requests).hasSize(1);
+    }
+
+    @DisplayName("sendForStream 테스트: JSON 배열 / NDJSON 응답 요소 Stream")
+    @Test
+    public void sendForStream() {
+        // given
+        final RestTemplate restTemplate = new RestTemplate();
+        final MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(request -> assertThat(request.getURI()).hasToString(URI + "/array"))
+                .andRespond(withSuccess("[{\"id\":1,\"name\":\"a\"},null,{\"id\":2,\"name\":\"b\"}]",
+                        MediaType.APPLICATION_JSON));
+        server.expect(request -> assertThat(request.getURI()).hasToString(URI + "/ndjson"))
+                .andRespond(withSuccess("1\n2\n3\n", MediaType.parseMediaType("application/x-ndjson")));
+        server.expect(request -> assertThat(request.getURI()).hasToString(URI + "/error"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+        final RestClientAdapter adapter = new DefaultRestClientAdapter(restTemplate);
+
+        // when
+        final List<Object> names;
+        try (Stream<Map<String, Object>> stream = adapter.sendForStream(
+                RestRequest.resp(new ParameterizedTypeReference<Map<String, Object>>() {
+                }).uri(URI + "/array").get().build())) {
+            names = stream.map(item -> item == null ? null : item.get("name")).collect(Collectors.toList());
+        }
+        final int sum;
+        try (Stream<Integer> stream = adapter
+                .sendForStream(RestRequest.resp(Integer.class).uri(URI + "/ndjson").get().build())) {
+            sum = stream.mapToInt(Integer::intValue).sum();
+        }
+
+        // then
+        assertThat(names).containsExactly("a", null, "b");
+        assertThat(sum).isEqualTo(6);
+        assertThatThrownBy(() -> adapter.sendForStream(RestRequest.resp(Integer.class).uri(URI + "/error").get()
+                .build())).isInstanceOf(HttpClientErrorException.class);
+        server.verify();
+    }
+
+    @DisplayName("sendForStream / sendToFile 테스트: RestTemplate에 등록된 ClientHttpRequestInitializer 적용")
+    @Test
+    public void sendForStreamRequestInitializer(@TempDir final Path dir) {
+        // given
+        final RestTemplate restTemplate = new RestTemplate();
+        restTemplate.getClientHttpRequestInitializers().add(request -> request.getHeaders().add("X-Init", "1"));
+        final MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(request -> assertThat(request.getHeaders().get("X-Init")).containsExactly("1"))
+                .andRespond(withSuccess("1\n2\n", MediaType.parseMediaType("application/x-ndjson")));
+        server.expect(request -> assertThat(request.getHeaders().get("X-Init")).containsExactly("1"))
+                .andRespond(withSuccess("file", MediaType.TEXT_PLAIN));
+        final RestClientAdapter adapter = new DefaultRestClientAdapter(restTemplate);
+
+        // when
+        final List<Integer> items;
+        try (Stream<Integer> stream = adapter.sendForStream(RestRequest.resp(Integer.class).uri(URI).get().build())) {
+            items = stream.collect(Collectors.toList());
+        }
+        final ResponseEntity<Long> saved = adapter.sendToFile(RestRequest.resp(String.class).uri(URI).get().build(),
+                dir.resolve("file"));
+
+        // then
+        assertThat(items).containsExactly(1, 2);
+        assertThat(saved.getBody()).isEqualTo(4L);
+        server.verify();
+    }
+
+    @DisplayName("sendForStream / sendToFile 테스트: Adapter를 감싸도 응답 전체를 버퍼링하지 않고 전달")
+    @Test
+    public void sendForStreamThroughDecorators(@TempDir final Path dir) {
+        // given
+        final List<RestRequest<?>> requests = new ArrayList<>();
+        final AtomicInteger closed = new AtomicInteger();
+        final RestClientAdapter streamingAdapter = new RestClientAdapter() {
+            @Override
+            public <T> ResponseEntity<T> send(final RestRequest<T> restRequest) {
+                throw new UnsupportedOperationException("buffered");
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public <T> Stream<T> sendForStream(final RestRequest<T> restRequest) {
+                requests.add(restRequest);
+                return (Stream<T>) Stream.of("a", "b").onClose(closed::incrementAndGet);
+            }
+
+            @Override
+            public ResponseEntity<Long> sendToFile(final RestRequest<?> restRequest, final Path path) {
+                requests.add(restRequest);
+                return ResponseEntity.ok(3L);
+            }
+        };
+        final ConcurrencyLimitRestClientAdapter concurrencyLimit = ConcurrencyLimitRestClientAdapter
+                .builder(streamingAdapter).build();
+        final RestClientAdapter pipeline = new VirtualThreadRestClientAdapter(new MetricsRestClientAdapter(
+                new DefaultHeadersRestClientAdapter(
+                        RateLimitRestClientAdapter.builder(concurrencyLimit, 1000).build(),
+                        HeaderProfile.builder("default").add("X-Client", "rest-request").build())));
+        final RestRequest<String> restRequest = RestRequest.resp(String.class).uri(URI).get().build();
+
+        // when
+        final List<String> items;
+        final int inFlight;
+        final ResponseEntity<Long> saved;
+        try (OutboxRestClientAdapter outbox = OutboxRestClientAdapter
+                .builder(RetryRestClientAdapter.builder(pipeline).build(), dir.resolve("outbox"))
+                .replayInterval(Duration.ZERO)
+                .build()) {
+            final RestClientAdapter adapter = new SingleFlightRestClientAdapter(
+                    new CachingRestClientAdapter(outbox, 1024));
+            try (Stream<String> stream = adapter.sendForStream(restRequest)) {
+                inFlight = concurrencyLimit.getInFlight(restRequest.getUri());
+                items = stream.collect(Collectors.toList());
+            }
+            saved = adapter.sendToFile(restRequest, dir.resolve("file"));
+        }
+
+        // then
+        assertThat(items).containsExactly("a", "b");
+        assertThat(closed).hasValue(1);
+        assertThat(inFlight).isEqualTo(1);
+        assertThat(concurrencyLimit.getInFlight(restRequest.getUri())).isZero();
+        assertThat(saved.getBody()).isEqualTo(3L);
+        assertThat(requests).hasSize(2).allSatisfy(request -> assertThat(
+                request.getHttpEntity().getHeaders().getFirst("X-Client")).isEqualTo("rest-request"));
+    }
+
+    @DisplayName("sendForStream 테스트: 요소를 모두 읽으면 동시 요청 개수 반환, 요소 읽기 실패시 실패로 기록")
+    @Test
+    public void sendForStreamCompletion() {
+        // given
+        final RestClientAdapter streamingAdapter = new RestClientAdapter() {
+            @Override
+            public <T> ResponseEntity<T> send(final RestRequest<T> restRequest) {
+                throw new UnsupportedOperationException("buffered");
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public <T> Stream<T> sendForStream(final RestRequest<T> restRequest) {
+                return (Stream<T>) Stream.of("a", "b", "fail").map(item -> {
+                    if ("fail".equals(item) && restRequest.getUri().getQuery() != null) {
+                        throw new ResourceAccessException("I/O error");
+                    }
+                    return item;
+                });
+            }
+        };
+        final ConcurrencyLimitRestClientAdapter concurrencyLimit = ConcurrencyLimitRestClientAdapter
+                .builder(streamingAdapter)
+                .limit(4, 1, 10)
+                .backoffRatio(0.5)
+                .build();
+        final MetricsRestClientAdapter adapter = new MetricsRestClientAdapter(concurrencyLimit);
+        final RestClientMetricsRegistry registry = (RestClientMetricsRegistry) adapter.getRecorder();
+        final java.net.URI uri = java.net.URI.create(URI);
+
+        // when
+        final List<String> items = adapter.sendForStream(RestRequest.resp(String.class).uri(URI).get().build())
+                .collect(Collectors.toList());
+        final int inFlight = concurrencyLimit.getInFlight(uri);
+        final Stream<String> failing = adapter.sendForStream(RestRequest.resp(String.class).uri(URI)
+                .addParam("fail", true).get().build());
+
+        // then
+        assertThat(items).containsExactly("a", "b", "fail");
+        assertThat(inFlight).isZero();
+        assertThat(concurrencyLimit.getLimit(uri)).isEqualTo(4);
+        assertThat(registry.getMetrics(HttpMethod.GET, URI, "2xx").getLatency().getCount()).isEqualTo(1);
+
+        assertThatThrownBy(() -> failing.collect(Collectors.toList())).isInstanceOf(ResourceAccessException.class);
+        assertThat(concurrencyLimit.getInFlight(uri)).isZero();
+        assertThat(concurrencyLimit.getLimit(uri)).isEqualTo(2);
+        assertThat(registry.getMetrics(HttpMethod.GET, URI, RestClientMetricsRecorder.STATUS_ERROR).getErrorCount())
+                .isEqualTo(1);
+        failing.close();
+        assertThat(registry.getMetrics(HttpMethod.GET, URI, "2xx").getLatency().getCount()).isEqualTo(1);
+    }
+
+    @DisplayName("sendForStream 테스트: 기본 구현은 List 응답을 Stream으로 변환")
+    @Test
+    public void sendForStreamDefault() {
+        // given
+        final RecordingAdapter recordingAdapter = new RecordingAdapter(request -> ResponseEntity
+                .ok(Arrays.asList("a", "b")));
+
+        // when
+        final List<String> values = recordingAdapter
+                .sendForStream(RestRequest.resp(String.class).uri(URI).get().build())
+                .collect(Collectors.toList());
+
+        // then
+        assertThat(values).containsExactly("a", "b");
+        assertThat(recordingAdapter.requests.get(0).getTypeReference().getType().getTypeName())
+                .isEqualTo("java.util.List<java.lang.String>");
+    }
+
+    @DisplayName("sendToFile 테스트: 응답 body 파일 저장, 실패시 기존 파일 유지")
+    @Test
+    public void sendToFile(@TempDir final Path dir) throws Exception {
+        // given
+        final byte[] content = new byte[3 * 1024 * 1024 + 7];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        final RestTemplate restTemplate = new RestTemplate();
+        final MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(request -> assertThat(request.getURI()).hasToString(URI + "/export"))
+                .andRespond(withSuccess(content, MediaType.APPLICATION_OCTET_STREAM));
+        server.expect(request -> assertThat(request.getURI()).hasToString(URI + "/error"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+        final RestClientAdapter adapter = new DefaultRestClientAdapter(restTemplate);
+        final Path path = dir.resolve("export.bin");
+
+        // when
+        final ResponseEntity<Long> response = adapter
+                .sendToFile(RestRequest.resp(byte[].class).uri(URI + "/export").get().build(), path);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_OCTET_STREAM);
+        assertThat(response.getBody()).isEqualTo(content.length);
+        assertThat(Files.readAllBytes(path)).isEqualTo(content);
+        assertThatThrownBy(() -> adapter.sendToFile(RestRequest.nonResp().uri(URI + "/error").get().build(), path))
+                .isInstanceOf(HttpClientErrorException.class);
+        assertThat(Files.size(path)).isEqualTo(content.length);
+        assertThat(dir.toFile().list()).containsExactly("export.bin");
+        server.verify();
+    }
+
+    @DisplayName("sendToFile 테스트: 기본 구현은 byte 배열 응답을 파일로 저장")
+    @Test
+    public void sendToFileDefault(@TempDir final Path dir) throws Exception {
+        // given
+        final RecordingAdapter recordingAdapter = new RecordingAdapter(request -> ResponseEntity.ok()
+                .header("X-Export", "1")
+                .body("export".getBytes(StandardCharsets.UTF_8)));
+        final Path path = dir.resolve("export.txt");
+
+        // when
+        final ResponseEntity<Long> response = recordingAdapter
+                .sendToFile(RestRequest.resp(String.class).uri(URI).get().build(), path);
+
+        // then
+        assertThat(response.getBody()).isEqualTo(6);
+        assertThat(response.getHeaders().getFirst("X-Export")).isEqualTo("1");
+        assertThat(new String(Files.readAllBytes(path), StandardCharsets.UTF_8)).isEqualTo("export");
+        assertThat(recordingAdapter.requests.get(0).getResponseType()).isEqualTo(byte[].class);
+    }
+
+    @DisplayName("sendToFile 테스트: 새 파일은 기본 권한, 기존 파일은 기존 권한 유지")
+    @Test
+    public void sendToFilePermissions(@TempDir final Path dir) throws Exception {
+        assumeTrue(dir.getFileSystem().supportedFileAttributeViews().contains("posix"));
+        // given
+        final RecordingAdapter recordingAdapter = new RecordingAdapter(request -> ResponseEntity.ok()
+                .body("export".getBytes(StandardCharsets.UTF_8)));
+        final Path defaultFile = Files.createFile(dir.resolve("default.txt"));
+        final Path newFile = dir.resolve("new.txt");
+        final Path existingFile = Files.createFile(dir.resolve("existing.txt"));
+        Files.setPosixFilePermissions(existingFile, PosixFilePermissions.fromString("rw-rw----"));
+
+        // when
+        recordingAdapter.sendToFile(RestRequest.resp(String.class).uri(URI).get().build(), newFile);
+        recordingAdapter.sendToFile(RestRequest.resp(String.class).uri(URI).get().build(), existingFile);
+
+        // then
+        assertThat(Files.getPosixFilePermissions(newFile)).isEqualTo(Files.getPosixFilePermissions(defaultFile));
+        assertThat(Files.getPosixFilePermissions(existingFile))
+                .isEqualTo(PosixFilePermissions.fromString("rw-rw----"));
+        assertThat(new String(Files.readAllBytes(existingFile), StandardCharsets.UTF_8)).isEqualTo("export");
+    }
+
+    @DisplayName("GzipCompressionInterceptor 테스트: 기준 크기 이상 요청 body 압축, gzip 응답 압축 해제")
+    @Test
+    public void gzipCompression() throws Exception {
+        // given
+        final RestTemplate restTemplate = new RestTemplate();
+        GzipCompressionInterceptor.register(restTemplate, 100);
+        GzipCompressionInterceptor.register(restTemplate, 100);
+        final MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        final String largeBody = String.join("", Collections.nCopies(100, "compressible"));
+        server.expect(request -> {
+            assertThat(request.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+            assertThat(request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING)).isEqualTo("gzip");
+            assertThat(gunzip(((MockClientHttpRequest) request).getBodyAsBytes())).isEqualTo(largeBody);
+        }).andRespond(withSuccess(gzip(largeBody), MediaType.TEXT_PLAIN)
+                .headers(gzipHeaders()));
+        server.expect(request -> {
+            assertThat(request.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+            assertThat(((MockClientHttpRequest) request).getBodyAsString()).isEqualTo("small");
+        }).andRespond(withSuccess("ok", MediaType.TEXT_PLAIN));
+        server.expect(request -> {
+            assertThat(request.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+            assertThat(gunzip(((MockClientHttpRequest) request).getBodyAsBytes())).contains(largeBody);
+        }).andRespond(withStatus(HttpStatus.NO_CONTENT).headers(gzipHeaders()));
+        final RestClientAdapter adapter = new DefaultRestClientAdapter(restTemplate);
+
+        // when
+        final ResponseEntity<String> large = adapter.send(RestRequest.resp(String.class).uri(URI).post()
+                .contentType(MediaType.TEXT_PLAIN).body(largeBody).build());
+        final ResponseEntity<String> small = adapter.send(RestRequest.resp(String.class).uri(URI).post()
+                .contentType(MediaType.TEXT_PLAIN).body("small").build());
+        final ResponseEntity<Void> multipart = adapter.send(RestRequest.nonResp().uri(URI).post()
+                .addFile("file", new MockMultipartFile("file", "file.txt", "text/plain",
+                        largeBody.getBytes(StandardCharsets.UTF_8)))
+                .build());
+
+        // then
+        assertThat(restTemplate.getInterceptors()).hasSize(1);
+        assertThat(large.getBody()).isEqualTo(largeBody);
+        assertThat(large.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(small.getBody()).isEqualTo("ok");
+        assertThat(multipart.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        server.verify();
+    }
+
+    @DisplayName("DefaultHeadersRestClientAdapter 테스트: HeaderProfile 기본 Header 병합, 요청 Header 우선")
+    @Test
+    public void defaultHeaders() throws Exception {
+        // given
+        final HeaderProfile headerProfile = HeaderProfile.builder("default")
+                .accept(MediaType.APPLICATION_JSON)
+                .add("X-Client", "rest-request")
+                .build();
+        final RecordingAdapter recordingAdapter = new RecordingAdapter(request -> ResponseEntity.ok("OK"));
+        final RestClientAdapter restClientAdapter = new DefaultHeadersRestClientAdapter(recordingAdapter,
+                headerProfile);
+        final RestRequest<String> restRequest = RestRequest.resp(String.class)
+                .uri(URI)
+                .post()
+                .accept(MediaType.TEXT_PLAIN)
+                .addHeader("X-Trace-Id", "trace")
+                .body("body")
+                .build();
+
+        // when
+        restClientAdapter.send(restRequest);
+        restClientAdapter.sendAsync(pathRequests("a").get(0)).join();
+
+        // then
+        final RestRequest<?> sent = recordingAdapter.requests.get(0);
+        assertThat(sent.getUri()).isEqualTo(restRequest.getUri());
+        assertThat(sent.getMethod()).isEqualTo(HttpMethod.POST);
+        assertThat(sent.getHttpEntity().getBody()).isEqualTo("body");
+        final HttpHeaders headers = sent.getHttpEntity().getHeaders();
+        assertThat(headers.getAccept()).containsExactly(MediaType.TEXT_PLAIN);
+        assertThat(headers.getFirst("X-Client")).isEqualTo("rest-request");
+        assertThat(headers.getFirst("X-Trace-Id")).isEqualTo("trace");
+        assertThat(recordingAdapter.requests.get(1).getHttpEntity().getHeaders().getAccept())
+                .containsExactly(MediaType.APPLICATION_JSON);
+        assertThat(headerProfile.getHeaders()).doesNotContainKey("X-Trace-Id");
+    }
+
+    @DisplayName("OutboxRestClientAdapter 테스트: 전송 실패 요청 저장, 재시작 후 복원, 복구 후 재전송")
+    @Test
+    public void outbox(@TempDir final Path dir) throws Exception {
+        // given
+        final AtomicInteger available = new AtomicInteger();
+        final RecordingAdapter recordingAdapter = new RecordingAdapter(request -> {
+            if (available.get() == 0) {
+                throw new ResourceAccessException("Connection refused");
+            }
+            if (request.getUri().getPath().endsWith("bad")) {
+                throw new HttpClientErrorException(HttpStatus.BAD_REQUEST);
+            }
+            return ResponseEntity.ok("OK");
+        });
+        final List<RestRequest<String>> restRequests = IntStream.range(0, 5)
+                .mapToObj(i -> RestRequest.resp(String.class)
+                        .uri(URI + "/" + (i == 3 ? "bad" : i))
+                        .post()
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .body("event-" + i)
+                        .build())
+                .collect(Collectors.toList());
+        final OutboxRestClientAdapter outbox = OutboxRestClientAdapter.builder(recordingAdapter, dir)
+                .segmentSize(1024)
+                .replayInterval(Duration.ZERO)
+                .build();
+
+        // when
+        for (final RestRequest<String> restRequest : restRequests.subList(0, 4)) {
+            assertThatThrownBy(() -> outbox.send(restRequest)).isInstanceOf(RequestDeferredException.class)
+                    .hasCauseInstanceOf(ResourceAccessException.class);
+        }
+        outbox.defer(restRequests.get(4));
+        final int notReplayed = outbox.replay().join();
+        outbox.close();
+
+        final List<Throwable> dropped = new ArrayList<>();
+        final OutboxRestClientAdapter reopened = OutboxRestClientAdapter.builder(recordingAdapter, dir)
+                .replayInterval(Duration.ZERO)
+                .replayConcurrency(1)
+                .onDrop((request, error) -> dropped.add(error))
+                .build();
+        final int pendingAfterRestart = reopened.getPendingCount();
+        available.set(1);
+        recordingAdapter.requests.clear();
+        final int replayed = reopened.replay().join();
+
+        // then
+        assertThat(notReplayed).isZero();
+        assertThat(pendingAfterRestart).isEqualTo(5);
+        assertThat(replayed).isEqualTo(4);
+        assertThat(reopened.getPendingCount()).isZero();
+        assertThat(reopened.getReplayedCount()).isEqualTo(4);
+        assertThat(reopened.getDroppedCount()).isEqualTo(1);
+        assertThat(dropped).singleElement().isInstanceOf(HttpClientErrorException.class);
+        assertThat(recordingAdapter.requests.stream().map(RestRequest::getUri))
+                .containsExactlyElementsOf(restRequests.stream().map(RestRequest::getUri).collect(Collectors.toList()));
+        final RestRequest<?> replayedRequest = recordingAdapter.requests.get(0);
+        assertThat(replayedRequest.getMethod()).isEqualTo(HttpMethod.POST);
+        assertThat(replayedRequest.getResponseType()).isEqualTo(String.class);
+        assertThat(new String((byte[]) replayedRequest.getHttpEntity().getBody(), StandardCharsets.UTF_8))
+                .isEqualTo("event-0");
+        assertThat(replayedRequest.getHttpEntity().getHeaders().getContentType())
+                .isEqualTo(MediaType.TEXT_PLAIN);
+        reopened.close();
+        try (Stream<Path> segments = Files.list(dir)) {
+            assertThat(segments.filter(path -> path.toString().endsWith(".seg")).count()).isEqualTo(1);
+        }
+    }
+
+    @DisplayName("OutboxRestClientAdapter 테스트: 사용 중인 디렉토리 열기 실패, 닫은 후 다시 열기")
+    @Test
+    public void outboxDirectoryInUse(@TempDir final Path dir) {
+        // given
+        final RecordingAdapter recordingAdapter = new RecordingAdapter(request -> ResponseEntity.ok("OK"));
+        final OutboxRestClientAdapter outbox = OutboxRestClientAdapter.builder(recordingAdapter, dir)
+                .replayInterval(Duration.ZERO)
+                .build();
+
+        // when
+        // then
+        assertThatThrownBy(() -> OutboxRestClientAdapter.builder(recordingAdapter, dir)
+                .replayInterval(Duration.ZERO)
+                .build())
+                .isInstanceOf(UncheckedIOException.class)
+                .hasRootCauseMessage("Outbox directory is already in use: " + dir);
+        outbox.close();
+        final OutboxRestClientAdapter reopened = OutboxRestClientAdapter.builder(recordingAdapter, dir)
+                .replayInterval(Duration.ZERO)
+                .build();
+        assertThat(reopened.getPendingCount()).isZero();
+        reopened.close();
+    }
+
+    @DisplayName("OutboxRestClientAdapter 테스트: 즉시 완료되는 재전송 다수 처리, 요청 비율 제한 초과시 다음 주기까지 중단")
+    @Test
+    public void outboxReplayCompletedImmediately(@TempDir final Path dir) throws Exception {
+        // given
+        final int total = 20_000;
+        final int allowed = 15_000;
+        final AtomicInteger sent = new AtomicInteger();
+        final RestClientAdapter adapter = new RestClientAdapter() {
+            @Override
+            public <T> ResponseEntity<T> send(final RestRequest<T> restRequest) {
+                if (sent.incrementAndGet() > allowed) {
+                    throw new RateLimitExceededException("www.test.com", 1_000_000L);
+                }
+                return ResponseEntity.ok().build();
+            }
+
+            @Override
+            public <T> CompletableFuture<ResponseEntity<T>> sendAsync(final RestRequest<T> restRequest) {
+                final CompletableFuture<ResponseEntity<T>> future = new CompletableFuture<>();
+                try {
+                    future.complete(send(restRequest));
+                } catch (final RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+                return future;
+            }
+        };
+        final OutboxRestClientAdapter outbox = OutboxRestClientAdapter.builder(adapter, dir)
+                .replayInterval(Duration.ZERO)
+                .replayConcurrency(1)
+                .build();
+        final RestRequest<Void> restRequest = RestRequest.resp(Void.class).uri(URI).get().build();
+        for (int i = 0; i < total; i++) {
+            outbox.defer(restRequest);
+        }
+
+        // when
+        final int replayed = outbox.replay().get(30, TimeUnit.SECONDS);
+
+        // then
+        assertThat(replayed).isEqualTo(allowed);
+        assertThat(outbox.getPendingCount()).isEqualTo(total - allowed);
+        assertThat(outbox.getDroppedCount()).isZero();
+        assertThat(OutboxRestClientAdapter.isDeferrable(new ConcurrencyLimitExceededException("www.test.com", 1)))
+                .isTrue();
+        outbox.close();
+    }
+
+    @DisplayName("Pagination 테스트: Link rel=\"next\" 페이지 조회, 현재 페이지 처리 중 다음 페이지 미리 조회")
+    @Test
+    public void paginationByLink() throws Exception {
+        // given
+        final PendingAdapter adapter = new PendingAdapter();
+        final Iterator<ResponseEntity<String>> pages = Pagination
+                .builder(adapter, RestRequest.resp(String.class).uri(URI + "?page=1").get().build())
+                .nextByLink()
+                .build()
+                .iterator();
+
+        // when
+        assertThat(pages.hasNext()).isTrue();
+        assertThat(adapter.pending).isEmpty();
+        final CompletableFuture<ResponseEntity<String>> first = CompletableFuture.supplyAsync(pages::next);
+        while (adapter.pending.size() < 1) {
+            Thread.sleep(1);
+        }
+        complete(adapter, 0, "page1", "<http://www.test.com/test?page=0>; rel=\"prev\", </test?page=2>; rel=\"next\"");
+
+        // then
+        assertThat(first.get().getBody()).isEqualTo("page1");
+        assertThat(adapter.pending).hasSize(2);
+
+        // when
+        complete(adapter, 1, "page2", "<http://www.test.com/test?page=3>; rel=\"last next\"");
+
+        // then
+        assertThat(adapter.pending).hasSize(2);
+        assertThat(pages.next().getBody()).isEqualTo("page2");
+        assertThat(adapter.pending).hasSize(3);
+
+        // when
+        complete(adapter, 2, "page3", null);
+
+        // then
+        assertThat(pages.next().getBody()).isEqualTo("page3");
+        assertThat(pages.hasNext()).isFalse();
+        assertThat(adapter.pending).hasSize(3);
+    }
+
+    @DisplayName("Pagination 테스트: cursor / offset Query Parameter 페이지 조회, 전체 항목 Stream")
+    @Test
+    public void paginationByCursorAndOffset() {
+        // given
+        final RecordingAdapter cursorAdapter = new RecordingAdapter(restRequest -> {
+            final String query = restRequest.getUri().getQuery();
+            return ResponseEntity.ok(query.endsWith("cursor=c2") ? "5|" : query.endsWith("cursor=c1") ? "3,4|c2" : "1,2|c1");
+        });
+        final RecordingAdapter offsetAdapter = new RecordingAdapter(restRequest -> {
+            final String query = restRequest.getUri().getQuery();
+            return ResponseEntity.ok(query.endsWith("offset=4") ? "5" : query.endsWith("offset=2") ? "3,4" : "1,2");
+        });
+        final Function<String, List<String>> items = body -> Arrays
+                .asList(body.substring(0, body.contains("|") ? body.indexOf('|') : body.length()).split(","));
+
+        // when
+        final List<String> cursorItems;
+        try (Stream<String> stream = Pagination
+                .builder(cursorAdapter, RestRequest.resp(String.class).uri(URI + "?size=2").get().build())
+                .nextByCursor("cursor", body -> body.substring(body.indexOf('|') + 1))
+                .prefetch(2)
+                .build()
+                .items(items)) {
+            cursorItems = stream.collect(Collectors.toList());
+        }
+        final List<String> offsetItems;
+        try (Stream<String> stream = Pagination
+                .builder(offsetAdapter, RestRequest.resp(String.class).uri(URI + "?limit=2").get().build())
+                .nextByOffset("offset", 2, body -> items.apply(body).size())
+                .prefetch(0)
+                .build()
+                .items(items)) {
+            offsetItems = stream.collect(Collectors.toList());
+        }
+
+        // then
+        assertThat(cursorItems).containsExactly("1", "2", "3", "4", "5");
+        assertThat(cursorAdapter.requests).extracting(restRequest -> restRequest.getUri().getQuery())
+                .containsExactly("size=2", "size=2&cursor=c1", "size=2&cursor=c2");
+        assertThat(offsetItems).containsExactly("1", "2", "3", "4", "5");
+        assertThat(offsetAdapter.requests).extracting(restRequest -> restRequest.getUri().getQuery())
+                .containsExactly("limit=2", "limit=2&offset=2", "limit=2&offset=4");
+    }
+
+    @DisplayName("Pagination 테스트: 예약 문자를 포함한 cursor 값 인코딩")
+    @Test
+    public void paginationByCursorWithReservedCharacters() {
+        // given
+        final String cursor = "ab+c/d==";
+        final RecordingAdapter adapter = new RecordingAdapter(restRequest -> ResponseEntity
+                .ok(restRequest.getUri().getQuery().endsWith("cursor=" + cursor) ? "2|" : "1|" + cursor));
+
+        // when
+        final List<String> bodies;
+        try (Stream<ResponseEntity<String>> stream = Pagination
+                .builder(adapter, RestRequest.resp(String.class).uri(URI).get().build())
+                .nextByCursor("cursor", body -> body.substring(body.indexOf('|') + 1))
+                .build()
+                .pages()) {
+            bodies = stream.map(ResponseEntity::getBody).collect(Collectors.toList());
+        }
+
+        // then
+        assertThat(bodies).containsExactly("1|" + cursor, "2|");
+        assertThat(adapter.requests).extracting(restRequest -> restRequest.getUri().getRawQuery())
+                .containsExactly(null, "cursor=ab%2Bc/d==");
+        assertThat(adapter.requests.get(1).getUri().getQuery()).isEqualTo("cursor=" + cursor);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static void complete(final PendingAdapter adapter, final int index, final String body, final String link) {
+        final HttpHeaders headers = new HttpHeaders();
+        if (link != null) {
+            headers.set(HttpHeaders.LINK, link);
+        }
+        final CompletableFuture future;
+        synchronized (adapter) {
+            future = adapter.pending.get(index);
+        }
+        future.complete(new ResponseEntity<>(body, headers, HttpStatus.OK));
+    }
+
+    private static HttpHeaders gzipHeaders() {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        return headers;
+    }
+
+    private static byte[] gzip(final String value) throws Exception {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(outputStream)) {
+            gzip.write(value.getBytes(StandardCharsets.UTF_8));
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static String gunzip(final byte[] value) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(value))) {
+            return StreamUtils.copyToString(gzip, StandardCharsets.UTF_8);
+        }
+    }
+
+}